@@ -38,7 +38,8 @@ configurations.all {
 
 javafx {
     version = "21"
-    modules("javafx.controls", "javafx.fxml", "javafx.swing", "javafx.media")
+    // javafx.controls brings javafx.graphics and javafx.base along; nothing uses fxml, swing or media
+    modules("javafx.controls")
 }
 
 jagr {
@@ -51,6 +52,73 @@ jagr {
 }
 
 tasks {
+    withType<JavaExec> {
+        // select the board renderer, board size and fast-forward at startup,
+        // e.g. ./gradlew run -Dprojekt.renderer=canvas -Dprojekt.gridRadius=31 -Dprojekt.speed=16 -Dprojekt.renderEvery=4
+        // or show the performance overlay from the start with -Dprojekt.performanceOverlay=true
+        // or exit after the first frame with -Dprojekt.exitAfterFirstFrame=true
+        listOf(
+            "projekt.renderer", "projekt.gridRadius", "projekt.speed", "projekt.renderEvery", "projekt.performanceOverlay",
+            "projekt.exitAfterFirstFrame"
+        ).forEach { property ->
+            System.getProperty(property)?.let { systemProperty(property, it) }
+        }
+    }
+    // startup: an application class-data sharing archive of the classes loaded by a scripted startup run,
+    // e.g. ./gradlew runWithCds or ./gradlew startupBenchmark -Pruns=10 -Pmodes=headless
+    // archives only contain classes loaded from jars, so these tasks run the jar instead of the class directories
+    // -Pmodes=headless trains and benchmarks without starting the GUI, e.g. on machines without a display
+    val cdsArchive = layout.buildDirectory.file("cds/projekt.jsa")
+    val startupClasspath = files(jar, configurations.runtimeClasspath)
+    val startupModes = findProperty("modes")?.toString() ?: "headless,gui"
+    val trainCdsArchive by registering(JavaExec::class) {
+        group = "application"
+        description = "Trains the class-data sharing archive with a headless game and the first frame of the GUI."
+        classpath = startupClasspath
+        mainClass.set("projekt.StartupBenchmark")
+        args("train", startupModes)
+        jvmArgs("-XX:ArchiveClassesAtExit=${cdsArchive.get().asFile}")
+        inputs.property("modes", startupModes)
+        outputs.file(cdsArchive)
+        doFirst {
+            cdsArchive.get().asFile.parentFile.mkdirs()
+        }
+    }
+    register<JavaExec>("runWithCds") {
+        group = "application"
+        description = "Runs the application with the class-data sharing archive."
+        dependsOn(trainCdsArchive)
+        classpath = startupClasspath
+        mainClass.set("projekt.Main")
+        jvmArgs("-XX:SharedArchiveFile=${cdsArchive.get().asFile}")
+    }
+    register<JavaExec>("startupBenchmark") {
+        group = "verification"
+        description = "Benchmarks the startup without class-data sharing, with the archive of the JDK and with ours."
+        dependsOn(trainCdsArchive)
+        classpath = startupClasspath
+        mainClass.set("projekt.StartupBenchmark")
+        args(
+            "benchmark",
+            findProperty("runs") ?: 5,
+            cdsArchive.get().asFile,
+            startupModes
+        )
+    }
+    // tuning: SPSA self-play tuning of the basic AI's heuristic weights, resuming from the checkpoint if it exists,
+    // e.g. ./gradlew tuneAi -Piterations=200 -Pgames=64 -Pcheckpoint=tuning.properties
+    register<JavaExec>("tuneAi") {
+        group = "application"
+        description = "Tunes the heuristic weights of the basic AI by self-play against the default weights."
+        classpath = sourceSets.main.get().runtimeClasspath
+        mainClass.set("projekt.controller.ai.tuning.WeightedBasicAiFactory")
+        val checkpoint = findProperty("checkpoint")?.let { file(it) }
+            ?: layout.buildDirectory.file("tuning/checkpoint.properties").get().asFile
+        args(checkpoint, findProperty("iterations") ?: 200, findProperty("games") ?: 64)
+        doFirst {
+            checkpoint.parentFile.mkdirs()
+        }
+    }
     javadoc {
         options.jFlags?.add("-Duser.language=en")
         options.optionFiles = mutableListOf(project.file("src/main/javadoc.options"))
@@ -8,6 +8,8 @@ import projekt.model.buildings.Port;
 import projekt.model.buildings.Settlement;
 import projekt.model.tiles.Tile;
 
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -18,8 +20,10 @@ import java.util.Properties;
 import java.util.Random;
 import java.util.Set;
 import java.util.SortedMap;
+import java.util.SortedSet;
 import java.util.Spliterators;
 import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.function.BiFunction;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -49,10 +53,22 @@ public final class Config {
      */
     private static final Properties DEVELOPMENT_CARD_RATIO_PROPERTIES = PropertyUtils.getProperties("development_card_ratios.properties");
 
+    /**
+     * The seeded sources of randomness of threads running {@link #runSeeded(long, Runnable)}.
+     */
+    private static final ThreadLocal<Random> SEEDED_RANDOM = new ThreadLocal<>();
+
     /**
      * The global source of randomness.
+     * Threads running {@link #runSeeded(long, Runnable)} draw from their own seeded source instead.
      */
-    public static final Random RANDOM = new Random();
+    public static final Random RANDOM = new Random() {
+        @Override
+        protected int next(final int bits) {
+            final Random seededRandom = SEEDED_RANDOM.get();
+            return seededRandom == null ? super.next(bits) : seededRandom.nextInt() >>> (32 - bits);
+        }
+    };
 
     /**
      * The minimum required number of players in a game.
@@ -81,8 +97,9 @@ public final class Config {
 
     /**
      * The radius of the grid, center is included.
+     * Can be changed at startup with the system property {@code projekt.gridRadius}, e.g. for large boards.
      */
-    public static final int GRID_RADIUS = 3;
+    public static final int GRID_RADIUS = Integer.getInteger("projekt.gridRadius", 3);
 
 
     // Roads and settlements
@@ -256,8 +273,122 @@ public final class Config {
     }
 
 
+    // AI
+
+    /**
+     * The amount of threads computing AI decisions, per game.
+     */
+    public static final int AI_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+    /**
+     * The maximum amount of AI decisions of a game waiting for a free thread.
+     * Decisions submitted while the queue is full fall back to their default move.
+     */
+    public static final int AI_QUEUE_CAPACITY = 64;
+
+    /**
+     * The time an AI may take for a single decision.
+     */
+    public static final Duration AI_DECISION_BUDGET = Duration.ofMillis(500);
+
+    /**
+     * The time an AI waits before it acts in a shown game, so that its moves can be followed on the board.
+     * Divided by the game's speed multiplier; headless games do not wait.
+     */
+    public static final Duration AI_ACTION_DELAY = Duration.ofMillis(400);
+
+    /**
+     * The time a headless game waits for an AI to act. An AI that does not act in time forfeits the game.
+     */
+    public static final Duration AI_ACTION_TIMEOUT = Duration.ofSeconds(10);
+
+    /**
+     * The file of the opening book consulted by AI controllers in the first round, if it exists.
+     */
+    public static final Path AI_OPENING_BOOK = Path.of("opening-book.bin");
+
+
+    // GUI
+
+    /**
+     * Whether the hex grid is drawn onto a single canvas instead of one node per tile, intersection and edge.
+     * Selected at startup with the system property {@code projekt.renderer=canvas}.
+     */
+    public static final boolean CANVAS_RENDERER = "canvas".equalsIgnoreCase(System.getProperty("projekt.renderer"));
+
+    /**
+     * The width of a tile on screen, in pixels, below which the hex grid is drawn with less detail: without roll
+     * numbers, labels and sprites, and with flat fills.
+     */
+    public static final double DETAIL_TILE_SIZE = 24;
+
+    /**
+     * The smallest scale the hex grid can be zoomed out to.
+     */
+    public static final double MIN_ZOOM = 0.05;
+
+    /**
+     * The speed multipliers a game whose players are all AIs can be fast-forwarded with. A multiplier of {@code 1}
+     * plays the game at normal speed.
+     */
+    public static final SortedSet<Integer> FAST_FORWARD_SPEEDS = Collections.unmodifiableSortedSet(
+        new TreeSet<>(Set.of(1, 2, 4, 8, 16, 64)));
+
+    /**
+     * The speed multiplier a game whose players are all AIs starts with.
+     * Selected at startup with the system property {@code projekt.speed}.
+     */
+    public static final int FAST_FORWARD_SPEED = Integer.getInteger("projekt.speed", 1);
+
+    /**
+     * The amount of turns after which a fast-forwarded game is shown again.
+     * Selected at startup with the system property {@code projekt.renderEvery}.
+     */
+    public static final int FAST_FORWARD_RENDER_EVERY = Integer.getInteger("projekt.renderEvery", 1);
+
+    /**
+     * The amount of times per second the view of a fast-forwarded game samples its state.
+     */
+    public static final int FAST_FORWARD_FRAME_RATE = 30;
+
+    /**
+     * Whether the performance overlay of the game board is shown from the start. It is toggled with {@code F3}.
+     * Selected at startup with the system property {@code projekt.performanceOverlay=true}.
+     */
+    public static final boolean PERFORMANCE_OVERLAY = Boolean.getBoolean("projekt.performanceOverlay");
+
+    /**
+     * The amount of latest frame times, turn latencies and action execution times the performance overlay computes
+     * its percentiles from. Must be a power of two.
+     */
+    public static final int PERFORMANCE_SAMPLES = 256;
+
+    /**
+     * Whether the application exits after its first frame, e.g. for measuring or training its startup.
+     * Selected at startup with the system property {@code projekt.exitAfterFirstFrame=true}.
+     */
+    public static final boolean EXIT_AFTER_FIRST_FRAME = Boolean.getBoolean("projekt.exitAfterFirstFrame");
+
+
     // Misc
 
+    /**
+     * Runs the given task on the current thread, with {@link #RANDOM} drawing from a source seeded with the given
+     * seed. Other threads are not affected, so seeded games can run in parallel and still be reproducible.
+     *
+     * @param seed the seed
+     * @param task the task to run
+     */
+    public static void runSeeded(final long seed, final Runnable task) {
+        final Random previous = SEEDED_RANDOM.get();
+        SEEDED_RANDOM.set(new Random(seed));
+        try {
+            task.run();
+        } finally {
+            SEEDED_RANDOM.set(previous);
+        }
+    }
+
     /**
      * Creates a supplier for the keys of the given map depending on the key's mapping (ratio).
      * Optionally, the supplier can log the keys it returned to ensure that their frequency of occurrence
@@ -6,6 +6,7 @@ import org.tudalgo.algoutils.student.annotation.DoNotTouch;
 import projekt.controller.GameController;
 import projekt.controller.gui.SceneSwitcher;
 import projekt.controller.gui.SceneSwitcher.SceneType;
+import projekt.view.ResourcePreloader;
 
 import java.io.OutputStream;
 import java.io.PrintStream;
@@ -32,6 +33,8 @@ public class MyApplication extends Application {
             }
         }));
 
+        ResourcePreloader.preload();
+
         stage.setMinWidth(1000);
         stage.setMinHeight(520);
         stage.setWidth(1280);
@@ -0,0 +1,292 @@
+package projekt;
+
+import javafx.application.Application;
+import projekt.controller.PlayerObjective;
+import projekt.controller.ai.BoardIndex;
+import projekt.controller.ai.IntersectionValues;
+import projekt.controller.ai.Move;
+import projekt.controller.ai.MoveGenerator;
+import projekt.controller.ai.ProductionModel;
+import projekt.controller.ai.RobberPlacement;
+import projekt.controller.ai.SearchState;
+import projekt.controller.ai.TradeEvaluator;
+import projekt.model.HexGridImpl;
+import projekt.model.Player;
+import projekt.model.PlayerImpl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Scripted startup runs of the application, for measuring its startup time and for training a class-data sharing
+ * archive.
+ * <p>
+ * Arguments: {@code headless|gui}, {@code train [modes]} or {@code benchmark [runs] [archive] [modes]}.
+ * <ul>
+ *     <li>{@code headless} plays a single seeded game without a GUI on the {@link SearchState} of the AI controllers,
+ *     choosing moves with their heuristics. The template does not implement the turns of
+ *     {@link projekt.controller.GameController}, so a game on it would end at its first turn.</li>
+ *     <li>{@code gui} starts the application and exits after its first frame
+ *     (see {@link Config#EXIT_AFTER_FIRST_FRAME}).</li>
+ *     <li>{@code train} runs the given, comma separated modes ({@code headless,gui} by default) in one JVM, so that
+ *     an archive dumped at its exit contains the classes of all of them. Machines without a display train and
+ *     benchmark with {@code headless} only.</li>
+ *     <li>{@code benchmark} starts a new JVM per run for each of the given, comma separated modes
+ *     ({@code headless,gui} by default), without class-data sharing, with the default archive of the JDK and, if it
+ *     exists, with the given archive of the application, and prints the median and the minimum of the wall-clock
+ *     times until the first game or frame.</li>
+ * </ul>
+ */
+public final class StartupBenchmark {
+
+    private static final String MARKER = "after the start of the JVM";
+    private static final int DEFAULT_RUNS = 5;
+    private static final String DEFAULT_MODES = "headless,gui";
+    private static final long HEADLESS_SEED = 0;
+    private static final int HEADLESS_PLAYERS = 3;
+    private static final int HEADLESS_MAX_ROUNDS = 500;
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private StartupBenchmark() {
+    }
+
+    /**
+     * Runs the startup in the given mode.
+     *
+     * @param args the command line arguments
+     * @throws Exception if a benchmarked run fails
+     */
+    public static void main(final String[] args) throws Exception {
+        final String mode = args.length > 0 ? args[0] : "benchmark";
+        // before anything initializes the configuration
+        System.setProperty("projekt.exitAfterFirstFrame", "true");
+        switch (mode) {
+            case "headless" -> playHeadless();
+            case "gui" -> startGui();
+            case "train" -> {
+                final List<String> modes = List.of((args.length > 1 ? args[1] : DEFAULT_MODES).split(","));
+                if (modes.contains("headless")) {
+                    playHeadless();
+                }
+                if (modes.contains("gui")) {
+                    startGui();
+                }
+            }
+            case "benchmark" -> benchmark(
+                args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_RUNS,
+                args.length > 2 ? Path.of(args[2]) : null,
+                List.of((args.length > 3 ? args[3] : DEFAULT_MODES).split(","))
+            );
+            default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+        }
+    }
+
+    /**
+     * Plays a single game without a GUI and prints the time since the start of the JVM.
+     * Every player places two villages with roads in the first round. Then, in each turn, the player rolls the dice,
+     * moves the robber, trades with the bank and builds as long as possible, until a player wins or the round limit
+     * is reached.
+     */
+    private static void playHeadless() {
+        Config.runSeeded(HEADLESS_SEED, () -> {
+            final HexGridImpl grid = new HexGridImpl(Config.GRID_RADIUS);
+            final List<Player> players = new ArrayList<>();
+            for (int seat = 0; seat < HEADLESS_PLAYERS; seat++) {
+                players.add(new PlayerImpl.Builder(seat + 1).ai(true).build(grid));
+            }
+            final BoardIndex board = new BoardIndex(grid);
+            final SearchState state = new SearchState(board, players);
+            final IntersectionValues values = new IntersectionValues(board);
+            final RobberPlacement robberPlacement = new RobberPlacement(board);
+            final TradeEvaluator tradeEvaluator = new TradeEvaluator();
+            final int[] moves = new int[MoveGenerator.getMaxMoves(board)];
+
+            for (int seat = 0; seat < HEADLESS_PLAYERS; seat++) {
+                for (int placement = 0; placement < 2; placement++) {
+                    final int village = selectMove(state, PlayerObjective.PLACE_VILLAGE, values, moves);
+                    state.makeMove(village);
+                    values.occupy(Move.index(village));
+                    state.makeMove(selectMove(state, PlayerObjective.PLACE_ROAD, values, moves));
+                }
+                state.makeMove(Move.of(Move.END_TURN));
+            }
+            while (state.getWinner() == -1 && state.getRoundCounter() <= HEADLESS_MAX_ROUNDS) {
+                final int seat = state.getActiveSeat();
+                final int roll = IntStream.rangeClosed(1, Config.NUMBER_OF_DICE)
+                    .map(i -> Config.RANDOM.nextInt(1, Config.DICE_SIDES + 1))
+                    .sum();
+                state.makeMove(Move.ofArguments(Move.ROLL_DICE, 0, roll));
+                if (roll == ProductionModel.ROBBER_ROLL) {
+                    final int tile = robberPlacement.selectTile(state, seat);
+                    state.makeMove(Move.ofIndex(Move.MOVE_ROBBER, tile, false));
+                    final int victim = robberPlacement.selectVictim(state, seat, tile);
+                    if (victim != -1) {
+                        state.makeMove(Move.ofArguments(
+                            Move.STEAL, victim, RobberPlacement.selectResource(state, victim)
+                        ));
+                    }
+                }
+                int trade;
+                while ((trade = tradeEvaluator.selectBankTrade(state, seat)) != -1) {
+                    state.makeMove(trade);
+                }
+                int build;
+                while (state.getWinner() == -1
+                    && (build = selectMove(state, PlayerObjective.REGULAR_TURN, values, moves)) != -1) {
+                    state.makeMove(build);
+                    if (Move.kind(build) == Move.BUILD_VILLAGE) {
+                        values.occupy(Move.index(build));
+                    }
+                }
+                state.makeMove(Move.of(Move.END_TURN));
+            }
+            System.out.printf(
+                "Winner: seat %d after %d rounds, victory points %s%n",
+                state.getWinner(),
+                state.getRoundCounter(),
+                IntStream.range(0, HEADLESS_PLAYERS).mapToObj(state::getVictoryPoints).toList()
+            );
+        });
+        System.out.printf("First game played %d ms %s%n", ManagementFactory.getRuntimeMXBean().getUptime(), MARKER);
+    }
+
+    /**
+     * Selects the building move of the active player for the given objective: a city before a village before a
+     * road, the most valuable village and the first road.
+     *
+     * @param state     the state
+     * @param objective the active player's objective
+     * @param values    the values of the intersections
+     * @param moves     the buffer for the legal moves
+     * @return the selected move or {@code -1}, if the player cannot build anything
+     */
+    private static int selectMove(
+        final SearchState state,
+        final PlayerObjective objective,
+        final IntersectionValues values,
+        final int[] moves
+    ) {
+        final int count = MoveGenerator.generate(state, objective, 0, moves);
+        int best = -1;
+        for (int i = 0; i < count; i++) {
+            final int move = moves[i];
+            final int kind = Move.kind(move);
+            if (kind != Move.UPGRADE_VILLAGE && kind != Move.BUILD_VILLAGE && kind != Move.BUILD_ROAD) {
+                continue;
+            }
+            if (best == -1 || buildPriority(kind) > buildPriority(Move.kind(best))
+                || kind == Move.BUILD_VILLAGE && Move.kind(best) == Move.BUILD_VILLAGE
+                && values.getValue(Move.index(move)) > values.getValue(Move.index(best))) {
+                best = move;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the priority of the given kind of building move, see {@link #selectMove}.
+     *
+     * @param kind the kind of the move
+     * @return the priority, higher is built first
+     */
+    private static int buildPriority(final int kind) {
+        return switch (kind) {
+            case Move.UPGRADE_VILLAGE -> 2;
+            case Move.BUILD_VILLAGE -> 1;
+            default -> 0;
+        };
+    }
+
+    /**
+     * Starts the application, which prints the time of its first frame since the start of the JVM and exits.
+     */
+    private static void startGui() {
+        Application.launch(MyApplication.class);
+    }
+
+    /**
+     * Benchmarks the startup of the other modes in new JVMs.
+     *
+     * @param runs    the amount of runs per mode and configuration
+     * @param archive the archive of the application or {@code null}
+     * @param modes   the modes to benchmark
+     * @throws IOException          if a JVM cannot be started
+     * @throws InterruptedException if interrupted while waiting for a JVM
+     */
+    private static void benchmark(
+        final int runs,
+        final Path archive,
+        final List<String> modes
+    ) throws IOException, InterruptedException {
+        final List<List<String>> configurations = new ArrayList<>(List.of(List.of("-Xshare:off"), List.of()));
+        if (archive != null && Files.exists(archive)) {
+            configurations.add(List.of("-XX:SharedArchiveFile=" + archive));
+        }
+        for (final String mode : modes) {
+            for (final List<String> jvmArgs : configurations) {
+                final List<Long> millis = new ArrayList<>();
+                for (int run = 0; run < runs; run++) {
+                    millis.add(measure(mode, jvmArgs));
+                }
+                Collections.sort(millis);
+                System.out.printf(
+                    "%-8s %-40s median %5d ms, min %5d ms (%d runs)%n",
+                    mode,
+                    jvmArgs.isEmpty() ? "JDK archive" : String.join(" ", jvmArgs),
+                    millis.get(millis.size() / 2),
+                    millis.get(0),
+                    runs
+                );
+            }
+        }
+    }
+
+    /**
+     * Starts a new JVM running the given mode and measures the wall-clock time until it prints the time since its
+     * start.
+     *
+     * @param mode    the mode to run
+     * @param jvmArgs the additional arguments of the JVM
+     * @return the time until the first game or frame, in milliseconds
+     * @throws IOException          if the JVM cannot be started
+     * @throws InterruptedException if interrupted while waiting for the JVM
+     */
+    private static long measure(
+        final String mode,
+        final List<String> jvmArgs
+    ) throws IOException, InterruptedException {
+        final List<String> command = Stream.of(
+            Stream.of(ProcessHandle.current().info().command().orElse("java")),
+            jvmArgs.stream(),
+            Stream.of("-cp", System.getProperty("java.class.path"), StartupBenchmark.class.getName(), mode)
+        ).flatMap(stream -> stream).toList();
+        final long start = System.nanoTime();
+        final Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        long millis = -1;
+        try (BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = output.readLine()) != null) {
+                if (millis < 0 && line.contains(MARKER)) {
+                    millis = (System.nanoTime() - start) / 1_000_000;
+                }
+            }
+        }
+        final int exitCode = process.waitFor();
+        if (millis < 0) {
+            throw new IllegalStateException(
+                String.format("Run of %s %s failed with exit code %d", mode, jvmArgs, exitCode));
+        }
+        return millis;
+    }
+}
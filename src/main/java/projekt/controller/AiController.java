@@ -1,42 +1,107 @@
 package projekt.controller;
 
 import javafx.beans.property.Property;
+import projekt.controller.ai.AiExecutor;
+import projekt.controller.ai.Decision;
 import projekt.model.GameState;
 import projekt.model.HexGrid;
 
+import java.time.Duration;
+
 /**
  * Represents an AI controller that can execute actions based on a player's
  * objective.
  * Gets all information that could be needed to execute actions.
  * Automatically subscribes to the player objective property to execute actions
  * when the player's objective changes.
+ * The actions are computed on the dispatcher thread of an {@link AiExecutor},
+ * so a slow AI never blocks the thread that changed the objective.
+ * Before acting, the controller waits for the game's {@link FastForward#getActionDelay() action delay}.
  */
 public abstract class AiController {
     protected final PlayerController playerController;
     protected final HexGrid hexGrid;
     protected final GameState gameState;
     protected final Property<PlayerController> activePlayerController;
+    protected final AiExecutor aiExecutor;
 
     /**
      * Creates a new AI controller with the given player controller, hex grid, game
-     * state and active player controller.
-     * Adds a subscription to the player objective property to execute actions when
-     * the player's objective changes.
+     * state and active player controller, using the {@link GameController#getAiExecutor() executor of the game}.
      *
      * @param playerController       the player controller
      * @param hexGrid                the hex grid
      * @param gameState              the game state
      * @param activePlayerController the active player controller
+     * @see #AiController(PlayerController, HexGrid, GameState, Property, AiExecutor)
      */
     public AiController(
         final PlayerController playerController, final HexGrid hexGrid, final GameState gameState,
         final Property<PlayerController> activePlayerController
+    ) {
+        this(playerController, hexGrid, gameState, activePlayerController,
+             playerController.getGameController().getAiExecutor());
+    }
+
+    /**
+     * Creates a new AI controller with the given player controller, hex grid, game
+     * state, active player controller and executor.
+     * Adds a subscription to the player objective property to execute actions on the
+     * executor's dispatcher thread when the player's objective changes.
+     *
+     * @param playerController       the player controller
+     * @param hexGrid                the hex grid
+     * @param gameState              the game state
+     * @param activePlayerController the active player controller
+     * @param aiExecutor             the executor running this controller's reactions and decisions
+     */
+    public AiController(
+        final PlayerController playerController, final HexGrid hexGrid, final GameState gameState,
+        final Property<PlayerController> activePlayerController, final AiExecutor aiExecutor
     ) {
         this.playerController = playerController;
         this.hexGrid = hexGrid;
         this.gameState = gameState;
         this.activePlayerController = activePlayerController;
-        playerController.getPlayerObjectiveProperty().subscribe(this::executeActionBasedOnObjective);
+        this.aiExecutor = aiExecutor;
+        playerController.getPlayerObjectiveProperty().subscribe(
+            objective -> aiExecutor.dispatch(() -> {
+                if (!objective.getAllowedActions().isEmpty()) {
+                    pace();
+                }
+                executeActionBasedOnObjective(objective);
+            })
+        );
+    }
+
+    /**
+     * Waits for the action delay of the game at its current speed (see {@link FastForward#getActionDelay()}).
+     */
+    private void pace() {
+        final Duration delay = playerController.getGameController().getFastForward().getActionDelay();
+        if (delay.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(delay.toMillis());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Runs the given decision on a worker thread of this controller's executor and returns the best result
+     * found within {@link projekt.Config#AI_DECISION_BUDGET}, divided by the game's speed multiplier
+     * (see {@link FastForward#getDecisionBudget()}).
+     *
+     * @param decision the decision to run
+     * @param fallback the result if the decision offers none
+     * @param <T>      the type of the result
+     * @return the best result found within the budget
+     */
+    protected <T> T decide(final Decision<T> decision, final T fallback) {
+        return aiExecutor.decide(decision, playerController.getGameController().getFastForward().getDecisionBudget(),
+                                 fallback);
     }
 
     /**
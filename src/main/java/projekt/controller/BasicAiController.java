@@ -1,7 +1,6 @@
 package projekt.controller;
 
 import javafx.beans.property.Property;
-import projekt.Config;
 import projekt.controller.actions.AcceptTradeAction;
 import projekt.controller.actions.BuildRoadAction;
 import projekt.controller.actions.BuildVillageAction;
@@ -11,24 +10,51 @@ import projekt.controller.actions.RollDiceAction;
 import projekt.controller.actions.SelectCardsAction;
 import projekt.controller.actions.SelectRobberTileAction;
 import projekt.controller.actions.StealCardAction;
+import projekt.controller.actions.TradeAction;
+import projekt.controller.ai.AiExecutor;
+import projekt.controller.ai.BoardIndex;
+import projekt.controller.ai.HeuristicWeights;
+import projekt.controller.ai.IntersectionValues;
+import projekt.controller.ai.RobberPlacement;
+import projekt.controller.ai.Move;
+import projekt.controller.ai.SearchState;
+import projekt.controller.ai.TradeEvaluator;
+import projekt.controller.ai.book.OpeningBook;
 import projekt.model.GameState;
 import projekt.model.HexGrid;
+import projekt.model.Intersection;
 import projekt.model.Player;
 import projekt.model.ResourceType;
+import projekt.model.TradePayload;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
 /**
- * A basic AI controller that does not follow any specific strategy.
+ * A basic AI controller that decides with heuristics instead of searching ahead.
  * It will always execute actions in a given order if they are allowed by the
  * player's objective.
  * Implements all actions that are required to not stop the game flow.
- * All implemented actions are performed randomly.
+ * <p>
+ * Villages are built on the buildable intersection with the highest {@link IntersectionValues value}; in the first
+ * round, the controller follows the {@link OpeningBook}'s line while the game does. Trades with the bank and the
+ * other players are proposed and answered by the {@link TradeEvaluator}, and the robber's tile and victim are
+ * chosen by the {@link RobberPlacement} optimizer. All of these heuristics use the controller's
+ * {@link HeuristicWeights}. Roads are built on any buildable edge and the cards to drop are picked arbitrarily.
+ * <p>
+ * These choices are {@link #decide(projekt.controller.ai.Decision, Object) decided} on a worker thread within the
+ * game's decision budget, on a copy of the game state taken before. If a choice takes longer, the controller falls
+ * back to an arbitrary legal choice or no action.
  */
 public class BasicAiController extends AiController {
+    private final HeuristicWeights weights;
+    private RobberPlacement robberPlacement;
+    private int[] openingLine;
+    private boolean openingLineLoaded;
+
     /**
      * Creates a new BasicAiController with the given player controller, hex grid,
      * game state and active player controller.
@@ -43,6 +69,53 @@ public class BasicAiController extends AiController {
         final Property<PlayerController> activePlayerController
     ) {
         super(playerController, hexGrid, gameState, activePlayerController);
+        this.weights = HeuristicWeights.DEFAULT;
+    }
+
+    /**
+     * Creates a new BasicAiController with the given player controller, hex grid,
+     * game state, active player controller and executor.
+     *
+     * @param playerController       the player controller this belongs to
+     * @param hexGrid                the hex grid
+     * @param gameState              the game state
+     * @param activePlayerController the active player controller
+     * @param aiExecutor             the executor running this controller's reactions
+     */
+    public BasicAiController(
+        final PlayerController playerController, final HexGrid hexGrid, final GameState gameState,
+        final Property<PlayerController> activePlayerController, final AiExecutor aiExecutor
+    ) {
+        this(playerController, hexGrid, gameState, activePlayerController, aiExecutor, HeuristicWeights.DEFAULT);
+    }
+
+    /**
+     * Creates a new BasicAiController with the given player controller, hex grid,
+     * game state, active player controller, executor and heuristic weights.
+     *
+     * @param playerController       the player controller this belongs to
+     * @param hexGrid                the hex grid
+     * @param gameState              the game state
+     * @param activePlayerController the active player controller
+     * @param aiExecutor             the executor running this controller's reactions
+     * @param weights                the weights of the placement, robber and trade heuristics
+     */
+    public BasicAiController(
+        final PlayerController playerController, final HexGrid hexGrid, final GameState gameState,
+        final Property<PlayerController> activePlayerController, final AiExecutor aiExecutor,
+        final HeuristicWeights weights
+    ) {
+        super(playerController, hexGrid, gameState, activePlayerController, aiExecutor);
+        this.weights = weights;
+    }
+
+    /**
+     * Returns the weights of this controller's placement, robber and trade heuristics.
+     *
+     * @return the heuristic weights
+     */
+    public HeuristicWeights getWeights() {
+        return weights;
     }
 
     @Override
@@ -52,11 +125,14 @@ public class BasicAiController extends AiController {
         if (actions.contains(RollDiceAction.class)) {
             playerController.triggerAction(new RollDiceAction());
         }
+        if (actions.contains(TradeAction.class)) {
+            trade();
+        }
         if (actions.contains(BuildVillageAction.class)) {
-            buildVillage();
+            buildVillage(objective);
         }
         if (actions.contains(BuildRoadAction.class)) {
-            buildRoad();
+            buildRoad(objective);
         }
         if (actions.contains(SelectCardsAction.class)) {
             selectCards();
@@ -65,7 +141,7 @@ public class BasicAiController extends AiController {
             selectRobberTileAction();
         }
         if (actions.contains(AcceptTradeAction.class)) {
-            playerController.triggerAction(new AcceptTradeAction(Config.RANDOM.nextBoolean()));
+            acceptTrade();
         }
         if (actions.contains(StealCardAction.class)) {
             stealCardAction();
@@ -76,23 +152,129 @@ public class BasicAiController extends AiController {
     }
 
     /**
-     * This method builds a village on a random buildable intersection.
+     * This method builds a village on the buildable intersection with the highest {@link IntersectionValues value}.
+     * In the first round, it follows the line of the {@link OpeningBook} while the game does.
+     *
+     * @param objective the player's current objective
      */
-    private void buildVillage() {
-        playerController.getPlayerState().buildableVillageIntersections().stream().findAny().ifPresent(intersection -> {
-            playerController.triggerAction(new BuildVillageAction(intersection));
-        });
+    private void buildVillage(final PlayerObjective objective) {
+        final Set<Intersection> buildable = playerController.getPlayerState().buildableVillageIntersections();
+        if (buildable.isEmpty()) {
+            return;
+        }
+        final boolean firstRound = objective == PlayerObjective.PLACE_VILLAGE;
+        final int[] line = firstRound ? getOpeningLine() : null;
+        final SearchState state = createSearchState(firstRound ? 0 : 1);
+        final int[] candidates = buildable.stream().mapToInt(state.getBoard()::getIntersectionId).toArray();
+        final int intersection = decide(context -> {
+            final int bookVillage = line != null ? OpeningBook.nextVillage(line, state) : -1;
+            context.offer(Arrays.stream(candidates).anyMatch(candidate -> candidate == bookVillage)
+                          ? bookVillage
+                          : selectVillage(state, candidates));
+        }, candidates[0]);
+        playerController.triggerAction(new BuildVillageAction(state.getBoard().getIntersection(intersection)));
+    }
+
+    /**
+     * Returns the candidate with the highest value in the given state.
+     *
+     * @param state      the state
+     * @param candidates the ids of the intersections to choose from, not empty
+     * @return the id of the best candidate
+     */
+    private int selectVillage(final SearchState state, final int[] candidates) {
+        final IntersectionValues values = new IntersectionValues(state, weights);
+        int best = candidates[0];
+        for (final int candidate : candidates) {
+            if (values.getValue(candidate) > values.getValue(best)) {
+                best = candidate;
+            }
+        }
+        return best;
     }
 
     /**
      * This method builds a road on a random buildable edge.
+     * In the first round, it follows the line of the {@link OpeningBook} while the game does.
+     *
+     * @param objective the player's current objective
      */
-    private void buildRoad() {
+    private void buildRoad(final PlayerObjective objective) {
+        final int[] line = objective == PlayerObjective.PLACE_ROAD ? getOpeningLine() : null;
+        if (line != null) {
+            final SearchState state = createSearchState(0);
+            final int edge = decide(context -> context.offer(OpeningBook.nextRoad(line, state)), -1);
+            if (edge != -1 && playerController.getPlayerState().buildableRoadEdges()
+                .contains(state.getBoard().getEdge(edge))) {
+                playerController.triggerAction(new BuildRoadAction(state.getBoard().getEdge(edge)));
+                return;
+            }
+        }
         playerController.getPlayerState().buildableRoadEdges().stream().findAny().ifPresent(edge -> {
             playerController.triggerAction(new BuildRoadAction(edge));
         });
     }
 
+    /**
+     * This method trades with the bank if the {@link TradeEvaluator} finds a trade that improves the hand,
+     * otherwise it offers the other players a trade that at least one of them should accept.
+     */
+    private void trade() {
+        final SearchState state = createSearchState();
+        final int seat = state.getSeat(playerController.getPlayer());
+        final Player player = playerController.getPlayer();
+        final TradePayload payload = decide(context -> {
+            // an evaluator per decision, since it keeps scratch space and a late decision may still run
+            final TradeEvaluator tradeEvaluator = new TradeEvaluator(weights);
+            final int bankTrade = tradeEvaluator.selectBankTrade(state, seat);
+            if (bankTrade != -1) {
+                final int offer = Move.first(bankTrade);
+                context.offer(new TradePayload(
+                    Map.of(ResourceType.values()[offer], state.getTradeRatio(seat, offer)),
+                    Map.of(ResourceType.values()[Move.second(bankTrade)], 1),
+                    true,
+                    player
+                ));
+                return;
+            }
+            final TradeEvaluator.Offer offer = tradeEvaluator.proposeTrade(state, seat);
+            if (offer != null) {
+                context.offer(new TradePayload(
+                    TradeEvaluator.toResources(offer.offer()),
+                    TradeEvaluator.toResources(offer.request()),
+                    false,
+                    player
+                ));
+            }
+        }, null);
+        if (payload != null) {
+            playerController.triggerAction(new TradeAction(payload));
+        }
+    }
+
+    /**
+     * This method accepts the offered trade if the {@link TradeEvaluator} accepts it.
+     * Counter-offers are declined, since there is no action to propose them during another player's turn.
+     */
+    private void acceptTrade() {
+        final TradePayload payload = playerController.getPlayerState().offeredTrade();
+        if (payload == null) {
+            playerController.triggerAction(new AcceptTradeAction(false));
+            return;
+        }
+        final SearchState state = createSearchState();
+        final int proposer = state.getSeat(payload.player());
+        final int seat = state.getSeat(playerController.getPlayer());
+        final boolean accepted = decide(context -> context.offer(new TradeEvaluator(weights).respond(
+            state,
+            proposer,
+            seat,
+            SearchState.toVector(payload.offer()),
+            SearchState.toVector(payload.request())
+        ).verdict() == TradeEvaluator.Verdict.ACCEPT), false);
+        playerController.triggerAction(new AcceptTradeAction(accepted));
+    }
+
     /**
      * This method selects the required amount of random cards from the player's
      * resources.
@@ -112,15 +294,74 @@ public class BasicAiController extends AiController {
     }
 
     /**
-     * This method selects a random robber tile.
+     * This method moves the robber to the tile chosen by the {@link RobberPlacement} optimizer.
+     * Falls back to the tile after the robber's, so that a late decision does not stall the game.
      */
     private void selectRobberTileAction() {
-        playerController.triggerAction(
-            new SelectRobberTileAction(hexGrid.getTiles().values().stream().findAny().get().getPosition()));
+        final SearchState state = createSearchState();
+        final int seat = state.getSeat(playerController.getPlayer());
+        final RobberPlacement placement = robberPlacement;
+        final int tile = decide(
+            context -> context.offer(placement.selectTile(state, seat)),
+            (state.getRobberTile() + 1) % state.getBoard().getTileCount()
+        );
+        if (tile == -1) {
+            return;
+        }
+        playerController.triggerAction(new SelectRobberTileAction(state.getBoard().getTile(tile).getPosition()));
     }
 
     /**
-     * This method steals a random card from a random player that has resources.
+     * Creates a compact copy of the current game state, indexing the grid on first use.
+     *
+     * @return the search state
+     */
+    private SearchState createSearchState() {
+        // the robber is never moved in the first round
+        return createSearchState(1);
+    }
+
+    /**
+     * Creates a compact copy of the current game state in the given round, indexing the grid on first use.
+     *
+     * @param roundCounter the round, {@code 0} for the first round
+     * @return the search state
+     */
+    private SearchState createSearchState(final int roundCounter) {
+        return new SearchState(getBoardIndex(), gameState, playerController.getPlayer(), roundCounter);
+    }
+
+    /**
+     * Returns the index of the grid, creating it on first use.
+     *
+     * @return the board index
+     */
+    private BoardIndex getBoardIndex() {
+        if (robberPlacement == null) {
+            robberPlacement = new RobberPlacement(new BoardIndex(hexGrid), weights);
+        }
+        return robberPlacement.getBoard();
+    }
+
+    /**
+     * Returns the opening book's line for this board, looking it up on first use.
+     *
+     * @return the ids of the line's elements or {@code null}, if there is no book or the board is not in it
+     */
+    private int[] getOpeningLine() {
+        if (!openingLineLoaded) {
+            openingLineLoaded = true;
+            final OpeningBook book = OpeningBook.getShared();
+            if (book != null) {
+                openingLine = book.lookup(getBoardIndex(), gameState.getPlayers().size());
+            }
+        }
+        return openingLine;
+    }
+
+    /**
+     * This method steals from the victim chosen by the {@link RobberPlacement} optimizer, taking the resource
+     * they hold the most of. Falls back to any player that can be robbed.
      * <p>
      * Important: When there is nothing to steal or no one to steal from, no action
      * is performed and the EndTurnAction is triggered due to the control flow in
@@ -129,13 +370,24 @@ public class BasicAiController extends AiController {
      * the EndTurnAction.
      */
     private void stealCardAction() {
-        final Player playerToStealFrom = playerController.getPlayerState().playersToStealFrom().stream().findAny()
-            .orElse(null);
+        final SearchState state = createSearchState();
+        final int seat = state.getSeat(playerController.getPlayer());
+        final RobberPlacement placement = robberPlacement;
+        final int victim = decide(context -> context.offer(
+            placement.selectVictim(state, seat, state.getRobberTile())
+        ), -1);
+        final Player playerToStealFrom = victim != -1
+            && playerController.getPlayerState().playersToStealFrom().contains(state.getPlayer(victim))
+            ? state.getPlayer(victim)
+            : playerController.getPlayerState().playersToStealFrom().stream().findAny().orElse(null);
         if (playerToStealFrom == null) {
             return;
         }
         final ResourceType resourceToSteal = playerToStealFrom.getResources().entrySet().stream()
-            .filter(entry -> entry.getValue() > 0).map(Entry::getKey).findAny().orElse(null);
+            .filter(entry -> entry.getValue() > 0)
+            .max(Entry.comparingByValue())
+            .map(Entry::getKey)
+            .orElse(null);
         if (resourceToSteal == null) {
             return;
         }
@@ -0,0 +1,205 @@
+package projekt.controller;
+
+import projekt.Config;
+import projekt.controller.ai.BoardIndex;
+import projekt.model.Player;
+import projekt.net.GameSnapshot;
+
+import java.time.Duration;
+
+/**
+ * The pace of a game whose players are all AIs.
+ * <p>
+ * Once a game is shown, its AIs wait {@link Config#AI_ACTION_DELAY} before every action, so that their moves can be
+ * followed. A game is fast-forwarded while its speed multiplier is above {@code 1}. Then this delay and the time
+ * budget of every AI decision are divided by the multiplier, and the game no longer updates its view with every change. Instead, the game's thread
+ * captures an immutable {@link GameSnapshot} at the start of every {@link #getRenderEveryNthTurn() n-th} turn and
+ * when the game is won, and the view samples the latest one at its own frame rate (see {@link Config#FAST_FORWARD_FRAME_RATE}).
+ * So the game runs as fast as the AIs decide, however slow the view is, and the view draws at most one frame per
+ * sample, however fast the game is.
+ */
+public final class FastForward {
+    private final GameController gameController;
+    private volatile int speed = 1;
+    private volatile boolean paced;
+    private volatile int renderEveryNthTurn = Config.FAST_FORWARD_RENDER_EVERY;
+    private volatile BoardIndex board;
+    private volatile GameSnapshot latestSnapshot;
+    private volatile long turnCount;
+    private volatile long publishedCount;
+
+    /**
+     * Creates the pace of the given game and follows its turns.
+     * The game starts at normal speed (see {@link #applyDefaultSpeed()}).
+     *
+     * @param gameController the game controller
+     */
+    public FastForward(final GameController gameController) {
+        this.gameController = gameController;
+        gameController.getActivePlayerControllerProperty().subscribe(activePlayerController -> {
+            if (activePlayerController != null) {
+                turnStarted();
+            }
+        });
+        gameController.getState().getWinnerProperty().subscribe(winner -> {
+            if (winner != null && isActive()) {
+                publish();
+            }
+        });
+    }
+
+    /**
+     * Returns whether the game can be fast-forwarded, i.e. whether it has players and all of them are AIs.
+     *
+     * @return whether the game can be fast-forwarded
+     */
+    public boolean isAvailable() {
+        return !gameController.getState().getPlayers().isEmpty()
+            && gameController.getState().getPlayers().stream().allMatch(Player::isAi);
+    }
+
+    /**
+     * Returns whether the game is fast-forwarded, i.e. whether its speed multiplier is above {@code 1}.
+     *
+     * @return whether the game is fast-forwarded
+     */
+    public boolean isActive() {
+        return speed > 1;
+    }
+
+    /**
+     * Returns the speed multiplier.
+     *
+     * @return the speed multiplier
+     */
+    public int getSpeed() {
+        return speed;
+    }
+
+    /**
+     * Sets the speed multiplier. A multiplier of {@code 1} plays the game at normal speed.
+     *
+     * @param speed the speed multiplier
+     * @throws IllegalArgumentException if the multiplier is not positive
+     * @throws IllegalStateException    if the game is to be fast-forwarded, but cannot be
+     */
+    public void setSpeed(final int speed) {
+        if (speed < 1) {
+            throw new IllegalArgumentException("Speed must be positive: " + speed);
+        }
+        if (speed > 1 && !isAvailable()) {
+            throw new IllegalStateException("Only games whose players are all AIs can be fast-forwarded");
+        }
+        this.speed = speed;
+    }
+
+    /**
+     * Paces the AIs' actions (see {@link #getActionDelay()}) and sets the speed multiplier to
+     * {@link Config#FAST_FORWARD_SPEED}, if the game can be fast-forwarded.
+     * Called once the game is shown, since headless games keep their normal speed and never wait.
+     */
+    public void applyDefaultSpeed() {
+        paced = true;
+        if (isAvailable()) {
+            setSpeed(Config.FAST_FORWARD_SPEED);
+        }
+    }
+
+    /**
+     * Returns the amount of turns after which a fast-forwarded game is shown again.
+     *
+     * @return the amount of turns
+     */
+    public int getRenderEveryNthTurn() {
+        return renderEveryNthTurn;
+    }
+
+    /**
+     * Sets the amount of turns after which a fast-forwarded game is shown again.
+     *
+     * @param renderEveryNthTurn the amount of turns
+     * @throws IllegalArgumentException if the amount is not positive
+     */
+    public void setRenderEveryNthTurn(final int renderEveryNthTurn) {
+        if (renderEveryNthTurn < 1) {
+            throw new IllegalArgumentException("Turns must be positive: " + renderEveryNthTurn);
+        }
+        this.renderEveryNthTurn = renderEveryNthTurn;
+    }
+
+    /**
+     * Returns the time an AI may take for a single decision at the current speed.
+     *
+     * @return the decision budget
+     */
+    public Duration getDecisionBudget() {
+        return Config.AI_DECISION_BUDGET.dividedBy(speed);
+    }
+
+    /**
+     * Returns the time an AI waits before it acts at the current speed.
+     *
+     * @return the delay, {@link Duration#ZERO} if the game is not shown
+     */
+    public Duration getActionDelay() {
+        return paced ? Config.AI_ACTION_DELAY.dividedBy(speed) : Duration.ZERO;
+    }
+
+    /**
+     * Counts the turn that just started and publishes a snapshot, if the game is fast-forwarded and the turn is
+     * to be shown. Called on the game's thread.
+     */
+    private void turnStarted() {
+        turnCount++;
+        if (isActive() && turnCount % renderEveryNthTurn == 0) {
+            publish();
+        }
+    }
+
+    /**
+     * Captures and publishes a snapshot of the game. Called on the game's thread.
+     */
+    private void publish() {
+        if (board == null) {
+            board = new BoardIndex(gameController.getState().getGrid());
+        }
+        latestSnapshot = GameSnapshot.capture(board, gameController);
+        publishedCount++;
+    }
+
+    /**
+     * Returns the latest published snapshot. May be called from any thread.
+     *
+     * @return the latest snapshot or {@code null}, if none has been published yet
+     */
+    public GameSnapshot getLatestSnapshot() {
+        return latestSnapshot;
+    }
+
+    /**
+     * Returns the index of the board the snapshots refer to.
+     *
+     * @return the index or {@code null}, if no snapshot has been published yet
+     */
+    public BoardIndex getBoard() {
+        return board;
+    }
+
+    /**
+     * Returns the amount of turns played.
+     *
+     * @return the amount of turns
+     */
+    public long getTurnCount() {
+        return turnCount;
+    }
+
+    /**
+     * Returns the amount of published snapshots.
+     *
+     * @return the amount of snapshots
+     */
+    public long getPublishedCount() {
+        return publishedCount;
+    }
+}
@@ -7,6 +7,7 @@ import javafx.beans.property.SimpleObjectProperty;
 import org.tudalgo.algoutils.student.annotation.DoNotTouch;
 import org.tudalgo.algoutils.student.annotation.StudentImplementationRequired;
 import projekt.Config;
+import projekt.controller.ai.AiExecutor;
 import projekt.model.DevelopmentCardType;
 import projekt.model.GameState;
 import projekt.model.HexGridImpl;
@@ -41,6 +42,10 @@ public class GameController {
 
     private final Property<PlayerController> activePlayerControllerProperty = new SimpleObjectProperty<>();
 
+    private final FastForward fastForward;
+
+    private AiExecutor aiExecutor;
+
     /**
      * Initializes the {@link GameController} with the given {@link GameState},
      * {@link PlayerController}s and dice.
@@ -57,6 +62,8 @@ public class GameController {
         this.state = state;
         this.playerControllers = playerControllers;
         this.dice = dice;
+        this.fastForward = new FastForward(this);
+        closeAiExecutorWhenWon();
     }
 
     /**
@@ -71,6 +78,8 @@ public class GameController {
         this.state = state;
         this.dice = dice;
         this.playerControllers = new HashMap<>();
+        this.fastForward = new FastForward(this);
+        closeAiExecutorWhenWon();
     }
 
     /**
@@ -148,6 +157,50 @@ public class GameController {
         return activePlayerControllerProperty.getValue();
     }
 
+    /**
+     * Returns the {@link FastForward pace} of the game.
+     *
+     * @return The pace of the game.
+     */
+    public FastForward getFastForward() {
+        return fastForward;
+    }
+
+    /**
+     * Returns the {@link AiExecutor} running the reactions and decisions of this game's AIs.
+     * It is created on first use, so the AIs of other games never wait for this game's AIs.
+     *
+     * @return The {@link AiExecutor} of this game.
+     */
+    public synchronized AiExecutor getAiExecutor() {
+        if (aiExecutor == null) {
+            aiExecutor = new AiExecutor();
+        }
+        return aiExecutor;
+    }
+
+    /**
+     * Closes the {@link AiExecutor} of this game, if it has been created, stopping its threads.
+     * The AIs of this game do not react anymore afterwards. This happens when the game has a winner
+     * and when the game board is left.
+     */
+    public synchronized void closeAiExecutor() {
+        if (aiExecutor != null) {
+            aiExecutor.close();
+        }
+    }
+
+    /**
+     * Closes the {@link AiExecutor} of this game as soon as it has a winner.
+     */
+    private void closeAiExecutorWhenWon() {
+        state.getWinnerProperty().subscribe(winner -> {
+            if (winner != null) {
+                closeAiExecutor();
+            }
+        });
+    }
+
     /**
      * Returns the {@link IntegerProperty} of the current dice roll.
      *
@@ -7,6 +7,7 @@ import org.tudalgo.algoutils.student.annotation.StudentImplementationRequired;
 import projekt.Config;
 import projekt.controller.actions.IllegalActionException;
 import projekt.controller.actions.PlayerAction;
+import projekt.controller.metrics.PerformanceMetrics;
 import projekt.model.DevelopmentCardType;
 import projekt.model.Intersection;
 import projekt.model.Player;
@@ -89,6 +90,15 @@ public class PlayerController {
         return player;
     }
 
+    /**
+     * Returns the {@link GameController} this controller is part of.
+     *
+     * @return the {@link GameController} this controller is part of.
+     */
+    public GameController getGameController() {
+        return gameController;
+    }
+
     /**
      * Returns a {@link Property} with the current {@link PlayerState}.
      *
@@ -287,8 +297,14 @@ public class PlayerController {
                                                                action, playerObjectiveProperty.getValue().getAllowedActions()
                 ));
             }
+            final PerformanceMetrics metrics = PerformanceMetrics.getInstance();
+            final boolean measured = metrics.isEnabled();
+            final long start = measured ? System.nanoTime() : 0;
             action.execute(this);
             updatePlayerState();
+            if (measured) {
+                metrics.recordAction(action.getClass().getSimpleName(), System.nanoTime() - start);
+            }
             return action;
         } catch (final IllegalActionException e) {
             // Ignore and keep going
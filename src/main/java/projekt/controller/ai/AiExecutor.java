@@ -0,0 +1,289 @@
+package projekt.controller.ai;
+
+import projekt.Config;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs AI work off the game loop and FX threads.
+ * <p>
+ * The executor consists of
+ * <ul>
+ *     <li>a single dispatcher thread, which runs the reactions of AI controllers to objective changes
+ *     in the order they occurred (see {@link #dispatch(Runnable)}),</li>
+ *     <li>a bounded pool of worker threads computing {@link Decision}s with a hard time budget
+ *     (see {@link #submit(Decision, Duration, Object)}) and</li>
+ *     <li>a timer thread enforcing the budgets.</li>
+ * </ul>
+ * When a decision's budget expires, it is cancelled (its context is stopped and its thread interrupted) and the best
+ * result offered so far is returned. The latency of every decision is recorded in {@link #getMetrics()}.
+ * <p>
+ * Every game creates an executor of its own (see {@link projekt.controller.GameController#getAiExecutor()}), so the
+ * AIs of concurrent games neither wait for each other's reactions nor compete for each other's queue. All threads
+ * are daemon threads and end after {@link #IDLE_SECONDS} without work, so the executors of finished games hold no
+ * threads. Executors created by {@link #direct()} run everything on the calling thread instead, e.g. for headless
+ * games that already run on a thread of their own.
+ */
+public final class AiExecutor implements AutoCloseable {
+
+    /**
+     * The time after which idle threads end, in seconds.
+     */
+    public static final int IDLE_SECONDS = 30;
+
+    private final ThreadPoolExecutor workers;
+    private final ThreadPoolExecutor dispatcher;
+    private final ScheduledThreadPoolExecutor timer;
+    private final DecisionMetrics metrics = new DecisionMetrics();
+
+    /**
+     * Creates a new executor.
+     *
+     * @param threads       the amount of worker threads
+     * @param queueCapacity the maximum amount of decisions waiting for a worker
+     */
+    public AiExecutor(final int threads, final int queueCapacity) {
+        this.workers = new ThreadPoolExecutor(
+            threads, threads, IDLE_SECONDS, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), daemonThreadFactory("AiWorkerThread")
+        );
+        // a single thread keeps the reactions in order
+        this.dispatcher = new ThreadPoolExecutor(
+            1, 1, IDLE_SECONDS, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), daemonThreadFactory("AiDispatcherThread")
+        );
+        this.timer = new ScheduledThreadPoolExecutor(1, daemonThreadFactory("AiDeadlineThread"));
+        this.timer.setKeepAliveTime(IDLE_SECONDS, TimeUnit.SECONDS);
+        this.timer.setRemoveOnCancelPolicy(true);
+        workers.allowCoreThreadTimeOut(true);
+        dispatcher.allowCoreThreadTimeOut(true);
+        timer.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Creates a new executor configured by {@link Config#AI_THREADS} and {@link Config#AI_QUEUE_CAPACITY}.
+     */
+    public AiExecutor() {
+        this(Config.AI_THREADS, Config.AI_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Creates a new executor that runs all tasks and decisions on the calling thread.
+     *
+     * @param direct a marker distinguishing this constructor
+     */
+    private AiExecutor(final boolean direct) {
+        this.workers = null;
+        this.dispatcher = null;
+        this.timer = null;
+    }
+
+    /**
+     * Returns a new executor that runs dispatched tasks and decisions directly on the calling thread.
+     * Budgets are only enforced cooperatively, through {@link DecisionContext#shouldStop()}.
+     *
+     * @return a new direct executor
+     */
+    public static AiExecutor direct() {
+        return new AiExecutor(true);
+    }
+
+    /**
+     * Creates a factory for named daemon threads.
+     *
+     * @param name the base name of the threads
+     * @return the thread factory
+     */
+    private static ThreadFactory daemonThreadFactory(final String name) {
+        final AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Runs the given task on the dispatcher thread. Tasks run one after another in submission order.
+     * Exceptions thrown by the task are printed and do not affect later tasks.
+     * Tasks dispatched after {@link #close()} are dropped.
+     *
+     * @param task the task to run
+     */
+    public void dispatch(final Runnable task) {
+        final Runnable guardedTask = () -> {
+            try {
+                task.run();
+            } catch (final RuntimeException e) {
+                e.printStackTrace();
+            }
+        };
+        if (dispatcher == null) {
+            guardedTask.run();
+        } else {
+            try {
+                dispatcher.execute(guardedTask);
+            } catch (final RejectedExecutionException e) {
+                // the game has ended
+            }
+        }
+    }
+
+    /**
+     * Starts the given decision on a worker thread.
+     * The returned future completes with the decision's best result once the decision returns or its budget
+     * expires, whichever happens first. It completes with the fallback immediately if all workers are busy and
+     * the queue is full.
+     *
+     * @param decision the decision to run
+     * @param budget   the time budget, measured from this call
+     * @param fallback the result if the decision offers none
+     * @param <T>      the type of the result
+     * @return a future completing with the best result
+     */
+    public <T> CompletableFuture<T> submit(final Decision<T> decision, final Duration budget, final T fallback) {
+        final long start = System.nanoTime();
+        final DecisionContext<T> context = new DecisionContext<>(start + budget.toNanos(), fallback);
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        if (workers == null) {
+            run(decision, context, result, start);
+            return result;
+        }
+        final Future<?> task;
+        try {
+            task = workers.submit(() -> run(decision, context, result, start));
+        } catch (final RejectedExecutionException e) {
+            metrics.recordRejection();
+            result.complete(fallback);
+            return result;
+        }
+        final ScheduledFuture<?> deadline = timer.schedule(() -> {
+            context.stop();
+            task.cancel(true);
+            // the metrics are recorded before the result is visible to the waiting thread
+            if (context.finish()) {
+                metrics.record(System.nanoTime() - start, true);
+                result.complete(context.getBest());
+            }
+        }, budget.toNanos(), TimeUnit.NANOSECONDS);
+        result.whenComplete((value, throwable) -> deadline.cancel(false));
+        return result;
+    }
+
+    /**
+     * Runs the given decision on the current thread and completes the result with its best result,
+     * unless the result has been completed before because the budget expired.
+     *
+     * @param decision the decision to run
+     * @param context  the decision's context
+     * @param result   the future to complete
+     * @param start    the time the decision was submitted, in {@link System#nanoTime()} units
+     * @param <T>      the type of the result
+     */
+    private <T> void run(
+        final Decision<T> decision, final DecisionContext<T> context, final CompletableFuture<T> result, final long start
+    ) {
+        try {
+            decision.search(context);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (final Exception e) {
+            if (!context.shouldStop()) {
+                metrics.recordFailure();
+                e.printStackTrace();
+            }
+        } finally {
+            final boolean timedOut = context.getRemainingNanos() == 0;
+            context.stop();
+            if (context.finish()) {
+                metrics.record(System.nanoTime() - start, timedOut);
+                result.complete(context.getBest());
+            }
+        }
+    }
+
+    /**
+     * Runs the given decision on a worker thread and waits for its result, at most for the given budget.
+     *
+     * @param decision the decision to run
+     * @param budget   the time budget
+     * @param fallback the result if the decision offers none
+     * @param <T>      the type of the result
+     * @return the best result found within the budget
+     * @see #submit(Decision, Duration, Object)
+     */
+    public <T> T decide(final Decision<T> decision, final Duration budget, final T fallback) {
+        return submit(decision, budget, fallback).join();
+    }
+
+    /**
+     * Runs the given decision with the default budget {@link Config#AI_DECISION_BUDGET}.
+     *
+     * @param decision the decision to run
+     * @param fallback the result if the decision offers none
+     * @param <T>      the type of the result
+     * @return the best result found within the budget
+     */
+    public <T> T decide(final Decision<T> decision, final T fallback) {
+        return decide(decision, Config.AI_DECISION_BUDGET, fallback);
+    }
+
+    /**
+     * Returns the latency metrics of the decisions run by this executor.
+     *
+     * @return the metrics
+     */
+    public DecisionMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns the amount of decisions waiting for a worker.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        return workers == null ? 0 : workers.getQueue().size();
+    }
+
+    /**
+     * Returns the amount of decisions currently running.
+     *
+     * @return the amount of running decisions
+     */
+    public int getActiveDecisions() {
+        return workers == null ? 0 : workers.getActiveCount();
+    }
+
+    /**
+     * Returns whether this executor has been {@link #close() closed}. The {@link #direct()} executor never is.
+     *
+     * @return whether this executor has been closed
+     */
+    public boolean isClosed() {
+        return workers != null && workers.isShutdown();
+    }
+
+    /**
+     * Stops all threads of this executor. Running decisions are interrupted.
+     */
+    @Override
+    public void close() {
+        if (workers != null) {
+            workers.shutdownNow();
+            dispatcher.shutdownNow();
+            timer.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,491 @@
+package projekt.controller.ai;
+
+import projekt.model.HexGrid;
+import projekt.model.Intersection;
+import projekt.model.ResourceType;
+import projekt.model.TilePosition;
+import projekt.model.Zobrist;
+import projekt.model.buildings.Edge;
+import projekt.model.buildings.Port;
+import projekt.model.tiles.Tile;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * An immutable, integer-indexed view of the topology of a {@link HexGrid}.
+ * Tiles, intersections and edges are assigned dense ids in a deterministic order (sorted by their positions),
+ * so identical boards always produce identical indices.
+ * All adjacency information is stored in primitive arrays, which allows search code to walk the board
+ * without allocating.
+ * <p>
+ * Only methods of the grid that do not depend on player state are used, i.e. the index can be created
+ * from a freshly generated grid.
+ */
+public final class BoardIndex {
+
+    /**
+     * Orders sets of positions by their sorted positions, lexicographically.
+     */
+    private static final Comparator<List<TilePosition>> POSITIONS_COMPARATOR = (list1, list2) -> {
+        for (int i = 0; i < Math.min(list1.size(), list2.size()); i++) {
+            final int result = list1.get(i).compareTo(list2.get(i));
+            if (result != 0) {
+                return result;
+            }
+        }
+        return Integer.compare(list1.size(), list2.size());
+    };
+
+    /**
+     * Shared empty id array.
+     */
+    private static final int[] NONE = new int[0];
+
+    private final HexGrid hexGrid;
+
+    private final Tile[] tiles;
+    private final int[] tileResources;
+    private final int[] tileRollNumbers;
+    private final int[][] tileIntersections;
+    private final int[][] rollNumberTiles;
+    private final long[] tileCodes;
+    private final Map<TilePosition, Integer> tileIds = new HashMap<>();
+
+    private final Intersection[] intersections;
+    private final int[][] intersectionTiles;
+    private final int[][] intersectionEdges;
+    private final int[][] intersectionNeighbours;
+    private final int[] intersectionPortRatios;
+    private final int[] intersectionPortResources;
+    private final long[] intersectionCodes;
+    private final Map<Set<TilePosition>, Integer> intersectionIds = new HashMap<>();
+
+    private final Edge[] edges;
+    private final int[][] edgeIntersections;
+    private final int[][] edgeNeighbours;
+    private final long[] edgeCodes;
+    private final Map<Set<TilePosition>, Integer> edgeIds = new HashMap<>();
+
+    /**
+     * Creates a new index of the given grid.
+     *
+     * @param hexGrid the grid to index
+     */
+    public BoardIndex(final HexGrid hexGrid) {
+        this.hexGrid = hexGrid;
+
+        // Tiles
+        this.tiles = hexGrid.getTiles().values().stream()
+            .sorted(Comparator.comparing(Tile::getPosition))
+            .toArray(Tile[]::new);
+        this.tileResources = new int[tiles.length];
+        this.tileRollNumbers = new int[tiles.length];
+        this.tileCodes = new long[tiles.length];
+        for (int i = 0; i < tiles.length; i++) {
+            tileIds.put(tiles[i].getPosition(), i);
+            tileCodes[i] = Zobrist.code(tiles[i].getPosition());
+            tileResources[i] = tiles[i].getType().resourceType == null ? -1 : tiles[i].getType().resourceType.ordinal();
+            tileRollNumbers[i] = tiles[i].getRollNumber();
+        }
+
+        // Intersections
+        final List<Map.Entry<Set<TilePosition>, Intersection>> sortedIntersections = sortByPositions(hexGrid.getIntersections());
+        this.intersections = new Intersection[sortedIntersections.size()];
+        this.intersectionTiles = new int[intersections.length][];
+        this.intersectionCodes = new long[intersections.length];
+        for (int i = 0; i < intersections.length; i++) {
+            intersections[i] = sortedIntersections.get(i).getValue();
+            intersectionIds.put(sortedIntersections.get(i).getKey(), i);
+            intersectionCodes[i] = Zobrist.code(sortedIntersections.get(i).getKey());
+            intersectionTiles[i] = sortedIntersections.get(i).getKey().stream()
+                .sorted()
+                .filter(tileIds::containsKey)
+                .mapToInt(tileIds::get)
+                .toArray();
+        }
+
+        // Edges
+        final List<Map.Entry<Set<TilePosition>, Edge>> sortedEdges = sortByPositions(hexGrid.getEdges());
+        this.edges = new Edge[sortedEdges.size()];
+        this.edgeCodes = new long[edges.length];
+        for (int i = 0; i < edges.length; i++) {
+            edges[i] = sortedEdges.get(i).getValue();
+            edgeIds.put(sortedEdges.get(i).getKey(), i);
+            edgeCodes[i] = Zobrist.code(sortedEdges.get(i).getKey());
+        }
+
+        // Adjacency: an edge connects the (at most two) intersections that contain both of its positions
+        final List<List<Integer>> edgesOfIntersection = new ArrayList<>();
+        final List<List<Integer>> intersectionsOfEdge = new ArrayList<>();
+        for (int i = 0; i < intersections.length; i++) {
+            edgesOfIntersection.add(new ArrayList<>());
+        }
+        for (int i = 0; i < edges.length; i++) {
+            intersectionsOfEdge.add(new ArrayList<>());
+        }
+        for (final Map.Entry<Set<TilePosition>, Integer> entry : intersectionIds.entrySet()) {
+            final List<TilePosition> positions = entry.getKey().stream().sorted().toList();
+            for (int i = 0; i < positions.size(); i++) {
+                for (int j = i + 1; j < positions.size(); j++) {
+                    final Integer edgeId = edgeIds.get(Set.of(positions.get(i), positions.get(j)));
+                    if (edgeId != null) {
+                        edgesOfIntersection.get(entry.getValue()).add(edgeId);
+                        intersectionsOfEdge.get(edgeId).add(entry.getValue());
+                    }
+                }
+            }
+        }
+        this.intersectionEdges = toSortedArrays(edgesOfIntersection);
+        this.edgeIntersections = toSortedArrays(intersectionsOfEdge);
+
+        this.intersectionNeighbours = new int[intersections.length][];
+        this.intersectionPortRatios = new int[intersections.length];
+        this.intersectionPortResources = new int[intersections.length];
+        for (int i = 0; i < intersections.length; i++) {
+            final int intersection = i;
+            intersectionNeighbours[i] = Arrays.stream(intersectionEdges[i])
+                .flatMap(edge -> Arrays.stream(edgeIntersections[edge]))
+                .filter(other -> other != intersection)
+                .distinct()
+                .sorted()
+                .toArray();
+            final Port port = Arrays.stream(intersectionEdges[i])
+                .mapToObj(edge -> edges[edge])
+                .filter(Edge::hasPort)
+                .map(Edge::getPort)
+                .findFirst()
+                .orElse(null);
+            intersectionPortRatios[i] = port == null ? 0 : port.ratio();
+            intersectionPortResources[i] = port == null || port.resourceType() == null ? -1 : port.resourceType().ordinal();
+        }
+
+        this.edgeNeighbours = new int[edges.length][];
+        for (int i = 0; i < edges.length; i++) {
+            final int edge = i;
+            edgeNeighbours[i] = Arrays.stream(edgeIntersections[i])
+                .flatMap(intersection -> Arrays.stream(intersectionEdges[intersection]))
+                .filter(other -> other != edge)
+                .distinct()
+                .sorted()
+                .toArray();
+        }
+
+        final List<List<Integer>> intersectionsOfTile = new ArrayList<>();
+        for (int i = 0; i < tiles.length; i++) {
+            intersectionsOfTile.add(new ArrayList<>());
+        }
+        for (int i = 0; i < intersections.length; i++) {
+            for (final int tile : intersectionTiles[i]) {
+                intersectionsOfTile.get(tile).add(i);
+            }
+        }
+        this.tileIntersections = toSortedArrays(intersectionsOfTile);
+
+        final int maxRollNumber = Arrays.stream(tileRollNumbers).max().orElse(0);
+        this.rollNumberTiles = new int[maxRollNumber + 1][];
+        for (int rollNumber = 0; rollNumber <= maxRollNumber; rollNumber++) {
+            final int roll = rollNumber;
+            rollNumberTiles[rollNumber] = IntStream.range(0, tiles.length)
+                .filter(tile -> roll > 0 && tileRollNumbers[tile] == roll)
+                .toArray();
+        }
+    }
+
+    /**
+     * Sorts the entries of the given map by their (sorted) key positions.
+     *
+     * @param map the map to sort
+     * @param <T> the type of the values
+     * @return the sorted entries
+     */
+    private static <T> List<Map.Entry<Set<TilePosition>, T>> sortByPositions(final Map<Set<TilePosition>, T> map) {
+        return map.entrySet().stream()
+            .sorted(Comparator.comparing(entry -> entry.getKey().stream().sorted().toList(), POSITIONS_COMPARATOR))
+            .toList();
+    }
+
+    /**
+     * Converts the given lists to sorted primitive arrays.
+     *
+     * @param lists the lists to convert
+     * @return the sorted arrays
+     */
+    private static int[][] toSortedArrays(final List<List<Integer>> lists) {
+        return lists.stream()
+            .map(list -> list.stream().mapToInt(Integer::intValue).sorted().toArray())
+            .toArray(int[][]::new);
+    }
+
+    /**
+     * Returns the grid this index was created from.
+     *
+     * @return the grid this index was created from
+     */
+    public HexGrid getHexGrid() {
+        return hexGrid;
+    }
+
+    // Tiles
+
+    /**
+     * Returns the amount of tiles.
+     *
+     * @return the amount of tiles
+     */
+    public int getTileCount() {
+        return tiles.length;
+    }
+
+    /**
+     * Returns the tile with the given id.
+     *
+     * @param tile the id of the tile
+     * @return the tile with the given id
+     */
+    public Tile getTile(final int tile) {
+        return tiles[tile];
+    }
+
+    /**
+     * Returns the id of the tile at the given position or {@code -1}, if there is no such tile.
+     *
+     * @param position the position of the tile
+     * @return the id of the tile
+     */
+    public int getTileId(final TilePosition position) {
+        return position == null ? -1 : tileIds.getOrDefault(position, -1);
+    }
+
+    /**
+     * Returns the ordinal of the {@link ResourceType} the given tile produces or {@code -1}, if it does not produce any.
+     *
+     * @param tile the id of the tile
+     * @return the ordinal of the produced resource type
+     */
+    public int getTileResource(final int tile) {
+        return tileResources[tile];
+    }
+
+    /**
+     * Returns the roll number of the given tile.
+     *
+     * @param tile the id of the tile
+     * @return the roll number of the tile
+     */
+    public int getTileRollNumber(final int tile) {
+        return tileRollNumbers[tile];
+    }
+
+    /**
+     * Returns the ids of all intersections adjacent to the given tile.
+     * The returned array must not be modified.
+     *
+     * @param tile the id of the tile
+     * @return the ids of the adjacent intersections
+     */
+    public int[] getTileIntersections(final int tile) {
+        return tileIntersections[tile];
+    }
+
+    /**
+     * Returns the ids of all tiles with the given roll number.
+     * The returned array must not be modified.
+     *
+     * @param rollNumber the roll number
+     * @return the ids of all tiles with the given roll number
+     */
+    public int[] getTilesWithRollNumber(final int rollNumber) {
+        return rollNumber > 0 && rollNumber < rollNumberTiles.length ? rollNumberTiles[rollNumber] : NONE;
+    }
+
+    // Intersections
+
+    /**
+     * Returns the amount of intersections.
+     *
+     * @return the amount of intersections
+     */
+    public int getIntersectionCount() {
+        return intersections.length;
+    }
+
+    /**
+     * Returns the intersection with the given id.
+     *
+     * @param intersection the id of the intersection
+     * @return the intersection with the given id
+     */
+    public Intersection getIntersection(final int intersection) {
+        return intersections[intersection];
+    }
+
+    /**
+     * Returns the id of the given intersection or {@code -1}, if it is not part of the indexed grid.
+     *
+     * @param intersection the intersection
+     * @return the id of the intersection
+     */
+    public int getIntersectionId(final Intersection intersection) {
+        return intersectionIds.getOrDefault(intersection.getAdjacentTilePositions(), -1);
+    }
+
+    /**
+     * Returns the ids of the (on-grid) tiles adjacent to the given intersection.
+     * The returned array must not be modified.
+     *
+     * @param intersection the id of the intersection
+     * @return the ids of the adjacent tiles
+     */
+    public int[] getIntersectionTiles(final int intersection) {
+        return intersectionTiles[intersection];
+    }
+
+    /**
+     * Returns the ids of the edges connected to the given intersection.
+     * The returned array must not be modified.
+     *
+     * @param intersection the id of the intersection
+     * @return the ids of the connected edges
+     */
+    public int[] getIntersectionEdges(final int intersection) {
+        return intersectionEdges[intersection];
+    }
+
+    /**
+     * Returns the ids of the intersections adjacent to the given intersection.
+     * The returned array must not be modified.
+     *
+     * @param intersection the id of the intersection
+     * @return the ids of the adjacent intersections
+     */
+    public int[] getIntersectionNeighbours(final int intersection) {
+        return intersectionNeighbours[intersection];
+    }
+
+    /**
+     * Returns the ratio of the port at the given intersection or {@code 0}, if there is no port.
+     *
+     * @param intersection the id of the intersection
+     * @return the ratio of the port
+     */
+    public int getPortRatio(final int intersection) {
+        return intersectionPortRatios[intersection];
+    }
+
+    /**
+     * Returns the ordinal of the {@link ResourceType} the port at the given intersection accepts
+     * or {@code -1}, if there is no port or the port accepts any resource type.
+     *
+     * @param intersection the id of the intersection
+     * @return the ordinal of the accepted resource type
+     */
+    public int getPortResource(final int intersection) {
+        return intersectionPortResources[intersection];
+    }
+
+    // Edges
+
+    /**
+     * Returns the amount of edges.
+     *
+     * @return the amount of edges
+     */
+    public int getEdgeCount() {
+        return edges.length;
+    }
+
+    /**
+     * Returns the edge with the given id.
+     *
+     * @param edge the id of the edge
+     * @return the edge with the given id
+     */
+    public Edge getEdge(final int edge) {
+        return edges[edge];
+    }
+
+    /**
+     * Returns the id of the given edge or {@code -1}, if it is not part of the indexed grid.
+     *
+     * @param edge the edge
+     * @return the id of the edge
+     */
+    public int getEdgeId(final Edge edge) {
+        return getEdgeId(edge.getPosition1(), edge.getPosition2());
+    }
+
+    /**
+     * Returns the id of the edge between the given positions or {@code -1}, if there is no such edge.
+     *
+     * @param position0 the first position
+     * @param position1 the second position
+     * @return the id of the edge
+     */
+    public int getEdgeId(final TilePosition position0, final TilePosition position1) {
+        return edgeIds.getOrDefault(Set.of(position0, position1), -1);
+    }
+
+    /**
+     * Returns the ids of the intersections on either end of the given edge.
+     * The returned array must not be modified.
+     *
+     * @param edge the id of the edge
+     * @return the ids of the intersections
+     */
+    public int[] getEdgeIntersections(final int edge) {
+        return edgeIntersections[edge];
+    }
+
+    /**
+     * Returns the ids of all edges sharing an intersection with the given edge.
+     * The returned array must not be modified.
+     *
+     * @param edge the id of the edge
+     * @return the ids of the connected edges
+     */
+    public int[] getEdgeNeighbours(final int edge) {
+        return edgeNeighbours[edge];
+    }
+
+    // Hashing
+
+    /**
+     * Returns the Zobrist code of the given tile.
+     *
+     * @param tile the id of the tile
+     * @return the code of the tile
+     * @see Zobrist#code(TilePosition)
+     */
+    public long getTileCode(final int tile) {
+        return tileCodes[tile];
+    }
+
+    /**
+     * Returns the Zobrist code of the given intersection.
+     *
+     * @param intersection the id of the intersection
+     * @return the code of the intersection
+     * @see Zobrist#code(Set)
+     */
+    public long getIntersectionCode(final int intersection) {
+        return intersectionCodes[intersection];
+    }
+
+    /**
+     * Returns the Zobrist code of the given edge.
+     *
+     * @param edge the id of the edge
+     * @return the code of the edge
+     * @see Zobrist#code(Set)
+     */
+    public long getEdgeCode(final int edge) {
+        return edgeCodes[edge];
+    }
+}
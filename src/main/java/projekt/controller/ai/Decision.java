@@ -0,0 +1,23 @@
+package projekt.controller.ai;
+
+/**
+ * An anytime AI computation, executed by an {@link AiExecutor}.
+ * <p>
+ * Implementations publish every improvement with {@link DecisionContext#offer(Object)} and regularly check
+ * {@link DecisionContext#shouldStop()}. When the time budget expires, the executor returns the best result
+ * offered so far, even if the computation has not returned yet.
+ *
+ * @param <T> the type of the result, e.g. an encoded {@link Move} or a
+ *            {@link projekt.controller.actions.PlayerAction PlayerAction}
+ */
+@FunctionalInterface
+public interface Decision<T> {
+
+    /**
+     * Runs the computation.
+     *
+     * @param context the context to publish results to and to check for cancellation
+     * @throws Exception if the computation fails; results offered before are still used
+     */
+    void search(DecisionContext<T> context) throws Exception;
+}
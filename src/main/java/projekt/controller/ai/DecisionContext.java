@@ -0,0 +1,82 @@
+package projekt.controller.ai;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The state shared between a running {@link Decision} and the {@link AiExecutor} waiting for it:
+ * the best result so far, the deadline and the cancellation flag.
+ *
+ * @param <T> the type of the result
+ */
+public final class DecisionContext<T> {
+
+    private final long deadline;
+    private volatile T best;
+    private volatile boolean stopped = false;
+    private final AtomicBoolean finished = new AtomicBoolean();
+
+    /**
+     * Creates a new context.
+     *
+     * @param deadline the deadline, in {@link System#nanoTime()} units
+     * @param fallback the result to use if the decision offers none
+     */
+    DecisionContext(final long deadline, final T fallback) {
+        this.deadline = deadline;
+        this.best = fallback;
+    }
+
+    /**
+     * Publishes a new best result. Results offered after the decision was stopped are ignored.
+     *
+     * @param result the new best result
+     */
+    public void offer(final T result) {
+        if (!stopped) {
+            best = result;
+        }
+    }
+
+    /**
+     * Returns the best result offered so far, or the fallback if there is none.
+     *
+     * @return the best result
+     */
+    public T getBest() {
+        return best;
+    }
+
+    /**
+     * Returns whether the decision should stop, i.e. it was cancelled or its deadline has passed.
+     *
+     * @return whether the decision should stop
+     */
+    public boolean shouldStop() {
+        return stopped || System.nanoTime() - deadline >= 0 || Thread.currentThread().isInterrupted();
+    }
+
+    /**
+     * Returns the time left until the deadline.
+     *
+     * @return the remaining time in nanoseconds, never negative
+     */
+    public long getRemainingNanos() {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+
+    /**
+     * Stops the decision; later offers are ignored.
+     */
+    void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Claims the completion of the decision, either by the decision itself or by its deadline.
+     *
+     * @return whether the caller is the first to claim it
+     */
+    boolean finish() {
+        return finished.compareAndSet(false, true);
+    }
+}
@@ -0,0 +1,147 @@
+package projekt.controller.ai;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency metrics of the decisions run by an {@link AiExecutor}.
+ * <p>
+ * Latencies are counted in a histogram with power-of-two microsecond buckets,
+ * so percentiles are approximated by the upper bound of their bucket.
+ */
+public final class DecisionMetrics {
+
+    private static final int BUCKETS = 40;
+
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    /**
+     * Records a finished decision.
+     *
+     * @param nanos    the latency of the decision
+     * @param timedOut whether the decision's budget expired
+     */
+    void record(final long nanos, final boolean timedOut) {
+        final long micros = Math.max(1, nanos / 1000);
+        histogram.incrementAndGet(Math.min(BUCKETS - 1, 63 - Long.numberOfLeadingZeros(micros)));
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        if (timedOut) {
+            timeouts.increment();
+        }
+    }
+
+    /**
+     * Records a decision that was rejected because the executor's queue was full.
+     */
+    void recordRejection() {
+        rejections.increment();
+    }
+
+    /**
+     * Records a decision that threw an exception.
+     */
+    void recordFailure() {
+        failures.increment();
+    }
+
+    /**
+     * Returns a snapshot of the current metrics.
+     *
+     * @return a snapshot of the metrics
+     */
+    public Snapshot snapshot() {
+        final long[] counts = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = histogram.get(i);
+            count += counts[i];
+        }
+        return new Snapshot(
+            count,
+            timeouts.sum(),
+            rejections.sum(),
+            failures.sum(),
+            count == 0 ? 0 : totalNanos.sum() / count,
+            maxNanos.get(),
+            percentile(counts, count, 0.50),
+            percentile(counts, count, 0.95),
+            percentile(counts, count, 0.99)
+        );
+    }
+
+    /**
+     * Returns the upper bound of the bucket containing the given percentile.
+     *
+     * @param counts     the bucket counts
+     * @param count      the total count
+     * @param percentile the percentile, between 0 and 1
+     * @return the approximated percentile in nanoseconds
+     */
+    private static long percentile(final long[] counts, final long count, final double percentile) {
+        final long rank = (long) Math.ceil(count * percentile);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank && seen > 0) {
+                return (2L << i) * 1000;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Resets all metrics.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram.set(i, 0);
+        }
+        totalNanos.reset();
+        maxNanos.reset();
+        timeouts.reset();
+        rejections.reset();
+        failures.reset();
+    }
+
+    /**
+     * A snapshot of {@link DecisionMetrics}.
+     *
+     * @param decisions  the amount of finished decisions
+     * @param timeouts   the amount of decisions whose budget expired
+     * @param rejections the amount of decisions rejected because the queue was full
+     * @param failures   the amount of decisions that threw an exception
+     * @param meanNanos  the mean latency
+     * @param maxNanos   the maximum latency
+     * @param p50Nanos   the approximated median latency
+     * @param p95Nanos   the approximated 95th percentile latency
+     * @param p99Nanos   the approximated 99th percentile latency
+     */
+    public record Snapshot(
+        long decisions,
+        long timeouts,
+        long rejections,
+        long failures,
+        long meanNanos,
+        long maxNanos,
+        long p50Nanos,
+        long p95Nanos,
+        long p99Nanos
+    ) {
+
+        @Override
+        public String toString() {
+            return String.format(
+                "decisions=%d timeouts=%d rejections=%d failures=%d mean=%.2fms max=%.2fms p50<=%.2fms p95<=%.2fms p99<=%.2fms",
+                decisions, timeouts, rejections, failures, meanNanos / 1e6, maxNanos / 1e6,
+                p50Nanos / 1e6, p95Nanos / 1e6, p99Nanos / 1e6
+            );
+        }
+    }
+}
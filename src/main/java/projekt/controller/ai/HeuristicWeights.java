@@ -0,0 +1,110 @@
+package projekt.controller.ai;
+
+import java.util.Arrays;
+
+/**
+ * The tunable weights of the heuristics AI controllers decide with, see {@link IntersectionValues},
+ * {@link RobberPlacement} and {@link TradeEvaluator}. {@link #DEFAULT} holds the hand-picked constants of these
+ * classes.
+ *
+ * @param diversity         the value of each distinct resource produced by an intersection,
+ *                          see {@link IntersectionValues#DIVERSITY_WEIGHT}
+ * @param genericPort       the value of access to a generic port, see {@link IntersectionValues#GENERIC_PORT_VALUE}
+ * @param specialPort       the value of access to a specialized port,
+ *                          see {@link IntersectionValues#SPECIAL_PORT_VALUE}
+ * @param scarcity          the weight of the scarcity adjustment, see {@link IntersectionValues#SCARCITY_WEIGHT}
+ * @param selfHarm          the weight of the own production lost to the robber,
+ *                          see {@link RobberPlacement#SELF_HARM_WEIGHT}
+ * @param steal             the value of a stolen card, see {@link RobberPlacement#STEAL_VALUE}
+ * @param cardValue         the value of a single card, see {@link TradeEvaluator#CARD_VALUE}
+ * @param bankTradeDistance the distance of a card obtainable from the bank,
+ *                          see {@link TradeEvaluator#BANK_TRADE_DISTANCE}
+ * @param discardPenalty    the penalty per card exposed to discarding, see {@link TradeEvaluator#DISCARD_PENALTY}
+ * @param opponentGain      the weight of an opponent's gain from a trade,
+ *                          see {@link TradeEvaluator#OPPONENT_GAIN_WEIGHT}
+ */
+public record HeuristicWeights(
+    double diversity,
+    double genericPort,
+    double specialPort,
+    double scarcity,
+    double selfHarm,
+    double steal,
+    double cardValue,
+    double bankTradeDistance,
+    double discardPenalty,
+    double opponentGain
+) {
+
+    /**
+     * The weights the heuristics use unless configured otherwise.
+     */
+    public static final HeuristicWeights DEFAULT = new HeuristicWeights(
+        IntersectionValues.DIVERSITY_WEIGHT,
+        IntersectionValues.GENERIC_PORT_VALUE,
+        IntersectionValues.SPECIAL_PORT_VALUE,
+        IntersectionValues.SCARCITY_WEIGHT,
+        RobberPlacement.SELF_HARM_WEIGHT,
+        RobberPlacement.STEAL_VALUE,
+        TradeEvaluator.CARD_VALUE,
+        TradeEvaluator.BANK_TRADE_DISTANCE,
+        TradeEvaluator.DISCARD_PENALTY,
+        TradeEvaluator.OPPONENT_GAIN_WEIGHT
+    );
+
+    /**
+     * The amount of weights.
+     */
+    public static final int COUNT = 10;
+
+    /**
+     * Returns the weights as a vector, in the order of the record components.
+     *
+     * @return the weights
+     */
+    public double[] toArray() {
+        return new double[] {
+            diversity, genericPort, specialPort, scarcity, selfHarm, steal,
+            cardValue, bankTradeDistance, discardPenalty, opponentGain
+        };
+    }
+
+    /**
+     * Creates weights from a vector in the order of the record components.
+     *
+     * @param weights the weights
+     * @return the weights
+     * @throws IllegalArgumentException if the vector does not have {@link #COUNT} entries
+     */
+    public static HeuristicWeights fromArray(final double[] weights) {
+        if (weights.length != COUNT) {
+            throw new IllegalArgumentException(
+                String.format("Expected %d weights: %s", COUNT, Arrays.toString(weights))
+            );
+        }
+        return new HeuristicWeights(
+            weights[0], weights[1], weights[2], weights[3], weights[4],
+            weights[5], weights[6], weights[7], weights[8], weights[9]
+        );
+    }
+
+    /**
+     * Returns these weights, each multiplied by the corresponding factor.
+     *
+     * @param factors the factors, in the order of the record components
+     * @return the scaled weights
+     * @throws IllegalArgumentException if there are not {@link #COUNT} factors
+     */
+    public HeuristicWeights scale(final double[] factors) {
+        final double[] weights = toArray();
+        if (factors.length != weights.length) {
+            throw new IllegalArgumentException(
+                String.format("Expected %d factors: %s", COUNT, Arrays.toString(factors))
+            );
+        }
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] *= factors[i];
+        }
+        return fromArray(weights);
+    }
+}
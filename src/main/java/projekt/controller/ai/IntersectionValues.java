@@ -0,0 +1,413 @@
+package projekt.controller.ai;
+
+import projekt.model.Intersection;
+import projekt.model.tiles.Tile;
+
+import java.util.Arrays;
+
+/**
+ * Static placement values of the intersections of a board, for placement decisions of AI controllers.
+ * <p>
+ * The value of an intersection combines
+ * <ul>
+ *     <li>its pip sum, i.e. the amount of dice combinations producing resources on adjacent tiles
+ *     (see {@link Tile#getRollNumber()}),</li>
+ *     <li>its resource diversity, i.e. the amount of distinct resources produced by adjacent tiles,</li>
+ *     <li>its port access (see {@link Intersection#getPort()}) and</li>
+ *     <li>the scarcity of the produced resources on the whole board.</li>
+ * </ul>
+ * The values are computed once per board. Afterwards, only the intersections around the robber's old and new
+ * tile are recomputed when the robber moves, and placements only update which intersections are free.
+ * A list of all intersections sorted by value is maintained, so {@link #getBestFreeSpots(int[])} only reads
+ * the first free entries instead of scanning the board.
+ * <p>
+ * Instances are not thread-safe; use {@link #copy()} to give each search thread its own table.
+ */
+public final class IntersectionValues {
+
+    /**
+     * The value of each distinct resource produced by an intersection.
+     */
+    public static final double DIVERSITY_WEIGHT = 1.0;
+
+    /**
+     * The value of access to a generic (3:1) port.
+     */
+    public static final double GENERIC_PORT_VALUE = 1.0;
+
+    /**
+     * The value of access to a specialized (2:1) port of a resource with average production.
+     */
+    public static final double SPECIAL_PORT_VALUE = 1.5;
+
+    /**
+     * The weight of the scarcity adjustment, relative to the pip sum.
+     */
+    public static final double SCARCITY_WEIGHT = 0.5;
+
+    private final BoardIndex board;
+    private final HeuristicWeights weights;
+
+    private final double[] resourceScarcity = new double[SearchState.RESOURCE_TYPES];
+    private final int[] pipSums;
+    private final int[] diversities;
+    private final double[] portValues;
+    private final double[] scarcityValues;
+    private final double[] values;
+    private final int[] blockers;
+    private final int[] order;
+    private int robberTile;
+
+    /**
+     * Creates the value table of the given board, with the robber at the grid's robber position
+     * and all intersections free.
+     *
+     * @param board the board index
+     */
+    public IntersectionValues(final BoardIndex board) {
+        this(board, HeuristicWeights.DEFAULT);
+    }
+
+    /**
+     * Creates the value table of the given board with the given weights, with the robber at the grid's robber
+     * position and all intersections free.
+     *
+     * @param board   the board index
+     * @param weights the weights of the value components
+     */
+    public IntersectionValues(final BoardIndex board, final HeuristicWeights weights) {
+        this.board = board;
+        this.weights = weights;
+        final int count = board.getIntersectionCount();
+        this.pipSums = new int[count];
+        this.diversities = new int[count];
+        this.portValues = new double[count];
+        this.scarcityValues = new double[count];
+        this.values = new double[count];
+        this.blockers = new int[count];
+        this.order = new int[count];
+        this.robberTile = board.getTileId(board.getHexGrid().getRobberPosition());
+
+        final int[] resourcePips = new int[SearchState.RESOURCE_TYPES];
+        for (int tile = 0; tile < board.getTileCount(); tile++) {
+            if (board.getTileResource(tile) != -1) {
+                resourcePips[board.getTileResource(tile)] += pips(board.getTileRollNumber(tile));
+            }
+        }
+        final double averagePips = Arrays.stream(resourcePips).average().orElse(0);
+        for (int resource = 0; resource < SearchState.RESOURCE_TYPES; resource++) {
+            resourceScarcity[resource] = resourcePips[resource] == 0 ? 1 : averagePips / resourcePips[resource];
+        }
+
+        for (int intersection = 0; intersection < count; intersection++) {
+            order[intersection] = intersection;
+            final int ratio = board.getPortRatio(intersection);
+            if (ratio > 0 && board.getPortResource(intersection) == -1) {
+                portValues[intersection] = weights.genericPort();
+            } else if (ratio > 0) {
+                portValues[intersection] = weights.specialPort()
+                    / resourceScarcity[board.getPortResource(intersection)];
+            }
+            update(intersection);
+        }
+        sort();
+    }
+
+    /**
+     * Creates the value table of the given state's board, synchronized with the state's robber and settlements.
+     *
+     * @param state the state
+     */
+    public IntersectionValues(final SearchState state) {
+        this(state, HeuristicWeights.DEFAULT);
+    }
+
+    /**
+     * Creates the value table of the given state's board with the given weights, synchronized with the state's
+     * robber and settlements.
+     *
+     * @param state   the state
+     * @param weights the weights of the value components
+     */
+    public IntersectionValues(final SearchState state, final HeuristicWeights weights) {
+        this(state.getBoard(), weights);
+        setRobberTile(state.getRobberTile());
+        for (int intersection = 0; intersection < board.getIntersectionCount(); intersection++) {
+            if (state.getSettlementOwner(intersection) != -1) {
+                occupy(intersection);
+            }
+        }
+    }
+
+    /**
+     * Creates a copy of the given table.
+     *
+     * @param other the table to copy
+     */
+    private IntersectionValues(final IntersectionValues other) {
+        this.board = other.board;
+        this.weights = other.weights;
+        System.arraycopy(other.resourceScarcity, 0, this.resourceScarcity, 0, resourceScarcity.length);
+        this.pipSums = other.pipSums.clone();
+        this.diversities = other.diversities.clone();
+        this.portValues = other.portValues.clone();
+        this.scarcityValues = other.scarcityValues.clone();
+        this.values = other.values.clone();
+        this.blockers = other.blockers.clone();
+        this.order = other.order.clone();
+        this.robberTile = other.robberTile;
+    }
+
+    /**
+     * Returns an independent copy of this table.
+     *
+     * @return a copy of this table
+     */
+    public IntersectionValues copy() {
+        return new IntersectionValues(this);
+    }
+
+    /**
+     * Returns the amount of outcomes of the configured dice (out of {@link ProductionModel#OUTCOMES}) that roll
+     * the given number, or {@code 0} for the {@link ProductionModel#ROBBER_ROLL robber's roll}.
+     *
+     * @param rollNumber the roll number
+     * @return the amount of pips of the roll number
+     */
+    public static int pips(final int rollNumber) {
+        return rollNumber == ProductionModel.ROBBER_ROLL
+               ? 0
+               : (int) Math.round(ProductionModel.getRollProbability(rollNumber) * ProductionModel.OUTCOMES);
+    }
+
+    /**
+     * Returns the board index of this table.
+     *
+     * @return the board index
+     */
+    public BoardIndex getBoard() {
+        return board;
+    }
+
+    // Values
+
+    /**
+     * Returns the pip sum of the given intersection, ignoring the tile blocked by the robber.
+     *
+     * @param intersection the id of the intersection
+     * @return the pip sum
+     */
+    public int getPipSum(final int intersection) {
+        return pipSums[intersection];
+    }
+
+    /**
+     * Returns the amount of distinct resources produced next to the given intersection,
+     * ignoring the tile blocked by the robber.
+     *
+     * @param intersection the id of the intersection
+     * @return the resource diversity
+     */
+    public int getDiversity(final int intersection) {
+        return diversities[intersection];
+    }
+
+    /**
+     * Returns the value of the port access of the given intersection.
+     *
+     * @param intersection the id of the intersection
+     * @return the port value, {@code 0} if it has no port
+     */
+    public double getPortValue(final int intersection) {
+        return portValues[intersection];
+    }
+
+    /**
+     * Returns the pip sum of the given intersection, with each tile weighted by the scarcity of its resource.
+     *
+     * @param intersection the id of the intersection
+     * @return the scarcity-weighted pip sum
+     */
+    public double getScarcityValue(final int intersection) {
+        return scarcityValues[intersection];
+    }
+
+    /**
+     * Returns the scarcity of the given resource, i.e. the average pips per resource divided by its pips.
+     * Values above {@code 1} denote scarce resources.
+     *
+     * @param resource the ordinal of the resource type
+     * @return the scarcity of the resource
+     */
+    public double getResourceScarcity(final int resource) {
+        return resourceScarcity[resource];
+    }
+
+    /**
+     * Returns the combined value of the given intersection.
+     *
+     * @param intersection the id of the intersection
+     * @return the value
+     */
+    public double getValue(final int intersection) {
+        return values[intersection];
+    }
+
+    // Free spots
+
+    /**
+     * Returns whether a settlement may be placed on the given intersection, i.e. neither it nor any
+     * neighbouring intersection is occupied.
+     *
+     * @param intersection the id of the intersection
+     * @return whether the intersection is free
+     */
+    public boolean isFree(final int intersection) {
+        return blockers[intersection] == 0;
+    }
+
+    /**
+     * Writes the ids of the most valuable free intersections into the given array, best first.
+     *
+     * @param spots the array to fill; its length is the maximum amount of spots returned
+     * @return the amount of spots written
+     */
+    public int getBestFreeSpots(final int[] spots) {
+        int count = 0;
+        for (int i = 0; i < order.length && count < spots.length; i++) {
+            if (blockers[order[i]] == 0) {
+                spots[count++] = order[i];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the most valuable free intersection.
+     *
+     * @return the id of the intersection or {@code -1}, if there is none
+     */
+    public int getBestFreeSpot() {
+        for (final int intersection : order) {
+            if (blockers[intersection] == 0) {
+                return intersection;
+            }
+        }
+        return -1;
+    }
+
+    // Updates
+
+    /**
+     * Marks the given intersection as occupied by a settlement, which also blocks its neighbours.
+     *
+     * @param intersection the id of the intersection
+     */
+    public void occupy(final int intersection) {
+        blockers[intersection]++;
+        for (final int neighbour : board.getIntersectionNeighbours(intersection)) {
+            blockers[neighbour]++;
+        }
+    }
+
+    /**
+     * Reverts {@link #occupy(int)} for the given intersection.
+     *
+     * @param intersection the id of the intersection
+     */
+    public void release(final int intersection) {
+        blockers[intersection]--;
+        for (final int neighbour : board.getIntersectionNeighbours(intersection)) {
+            blockers[neighbour]--;
+        }
+    }
+
+    /**
+     * Returns the id of the tile the robber is on, as known to this table.
+     *
+     * @return the id of the robber's tile or {@code -1}
+     */
+    public int getRobberTile() {
+        return robberTile;
+    }
+
+    /**
+     * Moves the robber and recomputes the values of the intersections around its old and new tile.
+     *
+     * @param tile the id of the robber's new tile or {@code -1}
+     */
+    public void setRobberTile(final int tile) {
+        if (tile == robberTile) {
+            return;
+        }
+        final int previousTile = robberTile;
+        robberTile = tile;
+        if (previousTile != -1) {
+            for (final int intersection : board.getTileIntersections(previousTile)) {
+                update(intersection);
+            }
+        }
+        if (tile != -1) {
+            for (final int intersection : board.getTileIntersections(tile)) {
+                update(intersection);
+            }
+        }
+        sort();
+    }
+
+    /**
+     * Recomputes the robber-dependent values of the given intersection.
+     *
+     * @param intersection the id of the intersection
+     */
+    private void update(final int intersection) {
+        int pipSum = 0;
+        int resources = 0;
+        double scarcityValue = 0;
+        for (final int tile : board.getIntersectionTiles(intersection)) {
+            final int resource = board.getTileResource(tile);
+            if (tile == robberTile || resource == -1) {
+                continue;
+            }
+            final int pips = pips(board.getTileRollNumber(tile));
+            pipSum += pips;
+            scarcityValue += pips * resourceScarcity[resource];
+            resources |= 1 << resource;
+        }
+        pipSums[intersection] = pipSum;
+        diversities[intersection] = Integer.bitCount(resources);
+        scarcityValues[intersection] = scarcityValue;
+        values[intersection] = pipSum
+            + weights.scarcity() * (scarcityValue - pipSum)
+            + weights.diversity() * diversities[intersection]
+            + portValues[intersection];
+    }
+
+    /**
+     * Restores the order of intersections by descending value (ties by ascending id).
+     * Uses insertion sort, since only few values change between calls.
+     */
+    private void sort() {
+        for (int i = 1; i < order.length; i++) {
+            final int intersection = order[i];
+            int j = i - 1;
+            while (j >= 0 && isBetter(intersection, order[j])) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = intersection;
+        }
+    }
+
+    /**
+     * Returns whether the first intersection is ordered before the second one.
+     *
+     * @param intersection1 the first intersection
+     * @param intersection2 the second intersection
+     * @return whether the first intersection is ordered first
+     */
+    private boolean isBetter(final int intersection1, final int intersection2) {
+        return values[intersection1] > values[intersection2]
+            || values[intersection1] == values[intersection2] && intersection1 < intersection2;
+    }
+}
@@ -0,0 +1,214 @@
+package projekt.controller.ai;
+
+import projekt.model.DevelopmentCardType;
+import projekt.model.ResourceType;
+
+/**
+ * Encodes moves on a {@link SearchState} as primitive {@code int}s.
+ * <p>
+ * The upper six bits of a move hold its kind.
+ * Moves referring to a board element (tile, intersection or edge) store its id from the
+ * {@link BoardIndex} in the lower 25 bits. Bit 25 marks placements that are free of charge
+ * (e.g. in the first round or when playing {@link DevelopmentCardType#ROAD_BUILDING}).
+ * All other moves store up to two small arguments (seats, ordinals or dice sums) in bits 8 - 15 and 0 - 7.
+ */
+public final class Move {
+
+    /**
+     * Ends the turn of the active player.
+     */
+    public static final int END_TURN = 0;
+
+    /**
+     * Rolls the dice, argument: the rolled sum.
+     */
+    public static final int ROLL_DICE = 1;
+
+    /**
+     * Builds a village, argument: the intersection id.
+     */
+    public static final int BUILD_VILLAGE = 2;
+
+    /**
+     * Upgrades a village to a city, argument: the intersection id.
+     */
+    public static final int UPGRADE_VILLAGE = 3;
+
+    /**
+     * Builds a road, argument: the edge id.
+     */
+    public static final int BUILD_ROAD = 4;
+
+    /**
+     * Trades with the bank at the player's current ratio,
+     * arguments: the offered and requested {@link ResourceType} ordinals.
+     */
+    public static final int BANK_TRADE = 5;
+
+    /**
+     * Buys a development card, argument: the drawn {@link DevelopmentCardType} ordinal.
+     */
+    public static final int BUY_DEVELOPMENT_CARD = 6;
+
+    /**
+     * Plays a development card, argument: the {@link DevelopmentCardType} ordinal.
+     * Follow-up choices (robber, roads, resources) are separate moves.
+     */
+    public static final int PLAY_DEVELOPMENT_CARD = 7;
+
+    /**
+     * Moves the robber, argument: the tile id.
+     */
+    public static final int MOVE_ROBBER = 8;
+
+    /**
+     * Steals a resource, arguments: the seat to steal from and the {@link ResourceType} ordinal.
+     */
+    public static final int STEAL = 9;
+
+    /**
+     * Drops a single resource card, argument: the {@link ResourceType} ordinal.
+     */
+    public static final int DROP_RESOURCE = 10;
+
+    /**
+     * Takes a single resource card from the bank (invention), argument: the {@link ResourceType} ordinal.
+     */
+    public static final int TAKE_RESOURCE = 11;
+
+    /**
+     * Takes all cards of a resource type from the other players (monopoly),
+     * argument: the {@link ResourceType} ordinal.
+     */
+    public static final int MONOPOLY = 12;
+
+    /**
+     * The amount of distinct move kinds.
+     */
+    public static final int KINDS = 13;
+
+    /**
+     * Marks a placement as free of charge.
+     */
+    public static final int FREE = 1 << 25;
+
+    private static final int KIND_SHIFT = 26;
+    private static final int INDEX_MASK = FREE - 1;
+    private static final int ARGUMENT_MASK = 0xFF;
+
+    /**
+     * Utility class, do not instantiate.
+     */
+    private Move() {
+    }
+
+    /**
+     * Encodes a move without arguments.
+     *
+     * @param kind the kind of the move
+     * @return the encoded move
+     */
+    public static int of(final int kind) {
+        return kind << KIND_SHIFT;
+    }
+
+    /**
+     * Encodes a move referring to a board element.
+     *
+     * @param kind  the kind of the move
+     * @param index the id of the board element
+     * @param free  whether the placement is free of charge
+     * @return the encoded move
+     */
+    public static int ofIndex(final int kind, final int index, final boolean free) {
+        return kind << KIND_SHIFT | (free ? FREE : 0) | index & INDEX_MASK;
+    }
+
+    /**
+     * Encodes a move with up to two small arguments.
+     *
+     * @param kind   the kind of the move
+     * @param first  the first argument
+     * @param second the second argument
+     * @return the encoded move
+     */
+    public static int ofArguments(final int kind, final int first, final int second) {
+        return kind << KIND_SHIFT | (first & ARGUMENT_MASK) << 8 | second & ARGUMENT_MASK;
+    }
+
+    /**
+     * Returns the kind of the given move.
+     *
+     * @param move the encoded move
+     * @return the kind of the move
+     */
+    public static int kind(final int move) {
+        return move >>> KIND_SHIFT;
+    }
+
+    /**
+     * Returns the board element id of the given move.
+     *
+     * @param move the encoded move
+     * @return the board element id
+     */
+    public static int index(final int move) {
+        return move & INDEX_MASK;
+    }
+
+    /**
+     * Returns whether the given placement is free of charge.
+     *
+     * @param move the encoded move
+     * @return whether the placement is free of charge
+     */
+    public static boolean isFree(final int move) {
+        return (move & FREE) != 0;
+    }
+
+    /**
+     * Returns the first small argument of the given move.
+     *
+     * @param move the encoded move
+     * @return the first argument
+     */
+    public static int first(final int move) {
+        return move >>> 8 & ARGUMENT_MASK;
+    }
+
+    /**
+     * Returns the second small argument of the given move.
+     *
+     * @param move the encoded move
+     * @return the second argument
+     */
+    public static int second(final int move) {
+        return move & ARGUMENT_MASK;
+    }
+
+    /**
+     * Returns a human-readable representation of the given move.
+     *
+     * @param move the encoded move
+     * @return a string representation of the move
+     */
+    public static String toString(final int move) {
+        return switch (kind(move)) {
+            case END_TURN -> "EndTurn";
+            case ROLL_DICE -> "RollDice[" + second(move) + "]";
+            case BUILD_VILLAGE -> "BuildVillage[" + index(move) + (isFree(move) ? ", free]" : "]");
+            case UPGRADE_VILLAGE -> "UpgradeVillage[" + index(move) + "]";
+            case BUILD_ROAD -> "BuildRoad[" + index(move) + (isFree(move) ? ", free]" : "]");
+            case BANK_TRADE -> "BankTrade[" + ResourceType.values()[first(move)] + " -> "
+                + ResourceType.values()[second(move)] + "]";
+            case BUY_DEVELOPMENT_CARD -> "BuyDevelopmentCard[" + DevelopmentCardType.values()[second(move)] + "]";
+            case PLAY_DEVELOPMENT_CARD -> "PlayDevelopmentCard[" + DevelopmentCardType.values()[second(move)] + "]";
+            case MOVE_ROBBER -> "MoveRobber[" + index(move) + "]";
+            case STEAL -> "Steal[seat " + first(move) + ", " + ResourceType.values()[second(move)] + "]";
+            case DROP_RESOURCE -> "DropResource[" + ResourceType.values()[second(move)] + "]";
+            case TAKE_RESOURCE -> "TakeResource[" + ResourceType.values()[second(move)] + "]";
+            case MONOPOLY -> "Monopoly[" + ResourceType.values()[second(move)] + "]";
+            default -> "Unknown[" + Integer.toHexString(move) + "]";
+        };
+    }
+}
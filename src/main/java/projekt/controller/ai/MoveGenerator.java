@@ -0,0 +1,304 @@
+package projekt.controller.ai;
+
+import projekt.Config;
+import projekt.controller.PlayerObjective;
+import projekt.controller.actions.BuildRoadAction;
+import projekt.controller.actions.BuildVillageAction;
+import projekt.controller.actions.BuyDevelopmentCardAction;
+import projekt.controller.actions.EndTurnAction;
+import projekt.controller.actions.PlayDevelopmentCardAction;
+import projekt.controller.actions.PlayerAction;
+import projekt.controller.actions.RollDiceAction;
+import projekt.controller.actions.SelectCardsAction;
+import projekt.controller.actions.SelectRobberTileAction;
+import projekt.controller.actions.StealCardAction;
+import projekt.controller.actions.TradeAction;
+import projekt.controller.actions.UpgradeVillageAction;
+import projekt.model.DevelopmentCardType;
+import projekt.model.ResourceType;
+import projekt.model.TradePayload;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Generates the legal moves of the active player of a {@link SearchState} as {@link Move} encodings,
+ * and decodes moves back to {@link PlayerAction}s.
+ * <p>
+ * Moves are written into a caller-supplied buffer, which must hold at least {@link #getMaxMoves(BoardIndex)}
+ * moves, so generating moves in a search does not allocate.
+ * The allowed kinds of moves follow the {@link PlayerObjective}:
+ * <ul>
+ *     <li>{@link PlayerObjective#DICE_ROLL}: a single {@link Move#ROLL_DICE} with sum {@code 0}, since the sum
+ *     is a chance outcome and not the player's choice,</li>
+ *     <li>{@link PlayerObjective#PLACE_VILLAGE} and {@link PlayerObjective#PLACE_ROAD}: free placements,</li>
+ *     <li>{@link PlayerObjective#REGULAR_TURN}: ending the turn, paid placements and upgrades, bank trades at the
+ *     current ratios, buying a development card (drawing ordinal {@code 0}, a chance outcome) and playing
+ *     development cards,</li>
+ *     <li>{@link PlayerObjective#SELECT_ROBBER_TILE}: moving the robber to any other tile,</li>
+ *     <li>{@link PlayerObjective#SELECT_CARD_TO_STEAL}: stealing any resource of a player next to the robber,
+ *     or ending the turn,</li>
+ *     <li>{@link PlayerObjective#DROP_CARDS}: dropping one card of a held resource type,</li>
+ *     <li>{@link PlayerObjective#SELECT_CARDS}: taking one resource from the bank (invention, two cards to select)
+ *     or claiming a resource type (monopoly, one card to select).</li>
+ * </ul>
+ * Selections of several cards are made one card at a time; {@link #toSelectCardsAction(int[], int)} combines them
+ * into a single action. Trade offers between players are not encoded as moves.
+ */
+public final class MoveGenerator {
+
+    private static final int[] PLAYABLE_DEVELOPMENT_CARDS = {
+        DevelopmentCardType.KNIGHT.ordinal(),
+        DevelopmentCardType.ROAD_BUILDING.ordinal(),
+        DevelopmentCardType.INVENTION.ordinal(),
+        DevelopmentCardType.MONOPOLY.ordinal()
+    };
+
+    /**
+     * Utility class, do not instantiate.
+     */
+    private MoveGenerator() {
+    }
+
+    /**
+     * Returns the maximum amount of moves that can be generated on the given board.
+     *
+     * @param board the board index
+     * @return the minimum size of a move buffer
+     */
+    public static int getMaxMoves(final BoardIndex board) {
+        return 2
+            + 2 * board.getIntersectionCount()
+            + board.getEdgeCount()
+            + board.getTileCount()
+            + SearchState.RESOURCE_TYPES * SearchState.RESOURCE_TYPES
+            + SearchState.DEVELOPMENT_CARD_TYPES
+            + Config.MAX_PLAYERS * SearchState.RESOURCE_TYPES;
+    }
+
+    /**
+     * Writes the legal moves of the active player into the given buffer.
+     *
+     * @param state         the state
+     * @param objective     the active player's objective
+     * @param cardsToSelect the amount of cards to select for {@link PlayerObjective#SELECT_CARDS}
+     * @param buffer        the buffer to write to, see {@link #getMaxMoves(BoardIndex)}
+     * @return the amount of moves written
+     */
+    public static int generate(
+        final SearchState state,
+        final PlayerObjective objective,
+        final int cardsToSelect,
+        final int[] buffer
+    ) {
+        final int seat = state.getActiveSeat();
+        return switch (objective) {
+            case DICE_ROLL -> {
+                buffer[0] = Move.ofArguments(Move.ROLL_DICE, 0, 0);
+                yield 1;
+            }
+            case PLACE_VILLAGE -> generateVillages(state, seat, objective, buffer, 0);
+            case PLACE_ROAD -> generateRoads(state, seat, objective, buffer, 0);
+            case REGULAR_TURN -> generateRegularTurn(state, seat, buffer);
+            case SELECT_ROBBER_TILE -> {
+                int count = 0;
+                for (int tile = 0; tile < state.getBoard().getTileCount(); tile++) {
+                    if (tile != state.getRobberTile()) {
+                        buffer[count++] = Move.ofIndex(Move.MOVE_ROBBER, tile, false);
+                    }
+                }
+                yield count;
+            }
+            case SELECT_CARD_TO_STEAL -> {
+                int count = 0;
+                buffer[count++] = Move.of(Move.END_TURN);
+                for (int victim = 0; victim < state.getPlayerCount(); victim++) {
+                    if (state.canStealFrom(seat, victim)) {
+                        for (int resource = 0; resource < SearchState.RESOURCE_TYPES; resource++) {
+                            if (state.getResource(victim, resource) > 0) {
+                                buffer[count++] = Move.ofArguments(Move.STEAL, victim, resource);
+                            }
+                        }
+                    }
+                }
+                yield count;
+            }
+            case DROP_CARDS -> {
+                int count = 0;
+                for (int resource = 0; resource < SearchState.RESOURCE_TYPES; resource++) {
+                    if (state.getResource(seat, resource) > 0) {
+                        buffer[count++] = Move.ofArguments(Move.DROP_RESOURCE, 0, resource);
+                    }
+                }
+                yield count;
+            }
+            case SELECT_CARDS -> {
+                final int kind = cardsToSelect == 1 ? Move.MONOPOLY : Move.TAKE_RESOURCE;
+                for (int resource = 0; resource < SearchState.RESOURCE_TYPES; resource++) {
+                    buffer[resource] = Move.ofArguments(kind, 0, resource);
+                }
+                yield SearchState.RESOURCE_TYPES;
+            }
+            default -> 0;
+        };
+    }
+
+    /**
+     * Writes the moves of a regular turn into the given buffer.
+     *
+     * @param state  the state
+     * @param seat   the active seat
+     * @param buffer the buffer to write to
+     * @return the amount of moves written
+     */
+    private static int generateRegularTurn(final SearchState state, final int seat, final int[] buffer) {
+        int count = 0;
+        buffer[count++] = Move.of(Move.END_TURN);
+        count = generateVillages(state, seat, PlayerObjective.REGULAR_TURN, buffer, count);
+        if (state.canUpgradeVillage(seat)) {
+            for (int intersection = 0; intersection < state.getBoard().getIntersectionCount(); intersection++) {
+                if (state.isVillageUpgradable(seat, intersection)) {
+                    buffer[count++] = Move.ofIndex(Move.UPGRADE_VILLAGE, intersection, false);
+                }
+            }
+        }
+        count = generateRoads(state, seat, PlayerObjective.REGULAR_TURN, buffer, count);
+        for (int offer = 0; offer < SearchState.RESOURCE_TYPES; offer++) {
+            if (state.getResource(seat, offer) >= state.getTradeRatio(seat, offer)) {
+                for (int request = 0; request < SearchState.RESOURCE_TYPES; request++) {
+                    if (request != offer) {
+                        buffer[count++] = Move.ofArguments(Move.BANK_TRADE, offer, request);
+                    }
+                }
+            }
+        }
+        if (state.canBuyDevelopmentCard(seat)) {
+            buffer[count++] = Move.ofArguments(Move.BUY_DEVELOPMENT_CARD, 0, 0);
+        }
+        for (final int card : PLAYABLE_DEVELOPMENT_CARDS) {
+            if (state.getDevelopmentCards(seat, card) > 0) {
+                buffer[count++] = Move.ofArguments(Move.PLAY_DEVELOPMENT_CARD, 0, card);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Writes the village placements of the given seat into the given buffer.
+     *
+     * @param state     the state
+     * @param seat      the seat
+     * @param objective the objective, placements are free for {@link PlayerObjective#PLACE_VILLAGE}
+     * @param buffer    the buffer to write to
+     * @param count     the amount of moves already in the buffer
+     * @return the new amount of moves in the buffer
+     */
+    private static int generateVillages(
+        final SearchState state,
+        final int seat,
+        final PlayerObjective objective,
+        final int[] buffer,
+        final int count
+    ) {
+        if (!state.canBuildVillage(seat, objective)) {
+            return count;
+        }
+        int newCount = count;
+        final boolean free = objective == PlayerObjective.PLACE_VILLAGE;
+        for (int intersection = 0; intersection < state.getBoard().getIntersectionCount(); intersection++) {
+            if (state.isVillageBuildable(seat, intersection)) {
+                buffer[newCount++] = Move.ofIndex(Move.BUILD_VILLAGE, intersection, free);
+            }
+        }
+        return newCount;
+    }
+
+    /**
+     * Writes the road placements of the given seat into the given buffer.
+     *
+     * @param state     the state
+     * @param seat      the seat
+     * @param objective the objective, placements are free for {@link PlayerObjective#PLACE_ROAD}
+     * @param buffer    the buffer to write to
+     * @param count     the amount of moves already in the buffer
+     * @return the new amount of moves in the buffer
+     */
+    private static int generateRoads(
+        final SearchState state,
+        final int seat,
+        final PlayerObjective objective,
+        final int[] buffer,
+        final int count
+    ) {
+        if (!state.canBuildRoad(seat, objective)) {
+            return count;
+        }
+        int newCount = count;
+        final boolean free = objective == PlayerObjective.PLACE_ROAD;
+        for (int edge = 0; edge < state.getBoard().getEdgeCount(); edge++) {
+            if (state.isRoadBuildable(seat, edge)) {
+                buffer[newCount++] = Move.ofIndex(Move.BUILD_ROAD, edge, free);
+            }
+        }
+        return newCount;
+    }
+
+    /**
+     * Decodes the given move of the active player into an action.
+     * Card selections are decoded into an action selecting a single card.
+     *
+     * @param state the state the move was generated for
+     * @param move  the encoded move
+     * @return the action
+     */
+    public static PlayerAction toAction(final SearchState state, final int move) {
+        final BoardIndex board = state.getBoard();
+        return switch (Move.kind(move)) {
+            case Move.END_TURN -> new EndTurnAction();
+            case Move.ROLL_DICE -> new RollDiceAction();
+            case Move.BUILD_VILLAGE -> new BuildVillageAction(board.getIntersection(Move.index(move)));
+            case Move.UPGRADE_VILLAGE -> new UpgradeVillageAction(board.getIntersection(Move.index(move)));
+            case Move.BUILD_ROAD -> new BuildRoadAction(board.getEdge(Move.index(move)));
+            case Move.BANK_TRADE -> new TradeAction(new TradePayload(
+                Map.of(resourceType(Move.first(move)), state.getTradeRatio(state.getActiveSeat(), Move.first(move))),
+                Map.of(resourceType(Move.second(move)), 1),
+                true,
+                state.getPlayer(state.getActiveSeat())
+            ));
+            case Move.BUY_DEVELOPMENT_CARD -> new BuyDevelopmentCardAction();
+            case Move.PLAY_DEVELOPMENT_CARD ->
+                new PlayDevelopmentCardAction(DevelopmentCardType.values()[Move.second(move)]);
+            case Move.MOVE_ROBBER -> new SelectRobberTileAction(board.getTile(Move.index(move)).getPosition());
+            case Move.STEAL -> new StealCardAction(resourceType(Move.second(move)), state.getPlayer(Move.first(move)));
+            case Move.DROP_RESOURCE, Move.TAKE_RESOURCE, Move.MONOPOLY ->
+                new SelectCardsAction(Map.of(resourceType(Move.second(move)), 1));
+            default -> throw new IllegalArgumentException("Unknown move: " + Move.toString(move));
+        };
+    }
+
+    /**
+     * Combines the given card selections ({@link Move#DROP_RESOURCE}, {@link Move#TAKE_RESOURCE} or
+     * {@link Move#MONOPOLY}) into a single action.
+     *
+     * @param moves the encoded card selections
+     * @param count the amount of moves to combine
+     * @return the action selecting all cards
+     */
+    public static SelectCardsAction toSelectCardsAction(final int[] moves, final int count) {
+        final Map<ResourceType, Integer> selectedCards = new EnumMap<>(ResourceType.class);
+        for (int i = 0; i < count; i++) {
+            selectedCards.merge(resourceType(Move.second(moves[i])), 1, Integer::sum);
+        }
+        return new SelectCardsAction(selectedCards);
+    }
+
+    /**
+     * Returns the resource type with the given ordinal.
+     *
+     * @param ordinal the ordinal
+     * @return the resource type
+     */
+    private static ResourceType resourceType(final int ordinal) {
+        return ResourceType.values()[ordinal];
+    }
+}
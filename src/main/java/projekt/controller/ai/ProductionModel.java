@@ -0,0 +1,330 @@
+package projekt.controller.ai;
+
+import projekt.Config;
+
+import java.util.Arrays;
+
+/**
+ * Exact dice and production probabilities of a board.
+ * <p>
+ * The distribution of dice sums is computed once by convolving {@link Config#NUMBER_OF_DICE} uniform dice with
+ * {@link Config#DICE_SIDES} sides. For each seat, the model keeps a table of the resources produced by each dice
+ * sum, which is updated incrementally when settlements are placed or upgraded and when the robber moves. The
+ * expected income per roll is updated along with it, so reading it costs nothing.
+ * <p>
+ * Instances are not thread-safe; use {@link #copy()} to give each search thread its own model.
+ */
+public final class ProductionModel {
+
+    /**
+     * The dice sum that moves the robber instead of producing resources (see
+     * {@link projekt.controller.GameController#startGame()}).
+     */
+    public static final int ROBBER_ROLL = 7;
+
+    /**
+     * The amount of equally likely outcomes of a roll of the configured dice.
+     */
+    public static final int OUTCOMES = (int) Math.pow(Config.DICE_SIDES, Config.NUMBER_OF_DICE);
+
+    private static final int MAX_SUM = Config.NUMBER_OF_DICE * Config.DICE_SIDES;
+    private static final double[] ROLL_DISTRIBUTION = computeRollDistribution();
+
+    private final BoardIndex board;
+    private final int[] settlementOwners;
+    private final int[] settlementLevels;
+    private final int[] production;
+    private final double[] expectedIncome;
+    private int robberTile;
+
+    /**
+     * Creates an empty model of the given board, with the robber at the grid's robber position.
+     *
+     * @param board       the board index
+     * @param playerCount the amount of players
+     */
+    public ProductionModel(final BoardIndex board, final int playerCount) {
+        this.board = board;
+        this.settlementOwners = new int[board.getIntersectionCount()];
+        this.settlementLevels = new int[board.getIntersectionCount()];
+        this.production = new int[playerCount * (MAX_SUM + 1) * SearchState.RESOURCE_TYPES];
+        this.expectedIncome = new double[playerCount * SearchState.RESOURCE_TYPES];
+        this.robberTile = board.getTileId(board.getHexGrid().getRobberPosition());
+        Arrays.fill(settlementOwners, -1);
+    }
+
+    /**
+     * Creates the model of the given state's board, synchronized with the state's settlements and robber.
+     *
+     * @param state the state
+     */
+    public ProductionModel(final SearchState state) {
+        this(state.getBoard(), state.getPlayerCount());
+        setRobberTile(state.getRobberTile());
+        for (int intersection = 0; intersection < board.getIntersectionCount(); intersection++) {
+            if (state.getSettlementOwner(intersection) != -1) {
+                addSettlement(intersection, state.getSettlementOwner(intersection), state.getSettlementLevel(intersection));
+            }
+        }
+    }
+
+    /**
+     * Creates a copy of the given model.
+     *
+     * @param other the model to copy
+     */
+    private ProductionModel(final ProductionModel other) {
+        this.board = other.board;
+        this.settlementOwners = other.settlementOwners.clone();
+        this.settlementLevels = other.settlementLevels.clone();
+        this.production = other.production.clone();
+        this.expectedIncome = other.expectedIncome.clone();
+        this.robberTile = other.robberTile;
+    }
+
+    /**
+     * Returns an independent copy of this model.
+     *
+     * @return a copy of this model
+     */
+    public ProductionModel copy() {
+        return new ProductionModel(this);
+    }
+
+    // Dice
+
+    /**
+     * Convolves the distributions of the configured dice.
+     *
+     * @return the probability of each sum, indexed by the sum
+     */
+    private static double[] computeRollDistribution() {
+        double[] distribution = {1};
+        for (int die = 0; die < Config.NUMBER_OF_DICE; die++) {
+            final double[] next = new double[distribution.length + Config.DICE_SIDES];
+            for (int sum = 0; sum < distribution.length; sum++) {
+                for (int side = 1; side <= Config.DICE_SIDES; side++) {
+                    next[sum + side] += distribution[sum] / Config.DICE_SIDES;
+                }
+            }
+            distribution = next;
+        }
+        return distribution;
+    }
+
+    /**
+     * Returns the probability of rolling the given sum with the configured dice.
+     *
+     * @param sum the sum
+     * @return the probability of the sum
+     */
+    public static double getRollProbability(final int sum) {
+        return sum < 0 || sum > MAX_SUM ? 0 : ROLL_DISTRIBUTION[sum];
+    }
+
+    /**
+     * Returns the highest sum the configured dice can roll.
+     *
+     * @return the highest sum
+     */
+    public static int getMaxSum() {
+        return MAX_SUM;
+    }
+
+    // Production
+
+    /**
+     * Returns the board index of this model.
+     *
+     * @return the board index
+     */
+    public BoardIndex getBoard() {
+        return board;
+    }
+
+    /**
+     * Returns the amount of the given resource the player in the given seat receives when the given sum is rolled.
+     *
+     * @param seat     the seat
+     * @param sum      the rolled sum
+     * @param resource the ordinal of the resource type
+     * @return the amount of resources received
+     */
+    public int getProduction(final int seat, final int sum, final int resource) {
+        return sum < 0 || sum > MAX_SUM ? 0 : production[index(seat, sum, resource)];
+    }
+
+    /**
+     * Returns the expected amount of the given resource the player in the given seat receives per roll.
+     *
+     * @param seat     the seat
+     * @param resource the ordinal of the resource type
+     * @return the expected income per roll
+     */
+    public double getExpectedIncome(final int seat, final int resource) {
+        return expectedIncome[seat * SearchState.RESOURCE_TYPES + resource];
+    }
+
+    /**
+     * Returns the expected amount of resources of all types the player in the given seat receives per roll.
+     *
+     * @param seat the seat
+     * @return the expected income per roll
+     */
+    public double getExpectedIncome(final int seat) {
+        double income = 0;
+        for (int resource = 0; resource < SearchState.RESOURCE_TYPES; resource++) {
+            income += expectedIncome[seat * SearchState.RESOURCE_TYPES + resource];
+        }
+        return income;
+    }
+
+    /**
+     * Returns the probability that the player in the given seat holds at least the target resources after the
+     * given amount of rolls, starting with the given hand and only counting production (no trades or losses).
+     * Players receive production on every roll, not only on their own, so a round has one roll per player.
+     *
+     * @param seat   the seat
+     * @param hand   the current resources, indexed by resource ordinal
+     * @param target the target resources (e.g. a build cost), indexed by resource ordinal
+     * @param rolls  the amount of rolls
+     * @return the probability of reaching the target
+     */
+    public double getTargetProbability(final int seat, final int[] hand, final int[] target, final int rolls) {
+        // states count the collected cards of each resource, capped at the missing amount
+        final int[] missing = new int[SearchState.RESOURCE_TYPES];
+        final int[] radix = new int[SearchState.RESOURCE_TYPES];
+        int states = 1;
+        for (int resource = 0; resource < SearchState.RESOURCE_TYPES; resource++) {
+            missing[resource] = Math.max(0, target[resource] - hand[resource]);
+            radix[resource] = states;
+            states *= missing[resource] + 1;
+        }
+        final int goal = states - 1;
+
+        double[] distribution = new double[states];
+        double[] next = new double[states];
+        distribution[0] = 1;
+        for (int roll = 0; roll < rolls && distribution[goal] < 1; roll++) {
+            Arrays.fill(next, 0);
+            for (int state = 0; state < states; state++) {
+                if (distribution[state] == 0) {
+                    continue;
+                }
+                if (state == goal) {
+                    next[goal] += distribution[goal];
+                    continue;
+                }
+                for (int sum = 0; sum <= MAX_SUM; sum++) {
+                    if (ROLL_DISTRIBUTION[sum] == 0) {
+                        continue;
+                    }
+                    int nextState = 0;
+                    for (int resource = 0; resource < SearchState.RESOURCE_TYPES; resource++) {
+                        final int collected = state / radix[resource] % (missing[resource] + 1);
+                        final int received = production[index(seat, sum, resource)];
+                        nextState += Math.min(missing[resource], collected + received) * radix[resource];
+                    }
+                    next[nextState] += distribution[state] * ROLL_DISTRIBUTION[sum];
+                }
+            }
+            final double[] swap = distribution;
+            distribution = next;
+            next = swap;
+        }
+        return distribution[goal];
+    }
+
+    // Updates
+
+    /**
+     * Adds production levels to the given intersection, i.e. {@code 1} for a new village or an upgrade to a city
+     * and {@code 2} for a new city. Negative levels remove production.
+     *
+     * @param intersection the id of the intersection
+     * @param seat         the seat of the settlement's owner
+     * @param levels       the amount of levels to add
+     */
+    public void addSettlement(final int intersection, final int seat, final int levels) {
+        settlementOwners[intersection] = seat;
+        settlementLevels[intersection] += levels;
+        for (final int tile : board.getIntersectionTiles(intersection)) {
+            if (tile != robberTile) {
+                addProduction(seat, tile, levels);
+            }
+        }
+        if (settlementLevels[intersection] == 0) {
+            settlementOwners[intersection] = -1;
+        }
+    }
+
+    /**
+     * Returns the id of the tile the robber is on, as known to this model.
+     *
+     * @return the id of the robber's tile or {@code -1}
+     */
+    public int getRobberTile() {
+        return robberTile;
+    }
+
+    /**
+     * Moves the robber, restoring the production of its old tile and blocking the new one.
+     *
+     * @param tile the id of the robber's new tile or {@code -1}
+     */
+    public void setRobberTile(final int tile) {
+        if (tile == robberTile) {
+            return;
+        }
+        if (robberTile != -1) {
+            addTileProduction(robberTile, 1);
+        }
+        if (tile != -1) {
+            addTileProduction(tile, -1);
+        }
+        robberTile = tile;
+    }
+
+    /**
+     * Adds the production of all settlements on the given tile, multiplied by the given sign.
+     *
+     * @param tile the id of the tile
+     * @param sign {@code 1} to add, {@code -1} to remove
+     */
+    private void addTileProduction(final int tile, final int sign) {
+        for (final int intersection : board.getTileIntersections(tile)) {
+            if (settlementOwners[intersection] != -1) {
+                addProduction(settlementOwners[intersection], tile, sign * settlementLevels[intersection]);
+            }
+        }
+    }
+
+    /**
+     * Adds the given amount to the production of the given tile for the given seat.
+     *
+     * @param seat   the seat
+     * @param tile   the id of the tile
+     * @param amount the amount of resources to add per roll of the tile's number
+     */
+    private void addProduction(final int seat, final int tile, final int amount) {
+        final int resource = board.getTileResource(tile);
+        final int sum = board.getTileRollNumber(tile);
+        if (resource == -1 || sum < 0 || sum > MAX_SUM) {
+            return;
+        }
+        production[index(seat, sum, resource)] += amount;
+        expectedIncome[seat * SearchState.RESOURCE_TYPES + resource] += amount * ROLL_DISTRIBUTION[sum];
+    }
+
+    /**
+     * Returns the index of the given production entry.
+     *
+     * @param seat     the seat
+     * @param sum      the rolled sum
+     * @param resource the ordinal of the resource type
+     * @return the index in the production table
+     */
+    private static int index(final int seat, final int sum, final int resource) {
+        return (seat * (MAX_SUM + 1) + sum) * SearchState.RESOURCE_TYPES + resource;
+    }
+}
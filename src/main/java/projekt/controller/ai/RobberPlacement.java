@@ -0,0 +1,194 @@
+package projekt.controller.ai;
+
+import projekt.Config;
+
+/**
+ * Chooses where AI controllers place the robber and whom they steal from.
+ * <p>
+ * The score of a tile is measured in resource cards: the production denied to opponents while the robber stays
+ * (weighted by how close each opponent is to winning), minus the own production lost (weighted by
+ * {@link #SELF_HARM_WEIGHT}), plus the value of the best steal possible from the tile.
+ * <p>
+ * The pips of each tile are computed once per board; scoring reads the settlements and victory points of a
+ * {@link SearchState} directly and does not allocate, so it can be used inside search rollouts.
+ * Instances are immutable and can be shared between threads.
+ */
+public final class RobberPlacement {
+
+    /**
+     * The expected amount of rolls the robber stays on a tile, i.e. the expected amount of rolls until the
+     * {@link ProductionModel#ROBBER_ROLL robber's roll} comes up again with the configured dice.
+     */
+    public static final double EXPECTED_ROBBER_ROLLS = 1 / ProductionModel.getRollProbability(
+        ProductionModel.ROBBER_ROLL
+    );
+
+    /**
+     * The weight of the own production lost, relative to the production denied to an opponent without points.
+     */
+    public static final double SELF_HARM_WEIGHT = 1.5;
+
+    /**
+     * The additional threat of an opponent with the required victory points, relative to one without points.
+     */
+    public static final double LEADER_WEIGHT = 2;
+
+    /**
+     * The value of a stolen card, which is both gained and denied to the victim.
+     */
+    public static final double STEAL_VALUE = 1;
+
+    private final BoardIndex board;
+    private final HeuristicWeights weights;
+    private final double[] tileProduction;
+
+    /**
+     * Creates a robber placement optimizer for the given board.
+     *
+     * @param board the board index
+     */
+    public RobberPlacement(final BoardIndex board) {
+        this(board, HeuristicWeights.DEFAULT);
+    }
+
+    /**
+     * Creates a robber placement optimizer for the given board with the given weights.
+     *
+     * @param board   the board index
+     * @param weights the weights of the own production lost and of a stolen card
+     */
+    public RobberPlacement(final BoardIndex board, final HeuristicWeights weights) {
+        this.board = board;
+        this.weights = weights;
+        this.tileProduction = new double[board.getTileCount()];
+        for (int tile = 0; tile < board.getTileCount(); tile++) {
+            if (board.getTileResource(tile) != -1) {
+                tileProduction[tile] = ProductionModel.getRollProbability(board.getTileRollNumber(tile));
+            }
+        }
+    }
+
+    /**
+     * Returns the board index of this optimizer.
+     *
+     * @return the board index
+     */
+    public BoardIndex getBoard() {
+        return board;
+    }
+
+    /**
+     * Returns the expected amount of resources a village on the given tile produces per roll.
+     *
+     * @param tile the id of the tile
+     * @return the expected production per roll
+     */
+    public double getTileProduction(final int tile) {
+        return tileProduction[tile];
+    }
+
+    /**
+     * Returns the threat of the player in the given seat, i.e. how much denying them a card is worth.
+     *
+     * @param state the state
+     * @param seat  the seat of the opponent
+     * @return the threat, at least {@code 1}
+     */
+    public static double getThreat(final SearchState state, final int seat) {
+        return 1 + LEADER_WEIGHT * Math.min(1, (double) state.getVictoryPoints(seat) / Config.REQUIRED_VICTORY_POINTS);
+    }
+
+    /**
+     * Scores placing the robber on the given tile for the player in the given seat.
+     *
+     * @param state the state
+     * @param seat  the seat of the player moving the robber
+     * @param tile  the id of the tile
+     * @return the score in resource cards, higher is better
+     */
+    public double score(final SearchState state, final int seat, final int tile) {
+        final double production = tileProduction[tile] * EXPECTED_ROBBER_ROLLS;
+        double score = 0;
+        for (final int intersection : board.getTileIntersections(tile)) {
+            final int owner = state.getSettlementOwner(intersection);
+            if (owner == seat) {
+                score -= weights.selfHarm() * production * state.getSettlementLevel(intersection);
+            } else if (owner != -1) {
+                score += getThreat(state, owner) * production * state.getSettlementLevel(intersection);
+            }
+        }
+        final int victim = selectVictim(state, seat, tile);
+        if (victim != -1) {
+            score += weights.steal() * (1 + getThreat(state, victim)) / 2;
+        }
+        return score;
+    }
+
+    /**
+     * Returns the best tile to move the robber to for the player in the given seat.
+     * The robber's current tile is never selected.
+     *
+     * @param state the state
+     * @param seat  the seat of the player moving the robber
+     * @return the id of the best tile or {@code -1}, if there is no other tile
+     */
+    public int selectTile(final SearchState state, final int seat) {
+        int bestTile = -1;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int tile = 0; tile < tileProduction.length; tile++) {
+            if (tile == state.getRobberTile()) {
+                continue;
+            }
+            final double score = score(state, seat, tile);
+            if (score > bestScore) {
+                bestTile = tile;
+                bestScore = score;
+            }
+        }
+        return bestTile;
+    }
+
+    /**
+     * Returns the most threatening opponent with a settlement on the given tile and at least one resource.
+     * Ties are broken by the amount of resources.
+     *
+     * @param state the state
+     * @param seat  the seat of the robbing player
+     * @param tile  the id of the robber's tile
+     * @return the seat of the victim or {@code -1}, if nobody can be robbed
+     */
+    public int selectVictim(final SearchState state, final int seat, final int tile) {
+        int victim = -1;
+        for (final int intersection : board.getTileIntersections(tile)) {
+            final int owner = state.getSettlementOwner(intersection);
+            if (owner == -1 || owner == seat || state.getTotalResources(owner) == 0) {
+                continue;
+            }
+            if (victim == -1 || state.getVictoryPoints(owner) > state.getVictoryPoints(victim)
+                || state.getVictoryPoints(owner) == state.getVictoryPoints(victim)
+                && state.getTotalResources(owner) > state.getTotalResources(victim)) {
+                victim = owner;
+            }
+        }
+        return victim;
+    }
+
+    /**
+     * Returns the resource to steal from the victim: the one they hold the most of, which is what a
+     * random steal most likely yields.
+     *
+     * @param state  the state
+     * @param victim the seat of the victim
+     * @return the ordinal of the resource type or {@code -1}, if the victim has no resources
+     */
+    public static int selectResource(final SearchState state, final int victim) {
+        int resource = -1;
+        for (int type = 0; type < SearchState.RESOURCE_TYPES; type++) {
+            if (state.getResource(victim, type) > 0
+                && (resource == -1 || state.getResource(victim, type) > state.getResource(victim, resource))) {
+                resource = type;
+            }
+        }
+        return resource;
+    }
+}
@@ -0,0 +1,1061 @@
+package projekt.controller.ai;
+
+import projekt.Config;
+import projekt.controller.PlayerController;
+import projekt.controller.PlayerObjective;
+import projekt.model.DevelopmentCardType;
+import projekt.model.GameState;
+import projekt.model.HexGrid;
+import projekt.model.Player;
+import projekt.model.ResourceType;
+import projekt.model.Zobrist;
+import projekt.model.buildings.Edge;
+import projekt.model.buildings.Settlement;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * A compact, mutable representation of a game's state, intended for AI search.
+ * <p>
+ * All information is stored in primitive arrays indexed by the ids of a {@link BoardIndex}
+ * and by seats (the index of a player in {@link GameState#getPlayers()}).
+ * Moves (see {@link Move}) can be applied with {@link #makeMove(int)} and reverted with {@link #unmakeMove()};
+ * {@link #copy()} creates an independent state by copying the arrays.
+ * <p>
+ * The rules implemented by this class mirror the ones of {@link PlayerController} and {@link HexGrid}:
+ * placement restrictions, building costs, piece limits, trade ratios, robbing and resource distribution.
+ * Moves are not validated when they are made; use the predicates (e.g. {@link #canBuildVillage(int, PlayerObjective)})
+ * to decide which moves are legal.
+ * <p>
+ * The state maintains a {@link Zobrist} hash of the position (roads, settlements, robber and player to move)
+ * incrementally, which matches {@link Zobrist#hash(GameState, Player)} of an equivalent game state.
+ */
+public final class SearchState {
+
+    /**
+     * The ratio at which players can trade with the bank without a port.
+     */
+    public static final int DEFAULT_TRADE_RATIO = 4;
+
+    /**
+     * The amount of resource types.
+     */
+    public static final int RESOURCE_TYPES = ResourceType.values().length;
+
+    /**
+     * The amount of development card types.
+     */
+    public static final int DEVELOPMENT_CARD_TYPES = DevelopmentCardType.values().length;
+
+    /**
+     * The level of a village, equal to {@link Settlement.Type#VILLAGE}'s resource amount.
+     */
+    public static final int VILLAGE = Settlement.Type.VILLAGE.resourceAmount;
+
+    /**
+     * The level of a city, equal to {@link Settlement.Type#CITY}'s resource amount.
+     */
+    public static final int CITY = Settlement.Type.CITY.resourceAmount;
+
+    private static final int[] ROAD_COST = toVector(Config.ROAD_BUILDING_COST);
+    private static final int[] VILLAGE_COST = toVector(Config.SETTLEMENT_BUILDING_COST.get(Settlement.Type.VILLAGE));
+    private static final int[] CITY_COST = toVector(Config.SETTLEMENT_BUILDING_COST.get(Settlement.Type.CITY));
+    private static final int[] DEVELOPMENT_CARD_COST = toVector(Config.DEVELOPMENT_CARD_COST);
+    private static final int TRADE_RATIO_BITS = 3;
+
+    private final BoardIndex board;
+    private final Player[] players;
+    private final int[] playerIds;
+
+    // Occupancy
+    private final int[] settlementOwners;
+    private final int[] settlementLevels;
+    private final int[] roadOwners;
+    private int robberTile;
+
+    // Ledgers, indexed by seat * RESOURCE_TYPES + resource and seat * DEVELOPMENT_CARD_TYPES + card
+    private final int[] resources;
+    private final int[] developmentCards;
+    private final int[] knightsPlayed;
+    private final int[] roadCounts;
+    private final int[] villageCounts;
+    private final int[] cityCounts;
+
+    // Best trade ratio per seat and resource, derived from the settlements at ports, see getTradeRatio(int, int)
+    private final int[] tradeRatios;
+
+    private int activeSeat;
+    private int roundCounter;
+    private long zobristHash;
+
+    // Undo information, see makeMove(int)
+    private int[] journal = new int[64];
+    private int journalSize = 0;
+
+    /**
+     * Creates a new state with an empty board for the given players.
+     * The robber is placed at the grid's robber position, the first player is active and the round counter is 0.
+     *
+     * @param board   the board index
+     * @param players the players, in seat order
+     */
+    public SearchState(final BoardIndex board, final List<Player> players) {
+        this.board = board;
+        this.players = players.toArray(Player[]::new);
+        this.playerIds = players.stream().mapToInt(Player::getID).toArray();
+        this.settlementOwners = new int[board.getIntersectionCount()];
+        this.settlementLevels = new int[board.getIntersectionCount()];
+        this.roadOwners = new int[board.getEdgeCount()];
+        Arrays.fill(settlementOwners, -1);
+        Arrays.fill(roadOwners, -1);
+        this.robberTile = board.getTileId(board.getHexGrid().getRobberPosition());
+        this.resources = new int[this.players.length * RESOURCE_TYPES];
+        this.developmentCards = new int[this.players.length * DEVELOPMENT_CARD_TYPES];
+        this.knightsPlayed = new int[this.players.length];
+        this.roadCounts = new int[this.players.length];
+        this.villageCounts = new int[this.players.length];
+        this.cityCounts = new int[this.players.length];
+        this.tradeRatios = new int[this.players.length * RESOURCE_TYPES];
+        Arrays.fill(tradeRatios, DEFAULT_TRADE_RATIO);
+        this.zobristHash = computeZobristHash();
+    }
+
+    /**
+     * Creates a new state from the given game state.
+     *
+     * @param gameState    the game state
+     * @param activePlayer the player whose turn it is
+     * @param roundCounter the current round, {@code 0} being the first round
+     */
+    public SearchState(final GameState gameState, final Player activePlayer, final int roundCounter) {
+        this(new BoardIndex(gameState.getGrid()), gameState, activePlayer, roundCounter);
+    }
+
+    /**
+     * Creates a new state from the given game state, reusing an existing index of its grid.
+     *
+     * @param board        the index of the game state's grid
+     * @param gameState    the game state
+     * @param activePlayer the player whose turn it is
+     * @param roundCounter the current round, {@code 0} being the first round
+     */
+    public SearchState(final BoardIndex board, final GameState gameState, final Player activePlayer, final int roundCounter) {
+        this(board, gameState.getPlayers());
+        for (int i = 0; i < settlementOwners.length; i++) {
+            final Settlement settlement = board.getIntersection(i).getSettlement();
+            if (settlement != null) {
+                final int seat = getSeat(settlement.owner());
+                settlementOwners[i] = seat;
+                settlementLevels[i] = settlement.type().resourceAmount;
+                addPort(seat, i);
+                if (settlement.type() == Settlement.Type.VILLAGE) {
+                    villageCounts[seat]++;
+                } else {
+                    cityCounts[seat]++;
+                }
+            }
+        }
+        for (int i = 0; i < roadOwners.length; i++) {
+            final Edge edge = board.getEdge(i);
+            if (edge.hasRoad()) {
+                roadOwners[i] = getSeat(edge.getRoadOwner());
+                roadCounts[roadOwners[i]]++;
+            }
+        }
+        for (int seat = 0; seat < players.length; seat++) {
+            for (final Map.Entry<ResourceType, Integer> entry : players[seat].getResources().entrySet()) {
+                resources[seat * RESOURCE_TYPES + entry.getKey().ordinal()] = entry.getValue();
+            }
+            for (final Map.Entry<DevelopmentCardType, Integer> entry : players[seat].getDevelopmentCards().entrySet()) {
+                developmentCards[seat * DEVELOPMENT_CARD_TYPES + entry.getKey().ordinal()] = entry.getValue();
+            }
+            knightsPlayed[seat] = players[seat].getKnightsPlayed();
+        }
+        this.activeSeat = activePlayer == null ? 0 : getSeat(activePlayer);
+        this.roundCounter = roundCounter;
+        this.zobristHash = computeZobristHash();
+    }
+
+    /**
+     * Creates a copy of the given state. The undo history is not copied.
+     *
+     * @param other the state to copy
+     */
+    private SearchState(final SearchState other) {
+        this.board = other.board;
+        this.players = other.players;
+        this.playerIds = other.playerIds;
+        this.settlementOwners = other.settlementOwners.clone();
+        this.settlementLevels = other.settlementLevels.clone();
+        this.roadOwners = other.roadOwners.clone();
+        this.robberTile = other.robberTile;
+        this.resources = other.resources.clone();
+        this.developmentCards = other.developmentCards.clone();
+        this.knightsPlayed = other.knightsPlayed.clone();
+        this.roadCounts = other.roadCounts.clone();
+        this.villageCounts = other.villageCounts.clone();
+        this.cityCounts = other.cityCounts.clone();
+        this.tradeRatios = other.tradeRatios.clone();
+        this.activeSeat = other.activeSeat;
+        this.roundCounter = other.roundCounter;
+        this.zobristHash = other.zobristHash;
+    }
+
+    /**
+     * Converts the given resource mapping to a vector indexed by {@link ResourceType#ordinal()}.
+     *
+     * @param resources the resource mapping
+     * @return the resource vector
+     */
+    public static int[] toVector(final Map<ResourceType, Integer> resources) {
+        final int[] vector = new int[RESOURCE_TYPES];
+        resources.forEach((resourceType, amount) -> vector[resourceType.ordinal()] = amount);
+        return vector;
+    }
+
+    /**
+     * Returns an independent copy of this state.
+     * The copy shares the (immutable) board index and players, but not the undo history,
+     * i.e. moves made before copying cannot be unmade on the copy.
+     *
+     * @return a copy of this state
+     */
+    public SearchState copy() {
+        return new SearchState(this);
+    }
+
+    // General
+
+    /**
+     * Returns the board index of this state.
+     *
+     * @return the board index
+     */
+    public BoardIndex getBoard() {
+        return board;
+    }
+
+    /**
+     * Returns the amount of players.
+     *
+     * @return the amount of players
+     */
+    public int getPlayerCount() {
+        return players.length;
+    }
+
+    /**
+     * Returns the player in the given seat.
+     *
+     * @param seat the seat
+     * @return the player in the given seat
+     */
+    public Player getPlayer(final int seat) {
+        return players[seat];
+    }
+
+    /**
+     * Returns the seat of the given player or {@code -1}, if the player is not part of this state.
+     *
+     * @param player the player
+     * @return the seat of the player
+     */
+    public int getSeat(final Player player) {
+        for (int seat = 0; seat < players.length; seat++) {
+            if (players[seat].equals(player)) {
+                return seat;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the seat of the player whose turn it is.
+     *
+     * @return the active seat
+     */
+    public int getActiveSeat() {
+        return activeSeat;
+    }
+
+    /**
+     * Sets the seat of the player whose turn it is.
+     *
+     * @param activeSeat the active seat
+     */
+    public void setActiveSeat(final int activeSeat) {
+        zobristHash ^= Zobrist.activePlayer(playerIds[this.activeSeat]) ^ Zobrist.activePlayer(playerIds[activeSeat]);
+        this.activeSeat = activeSeat;
+    }
+
+    /**
+     * Returns the current round, {@code 0} being the first round.
+     *
+     * @return the current round
+     */
+    public int getRoundCounter() {
+        return roundCounter;
+    }
+
+    /**
+     * Sets the current round.
+     *
+     * @param roundCounter the current round, {@code 0} being the first round
+     */
+    public void setRoundCounter(final int roundCounter) {
+        this.roundCounter = roundCounter;
+    }
+
+    /**
+     * Returns true if it is the first round of the game.
+     *
+     * @return true if it is the first round of the game
+     */
+    public boolean isFirstRound() {
+        return roundCounter == 0;
+    }
+
+    // Board
+
+    /**
+     * Returns the seat of the owner of the settlement on the given intersection or {@code -1}, if there is none.
+     *
+     * @param intersection the id of the intersection
+     * @return the seat of the settlement's owner
+     */
+    public int getSettlementOwner(final int intersection) {
+        return settlementOwners[intersection];
+    }
+
+    /**
+     * Returns the level of the settlement on the given intersection: {@code 0} if there is none,
+     * {@link #VILLAGE} or {@link #CITY} otherwise.
+     *
+     * @param intersection the id of the intersection
+     * @return the level of the settlement
+     */
+    public int getSettlementLevel(final int intersection) {
+        return settlementLevels[intersection];
+    }
+
+    /**
+     * Returns the seat of the owner of the road on the given edge or {@code -1}, if there is none.
+     *
+     * @param edge the id of the edge
+     * @return the seat of the road's owner
+     */
+    public int getRoadOwner(final int edge) {
+        return roadOwners[edge];
+    }
+
+    /**
+     * Returns the id of the tile the robber is on or {@code -1}, if the robber is not placed.
+     *
+     * @return the id of the robber's tile
+     */
+    public int getRobberTile() {
+        return robberTile;
+    }
+
+    // Ledgers
+
+    /**
+     * Returns the amount of the given resource the player in the given seat has.
+     *
+     * @param seat     the seat
+     * @param resource the ordinal of the resource type
+     * @return the amount of the resource
+     */
+    public int getResource(final int seat, final int resource) {
+        return resources[seat * RESOURCE_TYPES + resource];
+    }
+
+    /**
+     * Returns the total amount of resources the player in the given seat has.
+     *
+     * @param seat the seat
+     * @return the total amount of resources
+     */
+    public int getTotalResources(final int seat) {
+        int total = 0;
+        for (int resource = 0; resource < RESOURCE_TYPES; resource++) {
+            total += resources[seat * RESOURCE_TYPES + resource];
+        }
+        return total;
+    }
+
+    /**
+     * Returns true if the player in the given seat has at least the given resources.
+     *
+     * @param seat   the seat
+     * @param vector the resources, indexed by {@link ResourceType#ordinal()}
+     * @return true if the player has the resources
+     */
+    public boolean hasResources(final int seat, final int[] vector) {
+        for (int resource = 0; resource < RESOURCE_TYPES; resource++) {
+            if (resources[seat * RESOURCE_TYPES + resource] < vector[resource]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the amount of development cards of the given type the player in the given seat has.
+     *
+     * @param seat the seat
+     * @param card the ordinal of the development card type
+     * @return the amount of development cards
+     */
+    public int getDevelopmentCards(final int seat, final int card) {
+        return developmentCards[seat * DEVELOPMENT_CARD_TYPES + card];
+    }
+
+    /**
+     * Returns the amount of knights the player in the given seat has played.
+     *
+     * @param seat the seat
+     * @return the amount of knights played
+     */
+    public int getKnightsPlayed(final int seat) {
+        return knightsPlayed[seat];
+    }
+
+    /**
+     * Returns the amount of roads the player in the given seat can still build.
+     *
+     * @param seat the seat
+     * @return the amount of remaining roads
+     */
+    public int getRemainingRoads(final int seat) {
+        return Config.MAX_ROADS - roadCounts[seat];
+    }
+
+    /**
+     * Returns the amount of villages the player in the given seat can still build.
+     *
+     * @param seat the seat
+     * @return the amount of remaining villages
+     */
+    public int getRemainingVillages(final int seat) {
+        return Config.MAX_VILLAGES - villageCounts[seat];
+    }
+
+    /**
+     * Returns the amount of cities the player in the given seat can still build.
+     *
+     * @param seat the seat
+     * @return the amount of remaining cities
+     */
+    public int getRemainingCities(final int seat) {
+        return Config.MAX_CITIES - cityCounts[seat];
+    }
+
+    /**
+     * Returns the victory points from settlements and development cards of the player in the given seat.
+     *
+     * @param seat the seat
+     * @return the victory points
+     */
+    public int getVictoryPoints(final int seat) {
+        return villageCounts[seat] * VILLAGE + cityCounts[seat] * CITY
+            + developmentCards[seat * DEVELOPMENT_CARD_TYPES + DevelopmentCardType.VICTORY_POINTS.ordinal()];
+    }
+
+    /**
+     * Returns the seat of a player that has reached the victory condition or {@code -1}, if there is none.
+     * Mirrors {@link projekt.controller.GameController#getWinners()}: the player with the most knights played
+     * (at least three) gets two bonus points.
+     *
+     * @return the seat of a winner
+     */
+    public int getWinner() {
+        int mostKnights = -1;
+        for (int seat = 0; seat < players.length; seat++) {
+            if (knightsPlayed[seat] >= 3 && (mostKnights == -1 || knightsPlayed[seat] > knightsPlayed[mostKnights])) {
+                mostKnights = seat;
+            }
+        }
+        for (int seat = 0; seat < players.length; seat++) {
+            if (getVictoryPoints(seat) + (seat == mostKnights ? 2 : 0) >= Config.REQUIRED_VICTORY_POINTS) {
+                return seat;
+            }
+        }
+        return -1;
+    }
+
+    // Rules
+
+    /**
+     * Returns the ratio the player in the given seat can trade the given resource for with the bank.
+     *
+     * @param seat     the seat
+     * @param resource the ordinal of the resource type
+     * @return the trade ratio
+     */
+    public int getTradeRatio(final int seat, final int resource) {
+        return tradeRatios[seat * RESOURCE_TYPES + resource];
+    }
+
+    /**
+     * Checks whether the player in the given seat can build a village.
+     *
+     * @param seat      the seat
+     * @param objective the player's current objective
+     * @return whether the player can build a village
+     * @see PlayerController#canBuildVillage()
+     */
+    public boolean canBuildVillage(final int seat, final PlayerObjective objective) {
+        return (objective == PlayerObjective.PLACE_VILLAGE || hasResources(seat, VILLAGE_COST))
+            && getRemainingVillages(seat) > 0;
+    }
+
+    /**
+     * Checks whether the given intersection allows the player in the given seat to place a village on it,
+     * regardless of resources.
+     * A village can never be built on an intersection that is adjacent to another settlement or already has a
+     * settlement. Outside the first round, it must be connected to one of the player's roads.
+     *
+     * @param seat         the seat
+     * @param intersection the id of the intersection
+     * @return whether a village can be placed on the intersection
+     */
+    public boolean isVillageBuildable(final int seat, final int intersection) {
+        if (settlementOwners[intersection] != -1) {
+            return false;
+        }
+        for (final int neighbour : board.getIntersectionNeighbours(intersection)) {
+            if (settlementOwners[neighbour] != -1) {
+                return false;
+            }
+        }
+        if (isFirstRound()) {
+            return true;
+        }
+        for (final int edge : board.getIntersectionEdges(intersection)) {
+            if (roadOwners[edge] == seat) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the player in the given seat can upgrade a village to a city.
+     *
+     * @param seat the seat
+     * @return whether the player can upgrade a village
+     * @see PlayerController#canUpgradeVillage()
+     */
+    public boolean canUpgradeVillage(final int seat) {
+        return hasResources(seat, CITY_COST) && villageCounts[seat] > 0 && getRemainingCities(seat) > 0;
+    }
+
+    /**
+     * Checks whether the given intersection holds a village of the player in the given seat.
+     *
+     * @param seat         the seat
+     * @param intersection the id of the intersection
+     * @return whether the village can be upgraded
+     */
+    public boolean isVillageUpgradable(final int seat, final int intersection) {
+        return settlementOwners[intersection] == seat && settlementLevels[intersection] == VILLAGE;
+    }
+
+    /**
+     * Checks whether the player in the given seat can build a road.
+     *
+     * @param seat      the seat
+     * @param objective the player's current objective
+     * @return whether the player can build a road
+     * @see PlayerController#canBuildRoad()
+     */
+    public boolean canBuildRoad(final int seat, final PlayerObjective objective) {
+        return (objective == PlayerObjective.PLACE_ROAD || hasResources(seat, ROAD_COST))
+            && getRemainingRoads(seat) > 0;
+    }
+
+    /**
+     * Checks whether the given edge allows the player in the given seat to place a road on it,
+     * regardless of resources.
+     * In the first round, a road can only be built next to one of the player's settlements that has no adjacent
+     * roads yet. Otherwise, it must be connected to one to three of the player's roads.
+     *
+     * @param seat the seat
+     * @param edge the id of the edge
+     * @return whether a road can be placed on the edge
+     */
+    public boolean isRoadBuildable(final int seat, final int edge) {
+        if (roadOwners[edge] != -1) {
+            return false;
+        }
+        if (isFirstRound()) {
+            for (final int intersection : board.getEdgeIntersections(edge)) {
+                if (settlementOwners[intersection] == seat && !hasAdjacentRoad(intersection)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        int connectedRoads = 0;
+        for (final int neighbour : board.getEdgeNeighbours(edge)) {
+            if (roadOwners[neighbour] == seat) {
+                connectedRoads++;
+            }
+        }
+        return connectedRoads > 0 && connectedRoads < 4;
+    }
+
+    /**
+     * Returns whether any road is connected to the given intersection.
+     *
+     * @param intersection the id of the intersection
+     * @return whether any road is connected to the intersection
+     */
+    private boolean hasAdjacentRoad(final int intersection) {
+        for (final int edge : board.getIntersectionEdges(intersection)) {
+            if (roadOwners[edge] != -1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the player in the given seat can buy a development card.
+     *
+     * @param seat the seat
+     * @return whether the player can buy a development card
+     */
+    public boolean canBuyDevelopmentCard(final int seat) {
+        return hasResources(seat, DEVELOPMENT_CARD_COST);
+    }
+
+    /**
+     * Checks whether the player in the given seat can trade the given resource with the bank.
+     *
+     * @param seat    the seat
+     * @param offer   the ordinal of the offered resource type
+     * @param request the ordinal of the requested resource type
+     * @return whether the trade is possible
+     */
+    public boolean canTradeWithBank(final int seat, final int offer, final int request) {
+        return offer != request && getResource(seat, offer) >= getTradeRatio(seat, offer);
+    }
+
+    /**
+     * Checks whether the player in the given seat can steal from the player in the victim seat.
+     * The victim must have a settlement next to the robber and at least one resource.
+     *
+     * @param seat   the seat of the robbing player
+     * @param victim the seat of the player to steal from
+     * @return whether the player can steal from the victim
+     * @see PlayerController#getPlayersToStealFrom()
+     */
+    public boolean canStealFrom(final int seat, final int victim) {
+        if (seat == victim || robberTile == -1 || getTotalResources(victim) == 0) {
+            return false;
+        }
+        for (final int intersection : board.getTileIntersections(robberTile)) {
+            if (settlementOwners[intersection] == victim) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Make / unmake
+
+    /**
+     * Applies the given move for the active player. The move is not validated.
+     *
+     * @param move the encoded move
+     * @see Move
+     */
+    public void makeMove(final int move) {
+        final int seat = activeSeat;
+        switch (Move.kind(move)) {
+            case Move.END_TURN -> {
+                setActiveSeat((activeSeat + 1) % players.length);
+                if (activeSeat == 0) {
+                    roundCounter++;
+                }
+            }
+            case Move.ROLL_DICE -> distributeResources(Move.second(move), 1);
+            case Move.BUILD_VILLAGE -> {
+                settlementOwners[Move.index(move)] = seat;
+                settlementLevels[Move.index(move)] = VILLAGE;
+                villageCounts[seat]++;
+                push(packTradeRatios(seat));
+                addPort(seat, Move.index(move));
+                zobristHash ^= settlementKey(Move.index(move), seat, Settlement.Type.VILLAGE);
+                if (!Move.isFree(move)) {
+                    pay(seat, VILLAGE_COST, 1);
+                }
+            }
+            case Move.UPGRADE_VILLAGE -> {
+                settlementLevels[Move.index(move)] = CITY;
+                villageCounts[seat]--;
+                cityCounts[seat]++;
+                zobristHash ^= upgradeKey(Move.index(move), seat);
+                pay(seat, CITY_COST, 1);
+            }
+            case Move.BUILD_ROAD -> {
+                roadOwners[Move.index(move)] = seat;
+                roadCounts[seat]++;
+                zobristHash ^= roadKey(Move.index(move), seat);
+                if (!Move.isFree(move)) {
+                    pay(seat, ROAD_COST, 1);
+                }
+            }
+            case Move.BANK_TRADE -> {
+                final int ratio = getTradeRatio(seat, Move.first(move));
+                resources[seat * RESOURCE_TYPES + Move.first(move)] -= ratio;
+                resources[seat * RESOURCE_TYPES + Move.second(move)]++;
+                push(ratio);
+            }
+            case Move.BUY_DEVELOPMENT_CARD -> {
+                pay(seat, DEVELOPMENT_CARD_COST, 1);
+                developmentCards[seat * DEVELOPMENT_CARD_TYPES + Move.second(move)]++;
+            }
+            case Move.PLAY_DEVELOPMENT_CARD -> {
+                developmentCards[seat * DEVELOPMENT_CARD_TYPES + Move.second(move)]--;
+                if (Move.second(move) == DevelopmentCardType.KNIGHT.ordinal()) {
+                    knightsPlayed[seat]++;
+                }
+            }
+            case Move.MOVE_ROBBER -> {
+                push(robberTile);
+                zobristHash ^= robberKey(robberTile) ^ robberKey(Move.index(move));
+                robberTile = Move.index(move);
+            }
+            case Move.STEAL -> {
+                resources[Move.first(move) * RESOURCE_TYPES + Move.second(move)]--;
+                resources[seat * RESOURCE_TYPES + Move.second(move)]++;
+            }
+            case Move.DROP_RESOURCE -> resources[seat * RESOURCE_TYPES + Move.second(move)]--;
+            case Move.TAKE_RESOURCE -> resources[seat * RESOURCE_TYPES + Move.second(move)]++;
+            case Move.MONOPOLY -> {
+                for (int other = 0; other < players.length; other++) {
+                    if (other != seat) {
+                        final int amount = resources[other * RESOURCE_TYPES + Move.second(move)];
+                        resources[other * RESOURCE_TYPES + Move.second(move)] = 0;
+                        resources[seat * RESOURCE_TYPES + Move.second(move)] += amount;
+                        push(amount);
+                    }
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown move: " + Move.toString(move));
+        }
+        push(move);
+    }
+
+    /**
+     * Reverts the last move made with {@link #makeMove(int)}.
+     *
+     * @return the reverted move
+     * @throws IllegalStateException if there is no move to revert
+     */
+    public int unmakeMove() {
+        if (journalSize == 0) {
+            throw new IllegalStateException("No move to unmake");
+        }
+        final int move = journal[--journalSize];
+        switch (Move.kind(move)) {
+            case Move.END_TURN -> {
+                if (activeSeat == 0) {
+                    roundCounter--;
+                }
+                setActiveSeat((activeSeat - 1 + players.length) % players.length);
+            }
+            case Move.ROLL_DICE -> distributeResources(Move.second(move), -1);
+            case Move.BUILD_VILLAGE -> {
+                settlementOwners[Move.index(move)] = -1;
+                settlementLevels[Move.index(move)] = 0;
+                villageCounts[activeSeat]--;
+                unpackTradeRatios(activeSeat, journal[--journalSize]);
+                zobristHash ^= settlementKey(Move.index(move), activeSeat, Settlement.Type.VILLAGE);
+                if (!Move.isFree(move)) {
+                    pay(activeSeat, VILLAGE_COST, -1);
+                }
+            }
+            case Move.UPGRADE_VILLAGE -> {
+                settlementLevels[Move.index(move)] = VILLAGE;
+                villageCounts[activeSeat]++;
+                cityCounts[activeSeat]--;
+                zobristHash ^= upgradeKey(Move.index(move), activeSeat);
+                pay(activeSeat, CITY_COST, -1);
+            }
+            case Move.BUILD_ROAD -> {
+                roadOwners[Move.index(move)] = -1;
+                roadCounts[activeSeat]--;
+                zobristHash ^= roadKey(Move.index(move), activeSeat);
+                if (!Move.isFree(move)) {
+                    pay(activeSeat, ROAD_COST, -1);
+                }
+            }
+            case Move.BANK_TRADE -> {
+                final int ratio = journal[--journalSize];
+                resources[activeSeat * RESOURCE_TYPES + Move.first(move)] += ratio;
+                resources[activeSeat * RESOURCE_TYPES + Move.second(move)]--;
+            }
+            case Move.BUY_DEVELOPMENT_CARD -> {
+                developmentCards[activeSeat * DEVELOPMENT_CARD_TYPES + Move.second(move)]--;
+                pay(activeSeat, DEVELOPMENT_CARD_COST, -1);
+            }
+            case Move.PLAY_DEVELOPMENT_CARD -> {
+                developmentCards[activeSeat * DEVELOPMENT_CARD_TYPES + Move.second(move)]++;
+                if (Move.second(move) == DevelopmentCardType.KNIGHT.ordinal()) {
+                    knightsPlayed[activeSeat]--;
+                }
+            }
+            case Move.MOVE_ROBBER -> {
+                final int previousTile = journal[--journalSize];
+                zobristHash ^= robberKey(robberTile) ^ robberKey(previousTile);
+                robberTile = previousTile;
+            }
+            case Move.STEAL -> {
+                resources[activeSeat * RESOURCE_TYPES + Move.second(move)]--;
+                resources[Move.first(move) * RESOURCE_TYPES + Move.second(move)]++;
+            }
+            case Move.DROP_RESOURCE -> resources[activeSeat * RESOURCE_TYPES + Move.second(move)]++;
+            case Move.TAKE_RESOURCE -> resources[activeSeat * RESOURCE_TYPES + Move.second(move)]--;
+            case Move.MONOPOLY -> {
+                for (int other = players.length - 1; other >= 0; other--) {
+                    if (other != activeSeat) {
+                        final int amount = journal[--journalSize];
+                        resources[other * RESOURCE_TYPES + Move.second(move)] = amount;
+                        resources[activeSeat * RESOURCE_TYPES + Move.second(move)] -= amount;
+                    }
+                }
+            }
+            default -> throw new IllegalStateException("Unknown move: " + Move.toString(move));
+        }
+        return move;
+    }
+
+    /**
+     * Returns the amount of moves that can currently be unmade.
+     *
+     * @return the amount of moves that can be unmade
+     */
+    public int getMoveCount() {
+        int count = 0;
+        for (int i = journalSize; i > 0; ) {
+            final int move = journal[--i];
+            count++;
+            i -= switch (Move.kind(move)) {
+                case Move.BUILD_VILLAGE, Move.BANK_TRADE, Move.MOVE_ROBBER -> 1;
+                case Move.MONOPOLY -> players.length - 1;
+                default -> 0;
+            };
+        }
+        return count;
+    }
+
+    // Hashing
+
+    /**
+     * Returns the Zobrist hash of this state's position: roads, settlements, the robber and the player to move.
+     *
+     * @return the Zobrist hash
+     */
+    public long getZobristHash() {
+        return zobristHash;
+    }
+
+    /**
+     * Computes the Zobrist hash of this state from scratch.
+     *
+     * @return the Zobrist hash
+     */
+    long computeZobristHash() {
+        long hash = robberKey(robberTile) ^ (players.length == 0 ? 0 : Zobrist.activePlayer(playerIds[activeSeat]));
+        for (int i = 0; i < settlementOwners.length; i++) {
+            if (settlementOwners[i] != -1) {
+                hash ^= settlementKey(i, settlementOwners[i],
+                                      settlementLevels[i] == CITY ? Settlement.Type.CITY : Settlement.Type.VILLAGE);
+            }
+        }
+        for (int i = 0; i < roadOwners.length; i++) {
+            if (roadOwners[i] != -1) {
+                hash ^= roadKey(i, roadOwners[i]);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Returns the key of a settlement.
+     *
+     * @param intersection the id of the intersection
+     * @param seat         the seat of the owner
+     * @param type         the type of the settlement
+     * @return the key of the settlement
+     */
+    private long settlementKey(final int intersection, final int seat, final Settlement.Type type) {
+        return Zobrist.settlement(board.getIntersectionCode(intersection), playerIds[seat], type);
+    }
+
+    /**
+     * Returns the key toggling a village into a city (and back).
+     *
+     * @param intersection the id of the intersection
+     * @param seat         the seat of the owner
+     * @return the key of the upgrade
+     */
+    private long upgradeKey(final int intersection, final int seat) {
+        return settlementKey(intersection, seat, Settlement.Type.VILLAGE) ^ settlementKey(intersection, seat, Settlement.Type.CITY);
+    }
+
+    /**
+     * Returns the key of a road.
+     *
+     * @param edge the id of the edge
+     * @param seat the seat of the owner
+     * @return the key of the road
+     */
+    private long roadKey(final int edge, final int seat) {
+        return Zobrist.road(board.getEdgeCode(edge), playerIds[seat]);
+    }
+
+    /**
+     * Returns the key of the robber.
+     *
+     * @param tile the id of the robber's tile or {@code -1}
+     * @return the key of the robber or {@code 0}, if it is not placed
+     */
+    private long robberKey(final int tile) {
+        return tile == -1 ? 0 : Zobrist.robber(board.getTileCode(tile));
+    }
+
+    /**
+     * Distributes the resources for the given dice roll, or takes them back.
+     * Tiles occupied by the robber do not produce resources.
+     *
+     * @param diceRoll the dice roll
+     * @param sign     {@code 1} to distribute, {@code -1} to take back
+     */
+    private void distributeResources(final int diceRoll, final int sign) {
+        for (final int tile : board.getTilesWithRollNumber(diceRoll)) {
+            if (tile == robberTile || board.getTileResource(tile) == -1) {
+                continue;
+            }
+            for (final int intersection : board.getTileIntersections(tile)) {
+                if (settlementOwners[intersection] != -1) {
+                    resources[settlementOwners[intersection] * RESOURCE_TYPES + board.getTileResource(tile)]
+                        += sign * settlementLevels[intersection];
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes (or, with a negative factor, refunds) the given costs from the player in the given seat.
+     *
+     * @param seat   the seat
+     * @param cost   the cost vector
+     * @param factor {@code 1} to pay, {@code -1} to refund
+     */
+    private void pay(final int seat, final int[] cost, final int factor) {
+        for (int resource = 0; resource < RESOURCE_TYPES; resource++) {
+            resources[seat * RESOURCE_TYPES + resource] -= factor * cost[resource];
+        }
+    }
+
+    /**
+     * Lowers the trade ratios of the player in the given seat to the ratio of the port at the given intersection.
+     *
+     * @param seat         the seat
+     * @param intersection the id of the intersection, with or without a port
+     */
+    private void addPort(final int seat, final int intersection) {
+        final int ratio = board.getPortRatio(intersection);
+        if (ratio == 0) {
+            return;
+        }
+        for (int resource = 0; resource < RESOURCE_TYPES; resource++) {
+            final int index = seat * RESOURCE_TYPES + resource;
+            if (board.getPortResource(intersection) == -1 || board.getPortResource(intersection) == resource) {
+                tradeRatios[index] = Math.min(tradeRatios[index], ratio);
+            }
+        }
+    }
+
+    /**
+     * Packs the trade ratios of the player in the given seat into a single journal entry.
+     *
+     * @param seat the seat
+     * @return the packed trade ratios
+     */
+    private int packTradeRatios(final int seat) {
+        int packed = 0;
+        for (int resource = 0; resource < RESOURCE_TYPES; resource++) {
+            packed |= tradeRatios[seat * RESOURCE_TYPES + resource] << resource * TRADE_RATIO_BITS;
+        }
+        return packed;
+    }
+
+    /**
+     * Restores the trade ratios of the player in the given seat from a journal entry.
+     *
+     * @param seat   the seat
+     * @param packed the trade ratios packed by {@link #packTradeRatios(int)}
+     */
+    private void unpackTradeRatios(final int seat, final int packed) {
+        for (int resource = 0; resource < RESOURCE_TYPES; resource++) {
+            final int ratio = packed >>> resource * TRADE_RATIO_BITS & (1 << TRADE_RATIO_BITS) - 1;
+            tradeRatios[seat * RESOURCE_TYPES + resource] = ratio;
+        }
+    }
+
+    /**
+     * Pushes a value onto the undo journal.
+     *
+     * @param value the value to push
+     */
+    private void push(final int value) {
+        if (journalSize == journal.length) {
+            journal = Arrays.copyOf(journal, journal.length * 2);
+        }
+        journal[journalSize++] = value;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final SearchState other = (SearchState) o;
+        return board == other.board
+            && robberTile == other.robberTile
+            && activeSeat == other.activeSeat
+            && roundCounter == other.roundCounter
+            && Arrays.equals(players, other.players)
+            && Arrays.equals(settlementOwners, other.settlementOwners)
+            && Arrays.equals(settlementLevels, other.settlementLevels)
+            && Arrays.equals(roadOwners, other.roadOwners)
+            && Arrays.equals(resources, other.resources)
+            && Arrays.equals(developmentCards, other.developmentCards)
+            && Arrays.equals(knightsPlayed, other.knightsPlayed);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(zobristHash) + Arrays.hashCode(resources);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SearchState[round=%d, activeSeat=%d, robberTile=%d, resources=%s, victoryPoints=%s]",
+                             roundCounter, activeSeat, robberTile, Arrays.toString(resources),
+                             Arrays.toString(IntStream.range(0, players.length).map(this::getVictoryPoints).toArray())
+        );
+    }
+}
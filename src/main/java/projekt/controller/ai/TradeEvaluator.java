@@ -0,0 +1,435 @@
+package projekt.controller.ai;
+
+import projekt.Config;
+import projekt.model.ResourceType;
+import projekt.model.buildings.Settlement;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Evaluates trades for AI controllers by the marginal value of resources to a player.
+ * <p>
+ * The value of a hand is the sum over all build goals (road, village, city and development card) of the goal's
+ * weight divided by one plus its distance, i.e. the amount of cards still missing for its cost. Missing cards that
+ * can be covered by trading surplus cards with the bank (at the player's port ratios) count only
+ * {@link #BANK_TRADE_DISTANCE} each. A small value per card and a penalty for cards exposed to discarding on a
+ * seven complete the hand value. The marginal value of a resource vector is the difference it makes to the hand.
+ * <p>
+ * A trade with an opponent is worth the own marginal value minus the opponent's gain, weighted by the opponent's
+ * threat (see {@link RobberPlacement#getThreat(SearchState, int)}).
+ * <p>
+ * Evaluations work on scratch arrays and only allocate for returned offers, so they take microseconds.
+ * Instances are not thread-safe; use one evaluator per thread.
+ */
+public final class TradeEvaluator {
+
+    /**
+     * The value of a single card regardless of goals.
+     */
+    public static final double CARD_VALUE = 0.02;
+
+    /**
+     * The distance a missing card counts when it can be obtained by trading surplus cards with the bank.
+     */
+    public static final double BANK_TRADE_DISTANCE = 0.5;
+
+    /**
+     * The amount of cards above which half of the hand has to be dropped when a seven is rolled.
+     */
+    public static final int DISCARD_THRESHOLD = 7;
+
+    /**
+     * The penalty per card held above {@link #DISCARD_THRESHOLD}.
+     */
+    public static final double DISCARD_PENALTY = 0.04;
+
+    /**
+     * The weight of an opponent's gain from a trade, multiplied by the opponent's threat.
+     */
+    public static final double OPPONENT_GAIN_WEIGHT = 0.5;
+
+    /**
+     * The minimum value of a trade to be worth making.
+     */
+    public static final double TRADE_MARGIN = 0.01;
+
+    private static final int[][] GOAL_COSTS = {
+        SearchState.toVector(Config.ROAD_BUILDING_COST),
+        SearchState.toVector(Config.SETTLEMENT_BUILDING_COST.get(Settlement.Type.VILLAGE)),
+        SearchState.toVector(Config.SETTLEMENT_BUILDING_COST.get(Settlement.Type.CITY)),
+        SearchState.toVector(Config.DEVELOPMENT_CARD_COST)
+    };
+    private static final double[] GOAL_WEIGHTS = {0.4, 1.0, 1.0, 0.5};
+    private static final int ROAD = 0;
+    private static final int VILLAGE = 1;
+    private static final int CITY = 2;
+
+    private final HeuristicWeights weights;
+    private final int[] hand = new int[SearchState.RESOURCE_TYPES];
+    private final int[] ratios = new int[SearchState.RESOURCE_TYPES];
+    private final int[] delta = new int[SearchState.RESOURCE_TYPES];
+
+    /**
+     * Creates a trade evaluator with the {@link HeuristicWeights#DEFAULT default weights}.
+     */
+    public TradeEvaluator() {
+        this(HeuristicWeights.DEFAULT);
+    }
+
+    /**
+     * Creates a trade evaluator with the given weights.
+     *
+     * @param weights the weights of cards, bank trades, discarding and opponents' gains
+     */
+    public TradeEvaluator(final HeuristicWeights weights) {
+        this.weights = weights;
+    }
+
+    /**
+     * The answer to a trade offer.
+     */
+    public enum Verdict {
+        ACCEPT,
+        REJECT,
+        COUNTER
+    }
+
+    /**
+     * The terms of a trade, oriented like a {@link projekt.model.TradePayload}.
+     *
+     * @param offer   the resources given by the initiating player, indexed by {@link ResourceType#ordinal()}
+     * @param request the resources given to the initiating player, indexed by {@link ResourceType#ordinal()}
+     */
+    public record Offer(int[] offer, int[] request) {
+    }
+
+    /**
+     * The evaluation of a trade offer.
+     *
+     * @param verdict the answer
+     * @param counter the modified terms for {@link Verdict#COUNTER}, otherwise {@code null}
+     */
+    public record Response(Verdict verdict, Offer counter) {
+    }
+
+    /**
+     * Returns the value of the hand of the player in the given seat after adding the given resources.
+     *
+     * @param state     the state
+     * @param seat      the seat
+     * @param resources the resources to add (negative to remove), or {@code null} for the current hand
+     * @return the value of the hand or {@link Double#NEGATIVE_INFINITY}, if the player lacks resources to remove
+     */
+    public double getHandValue(final SearchState state, final int seat, final int[] resources) {
+        for (int resource = 0; resource < SearchState.RESOURCE_TYPES; resource++) {
+            hand[resource] = state.getResource(seat, resource) + (resources == null ? 0 : resources[resource]);
+            if (hand[resource] < 0) {
+                return Double.NEGATIVE_INFINITY;
+            }
+            ratios[resource] = state.getTradeRatio(seat, resource);
+        }
+
+        int cards = 0;
+        for (final int amount : hand) {
+            cards += amount;
+        }
+        double value = weights.cardValue() * cards - weights.discardPenalty() * Math.max(0, cards - DISCARD_THRESHOLD);
+        for (int goal = 0; goal < GOAL_COSTS.length; goal++) {
+            if (isGoalAvailable(state, seat, goal)) {
+                value += GOAL_WEIGHTS[goal] / (1 + getDistance(GOAL_COSTS[goal]));
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Returns the marginal value of the given resources to the player in the given seat.
+     *
+     * @param state     the state
+     * @param seat      the seat
+     * @param resources the resources to add (negative to remove)
+     * @return the marginal value or {@link Double#NEGATIVE_INFINITY}, if the player lacks resources to remove
+     */
+    public double getMarginalValue(final SearchState state, final int seat, final int[] resources) {
+        final double value = getHandValue(state, seat, resources);
+        return value == Double.NEGATIVE_INFINITY ? value : value - getHandValue(state, seat, null);
+    }
+
+    /**
+     * Returns the value of the given trade to the responding player, including the initiator's weighted gain.
+     *
+     * @param state     the state
+     * @param initiator the seat of the player offering the trade
+     * @param responder the seat of the player answering
+     * @param offer     the resources given by the initiator
+     * @param request   the resources given by the responder
+     * @return the value of the trade to the responder or {@link Double#NEGATIVE_INFINITY}, if either player lacks
+     * resources
+     */
+    public double getTradeValue(
+        final SearchState state,
+        final int initiator,
+        final int responder,
+        final int[] offer,
+        final int[] request
+    ) {
+        for (int resource = 0; resource < SearchState.RESOURCE_TYPES; resource++) {
+            delta[resource] = request[resource] - offer[resource];
+        }
+        final double initiatorGain = getMarginalValue(state, initiator, delta);
+        for (int resource = 0; resource < SearchState.RESOURCE_TYPES; resource++) {
+            delta[resource] = -delta[resource];
+        }
+        final double responderGain = getMarginalValue(state, responder, delta);
+        if (initiatorGain == Double.NEGATIVE_INFINITY || responderGain == Double.NEGATIVE_INFINITY) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        return responderGain
+            - weights.opponentGain() * RobberPlacement.getThreat(state, initiator) * Math.max(0, initiatorGain);
+    }
+
+    /**
+     * Answers a trade offer. If the offer is not good enough, the best counter-offer that requests one card less or
+     * offers one card more is returned, provided the initiator still gains from it.
+     *
+     * @param state     the state
+     * @param initiator the seat of the player offering the trade
+     * @param responder the seat of the player answering
+     * @param offer     the resources given by the initiator
+     * @param request   the resources given by the responder
+     * @return the response
+     */
+    public Response respond(
+        final SearchState state,
+        final int initiator,
+        final int responder,
+        final int[] offer,
+        final int[] request
+    ) {
+        if (getTradeValue(state, initiator, responder, offer, request) > TRADE_MARGIN) {
+            return new Response(Verdict.ACCEPT, null);
+        }
+
+        final int[] counterOffer = offer.clone();
+        final int[] counterRequest = request.clone();
+        int bestResource = -1;
+        boolean bestRaisesOffer = false;
+        double bestValue = TRADE_MARGIN;
+        int requested = 0;
+        for (final int amount : request) {
+            requested += amount;
+        }
+        for (int resource = 0; resource < SearchState.RESOURCE_TYPES; resource++) {
+            if (request[resource] > 0 && requested > 1) {
+                counterRequest[resource]--;
+                final double value = getCounterValue(state, initiator, responder, counterOffer, counterRequest);
+                counterRequest[resource]++;
+                if (value > bestValue) {
+                    bestResource = resource;
+                    bestRaisesOffer = false;
+                    bestValue = value;
+                }
+            }
+            counterOffer[resource]++;
+            final double value = getCounterValue(state, initiator, responder, counterOffer, counterRequest);
+            counterOffer[resource]--;
+            if (value > bestValue) {
+                bestResource = resource;
+                bestRaisesOffer = true;
+                bestValue = value;
+            }
+        }
+        if (bestResource == -1) {
+            return new Response(Verdict.REJECT, null);
+        }
+        if (bestRaisesOffer) {
+            counterOffer[bestResource]++;
+        } else {
+            counterRequest[bestResource]--;
+        }
+        return new Response(Verdict.COUNTER, new Offer(counterOffer, counterRequest));
+    }
+
+    /**
+     * Returns the value of a counter-offer to the responder, or {@link Double#NEGATIVE_INFINITY} if the initiator
+     * would not gain from it.
+     *
+     * @param state     the state
+     * @param initiator the seat of the player offering the trade
+     * @param responder the seat of the player answering
+     * @param offer     the resources given by the initiator
+     * @param request   the resources given by the responder
+     * @return the value of the counter-offer
+     */
+    private double getCounterValue(
+        final SearchState state,
+        final int initiator,
+        final int responder,
+        final int[] offer,
+        final int[] request
+    ) {
+        for (int resource = 0; resource < SearchState.RESOURCE_TYPES; resource++) {
+            delta[resource] = request[resource] - offer[resource];
+        }
+        if (getMarginalValue(state, initiator, delta) <= 0) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        return getTradeValue(state, initiator, responder, offer, request);
+    }
+
+    /**
+     * Returns the most valuable trade of one card for one or two cards of another type that at least one opponent
+     * would accept.
+     *
+     * @param state the state
+     * @param seat  the seat of the initiating player
+     * @return the best offer or {@code null}, if no trade is worth offering
+     */
+    public Offer proposeTrade(final SearchState state, final int seat) {
+        final int[] offer = new int[SearchState.RESOURCE_TYPES];
+        final int[] request = new int[SearchState.RESOURCE_TYPES];
+        int bestOffered = -1;
+        int bestAmount = 0;
+        int bestRequested = -1;
+        double bestValue = TRADE_MARGIN;
+        for (int offered = 0; offered < SearchState.RESOURCE_TYPES; offered++) {
+            for (int amount = 1; amount <= 2 && amount <= state.getResource(seat, offered); amount++) {
+                for (int requested = 0; requested < SearchState.RESOURCE_TYPES; requested++) {
+                    if (requested == offered) {
+                        continue;
+                    }
+                    offer[offered] = amount;
+                    request[requested] = 1;
+                    for (int resource = 0; resource < SearchState.RESOURCE_TYPES; resource++) {
+                        delta[resource] = request[resource] - offer[resource];
+                    }
+                    final double value = getMarginalValue(state, seat, delta);
+                    if (value > bestValue && isAcceptedByAnyone(state, seat, offer, request)) {
+                        bestOffered = offered;
+                        bestAmount = amount;
+                        bestRequested = requested;
+                        bestValue = value;
+                    }
+                    offer[offered] = 0;
+                    request[requested] = 0;
+                }
+            }
+        }
+        if (bestOffered == -1) {
+            return null;
+        }
+        offer[bestOffered] = bestAmount;
+        request[bestRequested] = 1;
+        return new Offer(offer, request);
+    }
+
+    /**
+     * Returns whether any opponent of the initiator would accept the given trade.
+     *
+     * @param state     the state
+     * @param initiator the seat of the player offering the trade
+     * @param offer     the resources given by the initiator
+     * @param request   the resources given by the responder
+     * @return whether the trade would be accepted
+     */
+    private boolean isAcceptedByAnyone(
+        final SearchState state,
+        final int initiator,
+        final int[] offer,
+        final int[] request
+    ) {
+        for (int responder = 0; responder < state.getPlayerCount(); responder++) {
+            if (responder != initiator
+                && getTradeValue(state, initiator, responder, offer, request) > TRADE_MARGIN) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the most valuable trade with the bank at the player's trade ratios.
+     *
+     * @param state the state
+     * @param seat  the seat of the trading player
+     * @return the trade as a {@link Move#BANK_TRADE} move or {@code -1}, if no trade improves the hand
+     */
+    public int selectBankTrade(final SearchState state, final int seat) {
+        int bestMove = -1;
+        double bestValue = TRADE_MARGIN;
+        Arrays.fill(delta, 0);
+        for (int offered = 0; offered < SearchState.RESOURCE_TYPES; offered++) {
+            final int ratio = state.getTradeRatio(seat, offered);
+            if (state.getResource(seat, offered) < ratio) {
+                continue;
+            }
+            for (int requested = 0; requested < SearchState.RESOURCE_TYPES; requested++) {
+                if (requested == offered) {
+                    continue;
+                }
+                delta[offered] = -ratio;
+                delta[requested] = 1;
+                final double value = getMarginalValue(state, seat, delta);
+                delta[offered] = 0;
+                delta[requested] = 0;
+                if (value > bestValue) {
+                    bestMove = Move.ofArguments(Move.BANK_TRADE, offered, requested);
+                    bestValue = value;
+                }
+            }
+        }
+        return bestMove;
+    }
+
+    /**
+     * Converts the given resource vector to a mapping of resource types to positive amounts.
+     *
+     * @param vector the resource vector, indexed by {@link ResourceType#ordinal()}
+     * @return the resource mapping
+     */
+    public static Map<ResourceType, Integer> toResources(final int[] vector) {
+        final Map<ResourceType, Integer> resources = new EnumMap<>(ResourceType.class);
+        for (int resource = 0; resource < vector.length; resource++) {
+            if (vector[resource] > 0) {
+                resources.put(ResourceType.values()[resource], vector[resource]);
+            }
+        }
+        return resources;
+    }
+
+    /**
+     * Returns whether the given goal is still available to the player in the given seat.
+     *
+     * @param state the state
+     * @param seat  the seat
+     * @param goal  the index of the goal
+     * @return whether the goal is available
+     */
+    private static boolean isGoalAvailable(final SearchState state, final int seat, final int goal) {
+        return switch (goal) {
+            case ROAD -> state.getRemainingRoads(seat) > 0;
+            case VILLAGE -> state.getRemainingVillages(seat) > 0;
+            case CITY -> state.getRemainingCities(seat) > 0 && state.getRemainingVillages(seat) < Config.MAX_VILLAGES;
+            default -> true;
+        };
+    }
+
+    /**
+     * Returns the distance of the scratch hand to the given cost.
+     *
+     * @param cost the cost vector
+     * @return the amount of missing cards, where cards obtainable from the bank count partially
+     */
+    private double getDistance(final int[] cost) {
+        int missing = 0;
+        int tradeable = 0;
+        for (int resource = 0; resource < SearchState.RESOURCE_TYPES; resource++) {
+            missing += Math.max(0, cost[resource] - hand[resource]);
+            tradeable += Math.max(0, hand[resource] - cost[resource]) / ratios[resource];
+        }
+        final int covered = Math.min(missing, tradeable);
+        return missing - covered + covered * weights.bankTradeDistance();
+    }
+}
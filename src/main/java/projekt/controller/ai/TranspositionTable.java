@@ -0,0 +1,262 @@
+package projekt.controller.ai;
+
+import projekt.model.Zobrist;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * A fixed-size, lock-free transposition table that caches search results by {@link Zobrist} hash.
+ * <p>
+ * Entries are stored in a single {@code long[]} as pairs of {@code (key ^ data, data)}, grouped into buckets of
+ * {@value #BUCKET_SIZE} entries addressed by the key. Threads read and write entries without locking; an entry
+ * that was torn by concurrent writes fails the {@code key ^ data} check and is treated as a miss, so a probe never
+ * returns data belonging to a different position.
+ * <p>
+ * When a bucket is full, the entry with the lowest depth is replaced, where entries from older searches
+ * (see {@link #newSearch()}) count as shallower. An entry for the same position is only replaced by a result that
+ * is at least as deep, exact, or from a newer search.
+ * <p>
+ * The data of an entry is a packed {@code long}, which can be unpacked with {@link #move(long)},
+ * {@link #value(long)}, {@link #depth(long)} and {@link #bound(long)}.
+ */
+public final class TranspositionTable {
+
+    /**
+     * Returned by {@link #probe(long)} if the position is not in the table.
+     */
+    public static final long MISS = 0;
+
+    /**
+     * The stored value is exact.
+     */
+    public static final int EXACT = 1;
+
+    /**
+     * The stored value is a lower bound (the search failed high).
+     */
+    public static final int LOWER_BOUND = 2;
+
+    /**
+     * The stored value is an upper bound (the search failed low).
+     */
+    public static final int UPPER_BOUND = 3;
+
+    /**
+     * The maximum depth that can be stored.
+     */
+    public static final int MAX_DEPTH = 0xFF;
+
+    /**
+     * The maximum capacity of a table, in entries. Its slots still fit into a single array.
+     */
+    public static final int MAX_CAPACITY = 1 << 29;
+
+    private static final int BUCKET_SIZE = 4;
+    private static final int GENERATIONS = 64;
+    private static final int VALUE_SHIFT = 32;
+    private static final int DEPTH_SHIFT = 48;
+    private static final int BOUND_SHIFT = 56;
+    private static final int GENERATION_SHIFT = 58;
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long[] table;
+    private final int bucketMask;
+    private volatile int generation = 0;
+
+    /**
+     * Creates a new table with room for at least the given amount of entries.
+     * The capacity is rounded up to a power of two; each entry uses 16 bytes.
+     *
+     * @param capacity the minimum amount of entries
+     * @throws IllegalArgumentException if the capacity is not positive or above {@link #MAX_CAPACITY}
+     */
+    public TranspositionTable(final int capacity) {
+        this.table = new long[getTableLength(capacity)];
+        this.bucketMask = table.length / (BUCKET_SIZE * 2) - 1;
+    }
+
+    /**
+     * Returns the length of the array holding the slots of a table with the given capacity.
+     *
+     * @param capacity the minimum amount of entries
+     * @return the length of the array
+     * @throws IllegalArgumentException if the capacity is not positive or above {@link #MAX_CAPACITY}
+     */
+    static int getTableLength(final int capacity) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException(
+                "Capacity must be between 1 and " + MAX_CAPACITY + ": " + capacity);
+        }
+        final int minimumBuckets = (capacity + BUCKET_SIZE - 1) / BUCKET_SIZE;
+        final long buckets = Math.max(1, Integer.highestOneBit(minimumBuckets - 1) << 1);
+        return Math.toIntExact(buckets * BUCKET_SIZE * 2);
+    }
+
+    /**
+     * Returns the amount of entries this table can hold.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return table.length / 2;
+    }
+
+    /**
+     * Marks the start of a new search. Entries stored during earlier searches are replaced more eagerly.
+     */
+    public void newSearch() {
+        generation = (generation + 1) % GENERATIONS;
+    }
+
+    /**
+     * Removes all entries. Must not be called while other threads are using this table.
+     */
+    public void clear() {
+        Arrays.fill(table, 0);
+    }
+
+    /**
+     * Looks up the given position.
+     *
+     * @param key the Zobrist hash of the position
+     * @return the packed data of the entry or {@link #MISS}
+     */
+    public long probe(final long key) {
+        final int bucket = bucketOf(key);
+        for (int slot = bucket; slot < bucket + BUCKET_SIZE * 2; slot += 2) {
+            final long data = (long) SLOTS.getOpaque(table, slot + 1);
+            if (data != MISS && ((long) SLOTS.getOpaque(table, slot) ^ data) == key) {
+                return data;
+            }
+        }
+        return MISS;
+    }
+
+    /**
+     * Stores a search result for the given position.
+     *
+     * @param key   the Zobrist hash of the position
+     * @param move  the best move found, encoded as in {@link Move}
+     * @param value the value of the position, clamped to the range of a {@code short}
+     * @param depth the remaining search depth, clamped to {@code [0, }{@value #MAX_DEPTH}{@code ]}
+     * @param bound one of {@link #EXACT}, {@link #LOWER_BOUND} and {@link #UPPER_BOUND}
+     */
+    public void store(final long key, final int move, final int value, final int depth, final int bound) {
+        if (bound < EXACT || bound > UPPER_BOUND) {
+            throw new IllegalArgumentException("Invalid bound: " + bound);
+        }
+        final int currentGeneration = generation;
+        final long data = pack(move, value, depth, bound, currentGeneration);
+        final int bucket = bucketOf(key);
+
+        int victim = -1;
+        int victimScore = Integer.MAX_VALUE;
+        for (int slot = bucket; slot < bucket + BUCKET_SIZE * 2; slot += 2) {
+            final long oldData = (long) SLOTS.getOpaque(table, slot + 1);
+            if (oldData == MISS) {
+                if (victimScore != Integer.MIN_VALUE) {
+                    victim = slot;
+                    victimScore = Integer.MIN_VALUE;
+                }
+                continue;
+            }
+            if (((long) SLOTS.getOpaque(table, slot) ^ oldData) == key) {
+                if (depth(oldData) > depth && bound != EXACT && generation(oldData) == currentGeneration) {
+                    return;
+                }
+                victim = slot;
+                break;
+            }
+            final int age = (currentGeneration - generation(oldData) + GENERATIONS) % GENERATIONS;
+            final int score = depth(oldData) - 8 * age;
+            if (score < victimScore) {
+                victim = slot;
+                victimScore = score;
+            }
+        }
+        SLOTS.setOpaque(table, victim + 1, data);
+        SLOTS.setOpaque(table, victim, key ^ data);
+    }
+
+    /**
+     * Returns the index of the first slot of the bucket for the given key.
+     *
+     * @param key the key
+     * @return the index of the bucket's first slot
+     */
+    private int bucketOf(final long key) {
+        return ((int) (key ^ key >>> 32) & bucketMask) * BUCKET_SIZE * 2;
+    }
+
+    /**
+     * Packs the given entry data into a {@code long}. The bound is never zero, so packed data is never {@link #MISS}.
+     *
+     * @param move       the move
+     * @param value      the value
+     * @param depth      the depth
+     * @param bound      the bound
+     * @param generation the generation
+     * @return the packed data
+     */
+    private static long pack(final int move, final int value, final int depth, final int bound, final int generation) {
+        final int clampedValue = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, value));
+        final int clampedDepth = Math.max(0, Math.min(MAX_DEPTH, depth));
+        return move & 0xFFFFFFFFL
+            | (clampedValue & 0xFFFFL) << VALUE_SHIFT
+            | (long) clampedDepth << DEPTH_SHIFT
+            | (long) bound << BOUND_SHIFT
+            | (long) generation << GENERATION_SHIFT;
+    }
+
+    /**
+     * Returns the best move of the given entry data.
+     *
+     * @param data the packed entry data
+     * @return the encoded move
+     */
+    public static int move(final long data) {
+        return (int) data;
+    }
+
+    /**
+     * Returns the value of the given entry data.
+     *
+     * @param data the packed entry data
+     * @return the value
+     */
+    public static int value(final long data) {
+        return (short) (data >>> VALUE_SHIFT);
+    }
+
+    /**
+     * Returns the remaining search depth of the given entry data.
+     *
+     * @param data the packed entry data
+     * @return the depth
+     */
+    public static int depth(final long data) {
+        return (int) (data >>> DEPTH_SHIFT) & MAX_DEPTH;
+    }
+
+    /**
+     * Returns the bound type of the given entry data.
+     *
+     * @param data the packed entry data
+     * @return one of {@link #EXACT}, {@link #LOWER_BOUND} and {@link #UPPER_BOUND}
+     */
+    public static int bound(final long data) {
+        return (int) (data >>> BOUND_SHIFT) & 0x3;
+    }
+
+    /**
+     * Returns the generation of the given entry data.
+     *
+     * @param data the packed entry data
+     * @return the generation
+     */
+    private static int generation(final long data) {
+        return (int) (data >>> GENERATION_SHIFT);
+    }
+}
@@ -0,0 +1,124 @@
+package projekt.controller.ai.book;
+
+import projekt.controller.ai.BoardIndex;
+import projekt.model.TilePosition;
+import projekt.model.Zobrist;
+import projekt.model.buildings.Edge;
+import projekt.model.buildings.Port;
+import projekt.model.tiles.Tile;
+
+import java.util.Set;
+
+/**
+ * The twelve symmetries of a hexagonal board (six rotations around the center tile, each optionally mirrored) and
+ * a board hash that is invariant under them.
+ * <p>
+ * The hash of a board under a symmetry combines the tile types, roll numbers and ports at the transformed
+ * positions. The canonical hash is the smallest of the twelve hashes, so boards that are rotations or mirror images
+ * of each other share it. Elements of a board (intersections and edges) are identified in the canonical frame by the
+ * {@link Zobrist#code(Set) code} of their transformed positions.
+ */
+public final class BoardSymmetry {
+
+    /**
+     * The amount of symmetries.
+     */
+    public static final int COUNT = 12;
+
+    private static final long TILE = 0x9B05688C2B3E6C1FL;
+    private static final long PORT = 0x1F83D9ABFB41BD6BL;
+
+    /**
+     * A canonical board hash and the symmetry that maps the board into the canonical frame.
+     *
+     * @param hash     the canonical hash
+     * @param symmetry the symmetry
+     */
+    public record Canonical(long hash, int symmetry) {
+    }
+
+    /**
+     * Utility class, do not instantiate.
+     */
+    private BoardSymmetry() {
+    }
+
+    /**
+     * Applies the given symmetry to the given position: symmetries {@code 6} to {@code 11} mirror the position
+     * first, then the position is rotated by {@code symmetry % 6} times 60 degrees.
+     *
+     * @param symmetry the symmetry, between {@code 0} and {@value #COUNT} (exclusive)
+     * @param position the position
+     * @return the transformed position
+     */
+    public static TilePosition apply(final int symmetry, final TilePosition position) {
+        int q = position.q();
+        int r = symmetry >= COUNT / 2 ? position.s() : position.r();
+        for (int rotation = 0; rotation < symmetry % (COUNT / 2); rotation++) {
+            final int rotatedQ = -r;
+            r = q + r;
+            q = rotatedQ;
+        }
+        return new TilePosition(q, r);
+    }
+
+    /**
+     * Returns the code of the given positions after applying the given symmetry.
+     *
+     * @param symmetry  the symmetry
+     * @param positions the positions of a tile, edge or intersection
+     * @return the code of the transformed positions
+     */
+    public static long code(final int symmetry, final Set<TilePosition> positions) {
+        long code = 0;
+        for (final TilePosition position : positions) {
+            code += Zobrist.code(apply(symmetry, position));
+        }
+        return code;
+    }
+
+    /**
+     * Returns the hash of the given board after applying the given symmetry.
+     *
+     * @param board    the board
+     * @param symmetry the symmetry
+     * @return the hash of the transformed board
+     */
+    public static long hash(final BoardIndex board, final int symmetry) {
+        long hash = 0;
+        for (int i = 0; i < board.getTileCount(); i++) {
+            final Tile tile = board.getTile(i);
+            final long feature = (long) tile.getType().ordinal() << 8 | tile.getRollNumber() & 0xFF;
+            hash += Zobrist.mix(Zobrist.code(apply(symmetry, tile.getPosition())) ^ Zobrist.mix(TILE + feature));
+        }
+        for (int i = 0; i < board.getEdgeCount(); i++) {
+            final Edge edge = board.getEdge(i);
+            if (edge.hasPort()) {
+                final Port port = edge.getPort();
+                final long feature = (long) port.ratio() << 8
+                    | (port.resourceType() == null ? 0xFF : port.resourceType().ordinal());
+                hash += Zobrist.mix(code(symmetry, edge.getAdjacentTilePositions()) ^ Zobrist.mix(PORT + feature));
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Returns the canonical hash of the given board.
+     *
+     * @param board the board
+     * @return the canonical hash and the symmetry that produces it
+     */
+    public static Canonical canonicalize(final BoardIndex board) {
+        long bestHash = hash(board, 0);
+        int bestSymmetry = 0;
+        for (int symmetry = 1; symmetry < COUNT; symmetry++) {
+            final long hash = hash(board, symmetry);
+            if (Long.compareUnsigned(hash, bestHash) < 0) {
+                bestHash = hash;
+                bestSymmetry = symmetry;
+            }
+        }
+        return new Canonical(bestHash, bestSymmetry);
+    }
+}
@@ -0,0 +1,434 @@
+package projekt.controller.ai.book;
+
+import projekt.Config;
+import projekt.controller.ai.BoardIndex;
+import projekt.controller.ai.SearchState;
+import projekt.model.Zobrist;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A persistent map from canonical board hashes (see {@link BoardSymmetry}) to first-round placement lines.
+ * <p>
+ * A line lists the village and road of every first-round placement in order. Its elements are stored as codes in
+ * the canonical frame, so a line found for one board applies to all its rotations and mirror images;
+ * {@link #lookup(BoardIndex, int)} translates it back to the ids of the given board.
+ * <p>
+ * The book is a fixed-capacity, open-addressing hash table in a memory-mapped file, so lookups do not read the
+ * file into memory and the operating system shares its pages between processes. Lookups are lock-free; a slot's
+ * key is published with release semantics after its line, so readers never see a partially written new line.
+ * Replacing a line is guarded by a per-slot version, which is odd while the line is rewritten (a seqlock): a lookup
+ * that overlaps the rewrite sees an odd or changed version and is treated as a miss instead of returning a mix of
+ * both lines. Writes are serialized.
+ */
+public final class OpeningBook implements AutoCloseable {
+
+    /**
+     * The maximum amount of placements of a line, two per player.
+     */
+    public static final int MAX_PLACEMENTS = 2 * Config.MAX_PLAYERS;
+
+    private static final long MAGIC = 0x4F50454E424F4F4BL;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int SLOT_SIZE = 16 + 2 * MAX_PLACEMENTS * Long.BYTES;
+    private static final int CAPACITY_OFFSET = 12;
+    private static final int SIZE_OFFSET = 16;
+    private static final int LENGTH_OFFSET = 8;
+    private static final int LINE_VERSION_OFFSET = 12;
+    private static final int LINE_OFFSET = 16;
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle INTS = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+    private static final Object SHARED_LOCK = new Object();
+    private static OpeningBook shared;
+    private static boolean sharedLoaded;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final boolean writable;
+
+    /**
+     * Creates a new book on the given mapped file.
+     *
+     * @param channel  the channel of the file
+     * @param buffer   the mapped file
+     * @param capacity the amount of slots
+     * @param writable whether the file is mapped for writing
+     */
+    private OpeningBook(final FileChannel channel, final MappedByteBuffer buffer, final int capacity,
+                        final boolean writable) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.writable = writable;
+    }
+
+    /**
+     * Opens the book in the given file for reading and writing, creating it with room for at least the given amount
+     * of entries if it does not exist.
+     *
+     * @param file     the file
+     * @param capacity the minimum amount of entries of a new book, rounded up to a power of two
+     * @return the book
+     * @throws IOException if the file cannot be opened or is not an opening book
+     */
+    public static OpeningBook open(final Path file, final int capacity) throws IOException {
+        if (Files.exists(file)) {
+            return map(file, true);
+        }
+        final int slots = Math.max(2, Integer.highestOneBit(Math.max(1, capacity) * 2 - 1));
+        try (FileChannel channel = FileChannel.open(
+            file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE
+        )) {
+            final MappedByteBuffer header = channel.map(
+                FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) slots * SLOT_SIZE
+            );
+            header.putLong(0, MAGIC);
+            header.putInt(8, VERSION);
+            header.putInt(CAPACITY_OFFSET, slots);
+            header.force();
+        }
+        return map(file, true);
+    }
+
+    /**
+     * Opens the book in the given file for reading.
+     *
+     * @param file the file
+     * @return the book
+     * @throws IOException if the file cannot be opened or is not an opening book
+     */
+    public static OpeningBook openReadOnly(final Path file) throws IOException {
+        return map(file, false);
+    }
+
+    /**
+     * Maps the given book file.
+     *
+     * @param file     the file
+     * @param writable whether to map the file for writing
+     * @return the book
+     * @throws IOException if the file cannot be opened or is not an opening book
+     */
+    private static OpeningBook map(final Path file, final boolean writable) throws IOException {
+        final FileChannel channel = writable
+                                    ? FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                                    : FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            final MappedByteBuffer buffer = channel.map(
+                writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY, 0, channel.size()
+            );
+            if (channel.size() < HEADER_SIZE || buffer.getLong(0) != MAGIC || buffer.getInt(8) != VERSION) {
+                throw new IOException("Not an opening book: " + file);
+            }
+            final int capacity = buffer.getInt(CAPACITY_OFFSET);
+            if (channel.size() != HEADER_SIZE + (long) capacity * SLOT_SIZE) {
+                throw new IOException("Truncated opening book: " + file);
+            }
+            return new OpeningBook(channel, buffer, capacity, writable);
+        } catch (final IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the book at {@link Config#AI_OPENING_BOOK}, opened for reading on first use.
+     *
+     * @return the shared book or {@code null}, if there is no book file or it cannot be read
+     */
+    public static OpeningBook getShared() {
+        synchronized (SHARED_LOCK) {
+            if (!sharedLoaded) {
+                sharedLoaded = true;
+                if (Files.exists(Config.AI_OPENING_BOOK)) {
+                    try {
+                        shared = openReadOnly(Config.AI_OPENING_BOOK);
+                    } catch (final IOException e) {
+                        e.printStackTrace();
+                    }
+                }
+            }
+            return shared;
+        }
+    }
+
+    /**
+     * Returns the key of the given board and player count.
+     *
+     * @param canonicalHash the canonical hash of the board
+     * @param players       the amount of players
+     * @return the key, never {@code 0}
+     */
+    public static long key(final long canonicalHash, final int players) {
+        final long key = Zobrist.mix(canonicalHash + players);
+        return key == 0 ? 1 : key;
+    }
+
+    /**
+     * Returns the amount of entries this book can hold.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the amount of entries in this book.
+     *
+     * @return the amount of entries
+     */
+    public int size() {
+        return buffer.getInt(SIZE_OFFSET);
+    }
+
+    // Raw access
+
+    /**
+     * Returns the line stored for the given key.
+     *
+     * @param key the key, see {@link #key(long, int)}
+     * @return the codes of the line's elements (village and road of each placement) or {@code null}
+     */
+    public long[] get(final long key) {
+        final int slot = findSlot(key);
+        if (slot == -1 || (long) LONGS.getAcquire(buffer, offset(slot)) != key) {
+            return null;
+        }
+        final int version = (int) INTS.getAcquire(buffer, offset(slot) + LINE_VERSION_OFFSET);
+        final int length = buffer.getInt(offset(slot) + LENGTH_OFFSET);
+        if ((version & 1) != 0 || length < 0 || length > 2 * MAX_PLACEMENTS) {
+            return null;
+        }
+        final long[] line = new long[length];
+        for (int i = 0; i < length; i++) {
+            line[i] = buffer.getLong(offset(slot) + LINE_OFFSET + i * Long.BYTES);
+        }
+        // the line must have been read before the version is checked again
+        VarHandle.acquireFence();
+        if ((int) INTS.get(buffer, offset(slot) + LINE_VERSION_OFFSET) != version) {
+            return null;
+        }
+        return line;
+    }
+
+    /**
+     * Stores the given line for the given key, replacing an existing line.
+     *
+     * @param key  the key, see {@link #key(long, int)}
+     * @param line the codes of the line's elements
+     * @throws IllegalStateException if the book is full or read-only
+     */
+    public synchronized void put(final long key, final long[] line) {
+        if (!writable) {
+            throw new IllegalStateException("Opening book is read-only");
+        }
+        if (line.length > 2 * MAX_PLACEMENTS) {
+            throw new IllegalArgumentException("Line too long: " + line.length);
+        }
+        final int slot = findSlot(key);
+        if (slot == -1) {
+            throw new IllegalStateException("Opening book is full");
+        }
+        final boolean added = (long) LONGS.getAcquire(buffer, offset(slot)) != key;
+        final int version = buffer.getInt(offset(slot) + LINE_VERSION_OFFSET);
+        if (!added) {
+            // an odd version marks the old line as being overwritten, see get
+            INTS.setRelease(buffer, offset(slot) + LINE_VERSION_OFFSET, version + 1);
+            VarHandle.storeStoreFence();
+        }
+        for (int i = 0; i < line.length; i++) {
+            buffer.putLong(offset(slot) + LINE_OFFSET + i * Long.BYTES, line[i]);
+        }
+        buffer.putInt(offset(slot) + LENGTH_OFFSET, line.length);
+        if (added) {
+            LONGS.setRelease(buffer, offset(slot), key);
+            buffer.putInt(SIZE_OFFSET, size() + 1);
+        } else {
+            INTS.setRelease(buffer, offset(slot) + LINE_VERSION_OFFSET, version + 2);
+        }
+    }
+
+    /**
+     * Returns the slot holding the given key or the first empty slot of its probe sequence.
+     *
+     * @param key the key
+     * @return the slot or {@code -1}, if the key is absent and the book is full
+     */
+    private int findSlot(final long key) {
+        final int mask = capacity - 1;
+        int slot = (int) (key ^ key >>> 32) & mask;
+        for (int probe = 0; probe < capacity; probe++) {
+            final long slotKey = (long) LONGS.getAcquire(buffer, offset(slot));
+            if (slotKey == key || slotKey == 0) {
+                return slot;
+            }
+            slot = slot + 1 & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the byte offset of the given slot.
+     *
+     * @param slot the slot
+     * @return the offset in the file
+     */
+    private static int offset(final int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    // Board access
+
+    /**
+     * Stores the line for the given board.
+     *
+     * @param board   the board
+     * @param players the amount of players
+     * @param line    the ids of the line's elements (intersection and edge of each placement)
+     */
+    public void put(final BoardIndex board, final int players, final int[] line) {
+        final BoardSymmetry.Canonical canonical = BoardSymmetry.canonicalize(board);
+        final long[] codes = new long[line.length];
+        for (int i = 0; i < line.length; i++) {
+            codes[i] = i % 2 == 0
+                       ? BoardSymmetry.code(canonical.symmetry(), board.getIntersection(line[i]).getAdjacentTilePositions())
+                       : BoardSymmetry.code(canonical.symmetry(), board.getEdge(line[i]).getAdjacentTilePositions());
+        }
+        put(key(canonical.hash(), players), codes);
+    }
+
+    /**
+     * Returns the line for the given board, translated to the board's ids.
+     *
+     * @param board   the board
+     * @param players the amount of players
+     * @return the ids of the line's elements (intersection and edge of each placement) or {@code null}, if the
+     * board is not in the book
+     */
+    public int[] lookup(final BoardIndex board, final int players) {
+        final BoardSymmetry.Canonical canonical = BoardSymmetry.canonicalize(board);
+        final long[] codes = get(key(canonical.hash(), players));
+        if (codes == null) {
+            return null;
+        }
+        final Map<Long, Integer> intersections = new HashMap<>();
+        for (int i = 0; i < board.getIntersectionCount(); i++) {
+            intersections.put(
+                BoardSymmetry.code(canonical.symmetry(), board.getIntersection(i).getAdjacentTilePositions()), i
+            );
+        }
+        final Map<Long, Integer> edges = new HashMap<>();
+        for (int i = 0; i < board.getEdgeCount(); i++) {
+            edges.put(BoardSymmetry.code(canonical.symmetry(), board.getEdge(i).getAdjacentTilePositions()), i);
+        }
+        final int[] line = new int[codes.length];
+        for (int i = 0; i < codes.length; i++) {
+            final Integer id = (i % 2 == 0 ? intersections : edges).get(codes[i]);
+            if (id == null) {
+                return null;
+            }
+            line[i] = id;
+        }
+        return line;
+    }
+
+    /**
+     * Returns the next village of the given line, if the villages on the board so far are exactly the line's first
+     * villages (in any order).
+     *
+     * @param line  the ids of the line's elements, see {@link #lookup(BoardIndex, int)}
+     * @param state the current state
+     * @return the id of the intersection or {@code -1}, if the game has left the line
+     */
+    public static int nextVillage(final int[] line, final SearchState state) {
+        int villages = 0;
+        for (int intersection = 0; intersection < state.getBoard().getIntersectionCount(); intersection++) {
+            if (state.getSettlementOwner(intersection) != -1) {
+                villages++;
+            }
+        }
+        if (2 * villages >= line.length || !followsLine(line, 0, villages, state::getSettlementOwner)) {
+            return -1;
+        }
+        return state.isVillageBuildable(state.getActiveSeat(), line[2 * villages]) ? line[2 * villages] : -1;
+    }
+
+    /**
+     * Returns the next road of the given line, if the roads on the board so far are exactly the line's first roads
+     * (in any order).
+     *
+     * @param line  the ids of the line's elements, see {@link #lookup(BoardIndex, int)}
+     * @param state the current state
+     * @return the id of the edge or {@code -1}, if the game has left the line
+     */
+    public static int nextRoad(final int[] line, final SearchState state) {
+        int roads = 0;
+        for (int edge = 0; edge < state.getBoard().getEdgeCount(); edge++) {
+            if (state.getRoadOwner(edge) != -1) {
+                roads++;
+            }
+        }
+        if (2 * roads + 1 >= line.length || !followsLine(line, 1, roads, state::getRoadOwner)) {
+            return -1;
+        }
+        return state.isRoadBuildable(state.getActiveSeat(), line[2 * roads + 1]) ? line[2 * roads + 1] : -1;
+    }
+
+    /**
+     * Returns whether the first elements of the given kind of the line are all occupied.
+     * Together with a matching count, this means the occupied elements are exactly these.
+     *
+     * @param line   the line
+     * @param first  the index of the first element of the kind ({@code 0} for villages, {@code 1} for roads)
+     * @param count  the amount of occupied elements
+     * @param owners the owner of each element
+     * @return whether the line's elements are occupied
+     */
+    private static boolean followsLine(
+        final int[] line,
+        final int first,
+        final int count,
+        final IntUnaryOperator owners
+    ) {
+        for (int i = 0; i < count; i++) {
+            if (owners.applyAsInt(line[2 * i + first]) == -1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes all changes to the file.
+     */
+    public void force() {
+        if (writable) {
+            buffer.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("OpeningBook[size=%d, capacity=%d, writable=%s]", size(), capacity, writable);
+    }
+}
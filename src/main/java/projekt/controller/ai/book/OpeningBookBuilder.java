@@ -0,0 +1,210 @@
+package projekt.controller.ai.book;
+
+import projekt.Config;
+import projekt.controller.ai.BoardIndex;
+import projekt.model.HexGrid;
+import projekt.model.HexGridImpl;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Fills an {@link OpeningBook} offline with the lines of randomly generated boards.
+ * <p>
+ * Board {@code i} is generated with the seed {@code seed + i} (see {@link Config#runSeeded(long, Runnable)}), so
+ * a build is reproducible and can be extended by raising the amount of boards. Boards are processed in parallel;
+ * boards whose canonical hash is already in the book, e.g. rotations of an earlier board, are skipped.
+ */
+public final class OpeningBookBuilder {
+
+    private final Path bookFile;
+    private final int boards;
+    private final long seed;
+    private final int players;
+    private final int parallelism;
+    private final int capacity;
+
+    /**
+     * Creates a new builder run from the given builder.
+     *
+     * @param builder the builder
+     */
+    private OpeningBookBuilder(final Builder builder) {
+        this.bookFile = builder.bookFile;
+        this.boards = builder.boards;
+        this.seed = builder.seed;
+        this.players = builder.players;
+        this.parallelism = builder.parallelism;
+        this.capacity = builder.capacity;
+    }
+
+    /**
+     * Generates the boards and adds their lines to the book.
+     *
+     * @return the amount of lines added
+     * @throws IOException          if the book cannot be opened
+     * @throws InterruptedException if the current thread is interrupted while waiting for the workers
+     */
+    public int run() throws IOException, InterruptedException {
+        final ExecutorService pool = Executors.newWorkStealingPool(parallelism);
+        try (OpeningBook book = OpeningBook.open(bookFile, capacity)) {
+            final List<Future<Boolean>> results = new ArrayList<>(boards);
+            for (int i = 0; i < boards; i++) {
+                final long boardSeed = seed + i;
+                results.add(pool.submit(() -> addBoard(book, boardSeed)));
+            }
+            int added = 0;
+            for (final Future<Boolean> result : results) {
+                try {
+                    if (result.get()) {
+                        added++;
+                    }
+                } catch (final ExecutionException e) {
+                    throw new IllegalStateException("Opening book worker failed", e.getCause());
+                }
+            }
+            return added;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Generates the board of the given seed and adds its line to the book, unless it is already there.
+     *
+     * @param book      the book
+     * @param boardSeed the seed of the board
+     * @return whether a line was added
+     */
+    private boolean addBoard(final OpeningBook book, final long boardSeed) {
+        final AtomicReference<HexGrid> grid = new AtomicReference<>();
+        Config.runSeeded(boardSeed, () -> grid.set(new HexGridImpl(Config.GRID_RADIUS)));
+        final BoardIndex board = new BoardIndex(grid.get());
+        final BoardSymmetry.Canonical canonical = BoardSymmetry.canonicalize(board);
+        if (book.get(OpeningBook.key(canonical.hash(), players)) != null) {
+            return false;
+        }
+        book.put(board, players, OpeningLine.compute(board, players));
+        return true;
+    }
+
+    /**
+     * Builds or extends the opening book at {@link Config#AI_OPENING_BOOK}.
+     * Arguments: {@code [boards] [players] [book file]}.
+     *
+     * @param args the command line arguments
+     * @throws Exception if the build fails
+     */
+    public static void main(final String[] args) throws Exception {
+        final Builder builder = new Builder();
+        if (args.length > 0) {
+            builder.boards(Integer.parseInt(args[0]));
+        }
+        if (args.length > 1) {
+            builder.players(Integer.parseInt(args[1]));
+        }
+        if (args.length > 2) {
+            builder.bookFile(Path.of(args[2]));
+        }
+        final long start = System.nanoTime();
+        final int added = builder.build().run();
+        System.out.printf("Added %d lines in %d ms%n", added, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Builder for {@link OpeningBookBuilder}.
+     */
+    public static class Builder {
+        private Path bookFile = Config.AI_OPENING_BOOK;
+        private int boards = 10_000;
+        private long seed = 0;
+        private int players = Config.MIN_PLAYERS + 1;
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+        private int capacity = 1 << 16;
+
+        /**
+         * Sets the book file.
+         *
+         * @param bookFile the book file
+         * @return this builder
+         */
+        public Builder bookFile(final Path bookFile) {
+            this.bookFile = bookFile;
+            return this;
+        }
+
+        /**
+         * Sets the amount of boards to generate.
+         *
+         * @param boards the amount of boards
+         * @return this builder
+         */
+        public Builder boards(final int boards) {
+            this.boards = boards;
+            return this;
+        }
+
+        /**
+         * Sets the seed of the first board.
+         *
+         * @param seed the seed
+         * @return this builder
+         */
+        public Builder seed(final long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Sets the amount of players the lines are computed for.
+         *
+         * @param players the amount of players
+         * @return this builder
+         */
+        public Builder players(final int players) {
+            if (players < 1 || players > Config.MAX_PLAYERS) {
+                throw new IllegalArgumentException("Invalid amount of players: " + players);
+            }
+            this.players = players;
+            return this;
+        }
+
+        /**
+         * Sets the amount of boards processed in parallel.
+         *
+         * @param parallelism the amount of worker threads
+         * @return this builder
+         */
+        public Builder parallelism(final int parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Sets the capacity of a new book. Has no effect on existing books.
+         *
+         * @param capacity the minimum amount of entries
+         * @return this builder
+         */
+        public Builder capacity(final int capacity) {
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * Builds the builder run.
+         *
+         * @return the builder run
+         */
+        public OpeningBookBuilder build() {
+            return new OpeningBookBuilder(this);
+        }
+    }
+}
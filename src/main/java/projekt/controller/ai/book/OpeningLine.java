@@ -0,0 +1,112 @@
+package projekt.controller.ai.book;
+
+import projekt.controller.ai.BoardIndex;
+import projekt.controller.ai.IntersectionValues;
+
+import java.util.Arrays;
+
+/**
+ * Computes first-round placement lines for the {@link OpeningBook}.
+ * <p>
+ * Each placement takes the most valuable free intersection (see {@link IntersectionValues}) and the road towards
+ * the most valuable free neighbouring intersection, assuming every player follows the same policy. The line covers
+ * both placements of every player, in the order they are placed.
+ */
+public final class OpeningLine {
+
+    /**
+     * Utility class, do not instantiate.
+     */
+    private OpeningLine() {
+    }
+
+    /**
+     * Computes the line for the given board.
+     *
+     * @param board   the board
+     * @param players the amount of players
+     * @return the ids of the line's elements (intersection and edge of each placement), shorter if the board runs
+     * out of free intersections
+     */
+    public static int[] compute(final BoardIndex board, final int players) {
+        final IntersectionValues values = new IntersectionValues(board);
+        final boolean[] roads = new boolean[board.getEdgeCount()];
+        final int[] line = new int[4 * players];
+        int length = 0;
+        for (int placement = 0; placement < 2 * players; placement++) {
+            final int village = values.getBestFreeSpot();
+            if (village == -1) {
+                break;
+            }
+            values.occupy(village);
+            final int road = selectRoad(board, values, roads, village);
+            if (road == -1) {
+                break;
+            }
+            roads[road] = true;
+            line[length++] = village;
+            line[length++] = road;
+        }
+        return length == line.length ? line : Arrays.copyOf(line, length);
+    }
+
+    /**
+     * Returns the free edge next to the given village leading to the most valuable free intersection.
+     *
+     * @param board   the board
+     * @param values  the intersection values
+     * @param roads   the edges already taken
+     * @param village the id of the village's intersection
+     * @return the id of the edge or {@code -1}, if all edges are taken
+     */
+    private static int selectRoad(
+        final BoardIndex board,
+        final IntersectionValues values,
+        final boolean[] roads,
+        final int village
+    ) {
+        int best = -1;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (final int edge : board.getIntersectionEdges(village)) {
+            if (roads[edge]) {
+                continue;
+            }
+            for (final int intersection : board.getEdgeIntersections(edge)) {
+                if (intersection == village) {
+                    continue;
+                }
+                // prefer spots that can still be settled after the next neighbour is taken
+                final double value = values.getValue(intersection) + bestNeighbourValue(board, values, intersection, village);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = edge;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the highest value of the free neighbours of the given intersection, excluding one neighbour.
+     *
+     * @param board        the board
+     * @param values       the intersection values
+     * @param intersection the id of the intersection
+     * @param excluded     the id of the excluded neighbour
+     * @return the highest value or {@code 0}, if there is no free neighbour
+     */
+    private static double bestNeighbourValue(
+        final BoardIndex board,
+        final IntersectionValues values,
+        final int intersection,
+        final int excluded
+    ) {
+        double best = 0;
+        for (final int neighbour : board.getIntersectionNeighbours(intersection)) {
+            if (neighbour != excluded && values.isFree(neighbour)) {
+                best = Math.max(best, values.getValue(neighbour));
+            }
+        }
+        return best;
+    }
+}
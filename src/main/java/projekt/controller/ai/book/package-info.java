@@ -0,0 +1,5 @@
+/**
+ * Contains the opening book, which caches first-round placements of AI controllers by symmetry-reduced board hash,
+ * and its offline builder.
+ */
+package projekt.controller.ai.book;
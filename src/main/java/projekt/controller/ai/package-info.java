@@ -0,0 +1,5 @@
+/**
+ * Contains the building blocks for search-based AI controllers, such as a compact game state representation
+ * and helpers operating on it.
+ */
+package projekt.controller.ai;
@@ -0,0 +1,32 @@
+package projekt.controller.ai.tournament;
+
+import javafx.beans.property.Property;
+import projekt.controller.AiController;
+import projekt.controller.PlayerController;
+import projekt.controller.ai.AiExecutor;
+import projekt.model.GameState;
+import projekt.model.HexGrid;
+
+/**
+ * Creates an {@link AiController} for a player of a headless game.
+ * The parameters match the constructors of {@link AiController}, so implementations can usually be passed as
+ * constructor references, e.g. {@code BasicAiController::new}.
+ */
+@FunctionalInterface
+public interface AiControllerFactory {
+
+    /**
+     * Creates a new AI controller.
+     *
+     * @param playerController       the player controller
+     * @param hexGrid                the hex grid
+     * @param gameState              the game state
+     * @param activePlayerController the active player controller
+     * @param aiExecutor             the executor the controller should use
+     * @return the new AI controller
+     */
+    AiController create(
+        PlayerController playerController, HexGrid hexGrid, GameState gameState,
+        Property<PlayerController> activePlayerController, AiExecutor aiExecutor
+    );
+}
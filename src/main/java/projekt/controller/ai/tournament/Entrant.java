@@ -0,0 +1,10 @@
+package projekt.controller.ai.tournament;
+
+/**
+ * A participant of a {@link Tournament}.
+ *
+ * @param name    the unique name of the entrant
+ * @param factory the factory creating the entrant's AI controllers
+ */
+public record Entrant(String name, AiControllerFactory factory) {
+}
@@ -0,0 +1,229 @@
+package projekt.controller.ai.tournament;
+
+import projekt.Config;
+import projekt.controller.GameController;
+import projekt.controller.PlayerController;
+import projekt.controller.actions.PlayerAction;
+import projekt.controller.ai.AiExecutor;
+import projekt.model.GameState;
+import projekt.model.HexGrid;
+import projekt.model.HexGridImpl;
+import projekt.model.Player;
+import projekt.model.PlayerImpl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Plays a single {@link Match} without a GUI on the calling thread.
+ * <p>
+ * The game is set up like {@link projekt.MyApplication} does, except that all players are AIs, every
+ * source of randomness is seeded with the match's seed (see {@link Config#runSeeded(long, Runnable)}) and the AI
+ * controllers react on the game's thread (see {@link AiExecutor#direct()}). Turn order follows the seating.
+ * The game waits for each action at most for its action timeout; a player that does not act in time forfeits.
+ */
+public final class HeadlessGame {
+
+    private final List<Entrant> entrants;
+    private final int maxRounds;
+    private final Duration actionTimeout;
+    private final Consumer<GameController> gameLoop;
+
+    /**
+     * Creates a new headless game runner waiting {@link Config#AI_ACTION_TIMEOUT} for each action.
+     *
+     * @param entrants  the entrants of the tournament
+     * @param maxRounds the amount of rounds after which a game is aborted without a winner
+     */
+    public HeadlessGame(final List<Entrant> entrants, final int maxRounds) {
+        this(entrants, maxRounds, Config.AI_ACTION_TIMEOUT);
+    }
+
+    /**
+     * Creates a new headless game runner.
+     *
+     * @param entrants      the entrants of the tournament
+     * @param maxRounds     the amount of rounds after which a game is aborted without a winner
+     * @param actionTimeout the time after which a player that has not acted forfeits the game
+     */
+    public HeadlessGame(final List<Entrant> entrants, final int maxRounds, final Duration actionTimeout) {
+        this(entrants, maxRounds, actionTimeout, GameController::startGame);
+    }
+
+    /**
+     * Creates a new headless game runner that plays each game with the given game loop instead of
+     * {@link GameController#startGame()}.
+     *
+     * @param entrants      the entrants of the tournament
+     * @param maxRounds     the amount of rounds after which a game is aborted without a winner
+     * @param actionTimeout the time after which a player that has not acted forfeits the game
+     * @param gameLoop      plays the game of the given controller until it has a winner
+     */
+    HeadlessGame(
+        final List<Entrant> entrants, final int maxRounds, final Duration actionTimeout,
+        final Consumer<GameController> gameLoop
+    ) {
+        this.entrants = entrants;
+        this.maxRounds = maxRounds;
+        this.actionTimeout = actionTimeout;
+        this.gameLoop = gameLoop;
+    }
+
+    /**
+     * Plays the given match.
+     * Errors thrown by the game (e.g. by unimplemented parts of the model) end the game and are reported
+     * in the result instead of being thrown. A game aborted at the round limit ends without a winner, but not
+     * with an error.
+     *
+     * @param match the match to play
+     * @return the result of the match
+     */
+    public MatchResult play(final Match match) {
+        final long start = System.nanoTime();
+        final List<Player> players = new ArrayList<>();
+        final GameController[] gameController = new GameController[1];
+        String error = null;
+        Player forfeited = null;
+        try {
+            Config.runSeeded(match.seed(), () -> {
+                final HexGrid grid = new HexGridImpl(Config.GRID_RADIUS);
+                for (int seat = 0; seat < match.seating().size(); seat++) {
+                    players.add(new PlayerImpl.Builder(seat + 1)
+                        .name(entrants.get(match.seating().get(seat)).name())
+                        .ai(true)
+                        .build(grid));
+                }
+                final GameState gameState = new GameState(grid, players);
+                final Map<Player, PlayerController> playerControllers = new LinkedHashMap<>();
+                gameController[0] = new GameController(gameState, playerControllers, () -> IntStream
+                    .rangeClosed(1, Config.NUMBER_OF_DICE)
+                    .map(i -> Config.RANDOM.nextInt(1, Config.DICE_SIDES + 1))
+                    .sum());
+                final AiExecutor aiExecutor = AiExecutor.direct();
+                for (int seat = 0; seat < players.size(); seat++) {
+                    final PlayerController playerController = new TimedPlayerController(
+                        gameController[0], players.get(seat), actionTimeout
+                    );
+                    playerControllers.put(players.get(seat), playerController);
+                    entrants.get(match.seating().get(seat)).factory().create(
+                        playerController, grid, gameState,
+                        gameController[0].getActivePlayerControllerProperty(), aiExecutor
+                    );
+                }
+                // PlayerController aborts waiting for actions when its thread is interrupted
+                gameController[0].getRoundCounterProperty().subscribe(round -> {
+                    if (round.intValue() > maxRounds) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+                gameLoop.accept(gameController[0]);
+            });
+        } catch (final ActionTimeoutException e) {
+            forfeited = e.player;
+            error = e.getMessage();
+        } catch (final RuntimeException e) {
+            if (gameController[0] == null || gameController[0].getRoundCounterProperty().get() <= maxRounds) {
+                error = e.toString();
+            }
+        } finally {
+            Thread.interrupted();
+        }
+
+        final GameController finishedGame = gameController[0];
+        final Player winner = finishedGame == null ? null : finishedGame.getState().getWinnerProperty().getValue();
+        return new MatchResult(
+            match,
+            players.stream().map(HeadlessGame::victoryPoints).toList(),
+            players.indexOf(winner),
+            finishedGame == null ? 0 : finishedGame.getRoundCounterProperty().get(),
+            System.nanoTime() - start,
+            error,
+            players.indexOf(forfeited)
+        );
+    }
+
+    /**
+     * Returns the victory points of the given player, or {@code 0} if they cannot be determined.
+     *
+     * @param player the player
+     * @return the victory points
+     */
+    private static int victoryPoints(final Player player) {
+        try {
+            return player.getVictoryPoints();
+        } catch (final RuntimeException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * A player controller that waits for each action at most for a given time.
+     */
+    static class TimedPlayerController extends PlayerController {
+        private final BlockingQueue<PlayerAction> actions = new LinkedBlockingQueue<>();
+        private final Duration actionTimeout;
+
+        /**
+         * Creates a new timed player controller.
+         *
+         * @param gameController the game controller
+         * @param player         the player
+         * @param actionTimeout  the time to wait for each action
+         */
+        TimedPlayerController(
+            final GameController gameController, final Player player, final Duration actionTimeout
+        ) {
+            super(gameController, player);
+            this.actionTimeout = actionTimeout;
+        }
+
+        @Override
+        public void triggerAction(final PlayerAction action) {
+            actions.add(action);
+        }
+
+        /**
+         * Takes the next action from the queue, waiting at most for the action timeout.
+         *
+         * @return the next action
+         * @throws InterruptedException   if the thread is interrupted while waiting for the next action
+         * @throws ActionTimeoutException if the player does not act in time
+         */
+        @Override
+        public PlayerAction blockingGetNextAction() throws InterruptedException {
+            final PlayerAction action = actions.poll(actionTimeout.toNanos(), TimeUnit.NANOSECONDS);
+            if (action == null) {
+                throw new ActionTimeoutException(getPlayer(), actionTimeout);
+            }
+            return action;
+        }
+    }
+
+    /**
+     * Thrown when a player does not act in time, ending the game.
+     */
+    static final class ActionTimeoutException extends RuntimeException {
+        private final transient Player player;
+
+        /**
+         * Creates a new exception for the given player.
+         *
+         * @param player        the player that did not act
+         * @param actionTimeout the time waited for the action
+         */
+        ActionTimeoutException(final Player player, final Duration actionTimeout) {
+            super(String.format(
+                "%s did not act within %d ms and forfeits", player.getName(), actionTimeout.toMillis()
+            ));
+            this.player = player;
+        }
+    }
+}
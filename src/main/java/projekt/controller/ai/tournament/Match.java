@@ -0,0 +1,14 @@
+package projekt.controller.ai.tournament;
+
+import java.util.List;
+
+/**
+ * A single scheduled game of a {@link Tournament}.
+ *
+ * @param id      the id of the match, unique within the tournament
+ * @param round   the round of the match ({@code 0} for round robin schedules)
+ * @param seed    the seed of the game
+ * @param seating the indices of the entrants, in seat order
+ */
+public record Match(int id, int round, long seed, List<Integer> seating) {
+}
@@ -0,0 +1,109 @@
+package projekt.controller.ai.tournament;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The outcome of a {@link Match}.
+ *
+ * @param match         the match
+ * @param victoryPoints the victory points of each seat
+ * @param winnerSeat    the seat of the winner or {@code -1}, if the game ended without a winner
+ * @param rounds        the amount of rounds played
+ * @param nanos         the wall-clock time the game took
+ * @param error         a description of the error that ended the game, or {@code null} if it ended with a winner
+ *                      or at the round limit
+ * @param forfeitSeat   the seat that forfeited the game by not acting in time or {@code -1}
+ */
+public record MatchResult(
+    Match match,
+    List<Integer> victoryPoints,
+    int winnerSeat,
+    int rounds,
+    long nanos,
+    String error,
+    int forfeitSeat
+) {
+
+    /**
+     * Creates the outcome of a match that no seat forfeited.
+     *
+     * @param match         the match
+     * @param victoryPoints the victory points of each seat
+     * @param winnerSeat    the seat of the winner or {@code -1}, if the game ended without a winner
+     * @param rounds        the amount of rounds played
+     * @param nanos         the wall-clock time the game took
+     * @param error         a description of the error that ended the game, or {@code null} if it ended with a
+     *                      winner or at the round limit
+     */
+    public MatchResult(
+        final Match match,
+        final List<Integer> victoryPoints,
+        final int winnerSeat,
+        final int rounds,
+        final long nanos,
+        final String error
+    ) {
+        this(match, victoryPoints, winnerSeat, rounds, nanos, error, -1);
+    }
+
+    /**
+     * The header of the CSV representation of results.
+     */
+    public static final String CSV_HEADER = "match,round,seed,seating,victory_points,winner,forfeit,rounds,millis,error";
+
+    /**
+     * Returns whether this result counts towards the ratings. A game ended by an error says nothing about the
+     * strength of its seats and is not rated, unless a seat forfeited it, which is then at fault.
+     *
+     * @return whether this result counts towards the ratings
+     */
+    public boolean isRated() {
+        return error == null || forfeitSeat != -1;
+    }
+
+    /**
+     * Compares the outcome of two seats: the winner beats everybody else and everybody beats a seat that
+     * forfeited, otherwise the seat with more victory points wins.
+     *
+     * @param seat1 the first seat
+     * @param seat2 the second seat
+     * @return {@code 1} if the first seat won, {@code 0.5} for a draw and {@code 0} if the second seat won
+     */
+    public double score(final int seat1, final int seat2) {
+        if (winnerSeat == seat1) {
+            return 1;
+        }
+        if (winnerSeat == seat2) {
+            return 0;
+        }
+        if (forfeitSeat == seat1) {
+            return 0;
+        }
+        if (forfeitSeat == seat2) {
+            return 1;
+        }
+        return Integer.compare(victoryPoints.get(seat1), victoryPoints.get(seat2)) / 2.0 + 0.5;
+    }
+
+    /**
+     * Returns a CSV line describing this result, see {@link #CSV_HEADER}.
+     *
+     * @param entrants the entrants of the tournament
+     * @return a CSV line
+     */
+    public String toCsv(final List<Entrant> entrants) {
+        return String.join(",",
+            String.valueOf(match.id()),
+            String.valueOf(match.round()),
+            String.valueOf(match.seed()),
+            match.seating().stream().map(entrant -> entrants.get(entrant).name()).collect(Collectors.joining(";")),
+            victoryPoints.stream().map(String::valueOf).collect(Collectors.joining(";")),
+            winnerSeat == -1 ? "" : entrants.get(match.seating().get(winnerSeat)).name(),
+            forfeitSeat == -1 ? "" : entrants.get(match.seating().get(forfeitSeat)).name(),
+            String.valueOf(rounds),
+            String.valueOf(nanos / 1_000_000),
+            error == null ? "" : '"' + error.replace('"', '\'') + '"'
+        );
+    }
+}
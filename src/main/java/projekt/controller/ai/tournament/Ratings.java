@@ -0,0 +1,186 @@
+package projekt.controller.ai.tournament;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Computes Elo-scaled ratings with confidence intervals from {@link MatchResult}s.
+ * <p>
+ * Every rated game (see {@link MatchResult#isRated()}) is split into pairwise comparisons between its seats
+ * (see {@link MatchResult#score(int, int)}).
+ * Ratings are the maximum likelihood estimates of a Bradley-Terry model over these comparisons, fitted with the
+ * minorization-maximization algorithm and expressed on the Elo scale (400 points per factor of ten in strength,
+ * mean 1500). Every entrant gets one virtual draw against an average opponent, which keeps the ratings of entrants
+ * that never won or never lost finite.
+ * <p>
+ * Confidence intervals are percentile intervals of a bootstrap over games.
+ */
+public final class Ratings {
+
+    /**
+     * The mean rating.
+     */
+    public static final double MEAN_RATING = 1500;
+
+    private static final int ITERATIONS = 500;
+    private static final double TOLERANCE = 1e-9;
+
+    /**
+     * Utility class, do not instantiate.
+     */
+    private Ratings() {
+    }
+
+    /**
+     * The rating of an entrant.
+     *
+     * @param entrant the entrant
+     * @param rating  the estimated rating
+     * @param lower   the lower bound of the confidence interval
+     * @param upper   the upper bound of the confidence interval
+     * @param games   the amount of rated games the entrant played
+     * @param wins    the amount of games the entrant won
+     */
+    public record Rating(Entrant entrant, double rating, double lower, double upper, int games, int wins) {
+
+        @Override
+        public String toString() {
+            return String.format("%-24s %7.1f  [%7.1f, %7.1f]  games=%d wins=%d",
+                                 entrant.name(), rating, lower, upper, games, wins);
+        }
+    }
+
+    /**
+     * Computes the ratings of the given entrants.
+     *
+     * @param entrants   the entrants
+     * @param results    the results of the games, including unrated ones
+     * @param confidence the confidence level of the intervals, e.g. {@code 0.95}
+     * @param resamples  the amount of bootstrap resamples
+     * @param seed       the seed of the bootstrap
+     * @return the ratings, in the order of the entrants
+     */
+    public static List<Rating> compute(
+        final List<Entrant> entrants, final List<MatchResult> results,
+        final double confidence, final int resamples, final long seed
+    ) {
+        final List<MatchResult> rated = results.stream().filter(MatchResult::isRated).toList();
+        final double[] ratings = fit(entrants.size(), rated);
+        final double[][] samples = new double[entrants.size()][resamples];
+        final Random random = new Random(seed);
+        final List<MatchResult> resample = new ArrayList<>(rated.size());
+        for (int b = 0; b < resamples; b++) {
+            resample.clear();
+            for (int i = 0; i < rated.size(); i++) {
+                resample.add(rated.get(random.nextInt(rated.size())));
+            }
+            final double[] sample = fit(entrants.size(), resample);
+            for (int entrant = 0; entrant < entrants.size(); entrant++) {
+                samples[entrant][b] = sample[entrant];
+            }
+        }
+
+        final int[] games = new int[entrants.size()];
+        final int[] wins = new int[entrants.size()];
+        for (final MatchResult result : rated) {
+            result.match().seating().stream().distinct().forEach(entrant -> games[entrant]++);
+            if (result.winnerSeat() != -1) {
+                wins[result.match().seating().get(result.winnerSeat())]++;
+            }
+        }
+
+        final List<Rating> list = new ArrayList<>();
+        for (int entrant = 0; entrant < entrants.size(); entrant++) {
+            Arrays.sort(samples[entrant]);
+            list.add(new Rating(
+                entrants.get(entrant),
+                ratings[entrant],
+                percentile(samples[entrant], (1 - confidence) / 2, ratings[entrant]),
+                percentile(samples[entrant], 1 - (1 - confidence) / 2, ratings[entrant]),
+                games[entrant],
+                wins[entrant]
+            ));
+        }
+        return list;
+    }
+
+    /**
+     * Fits the Bradley-Terry model to the given results.
+     *
+     * @param entrantCount the amount of entrants
+     * @param results      the results
+     * @return the Elo-scaled ratings
+     */
+    static double[] fit(final int entrantCount, final List<MatchResult> results) {
+        // scores[i]: points of i (plus the virtual draw), comparisons[i][j]: comparisons between i and j
+        final double[] scores = new double[entrantCount];
+        final double[][] comparisons = new double[entrantCount][entrantCount];
+        Arrays.fill(scores, 0.5);
+        for (final MatchResult result : results) {
+            final List<Integer> seating = result.match().seating();
+            for (int seat1 = 0; seat1 < seating.size(); seat1++) {
+                for (int seat2 = seat1 + 1; seat2 < seating.size(); seat2++) {
+                    final int entrant1 = seating.get(seat1);
+                    final int entrant2 = seating.get(seat2);
+                    if (entrant1 != entrant2) {
+                        final double score = result.score(seat1, seat2);
+                        scores[entrant1] += score;
+                        scores[entrant2] += 1 - score;
+                        comparisons[entrant1][entrant2]++;
+                        comparisons[entrant2][entrant1]++;
+                    }
+                }
+            }
+        }
+
+        final double[] strengths = new double[entrantCount];
+        Arrays.fill(strengths, 1);
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            double change = 0;
+            double logSum = 0;
+            for (int i = 0; i < entrantCount; i++) {
+                // the virtual draw is one comparison against an opponent of strength 1
+                double denominator = 1 / (strengths[i] + 1);
+                for (int j = 0; j < entrantCount; j++) {
+                    if (comparisons[i][j] > 0) {
+                        denominator += comparisons[i][j] / (strengths[i] + strengths[j]);
+                    }
+                }
+                final double strength = scores[i] / denominator;
+                change = Math.max(change, Math.abs(Math.log(strength / strengths[i])));
+                strengths[i] = strength;
+                logSum += Math.log(strength);
+            }
+            final double scale = Math.exp(-logSum / Math.max(1, entrantCount));
+            for (int i = 0; i < entrantCount; i++) {
+                strengths[i] *= scale;
+            }
+            if (change < TOLERANCE) {
+                break;
+            }
+        }
+
+        final double[] ratings = new double[entrantCount];
+        for (int i = 0; i < entrantCount; i++) {
+            ratings[i] = MEAN_RATING + 400 * Math.log10(strengths[i]);
+        }
+        return ratings;
+    }
+
+    /**
+     * Returns the given percentile of the sorted samples.
+     *
+     * @param sorted     the sorted samples
+     * @param percentile the percentile, between 0 and 1
+     * @param fallback   the value if there are no samples
+     * @return the percentile
+     */
+    private static double percentile(final double[] sorted, final double percentile, final double fallback) {
+        if (sorted.length == 0) {
+            return fallback;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.floor(percentile * sorted.length))];
+    }
+}
@@ -0,0 +1,16 @@
+package projekt.controller.ai.tournament;
+
+/**
+ * Defines how a {@link Tournament} assigns entrants to games.
+ */
+public enum Schedule {
+    /**
+     * Every combination of entrants plays in turn, until the requested amount of games is reached.
+     */
+    ROUND_ROBIN,
+
+    /**
+     * Games are played in rounds; each round seats entrants with similar scores at the same table.
+     */
+    SWISS
+}
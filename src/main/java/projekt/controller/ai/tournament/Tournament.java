@@ -0,0 +1,380 @@
+package projekt.controller.ai.tournament;
+
+import projekt.Config;
+import projekt.controller.BasicAiController;
+import projekt.controller.GameController;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Runs seeded, headless self-play games between {@link Entrant}s in parallel and rates the results.
+ * <p>
+ * Matches are scheduled either round robin or Swiss (see {@link Schedule}) and played on a work-stealing pool.
+ * The seat order of every match is shuffled with the match's seed, so no entrant profits from always moving first.
+ * Each result is appended to the results file (CSV, see {@link MatchResult#CSV_HEADER}) as soon as its game ends,
+ * so partial results survive an aborted run.
+ * <p>
+ * Use {@link Builder} to configure a tournament.
+ */
+public final class Tournament {
+
+    private final List<Entrant> entrants;
+    private final Schedule schedule;
+    private final int games;
+    private final int seats;
+    private final int parallelism;
+    private final long seed;
+    private final int maxRounds;
+    private final Path resultsFile;
+    private final Consumer<GameController> gameLoop;
+
+    /**
+     * Creates a new tournament from the given builder.
+     *
+     * @param builder the builder
+     */
+    private Tournament(final Builder builder) {
+        this.entrants = List.copyOf(builder.entrants);
+        this.schedule = builder.schedule;
+        this.games = builder.games;
+        this.seats = builder.seats;
+        this.parallelism = builder.parallelism;
+        this.seed = builder.seed;
+        this.maxRounds = builder.maxRounds;
+        this.resultsFile = builder.resultsFile;
+        this.gameLoop = builder.gameLoop;
+    }
+
+    /**
+     * Plays all games of this tournament and computes the ratings of the entrants.
+     *
+     * @return the ratings, best first
+     * @throws IOException          if the results file cannot be written
+     * @throws InterruptedException if the current thread is interrupted while waiting for games
+     */
+    public List<Ratings.Rating> run() throws IOException, InterruptedException {
+        final List<MatchResult> results = new ArrayList<>();
+        final HeadlessGame headlessGame = new HeadlessGame(entrants, maxRounds, Config.AI_ACTION_TIMEOUT, gameLoop);
+        final ExecutorService pool = Executors.newWorkStealingPool(parallelism);
+        try (BufferedWriter writer = resultsFile == null ? null : Files.newBufferedWriter(resultsFile)) {
+            if (writer != null) {
+                writer.write(MatchResult.CSV_HEADER);
+                writer.newLine();
+                writer.flush();
+            }
+            if (schedule == Schedule.ROUND_ROBIN) {
+                play(roundRobinMatches(), headlessGame, pool, writer, results);
+            } else {
+                final int tables = Math.max(1, entrants.size() / seats);
+                for (int round = 0; results.size() < games; round++) {
+                    final int remaining = games - results.size();
+                    play(swissRound(round, Math.min(tables, remaining), results), headlessGame, pool, writer, results);
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        final List<Ratings.Rating> ratings = new ArrayList<>(Ratings.compute(entrants, results, 0.95, 200, seed));
+        ratings.sort(Comparator.comparingDouble(Ratings.Rating::rating).reversed());
+        return ratings;
+    }
+
+    /**
+     * Plays the given matches in parallel and streams their results as they finish.
+     *
+     * @param matches      the matches to play
+     * @param headlessGame the game runner
+     * @param pool         the pool to play on
+     * @param writer       the results file writer or {@code null}
+     * @param results      the list to add the results to
+     * @throws IOException          if a result cannot be written
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    private void play(
+        final List<Match> matches, final HeadlessGame headlessGame, final ExecutorService pool,
+        final BufferedWriter writer, final List<MatchResult> results
+    ) throws IOException, InterruptedException {
+        final ExecutorCompletionService<MatchResult> completionService = new ExecutorCompletionService<>(pool);
+        for (final Match match : matches) {
+            completionService.submit(() -> headlessGame.play(match));
+        }
+        for (int i = 0; i < matches.size(); i++) {
+            final MatchResult result;
+            try {
+                result = completionService.take().get();
+            } catch (final ExecutionException e) {
+                throw new IllegalStateException("Game runner failed", e.getCause());
+            }
+            results.add(result);
+            if (writer != null) {
+                writer.write(result.toCsv(entrants));
+                writer.newLine();
+                writer.flush();
+            }
+        }
+    }
+
+    /**
+     * Creates the matches of a round robin schedule: all combinations of entrants, repeated until the requested
+     * amount of games is reached.
+     *
+     * @return the matches
+     */
+    private List<Match> roundRobinMatches() {
+        final List<List<Integer>> tables = new ArrayList<>();
+        combinations(new ArrayList<>(), 0, tables);
+        final List<Match> matches = new ArrayList<>();
+        for (int id = 0; id < games; id++) {
+            matches.add(match(id, 0, tables.get(id % tables.size())));
+        }
+        return matches;
+    }
+
+    /**
+     * Collects all combinations of {@link #seats} entrants. If there are fewer entrants than seats,
+     * entrants are repeated.
+     *
+     * @param prefix the current combination
+     * @param next   the next entrant to consider
+     * @param tables the list to add the combinations to
+     */
+    private void combinations(final List<Integer> prefix, final int next, final List<List<Integer>> tables) {
+        if (entrants.size() < seats) {
+            tables.add(IntStream.range(0, seats).mapToObj(seat -> seat % entrants.size()).toList());
+            return;
+        }
+        if (prefix.size() == seats) {
+            tables.add(List.copyOf(prefix));
+            return;
+        }
+        for (int entrant = next; entrant < entrants.size(); entrant++) {
+            prefix.add(entrant);
+            combinations(prefix, entrant + 1, tables);
+            prefix.remove(prefix.size() - 1);
+        }
+    }
+
+    /**
+     * Creates the matches of a Swiss round: entrants are sorted by their score in the rated games so far and seated
+     * at consecutive tables. If the entrants do not fill the last table, it is filled with the lowest ranked
+     * entrants of the previous one.
+     *
+     * @param round   the round
+     * @param count   the amount of matches to create
+     * @param results the results so far
+     * @return the matches
+     */
+    private List<Match> swissRound(final int round, final int count, final List<MatchResult> results) {
+        final double[] scores = new double[entrants.size()];
+        for (final MatchResult result : results) {
+            if (!result.isRated()) {
+                continue;
+            }
+            final List<Integer> seating = result.match().seating();
+            for (int seat1 = 0; seat1 < seating.size(); seat1++) {
+                for (int seat2 = 0; seat2 < seating.size(); seat2++) {
+                    if (seat1 != seat2) {
+                        scores[seating.get(seat1)] += result.score(seat1, seat2);
+                    }
+                }
+            }
+        }
+        final List<Integer> standings = new ArrayList<>(IntStream.range(0, entrants.size()).boxed().toList());
+        Collections.shuffle(standings, new Random(seed + round));
+        standings.sort(Comparator.comparingDouble((Integer entrant) -> scores[entrant]).reversed());
+
+        final List<Match> matches = new ArrayList<>();
+        for (int table = 0; table < count; table++) {
+            final int from = Math.max(0, Math.min(table * seats, standings.size() - seats));
+            final List<Integer> seating = IntStream.range(from, from + seats)
+                .mapToObj(i -> standings.get(i % standings.size()))
+                .toList();
+            matches.add(match(results.size() + table, round, seating));
+        }
+        return matches;
+    }
+
+    /**
+     * Creates a match with a derived seed and a shuffled seat order.
+     *
+     * @param id      the id of the match
+     * @param round   the round of the match
+     * @param entrantIndices the entrants of the match
+     * @return the match
+     */
+    private Match match(final int id, final int round, final List<Integer> entrantIndices) {
+        final long matchSeed = new Random(seed ^ (id * 0x9E3779B97F4A7C15L)).nextLong();
+        final List<Integer> seating = new ArrayList<>(entrantIndices);
+        Collections.shuffle(seating, new Random(matchSeed));
+        return new Match(id, round, matchSeed, List.copyOf(seating));
+    }
+
+    /**
+     * Runs a tournament of {@link BasicAiController}s against each other and prints the ratings.
+     * Arguments: {@code [games] [round_robin|swiss] [results file]}.
+     *
+     * @param args the command line arguments
+     * @throws Exception if the tournament fails
+     */
+    public static void main(final String[] args) throws Exception {
+        final Builder builder = new Builder()
+            .entrant(new Entrant("Basic-A", BasicAiController::new))
+            .entrant(new Entrant("Basic-B", BasicAiController::new))
+            .entrant(new Entrant("Basic-C", BasicAiController::new));
+        if (args.length > 0) {
+            builder.games(Integer.parseInt(args[0]));
+        }
+        if (args.length > 1) {
+            builder.schedule(Schedule.valueOf(args[1].toUpperCase()));
+        }
+        builder.resultsFile(Path.of(args.length > 2 ? args[2] : "tournament-results.csv"));
+        builder.build().run().forEach(System.out::println);
+    }
+
+    /**
+     * Builder for {@link Tournament}.
+     */
+    public static class Builder {
+        private final List<Entrant> entrants = new ArrayList<>();
+        private Schedule schedule = Schedule.ROUND_ROBIN;
+        private int games = 1000;
+        private int seats = Config.MIN_PLAYERS + 1;
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+        private long seed = 0;
+        private int maxRounds = 500;
+        private Path resultsFile;
+        private Consumer<GameController> gameLoop = GameController::startGame;
+
+        /**
+         * Adds an entrant.
+         *
+         * @param entrant the entrant
+         * @return this builder
+         */
+        public Builder entrant(final Entrant entrant) {
+            if (entrants.stream().anyMatch(other -> other.name().equals(entrant.name()))) {
+                throw new IllegalArgumentException("Duplicate entrant name: " + entrant.name());
+            }
+            entrants.add(entrant);
+            return this;
+        }
+
+        /**
+         * Sets the schedule.
+         *
+         * @param schedule the schedule
+         * @return this builder
+         */
+        public Builder schedule(final Schedule schedule) {
+            this.schedule = schedule;
+            return this;
+        }
+
+        /**
+         * Sets the total amount of games.
+         *
+         * @param games the amount of games
+         * @return this builder
+         */
+        public Builder games(final int games) {
+            this.games = games;
+            return this;
+        }
+
+        /**
+         * Sets the amount of players per game.
+         *
+         * @param seats the amount of players per game, between {@link Config#MIN_PLAYERS} and
+         *              {@link Config#MAX_PLAYERS}
+         * @return this builder
+         */
+        public Builder seats(final int seats) {
+            if (seats < Config.MIN_PLAYERS || seats > Config.MAX_PLAYERS) {
+                throw new IllegalArgumentException("Invalid amount of seats: " + seats);
+            }
+            this.seats = seats;
+            return this;
+        }
+
+        /**
+         * Sets the amount of games played in parallel.
+         *
+         * @param parallelism the amount of games played in parallel
+         * @return this builder
+         */
+        public Builder parallelism(final int parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Sets the seed all match seeds are derived from.
+         *
+         * @param seed the seed
+         * @return this builder
+         */
+        public Builder seed(final long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Sets the amount of rounds after which a game is aborted without a winner.
+         *
+         * @param maxRounds the maximum amount of rounds
+         * @return this builder
+         */
+        public Builder maxRounds(final int maxRounds) {
+            this.maxRounds = maxRounds;
+            return this;
+        }
+
+        /**
+         * Sets the file the results are streamed to. No file is written if it is {@code null}.
+         *
+         * @param resultsFile the results file
+         * @return this builder
+         */
+        public Builder resultsFile(final Path resultsFile) {
+            this.resultsFile = resultsFile;
+            return this;
+        }
+
+        /**
+         * Sets the game loop each game is played with instead of {@link GameController#startGame()}.
+         *
+         * @param gameLoop plays the game of the given controller until it has a winner
+         * @return this builder
+         */
+        Builder gameLoop(final Consumer<GameController> gameLoop) {
+            this.gameLoop = gameLoop;
+            return this;
+        }
+
+        /**
+         * Builds the tournament.
+         *
+         * @return the tournament
+         */
+        public Tournament build() {
+            if (entrants.isEmpty()) {
+                throw new IllegalStateException("No entrants");
+            }
+            return new Tournament(this);
+        }
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * Contains a harness for running seeded, headless self-play tournaments between
+ * {@link projekt.controller.AiController} implementations and rating the results.
+ */
+package projekt.controller.ai.tournament;
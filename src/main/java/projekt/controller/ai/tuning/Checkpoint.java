@@ -0,0 +1,89 @@
+package projekt.controller.ai.tuning;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+/**
+ * The progress of a {@link SpsaTuner}, which is written after every iteration so that tuning runs can resume.
+ *
+ * @param iteration   the amount of completed iterations
+ * @param weights     the current weights
+ * @param bestScore   the best score measured so far
+ * @param bestWeights the weights with the best score
+ */
+public record Checkpoint(int iteration, double[] weights, double bestScore, double[] bestWeights) {
+
+    /**
+     * Writes this checkpoint to the given file. The file is replaced atomically, so an interrupted write
+     * never corrupts an existing checkpoint.
+     *
+     * @param file the file to write to
+     * @throws IOException if the file cannot be written
+     */
+    public void save(final Path file) throws IOException {
+        final Properties properties = new Properties();
+        properties.setProperty("iteration", String.valueOf(iteration));
+        properties.setProperty("weights", format(weights));
+        properties.setProperty("bestScore", String.valueOf(bestScore));
+        properties.setProperty("bestWeights", format(bestWeights));
+        final Path directory = file.toAbsolutePath().getParent();
+        final Path temporaryFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temporaryFile)) {
+            properties.store(writer, "SPSA tuning checkpoint");
+        }
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads a checkpoint from the given file.
+     *
+     * @param file the file to read
+     * @return the checkpoint
+     * @throws IOException if the file cannot be read
+     */
+    public static Checkpoint load(final Path file) throws IOException {
+        final Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+        return new Checkpoint(
+            Integer.parseInt(properties.getProperty("iteration")),
+            parse(properties.getProperty("weights")),
+            Double.parseDouble(properties.getProperty("bestScore")),
+            parse(properties.getProperty("bestWeights"))
+        );
+    }
+
+    /**
+     * Formats the given vector as a comma separated list. Doubles are written losslessly.
+     *
+     * @param vector the vector
+     * @return the formatted vector
+     */
+    private static String format(final double[] vector) {
+        return Arrays.stream(vector).mapToObj(Double::toString).collect(Collectors.joining(","));
+    }
+
+    /**
+     * Parses a vector written by {@link #format(double[])}.
+     *
+     * @param string the formatted vector
+     * @return the vector
+     */
+    private static double[] parse(final String string) {
+        return string.isEmpty() ? new double[0] : Arrays.stream(string.split(",")).mapToDouble(Double::parseDouble).toArray();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Checkpoint[iteration=%d, weights=%s, bestScore=%.4f, bestWeights=%s]",
+                             iteration, Arrays.toString(weights), bestScore, Arrays.toString(bestWeights));
+    }
+}
@@ -0,0 +1,20 @@
+package projekt.controller.ai.tuning;
+
+/**
+ * A noisy objective function over weight vectors, to be maximized by a {@link SpsaTuner}.
+ */
+@FunctionalInterface
+public interface Objective {
+
+    /**
+     * Evaluates the given candidates.
+     * Implementations should use common random numbers: all candidates of one call are evaluated under the same
+     * random conditions (e.g. the same game seeds), derived from the given iteration, so that differences between
+     * the scores are caused by the weights and not by noise.
+     *
+     * @param candidates the weight vectors to evaluate
+     * @param iteration  the iteration of the optimizer, identifying the random conditions
+     * @return the score of each candidate, higher is better
+     */
+    double[] evaluate(double[][] candidates, int iteration);
+}
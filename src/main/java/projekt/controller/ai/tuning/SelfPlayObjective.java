@@ -0,0 +1,150 @@
+package projekt.controller.ai.tuning;
+
+import projekt.Config;
+import projekt.controller.ai.tournament.Entrant;
+import projekt.controller.ai.tournament.HeadlessGame;
+import projekt.controller.ai.tournament.Match;
+import projekt.controller.ai.tournament.MatchResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Scores weight vectors by the results of seeded headless games against a baseline entrant.
+ * <p>
+ * Every candidate plays a batch of games in which one seat is taken by the candidate and all other seats by the
+ * baseline. The candidate's seat rotates through the batch. The seeds of the batch only depend on the iteration,
+ * so all candidates of an iteration play the same boards with the same dice (common random numbers).
+ * The games of all candidates are played in parallel on a work-stealing pool.
+ * <p>
+ * The score of a candidate is its average pairwise score against the other seats (see
+ * {@link MatchResult#score(int, int)}), i.e. {@code 0.5} means it is as strong as the baseline.
+ * Games that are not {@link MatchResult#isRated() rated} do not count; without rated games, the score is
+ * {@code 0.5}.
+ */
+public final class SelfPlayObjective implements Objective, AutoCloseable {
+
+    private static final String CANDIDATE = "Candidate";
+
+    private final WeightedAiFactory factory;
+    private final Entrant baseline;
+    private final int games;
+    private final int seats;
+    private final int maxRounds;
+    private final long seed;
+    private final ExecutorService pool;
+
+    /**
+     * Creates a new objective.
+     *
+     * @param factory     the factory creating the tuned AI controllers
+     * @param baseline    the opponent of the candidates
+     * @param games       the amount of games per candidate and iteration
+     * @param seats       the amount of players per game
+     * @param maxRounds   the amount of rounds after which a game is aborted without a winner
+     * @param seed        the seed all game seeds are derived from
+     * @param parallelism the amount of games played in parallel
+     */
+    public SelfPlayObjective(
+        final WeightedAiFactory factory,
+        final Entrant baseline,
+        final int games,
+        final int seats,
+        final int maxRounds,
+        final long seed,
+        final int parallelism
+    ) {
+        if (seats < Config.MIN_PLAYERS || seats > Config.MAX_PLAYERS) {
+            throw new IllegalArgumentException("Invalid amount of seats: " + seats);
+        }
+        this.factory = factory;
+        this.baseline = baseline;
+        this.games = games;
+        this.seats = seats;
+        this.maxRounds = maxRounds;
+        this.seed = seed;
+        this.pool = Executors.newWorkStealingPool(parallelism);
+    }
+
+    @Override
+    public double[] evaluate(final double[][] candidates, final int iteration) {
+        final List<Match> matches = createMatches(iteration);
+        final List<List<Future<MatchResult>>> futures = new ArrayList<>();
+        for (final double[] candidate : candidates) {
+            final HeadlessGame headlessGame = new HeadlessGame(
+                List.of(new Entrant(CANDIDATE, factory.withWeights(candidate)), baseline),
+                maxRounds
+            );
+            futures.add(matches.stream().map(match -> pool.submit(() -> headlessGame.play(match))).toList());
+        }
+
+        final double[] scores = new double[candidates.length];
+        try {
+            for (int candidate = 0; candidate < candidates.length; candidate++) {
+                int rated = 0;
+                for (final Future<MatchResult> future : futures.get(candidate)) {
+                    final MatchResult result = future.get();
+                    if (result.isRated()) {
+                        scores[candidate] += score(result);
+                        rated++;
+                    }
+                }
+                scores[candidate] = rated == 0 ? 0.5 : scores[candidate] / rated;
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(candidateFutures -> candidateFutures.forEach(future -> future.cancel(true)));
+            throw new RuntimeException(e);
+        } catch (final ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+        return scores;
+    }
+
+    /**
+     * Creates the matches of the given iteration. The candidate is entrant {@code 0} and the baseline entrant
+     * {@code 1}.
+     *
+     * @param iteration the iteration
+     * @return the matches
+     */
+    private List<Match> createMatches(final int iteration) {
+        final List<Match> matches = new ArrayList<>();
+        for (int game = 0; game < games; game++) {
+            final long matchSeed = new Random(seed ^ (iteration * 0x9E3779B97F4A7C15L) ^ (game * 0xC2B2AE3D27D4EB4FL))
+                .nextLong();
+            final List<Integer> seating = new ArrayList<>(Collections.nCopies(seats, 1));
+            seating.set(game % seats, 0);
+            matches.add(new Match(game, iteration, matchSeed, seating));
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the candidate's average pairwise score in the given result.
+     *
+     * @param result the result
+     * @return the candidate's score
+     */
+    private static double score(final MatchResult result) {
+        final int candidateSeat = result.match().seating().indexOf(0);
+        double score = 0;
+        for (int seat = 0; seat < result.match().seating().size(); seat++) {
+            if (seat != candidateSeat) {
+                score += result.score(candidateSeat, seat);
+            }
+        }
+        return score / (result.match().seating().size() - 1);
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,316 @@
+package projekt.controller.ai.tuning;
+
+import projekt.controller.BasicAiController;
+import projekt.controller.ai.tournament.Entrant;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Maximizes a noisy {@link Objective} with simultaneous perturbation stochastic approximation (SPSA).
+ * <p>
+ * Every iteration perturbs all weights at once by {@code ±c_k} in a random direction and evaluates both perturbed
+ * vectors in a single call of the objective, so both are measured under the same random conditions and their
+ * games run in parallel. The gradient estimate from the score difference needs two evaluations per iteration
+ * regardless of the amount of weights. Gain sequences follow Spall's recommendations:
+ * {@code a_k = a / (k + 1 + A)^alpha} and {@code c_k = c / (k + 1)^gamma}.
+ * <p>
+ * The random directions are derived from the seed and the iteration only. Together with a {@link Checkpoint}
+ * written after every iteration, an interrupted run resumes exactly where it stopped, and a finished run can be
+ * extended by raising the amount of iterations.
+ */
+public final class SpsaTuner {
+
+    private final Objective objective;
+    private final double[] initialWeights;
+    private final double[] lowerBounds;
+    private final double[] upperBounds;
+    private final int iterations;
+    private final double stepSize;
+    private final double perturbation;
+    private final double stabilityConstant;
+    private final double alpha;
+    private final double gamma;
+    private final long seed;
+    private final Path checkpointFile;
+
+    /**
+     * Creates a new tuner from the given builder.
+     *
+     * @param builder the builder
+     */
+    private SpsaTuner(final Builder builder) {
+        this.objective = builder.objective;
+        this.initialWeights = builder.initialWeights.clone();
+        this.lowerBounds = builder.lowerBounds != null ? builder.lowerBounds.clone() : filled(Double.NEGATIVE_INFINITY);
+        this.upperBounds = builder.upperBounds != null ? builder.upperBounds.clone() : filled(Double.POSITIVE_INFINITY);
+        this.iterations = builder.iterations;
+        this.stepSize = builder.stepSize;
+        this.perturbation = builder.perturbation;
+        this.stabilityConstant = builder.stabilityConstant;
+        this.alpha = builder.alpha;
+        this.gamma = builder.gamma;
+        this.seed = builder.seed;
+        this.checkpointFile = builder.checkpointFile;
+    }
+
+    /**
+     * Returns an array of the length of the weight vector, filled with the given value.
+     *
+     * @param value the value
+     * @return the filled array
+     */
+    private double[] filled(final double value) {
+        final double[] array = new double[initialWeights.length];
+        Arrays.fill(array, value);
+        return array;
+    }
+
+    /**
+     * Runs the remaining iterations, starting from the checkpoint file if it exists.
+     *
+     * @return the final checkpoint
+     */
+    public Checkpoint run() {
+        Checkpoint checkpoint = new Checkpoint(0, initialWeights.clone(), Double.NEGATIVE_INFINITY, initialWeights.clone());
+        try {
+            if (checkpointFile != null && Files.exists(checkpointFile)) {
+                checkpoint = Checkpoint.load(checkpointFile);
+                if (checkpoint.weights().length != initialWeights.length) {
+                    throw new IllegalStateException("Checkpoint does not match the weight vector: " + checkpoint);
+                }
+            }
+            while (checkpoint.iteration() < iterations) {
+                checkpoint = step(checkpoint);
+                if (checkpointFile != null) {
+                    checkpoint.save(checkpointFile);
+                }
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return checkpoint;
+    }
+
+    /**
+     * Performs a single iteration.
+     *
+     * @param checkpoint the state before the iteration
+     * @return the state after the iteration
+     */
+    private Checkpoint step(final Checkpoint checkpoint) {
+        final int k = checkpoint.iteration();
+        final double a = stepSize / Math.pow(k + 1 + stabilityConstant, alpha);
+        final double c = perturbation / Math.pow(k + 1, gamma);
+        final double[] weights = checkpoint.weights();
+
+        final Random random = new Random(seed ^ (k * 0x9E3779B97F4A7C15L));
+        final double[] direction = new double[weights.length];
+        final double[] plus = new double[weights.length];
+        final double[] minus = new double[weights.length];
+        for (int i = 0; i < weights.length; i++) {
+            direction[i] = random.nextBoolean() ? 1 : -1;
+            plus[i] = clamp(i, weights[i] + c * direction[i]);
+            minus[i] = clamp(i, weights[i] - c * direction[i]);
+        }
+
+        final double[] scores = objective.evaluate(new double[][] {plus, minus}, k);
+        final double[] nextWeights = new double[weights.length];
+        for (int i = 0; i < weights.length; i++) {
+            final double gradient = (scores[0] - scores[1]) / (2 * c * direction[i]);
+            nextWeights[i] = clamp(i, weights[i] + a * gradient);
+        }
+
+        final int better = scores[0] >= scores[1] ? 0 : 1;
+        return scores[better] > checkpoint.bestScore()
+               ? new Checkpoint(k + 1, nextWeights, scores[better], better == 0 ? plus : minus)
+               : new Checkpoint(k + 1, nextWeights, checkpoint.bestScore(), checkpoint.bestWeights());
+    }
+
+    /**
+     * Clamps the given weight to its bounds.
+     *
+     * @param index  the index of the weight
+     * @param weight the weight
+     * @return the clamped weight
+     */
+    private double clamp(final int index, final double weight) {
+        return Math.max(lowerBounds[index], Math.min(upperBounds[index], weight));
+    }
+
+    /**
+     * Tunes a weight vector against {@link BasicAiController}.
+     * Arguments: the checkpoint file, the amount of iterations and the games per candidate and iteration.
+     * The tuned AI is created by the given factory, see {@link WeightedBasicAiFactory#main(String[])}.
+     *
+     * @param factory        the factory creating the tuned AI controllers
+     * @param initialWeights the initial weights
+     * @param lowerBounds    the lower bound of each weight
+     * @param upperBounds    the upper bound of each weight
+     * @param args           the command line arguments
+     * @return the final checkpoint
+     */
+    public static Checkpoint tuneAgainstBasicAi(
+        final WeightedAiFactory factory,
+        final double[] initialWeights,
+        final double[] lowerBounds,
+        final double[] upperBounds,
+        final String[] args
+    ) {
+        final int games = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+        try (SelfPlayObjective selfPlay = new SelfPlayObjective(
+            factory,
+            new Entrant("Basic", BasicAiController::new),
+            games,
+            3,
+            500,
+            0,
+            Runtime.getRuntime().availableProcessors()
+        )) {
+            return new Builder(selfPlay, initialWeights)
+                .bounds(lowerBounds, upperBounds)
+                .checkpointFile(Path.of(args.length > 0 ? args[0] : "tuning-checkpoint.properties"))
+                .iterations(args.length > 1 ? Integer.parseInt(args[1]) : 200)
+                .build()
+                .run();
+        }
+    }
+
+    /**
+     * Builder for {@link SpsaTuner}.
+     */
+    public static class Builder {
+        private final Objective objective;
+        private final double[] initialWeights;
+        private double[] lowerBounds;
+        private double[] upperBounds;
+        private int iterations = 200;
+        private double stepSize = 0.5;
+        private double perturbation = 0.1;
+        private double stabilityConstant = 20;
+        private double alpha = 0.602;
+        private double gamma = 0.101;
+        private long seed = 0;
+        private Path checkpointFile;
+
+        /**
+         * Creates a new builder.
+         *
+         * @param objective      the objective to maximize
+         * @param initialWeights the initial weights
+         */
+        public Builder(final Objective objective, final double[] initialWeights) {
+            this.objective = objective;
+            this.initialWeights = initialWeights;
+        }
+
+        /**
+         * Sets the lower and upper bounds of the weights.
+         *
+         * @param lowerBounds the lower bound of each weight
+         * @param upperBounds the upper bound of each weight
+         * @return this builder
+         */
+        public Builder bounds(final double[] lowerBounds, final double[] upperBounds) {
+            if (lowerBounds.length != initialWeights.length || upperBounds.length != initialWeights.length) {
+                throw new IllegalArgumentException("Bounds do not match the weight vector");
+            }
+            this.lowerBounds = lowerBounds;
+            this.upperBounds = upperBounds;
+            return this;
+        }
+
+        /**
+         * Sets the total amount of iterations.
+         *
+         * @param iterations the amount of iterations
+         * @return this builder
+         */
+        public Builder iterations(final int iterations) {
+            this.iterations = iterations;
+            return this;
+        }
+
+        /**
+         * Sets the initial step size {@code a}.
+         *
+         * @param stepSize the step size
+         * @return this builder
+         */
+        public Builder stepSize(final double stepSize) {
+            this.stepSize = stepSize;
+            return this;
+        }
+
+        /**
+         * Sets the initial perturbation size {@code c}.
+         *
+         * @param perturbation the perturbation size
+         * @return this builder
+         */
+        public Builder perturbation(final double perturbation) {
+            this.perturbation = perturbation;
+            return this;
+        }
+
+        /**
+         * Sets the stability constant {@code A}, which damps the first steps. A tenth of the expected amount of
+         * iterations is a good choice. It should not be changed when resuming a run.
+         *
+         * @param stabilityConstant the stability constant
+         * @return this builder
+         */
+        public Builder stabilityConstant(final double stabilityConstant) {
+            this.stabilityConstant = stabilityConstant;
+            return this;
+        }
+
+        /**
+         * Sets the decay exponents of the step size and the perturbation size.
+         *
+         * @param alpha the decay exponent of the step size
+         * @param gamma the decay exponent of the perturbation size
+         * @return this builder
+         */
+        public Builder decay(final double alpha, final double gamma) {
+            this.alpha = alpha;
+            this.gamma = gamma;
+            return this;
+        }
+
+        /**
+         * Sets the seed the perturbation directions are derived from.
+         *
+         * @param seed the seed
+         * @return this builder
+         */
+        public Builder seed(final long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Sets the file progress is saved to and resumed from. No checkpoints are written if it is {@code null}.
+         *
+         * @param checkpointFile the checkpoint file
+         * @return this builder
+         */
+        public Builder checkpointFile(final Path checkpointFile) {
+            this.checkpointFile = checkpointFile;
+            return this;
+        }
+
+        /**
+         * Builds the tuner.
+         *
+         * @return the tuner
+         */
+        public SpsaTuner build() {
+            return new SpsaTuner(this);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package projekt.controller.ai.tuning;
+
+import projekt.controller.ai.tournament.AiControllerFactory;
+
+/**
+ * Creates factories of AI controllers whose behaviour depends on a weight vector.
+ */
+@FunctionalInterface
+public interface WeightedAiFactory {
+
+    /**
+     * Returns a factory creating AI controllers with the given weights.
+     *
+     * @param weights the weights, must not be modified
+     * @return the factory
+     */
+    AiControllerFactory withWeights(double[] weights);
+}
@@ -0,0 +1,72 @@
+package projekt.controller.ai.tuning;
+
+import projekt.controller.BasicAiController;
+import projekt.controller.ai.HeuristicWeights;
+import projekt.controller.ai.tournament.AiControllerFactory;
+
+import java.util.Arrays;
+
+/**
+ * Creates {@link BasicAiController}s whose heuristics use tuned {@link HeuristicWeights}.
+ * <p>
+ * The tuned vector holds one factor per heuristic weight, relative to {@link HeuristicWeights#DEFAULT}, so every
+ * entry starts at {@code 1} and the tuner's perturbations have the same relative size for all weights, no matter
+ * how large the weight itself is.
+ */
+public final class WeightedBasicAiFactory implements WeightedAiFactory {
+
+    /**
+     * The smallest factor a weight may be scaled by.
+     */
+    public static final double MIN_FACTOR = 0;
+
+    /**
+     * The largest factor a weight may be scaled by.
+     */
+    public static final double MAX_FACTOR = 4;
+
+    @Override
+    public AiControllerFactory withWeights(final double[] weights) {
+        final HeuristicWeights heuristicWeights = HeuristicWeights.DEFAULT.scale(weights);
+        return (playerController, hexGrid, gameState, activePlayerController, aiExecutor) -> new BasicAiController(
+            playerController, hexGrid, gameState, activePlayerController, aiExecutor, heuristicWeights
+        );
+    }
+
+    /**
+     * Returns the initial factors, which leave the default weights unchanged.
+     *
+     * @return the initial factors
+     */
+    public static double[] getInitialWeights() {
+        return filled(1);
+    }
+
+    /**
+     * Returns an array with one entry per heuristic weight, filled with the given value.
+     *
+     * @param value the value
+     * @return the filled array
+     */
+    private static double[] filled(final double value) {
+        final double[] array = new double[HeuristicWeights.COUNT];
+        Arrays.fill(array, value);
+        return array;
+    }
+
+    /**
+     * Tunes the heuristic weights of {@link BasicAiController} against the default weights and prints the result.
+     * Arguments: {@code [checkpoint file] [iterations] [games per candidate and iteration]}, see
+     * {@link SpsaTuner#tuneAgainstBasicAi(WeightedAiFactory, double[], double[], double[], String[])}.
+     * An interrupted run resumes from the checkpoint file.
+     *
+     * @param args the command line arguments
+     */
+    public static void main(final String[] args) {
+        final Checkpoint checkpoint = SpsaTuner.tuneAgainstBasicAi(
+            new WeightedBasicAiFactory(), getInitialWeights(), filled(MIN_FACTOR), filled(MAX_FACTOR), args
+        );
+        System.out.println(checkpoint);
+        System.out.println("Best weights: " + HeuristicWeights.DEFAULT.scale(checkpoint.bestWeights()));
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * Contains a harness for tuning the weights of heuristic AI controllers with a parallel black-box optimizer,
+ * evaluated by seeded headless self-play.
+ */
+package projekt.controller.ai.tuning;
@@ -7,7 +7,9 @@ import javafx.scene.paint.Color;
 import javafx.util.Builder;
 import projekt.Config;
 import projekt.model.GameState;
+import projekt.model.Player;
 import projekt.model.PlayerImpl;
+import projekt.view.SpriteAtlas;
 import projekt.view.menus.CreateGameBuilder;
 
 /**
@@ -57,6 +59,7 @@ public class CreateGameController implements SceneController {
             return false;
         }
         this.playerBuilderList.forEach(p -> this.gameState.addPlayer(p.build(this.gameState.getGrid())));
+        SpriteAtlas.preloadPlayerColors(this.gameState.getPlayers().stream().map(Player::getColor).toList());
         SceneController.loadGameScene();
         return true;
     }
@@ -1,17 +1,20 @@
 package projekt.controller.gui;
 
-import javafx.application.Platform;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.Property;
 import javafx.scene.control.Alert;
 import javafx.scene.layout.Region;
 import javafx.util.Builder;
 import org.tudalgo.algoutils.student.annotation.DoNotTouch;
+import projekt.controller.FastForward;
 import projekt.controller.PlayerController;
+import projekt.controller.metrics.PerformanceMetrics;
 import projekt.model.GameState;
 import projekt.model.Player;
 import projekt.model.ResourceType;
+import projekt.net.GameSnapshot;
 import projekt.view.GameBoardBuilder;
+import projekt.view.gameControls.FastForwardBuilder;
 
 import java.util.Map;
 
@@ -24,6 +27,10 @@ public class GameBoardController implements SceneController {
     private final PlayerActionsController playerActionsController;
     private final HexGridController hexGridController;
     private final GameBoardBuilder gameBoardBuilder;
+    private final PerformanceOverlayController performanceOverlayController;
+    private final Object playerInformationTarget = new Object();
+    private volatile FastForward fastForward;
+    private SnapshotSampler snapshotSampler;
 
     /**
      * Creates a new game board controller.
@@ -31,6 +38,7 @@ public class GameBoardController implements SceneController {
      * changes.
      * Updates the dice roll on the game board when the dice roll changes.
      * Shows an alert when a player wins.
+     * Shows the performance overlay when {@code F3} is pressed.
      *
      * <b>Do not touch this constructor!</b>
      *
@@ -52,36 +60,108 @@ public class GameBoardController implements SceneController {
         );
         this.hexGridController = new HexGridController(gameState.getGrid());
         this.gameBoardBuilder = new GameBoardBuilder(hexGridController.buildView(), playerActionsController::buildView);
+        this.performanceOverlayController = new PerformanceOverlayController(
+            activePlayerControllerProperty, hexGridController.getChangeTracker());
+        gameBoardBuilder.setPerformanceOverlay(
+            performanceOverlayController.buildView(), performanceOverlayController::toggle);
         activePlayerControllerProperty.addListener((observable, oldValue, newValue) -> {
-            if (newValue == null) {
+            if (newValue == null || isFastForwarded()) {
                 return;
             }
-            Platform.runLater(() -> updatePlayerInformation(newValue.getPlayer(), Map.of()));
+            updatePlayerInformation(newValue.getPlayer(), Map.of());
         });
         diceRollProperty.addListener((observable, oldValue, newValue) -> {
-            if (newValue == null) {
+            if (newValue == null || isFastForwarded()) {
                 return;
             }
-            Platform.runLater(() -> gameBoardBuilder.setDiceRoll(newValue.intValue()));
+            UiUpdateDispatcher.getInstance().submit(
+                diceRollProperty, () -> gameBoardBuilder.setDiceRoll(newValue.intValue()));
         });
         winnerProperty.subscribe((oldValue, newValue) -> {
             if (newValue == null) {
                 return;
             }
-            Platform.runLater(() -> {
+            // showAndWait is not allowed while the dispatcher flushes during an animation pulse
+            PerformanceMetrics.getInstance().runLater(() -> {
                 new Alert(Alert.AlertType.INFORMATION, String.format("Player %s won!", newValue.getName()))
                     .showAndWait();
+                if (snapshotSampler != null) {
+                    snapshotSampler.stop();
+                }
+                performanceOverlayController.stop();
                 SceneController.loadMainMenuScene();
             });
         });
         roundCounterProperty.subscribe((oldValue, newValue) -> {
-            if (newValue == null) {
+            if (newValue == null || isFastForwarded()) {
                 return;
             }
-            Platform.runLater(() -> gameBoardBuilder.setRoundCounter(newValue.intValue()));
+            UiUpdateDispatcher.getInstance().submit(
+                roundCounterProperty, () -> gameBoardBuilder.setRoundCounter(newValue.intValue()));
         });
     }
 
+    /**
+     * Lets the game board follow the given pace of its game and shows the fast-forward controls, if the game can be
+     * fast-forwarded. The game then starts at the speed {@link projekt.Config#FAST_FORWARD_SPEED}.
+     * While the game is fast-forwarded, the game board no longer follows every change of the game, but draws the
+     * snapshots sampled by a {@link SnapshotSampler}.
+     * Must be called before the view is built; the sampler starts once the game board is shown.
+     *
+     * @param fastForward the pace of the game
+     */
+    public void followFastForward(final FastForward fastForward) {
+        if (!fastForward.isAvailable()) {
+            return;
+        }
+        this.fastForward = fastForward;
+        fastForward.applyDefaultSpeed();
+        gameBoardBuilder.setFastForwardControls(new FastForwardBuilder(
+            fastForward.getSpeed(), fastForward::setSpeed,
+            fastForward.getRenderEveryNthTurn(), fastForward::setRenderEveryNthTurn
+        ).build());
+        this.snapshotSampler = new SnapshotSampler(
+            fastForward,
+            hexGridController::suspendTracking,
+            this::drawSnapshot,
+            hexGridController::resumeTracking
+        );
+    }
+
+    /**
+     * Returns whether the game is fast-forwarded, so that the game board does not follow its changes.
+     *
+     * @return whether the game is fast-forwarded
+     */
+    private boolean isFastForwarded() {
+        return fastForward != null && fastForward.isActive();
+    }
+
+    /**
+     * Draws the given snapshot of the fast-forwarded game.
+     *
+     * @param previous the previously drawn snapshot or {@code null}, if the whole board is to be drawn
+     * @param snapshot the snapshot to draw
+     */
+    private void drawSnapshot(final GameSnapshot previous, final GameSnapshot snapshot) {
+        hexGridController.drawSnapshot(fastForward.getBoard(), previous, snapshot);
+        gameBoardBuilder.setDiceRoll(snapshot.diceRoll());
+        gameBoardBuilder.setRoundCounter(snapshot.round());
+        if (snapshot.activeSeat() >= 0) {
+            gameBoardBuilder.updatePlayerInformation(
+                gameState.getPlayers().get(snapshot.activeSeat()), gameState.getPlayers(), Map.of());
+        }
+    }
+
+    /**
+     * Returns the sampler drawing the snapshots of the fast-forwarded game.
+     *
+     * @return the sampler or {@code null}, if the game cannot be fast-forwarded
+     */
+    public SnapshotSampler getSnapshotSampler() {
+        return snapshotSampler;
+    }
+
     /**
      * Returns the hex grid controller.
      *
@@ -92,14 +172,18 @@ public class GameBoardController implements SceneController {
     }
 
     /**
-     * Updates the player information on the game board.
+     * Updates the player information on the game board, unless the game is fast-forwarded.
      *
      * @param player           the current player
      * @param changedResources the resources that have changed for the current
      *                         player
      */
     public void updatePlayerInformation(final Player player, final Map<ResourceType, Integer> changedResources) {
-        Platform.runLater(
+        if (isFastForwarded()) {
+            return;
+        }
+        UiUpdateDispatcher.getInstance().submit(
+            playerInformationTarget,
             () -> gameBoardBuilder.updatePlayerInformation(player, gameState.getPlayers(), changedResources));
     }
 
@@ -108,6 +192,14 @@ public class GameBoardController implements SceneController {
         return "Catan";
     }
 
+    @Override
+    public void onShown() {
+        if (snapshotSampler != null) {
+            snapshotSampler.start();
+        }
+        performanceOverlayController.start();
+    }
+
     @Override
     public Builder<Region> getBuilder() {
         return gameBoardBuilder;
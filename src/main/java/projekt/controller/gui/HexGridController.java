@@ -1,18 +1,26 @@
 package projekt.controller.gui;
 
-import javafx.application.Platform;
 import javafx.event.Event;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.input.ScrollEvent;
 import javafx.scene.layout.Region;
 import javafx.util.Builder;
 import org.tudalgo.algoutils.student.annotation.DoNotTouch;
+import projekt.Config;
+import projekt.controller.ai.BoardIndex;
 import projekt.controller.gui.tiles.TileController;
 import projekt.model.HexGrid;
 import projekt.model.Intersection;
 import projekt.model.buildings.Edge;
 import projekt.model.tiles.Tile;
+import projekt.net.GameSnapshot;
+import projekt.view.CanvasHexGridBuilder;
+import projekt.view.EdgeLine;
+import projekt.view.HexGridChangeTracker;
 import projekt.view.HexGridBuilder;
+import projekt.view.HexGridRenderer;
+import projekt.view.IntersectionBuilder;
+import projekt.view.tiles.TileBuilder;
 
 import java.util.Collections;
 import java.util.Map;
@@ -26,7 +34,7 @@ import java.util.stream.Collectors;
 @DoNotTouch
 public class HexGridController implements Controller {
     private final HexGrid hexGrid;
-    private final HexGridBuilder builder;
+    private final HexGridRenderer builder;
     private final Map<Intersection, IntersectionController> intersectionControllers;
     private final Map<Edge, EdgeController> edgeControllers;
     private final Map<Tile, TileController> tileControllers;
@@ -44,14 +52,22 @@ public class HexGridController implements Controller {
             .collect(Collectors.toMap(EdgeController::getEdge, controller -> controller));
         this.tileControllers = hexGrid.getTiles().values().stream().map(TileController::new)
             .collect(Collectors.toMap(TileController::getTile, controller -> controller));
-        this.builder = new HexGridBuilder(hexGrid,
-                                          intersectionControllers.values().stream().map(IntersectionController::getBuilder)
-                                              .collect(Collectors.toSet()),
-                                          edgeControllers.values().stream().map(EdgeController::getEdgeLine).collect(Collectors.toSet()),
-                                          tileControllers.values().stream().map(TileController::getBuilder).collect(Collectors.toSet()),
-                                          this::zoomHandler, this::mousePressedHandler, this::mouseDraggedHandler, this::centerPaneHandler
-        );
+        final Set<IntersectionBuilder> intersectionBuilders = intersectionControllers.values().stream()
+            .map(IntersectionController::getBuilder).collect(Collectors.toSet());
+        final Set<EdgeLine> edgeLines = edgeControllers.values().stream()
+            .map(EdgeController::getEdgeLine).collect(Collectors.toSet());
+        final Set<TileBuilder> tileBuilders = tileControllers.values().stream()
+            .map(TileController::getBuilder).collect(Collectors.toSet());
+        this.builder = Config.CANVAS_RENDERER
+            ? new CanvasHexGridBuilder(hexGrid, intersectionBuilders, edgeLines, tileBuilders,
+                                       this::zoomHandler, this::mousePressedHandler, this::mouseDraggedHandler, this::centerPaneHandler
+            )
+            : new HexGridBuilder(hexGrid, intersectionBuilders, edgeLines, tileBuilders,
+                                 this::zoomHandler, this::mousePressedHandler, this::mouseDraggedHandler, this::centerPaneHandler
+            );
         this.hexGrid = hexGrid;
+        this.builder.getChangeTracker().setChangeHandler(this::drawChanged);
+        hexGrid.addListener(this.builder.getChangeTracker());
     }
 
     /**
@@ -99,19 +115,19 @@ public class HexGridController implements Controller {
     /**
      * The handler for the zoom event.
      * <p>
-     * Zooms the pane in and out.
+     * Zooms the pane in and out. Every step changes the scale by the same factor, so large boards can be zoomed out
+     * down to {@link Config#MIN_ZOOM} as smoothly as small boards around the default scale.
      *
      * @param event the event that triggered the handler
      * @param pane  the pane to zoom
      */
     private void zoomHandler(final ScrollEvent event, final Region pane) {
-        final double minTileScale = 0.5;
-
-        if (pane.getScaleX() <= minTileScale && event.getDeltaY() < 0 || event.getDeltaY() == 0) {
+        if (pane.getScaleX() <= Config.MIN_ZOOM && event.getDeltaY() < 0 || event.getDeltaY() == 0) {
             return;
         }
-        pane.setScaleX(pane.getScaleX() + event.getDeltaY() / 500);
-        pane.setScaleY(pane.getScaleY() + event.getDeltaY() / 500);
+        final double scale = Math.max(Config.MIN_ZOOM, pane.getScaleX() * Math.max(0.5, 1 + event.getDeltaY() / 500));
+        pane.setScaleX(scale);
+        pane.setScaleY(scale);
     }
 
     /**
@@ -176,24 +192,122 @@ public class HexGridController implements Controller {
     }
 
     /**
-     * Draws all tiles again.
+     * Draws the tiles that changed since they were last drawn, or all tiles, if the hex grid does not report its
+     * changes.
      */
     public void drawTiles() {
-        Platform.runLater(() -> builder.drawTiles());
+        if (hexGrid.reportsChanges()) {
+            drawChanged();
+        } else {
+            UiUpdateDispatcher.getInstance().submit(tileControllers, builder::drawTiles);
+        }
     }
 
     /**
-     * Draws all intersections again.
+     * Draws the intersections that changed since they were last drawn, or all intersections, if the hex grid does
+     * not report its changes.
      */
     public void drawIntersections() {
-        Platform.runLater(() -> builder.drawIntersections());
+        if (hexGrid.reportsChanges()) {
+            drawChanged();
+        } else {
+            UiUpdateDispatcher.getInstance().submit(intersectionControllers, builder::drawIntersections);
+        }
     }
 
     /**
-     * Draws all edges again.
+     * Draws the edges that changed since they were last drawn, or all edges, if the hex grid does not report its
+     * changes.
      */
     public void drawEdges() {
-        Platform.runLater(() -> builder.drawEdges());
+        if (hexGrid.reportsChanges()) {
+            drawChanged();
+        } else {
+            UiUpdateDispatcher.getInstance().submit(edgeControllers, builder::drawEdges);
+        }
+    }
+
+    /**
+     * Draws the tiles, intersections and edges that changed since they were last drawn, once per pulse.
+     * Changes of the hex grid call this method on their own, so only the changed nodes are touched.
+     */
+    private void drawChanged() {
+        UiUpdateDispatcher.getInstance().submit(builder, builder::drawChanged);
+    }
+
+    /**
+     * Stops drawing the changes of the hex grid as they happen, e.g. while the game is fast-forwarded.
+     * The view then only changes with {@link #drawSnapshot(BoardIndex, GameSnapshot, GameSnapshot)}.
+     */
+    public void suspendTracking() {
+        hexGrid.removeListener(builder.getChangeTracker());
+    }
+
+    /**
+     * Draws the changes of the hex grid as they happen again and draws all elements once, since changes
+     * made while the tracking was suspended have not been drawn.
+     */
+    public void resumeTracking() {
+        hexGrid.addListener(builder.getChangeTracker());
+        markAllChanged();
+        builder.drawChanged();
+    }
+
+    /**
+     * Draws the tiles, intersections and edges whose state differs between the given snapshots of the game.
+     * The elements are drawn from the hex grid, which may already be ahead of the snapshot; they are drawn again
+     * with the next snapshot in that case.
+     *
+     * @param board    the index of the board the snapshots refer to
+     * @param previous the last drawn snapshot or {@code null}, if all elements are to be drawn
+     * @param snapshot the snapshot to draw
+     */
+    public void drawSnapshot(final BoardIndex board, final GameSnapshot previous, final GameSnapshot snapshot) {
+        final HexGridChangeTracker tracker = builder.getChangeTracker();
+        if (previous == null) {
+            markAllChanged();
+        } else {
+            for (int intersection = 0; intersection < board.getIntersectionCount(); intersection++) {
+                if (previous.settlementOwners()[intersection] != snapshot.settlementOwners()[intersection]
+                    || previous.settlementLevels()[intersection] != snapshot.settlementLevels()[intersection]) {
+                    tracker.intersectionChanged(board.getIntersection(intersection));
+                }
+            }
+            for (int edge = 0; edge < board.getEdgeCount(); edge++) {
+                if (previous.roadOwners()[edge] != snapshot.roadOwners()[edge]) {
+                    tracker.edgeChanged(board.getEdge(edge));
+                }
+            }
+            if (previous.robberTile() != snapshot.robberTile()) {
+                if (previous.robberTile() >= 0) {
+                    tracker.tileChanged(board.getTile(previous.robberTile()));
+                }
+                if (snapshot.robberTile() >= 0) {
+                    tracker.tileChanged(board.getTile(snapshot.robberTile()));
+                }
+            }
+        }
+        builder.drawChanged();
+    }
+
+    /**
+     * Marks all tiles, intersections and edges as changed.
+     */
+    private void markAllChanged() {
+        final HexGridChangeTracker tracker = builder.getChangeTracker();
+        hexGrid.getTiles().values().forEach(tracker::tileChanged);
+        hexGrid.getIntersections().values().forEach(tracker::intersectionChanged);
+        hexGrid.getEdges().values().forEach(tracker::edgeChanged);
+    }
+
+    /**
+     * Returns the tracker of the tiles, intersections and edges that changed since they were last drawn, which also
+     * counts the nodes touched per draw.
+     *
+     * @return the change tracker
+     */
+    public HexGridChangeTracker getChangeTracker() {
+        return builder.getChangeTracker();
     }
 
     @Override
@@ -1,6 +1,5 @@
 package projekt.controller.gui;
 
-import javafx.application.Platform;
 import javafx.scene.input.MouseEvent;
 import projekt.model.Intersection;
 import projekt.view.IntersectionBuilder;
@@ -37,14 +36,14 @@ public class IntersectionController implements Controller {
      * @param handler the handler to call when the intersection is clicked
      */
     public void highlight(final Consumer<MouseEvent> handler) {
-        Platform.runLater(() -> buidler.highlight(handler));
+        UiUpdateDispatcher.getInstance().submit(buidler, () -> buidler.highlight(handler));
     }
 
     /**
      * Unhighlights the intersection.
      */
     public void unhighlight() {
-        Platform.runLater(() -> buidler.unhighlight());
+        UiUpdateDispatcher.getInstance().submit(buidler, buidler::unhighlight);
     }
 
     @Override
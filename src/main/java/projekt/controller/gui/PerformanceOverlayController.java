@@ -0,0 +1,210 @@
+package projekt.controller.gui;
+
+import javafx.animation.AnimationTimer;
+import javafx.beans.property.Property;
+import javafx.scene.layout.Region;
+import javafx.util.Builder;
+import projekt.controller.PlayerController;
+import projekt.controller.metrics.LatencyRing;
+import projekt.controller.metrics.PerformanceMetrics;
+import projekt.view.HexGridChangeTracker;
+import projekt.view.PerformanceOverlayBuilder;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * The controller for the performance overlay of the game board, which is toggled with {@code F3}.
+ * <p>
+ * While the overlay is shown, a timer records the time between two pulses and refreshes the overlay twice per
+ * second with the frame rate and frame time percentiles, the tasks waiting for the JavaFX application thread, the
+ * nodes touched by the last draw of the hex grid, the latency of the turns and the execution time of the slowest
+ * player actions, the time to the first frame of the scenes, the heap usage and the garbage collections since the
+ * last refresh.
+ * While the overlay is hidden, the timer is stopped and {@link PerformanceMetrics} records nothing.
+ */
+public class PerformanceOverlayController implements Controller {
+    private static final long REFRESH_NANOS = 500_000_000L;
+    private static final int SHOWN_ACTIONS = 3;
+
+    private final PerformanceMetrics metrics = PerformanceMetrics.getInstance();
+    private final PerformanceOverlayBuilder builder = new PerformanceOverlayBuilder();
+    private final HexGridChangeTracker changeTracker;
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(final long now) {
+            pulse(now);
+        }
+    };
+    private Region overlay;
+    private long lastPulse;
+    private long lastRefresh;
+    private long lastGcCount;
+    private long lastGcMillis;
+    private long turnStart;
+
+    /**
+     * Creates a new performance overlay controller.
+     * Measures the latency of the turns by the time between the active player being set and being reset.
+     *
+     * @param activePlayerControllerProperty the active player controller property
+     * @param changeTracker                  the change tracker of the hex grid
+     */
+    public PerformanceOverlayController(
+        final Property<PlayerController> activePlayerControllerProperty,
+        final HexGridChangeTracker changeTracker
+    ) {
+        this.changeTracker = changeTracker;
+        activePlayerControllerProperty.subscribe((oldValue, newValue) -> {
+            if (!metrics.isEnabled()) {
+                turnStart = 0;
+            } else if (newValue != null) {
+                turnStart = System.nanoTime();
+            } else if (oldValue != null && turnStart != 0) {
+                metrics.recordTurn(System.nanoTime() - turnStart);
+            }
+        });
+    }
+
+    /**
+     * Shows or hides the overlay.
+     */
+    public void toggle() {
+        setShown(!metrics.isEnabled());
+    }
+
+    /**
+     * Shows or hides the overlay, enabling or disabling the {@link PerformanceMetrics} with it.
+     *
+     * @param shown whether the overlay is shown
+     */
+    public void setShown(final boolean shown) {
+        metrics.setEnabled(shown);
+        overlay.setVisible(shown);
+        if (shown) {
+            start();
+        } else {
+            timer.stop();
+        }
+    }
+
+    /**
+     * Starts measuring the frame times, if the overlay is shown. Must be called on the JavaFX application thread
+     * once the overlay is shown.
+     */
+    public void start() {
+        if (metrics.isEnabled()) {
+            lastPulse = 0;
+            timer.start();
+        }
+    }
+
+    /**
+     * Stops measuring the frame times, e.g. when the game board is left. The overlay is shown again with the next
+     * game board, if it is shown now.
+     */
+    public void stop() {
+        timer.stop();
+    }
+
+    /**
+     * Records the time since the last pulse and refreshes the overlay, if it has not been refreshed for a while.
+     *
+     * @param now the time of the current pulse
+     */
+    private void pulse(final long now) {
+        if (lastPulse == 0) {
+            lastRefresh = now;
+            countGarbageCollections();
+        } else {
+            metrics.recordFrame(now - lastPulse);
+        }
+        lastPulse = now;
+        if (now - lastRefresh >= REFRESH_NANOS) {
+            refresh(now - lastRefresh);
+            lastRefresh = now;
+        }
+    }
+
+    /**
+     * Counts the garbage collections of all collectors since the last call.
+     *
+     * @return the amount of collections and the time spent collecting since the last call, in milliseconds
+     */
+    private long[] countGarbageCollections() {
+        long gcCount = 0;
+        long gcMillis = 0;
+        for (final GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcCount += Math.max(0, collector.getCollectionCount());
+            gcMillis += Math.max(0, collector.getCollectionTime());
+        }
+        final long[] collections = {gcCount - lastGcCount, gcMillis - lastGcMillis};
+        lastGcCount = gcCount;
+        lastGcMillis = gcMillis;
+        return collections;
+    }
+
+    /**
+     * Refreshes the text of the overlay.
+     *
+     * @param elapsedNanos the time since the last refresh
+     */
+    private void refresh(final long elapsedNanos) {
+        final StringBuilder text = new StringBuilder();
+        final LatencyRing.Snapshot frames = metrics.getFrames().snapshot();
+        text.append(String.format(
+            "FPS %.1f | frame %s%n",
+            frames.meanNanos() == 0 ? 0 : 1e9 / frames.meanNanos(),
+            frames
+        ));
+        final UiUpdateDispatcher dispatcher = UiUpdateDispatcher.getInstance();
+        text.append(String.format(
+            "FX queue: %d runLater | %d updates (max %d)%n",
+            metrics.getPendingRunLaterCount(),
+            dispatcher.getQueueDepth(),
+            dispatcher.getMaxQueueDepth()
+        ));
+        text.append(String.format("Hex grid: %d nodes touched by the last draw%n", changeTracker.getLastTouchedCount()));
+        final LatencyRing.Snapshot turns = metrics.getTurns().snapshot();
+        text.append(String.format("Turns: %s (%d)%n", turns, turns.recorded()));
+        metrics.getActions().entrySet().stream()
+            .map(entry -> Map.entry(entry.getKey(), entry.getValue().snapshot()))
+            .sorted(Comparator.comparingLong(entry -> -entry.getValue().p95Nanos()))
+            .limit(SHOWN_ACTIONS)
+            .forEach(entry -> text.append(String.format(
+                "%s: %s (%d)%n", entry.getKey(), entry.getValue(), entry.getValue().recorded())));
+        if (!metrics.getFirstFrames().isEmpty()) {
+            text.append("First frame:");
+            metrics.getFirstFrames().entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> text.append(String.format(" %s %.1f ms", entry.getKey(), entry.getValue() / 1e6)));
+            text.append(System.lineSeparator());
+        }
+
+        final Runtime runtime = Runtime.getRuntime();
+        final long[] collections = countGarbageCollections();
+        text.append(String.format(
+            "Heap %d / %d MB | GC %d (%d ms) in the last %.1f s",
+            (runtime.totalMemory() - runtime.freeMemory()) >> 20,
+            runtime.maxMemory() >> 20,
+            collections[0],
+            collections[1],
+            elapsedNanos / 1e9
+        ));
+        builder.setText(text.toString());
+    }
+
+    @Override
+    public Builder<Region> getBuilder() {
+        return builder;
+    }
+
+    @Override
+    public Region buildView() {
+        overlay = builder.build();
+        overlay.setVisible(metrics.isEnabled());
+        return overlay;
+    }
+}
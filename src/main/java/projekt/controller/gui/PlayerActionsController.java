@@ -1,6 +1,5 @@
 package projekt.controller.gui;
 
-import javafx.application.Platform;
 import javafx.beans.property.Property;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.event.ActionEvent;
@@ -77,33 +76,38 @@ public class PlayerActionsController implements Controller {
         final GameBoardController gameBoardController,
         final Property<PlayerController> playerControllerProperty
     ) {
+        final UiUpdateDispatcher dispatcher = UiUpdateDispatcher.getInstance();
         this.playerControllerProperty.subscribe((oldValue, newValue) -> {
-            Platform.runLater(() -> {
-                playerObjectiveSubscription.unsubscribe();
-                playerObjectiveSubscription = newValue.getPlayerObjectiveProperty().subscribe((
-                                                                                                  oldObjective,
-                                                                                                  newObjective
-                                                                                              ) -> Platform.runLater(() -> this.playerObjectiveProperty.setValue(newObjective)));
-
-                playerStateSubscription.unsubscribe();
-                playerStateSubscription = newValue.getPlayerStateProperty().subscribe(
-                    (oldState, newState) -> Platform.runLater(() -> this.playerStateProperty.setValue(newState)));
-                this.playerStateProperty.setValue(newValue.getPlayerStateProperty().getValue());
-                this.playerObjectiveProperty.setValue(newValue.getPlayerObjectiveProperty().getValue());
-            });
+            // already on the application thread; pending updates of the previous player are replaced
+            playerObjectiveSubscription.unsubscribe();
+            playerObjectiveSubscription = newValue.getPlayerObjectiveProperty().subscribe(
+                (oldObjective, newObjective) -> dispatcher.submit(
+                    this.playerObjectiveProperty, () -> this.playerObjectiveProperty.setValue(newObjective)));
+
+            playerStateSubscription.unsubscribe();
+            playerStateSubscription = newValue.getPlayerStateProperty().subscribe(
+                (oldState, newState) -> dispatcher.submit(
+                    this.playerStateProperty, () -> this.playerStateProperty.setValue(newState)));
+            dispatcher.submit(
+                this.playerStateProperty,
+                () -> this.playerStateProperty.setValue(newValue.getPlayerStateProperty().getValue())
+            );
+            dispatcher.submit(
+                this.playerObjectiveProperty,
+                () -> this.playerObjectiveProperty.setValue(newValue.getPlayerObjectiveProperty().getValue())
+            );
         });
         this.gameBoardController = gameBoardController;
         playerControllerProperty.subscribe((oldValue, newValue) -> {
-            Platform.runLater(() -> {
-                if (newValue == null) {
-                    return;
-                }
-                this.playerControllerProperty.setValue(newValue);
-            });
-        });
-        Platform.runLater(() -> {
-            this.playerControllerProperty.setValue(playerControllerProperty.getValue());
+            if (newValue == null) {
+                return;
+            }
+            dispatcher.submit(this.playerControllerProperty, () -> this.playerControllerProperty.setValue(newValue));
         });
+        dispatcher.submit(
+            this.playerControllerProperty,
+            () -> this.playerControllerProperty.setValue(playerControllerProperty.getValue())
+        );
 
         this.builder = new PlayerActionsBuilder(
             actionWrapper(this::buildVillageButtonAction, true),
@@ -16,6 +16,14 @@ public interface SceneController extends Controller {
      */
     String getTitle();
 
+    /**
+     * Called on the JavaFX application thread once the scene of this controller is shown.
+     * Scenes may be built on another thread, so anything that needs the application thread, like starting
+     * timers, belongs here instead of into the constructor or {@link #buildView()}.
+     */
+    default void onShown() {
+    }
+
     // --Setup Methods-- //
 
     /**
@@ -1,10 +1,20 @@
 package projekt.controller.gui;
 
+import javafx.application.Platform;
 import javafx.scene.Scene;
+import javafx.scene.layout.Region;
 import javafx.stage.Stage;
 import org.tudalgo.algoutils.student.annotation.DoNotTouch;
+import projekt.Config;
 import projekt.controller.GameController;
+import projekt.controller.metrics.PerformanceMetrics;
 
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -12,13 +22,27 @@ import java.util.function.Supplier;
  * A SceneSwitcher is responsible for switching between the different
  * {@link Scene}s.
  * It is a singleton and can be accessed via {@link #getInstance()}.
+ * <p>
+ * Scenes without state are built once and shown again from a cache. The game board is built on a background thread
+ * while the previous scene stays responsive, and only attached to the {@link Stage} on the JavaFX application thread.
+ * The time from requesting a scene to its first laid out frame is printed and recorded into the
+ * {@link PerformanceMetrics}.
  */
 @DoNotTouch
 public class SceneSwitcher {
     private final Stage stage;
     private GameController gameController;
+    private GameController boardGameController;
     private static SceneSwitcher INSTANCE;
     private final Consumer<GameController> gameLoopStarter;
+    private final Map<SceneType, LoadedScene> cachedScenes = new EnumMap<>(SceneType.class);
+    private final ExecutorService sceneBuilder = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "SceneBuilderThread");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private long loadCount;
+    private boolean firstFrameShown;
 
     /**
      * Creates a new SceneSwitcher.
@@ -66,35 +90,55 @@ public class SceneSwitcher {
      * The different types of scenes that can be loaded.
      */
     public enum SceneType {
-        MAIN_MENU(MainMenuSceneController::new),
+        MAIN_MENU(MainMenuSceneController::new, true, false),
         CREATE_GAME(() -> {
             SceneSwitcher.getInstance().gameController = new GameController();
             return new CreateGameController(SceneSwitcher.getInstance().gameController.getState());
-        }),
+        }, false, false),
         GAME_BOARD(() -> {
-            SceneSwitcher.getInstance().gameLoopStarter.accept(SceneSwitcher.getInstance().gameController);
-            return new GameBoardController(
+            final GameBoardController gameBoardController = new GameBoardController(
                 getInstance().gameController.getState(),
                 getInstance().gameController.getActivePlayerControllerProperty(),
                 getInstance().gameController.getCurrentDiceRollProperty(),
                 getInstance().gameController.getState().getWinnerProperty(),
                 getInstance().gameController.getRoundCounterProperty()
             );
-        }),
-        ABOUT(AboutController::new);
+            gameBoardController.followFastForward(getInstance().gameController.getFastForward());
+            return gameBoardController;
+        }, false, true),
+        ABOUT(AboutController::new, true, false);
 
         private final Supplier<SceneController> controller;
+        private final boolean cached;
+        private final boolean builtInBackground;
 
         /**
          * Creates a new SceneType.
          *
-         * @param controller The controller to use for the scene.
+         * @param controller        The controller to use for the scene.
+         * @param cached            Whether the scene has no state and is built only once.
+         * @param builtInBackground Whether the scene is built on a background thread.
          */
-        SceneType(final Supplier<SceneController> controller) {
+        SceneType(
+            final Supplier<SceneController> controller,
+            final boolean cached,
+            final boolean builtInBackground
+        ) {
             this.controller = controller;
+            this.cached = cached;
+            this.builtInBackground = builtInBackground;
         }
     }
 
+    /**
+     * A built scene and its controller.
+     *
+     * @param controller The controller of the scene.
+     * @param scene      The scene.
+     */
+    private record LoadedScene(SceneController controller, Scene scene) {
+    }
+
     /**
      * Loads the given {@link SceneType} and shows it on the {@link Stage}.
      *
@@ -103,11 +147,124 @@ public class SceneSwitcher {
     @DoNotTouch
     public void loadScene(final SceneType sceneType) {
         System.out.println("Loading scene: " + sceneType);
-        final SceneController controller = sceneType.controller.get();
-        final Scene scene = new Scene(controller.buildView());
+        final long load = ++loadCount;
+        final long loadStart = System.nanoTime();
+        final LoadedScene cachedScene = cachedScenes.get(sceneType);
+        if (cachedScene != null) {
+            show(sceneType, cachedScene, loadStart, loadStart);
+        } else if (!sceneType.builtInBackground) {
+            final SceneController controller = sceneType.controller.get();
+            attach(sceneType, controller, controller.buildView(), loadStart);
+        } else {
+            CompletableFuture.supplyAsync(() -> {
+                final SceneController controller = sceneType.controller.get();
+                return Map.entry(controller, controller.buildView());
+            }, sceneBuilder).whenComplete((built, error) -> Platform.runLater(() -> {
+                if (error != null) {
+                    throw new IllegalStateException("Could not build scene " + sceneType, error);
+                }
+                // a scene requested later is already shown or on its way
+                if (load == loadCount) {
+                    attach(sceneType, built.getKey(), built.getValue(), loadStart);
+                }
+            }));
+        }
+    }
+
+    /**
+     * Creates the {@link Scene} for the given view on the JavaFX application thread and shows it.
+     *
+     * @param sceneType  The type of the scene.
+     * @param controller The controller of the scene.
+     * @param view       The built view of the scene.
+     * @param loadStart  The time the scene was requested at.
+     */
+    private void attach(
+        final SceneType sceneType,
+        final SceneController controller,
+        final Region view,
+        final long loadStart
+    ) {
+        final long builtAt = System.nanoTime();
+        final Scene scene = new Scene(view);
         scene.getStylesheets().add("css/hexmap.css");
-        stage.setScene(scene);
-        stage.setTitle(controller.getTitle());
+        final LoadedScene loadedScene = new LoadedScene(controller, scene);
+        if (sceneType.cached) {
+            cachedScenes.put(sceneType, loadedScene);
+        }
+        show(sceneType, loadedScene, loadStart, builtAt);
+    }
+
+    /**
+     * Shows the given scene on the {@link Stage} and starts the game loop, if the scene is the game board.
+     * The game loop only starts once the game board is attached, so that no changes of the game race with building
+     * the game board. Leaving the game board closes the {@link projekt.controller.ai.AiExecutor} of its game.
+     *
+     * @param sceneType   The type of the scene.
+     * @param loadedScene The scene to show.
+     * @param loadStart   The time the scene was requested at.
+     * @param builtAt     The time the scene was built at.
+     */
+    private void show(
+        final SceneType sceneType,
+        final LoadedScene loadedScene,
+        final long loadStart,
+        final long builtAt
+    ) {
+        measureFirstFrame(sceneType, loadedScene.scene(), loadStart, builtAt);
+        stage.setScene(loadedScene.scene());
+        stage.setTitle(loadedScene.controller().getTitle());
         stage.show();
+        loadedScene.controller().onShown();
+        if (sceneType == SceneType.GAME_BOARD) {
+            boardGameController = gameController;
+            gameLoopStarter.accept(gameController);
+        } else if (boardGameController != null) {
+            // the game board has been left, so its AIs do not need their threads anymore
+            boardGameController.closeAiExecutor();
+            boardGameController = null;
+        }
+    }
+
+    /**
+     * Prints and records the time from requesting the given scene to its first laid out frame.
+     * The first frame of the application additionally prints the time since the start of the JVM and exits the
+     * application, if {@link Config#EXIT_AFTER_FIRST_FRAME} is set.
+     *
+     * @param sceneType The type of the scene.
+     * @param scene     The scene.
+     * @param loadStart The time the scene was requested at.
+     * @param builtAt   The time the scene was built at.
+     */
+    private void measureFirstFrame(
+        final SceneType sceneType,
+        final Scene scene,
+        final long loadStart,
+        final long builtAt
+    ) {
+        scene.addPostLayoutPulseListener(new Runnable() {
+            @Override
+            public void run() {
+                scene.removePostLayoutPulseListener(this);
+                final long firstFrameNanos = System.nanoTime() - loadStart;
+                PerformanceMetrics.getInstance().recordFirstFrame(sceneType.name(), firstFrameNanos);
+                System.out.printf(
+                    "Scene %s: first frame after %.1f ms (built in %.1f ms)%n",
+                    sceneType,
+                    firstFrameNanos / 1e6,
+                    (builtAt - loadStart) / 1e6
+                );
+                if (!firstFrameShown) {
+                    firstFrameShown = true;
+                    System.out.printf(
+                        "First frame %d ms after the start of the JVM%n",
+                        ManagementFactory.getRuntimeMXBean().getUptime()
+                    );
+                    if (Config.EXIT_AFTER_FIRST_FRAME) {
+                        Platform.exit();
+                    }
+                }
+            }
+        });
     }
 }
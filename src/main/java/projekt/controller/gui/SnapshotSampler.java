@@ -0,0 +1,92 @@
+package projekt.controller.gui;
+
+import javafx.animation.AnimationTimer;
+import projekt.Config;
+import projekt.controller.FastForward;
+import projekt.net.GameSnapshot;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Samples the latest {@link GameSnapshot} of a fast-forwarded game at {@link Config#FAST_FORWARD_FRAME_RATE}.
+ * <p>
+ * While the game is fast-forwarded, its view does not follow the changes of the game. Instead, this timer passes
+ * every snapshot it finds to the sample handler, together with the previously passed one, so that the view only
+ * draws what differs between the two. Snapshots published between two samples are skipped. When the game starts or
+ * stops being fast-forwarded, the timer calls the suspend or resume handler, which stop or restart following the
+ * changes of the game. The first snapshot after suspending is passed without a previous one, since the view may
+ * have changed in the meantime.
+ */
+public final class SnapshotSampler extends AnimationTimer {
+    private static final long FRAME_NANOS = 1_000_000_000L / Config.FAST_FORWARD_FRAME_RATE;
+
+    private final FastForward fastForward;
+    private final Runnable onSuspend;
+    private final BiConsumer<GameSnapshot, GameSnapshot> onSample;
+    private final Runnable onResume;
+    private boolean active;
+    private boolean sampled;
+    private long lastSample;
+    private GameSnapshot drawn;
+    private GameSnapshot stale;
+    private long sampleCount;
+
+    /**
+     * Creates a new sampler of the given game's snapshots.
+     *
+     * @param fastForward the pace of the game
+     * @param onSuspend   stops following the changes of the game
+     * @param onSample    draws the given snapshot, given the previously drawn one or {@code null}
+     * @param onResume    follows the changes of the game again
+     */
+    public SnapshotSampler(
+        final FastForward fastForward,
+        final Runnable onSuspend,
+        final BiConsumer<GameSnapshot, GameSnapshot> onSample,
+        final Runnable onResume
+    ) {
+        this.fastForward = fastForward;
+        this.onSuspend = onSuspend;
+        this.onSample = onSample;
+        this.onResume = onResume;
+    }
+
+    @Override
+    public void handle(final long now) {
+        if (sampled && now - lastSample < FRAME_NANOS) {
+            return;
+        }
+        sampled = true;
+        lastSample = now;
+        if (fastForward.isActive() != active) {
+            active = !active;
+            if (active) {
+                // the latest snapshot may be left over from an earlier fast-forward and older than the view
+                stale = fastForward.getLatestSnapshot();
+                drawn = null;
+                onSuspend.run();
+            } else {
+                onResume.run();
+            }
+        }
+        if (!active) {
+            return;
+        }
+        final GameSnapshot snapshot = fastForward.getLatestSnapshot();
+        if (snapshot == null || snapshot == drawn || snapshot == stale) {
+            return;
+        }
+        onSample.accept(drawn, snapshot);
+        drawn = snapshot;
+        sampleCount++;
+    }
+
+    /**
+     * Returns the amount of drawn snapshots.
+     *
+     * @return the amount of drawn snapshots
+     */
+    public long getSampleCount() {
+        return sampleCount;
+    }
+}
@@ -0,0 +1,239 @@
+package projekt.controller.gui;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import projekt.controller.metrics.PerformanceMetrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Collects updates of the user interface from any thread and runs them on the JavaFX application thread, at most
+ * once per pulse.
+ * <p>
+ * Updates are submitted for a target, e.g. the property or builder they write to. A pending update of a target is
+ * replaced by a newer update of the same target, so only the last value is applied when the model changes faster
+ * than the screen refreshes. Targets keep the position of their first pending update, and updates submitted without
+ * a target are never replaced. Instead of one {@link Platform#runLater(Runnable)} per update, an
+ * {@link AnimationTimer} flushes all pending updates once per pulse and stops as soon as a pulse finds nothing to do.
+ * <p>
+ * The dispatcher counts submitted and replaced updates and measures the queue depth and the time spent flushing.
+ */
+public final class UiUpdateDispatcher {
+    private static UiUpdateDispatcher instance;
+    private static AnimationTimer timer;
+
+    private final Runnable wakeUp;
+    private final Object lock = new Object();
+    private Map<Object, Runnable> pending = new LinkedHashMap<>();
+    private Map<Object, Runnable> flushing = new LinkedHashMap<>();
+    private boolean scheduled;
+    private long submittedCount;
+    private long coalescedCount;
+    private int maxQueueDepth;
+    private volatile long flushCount;
+    private volatile long flushedCount;
+    private volatile long lastFlushNanos;
+    private volatile long maxFlushNanos;
+    private volatile long totalFlushNanos;
+
+    /**
+     * Creates a new dispatcher.
+     *
+     * @param wakeUp called, from the submitting thread, when an update is submitted while no flush is scheduled; it
+     *               has to make sure {@link #flush()} is called until it returns {@code 0}
+     */
+    UiUpdateDispatcher(final Runnable wakeUp) {
+        this.wakeUp = wakeUp;
+    }
+
+    /**
+     * Returns the dispatcher of the application, flushing once per pulse of the JavaFX application thread.
+     *
+     * @return the dispatcher of the application
+     */
+    public static synchronized UiUpdateDispatcher getInstance() {
+        if (instance == null) {
+            instance = new UiUpdateDispatcher(
+                () -> PerformanceMetrics.getInstance().runLater(UiUpdateDispatcher::startTimer));
+        }
+        return instance;
+    }
+
+    /**
+     * Starts the timer flushing the dispatcher of the application once per pulse, until nothing is left to flush.
+     * Must be called on the JavaFX application thread.
+     */
+    private static void startTimer() {
+        if (timer == null) {
+            timer = new AnimationTimer() {
+                @Override
+                public void handle(final long now) {
+                    if (instance.flush() == 0) {
+                        stop();
+                    }
+                }
+            };
+        }
+        timer.start();
+    }
+
+    /**
+     * Submits an update of the given target, replacing its pending update, if any.
+     *
+     * @param target the target of the update, compared by {@link Object#equals(Object)}
+     * @param update the update
+     */
+    public void submit(final Object target, final Runnable update) {
+        final boolean wake;
+        synchronized (lock) {
+            submittedCount++;
+            if (pending.put(target, update) != null) {
+                coalescedCount++;
+            }
+            maxQueueDepth = Math.max(maxQueueDepth, pending.size());
+            wake = !scheduled;
+            scheduled = true;
+        }
+        if (wake) {
+            wakeUp.run();
+        }
+    }
+
+    /**
+     * Submits an update that is never replaced by other updates.
+     *
+     * @param update the update
+     */
+    public void submit(final Runnable update) {
+        submit(new Object(), update);
+    }
+
+    /**
+     * Runs all pending updates in the order of their targets' first submission.
+     * Updates submitted while flushing are run by the next flush.
+     * Must only be called by one thread at a time, the JavaFX application thread for {@link #getInstance()}.
+     *
+     * @return the amount of updates run; {@code 0} once no flush is scheduled anymore
+     */
+    public int flush() {
+        final long start = System.nanoTime();
+        final Map<Object, Runnable> updates;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                scheduled = false;
+                return 0;
+            }
+            updates = pending;
+            pending = flushing;
+            flushing = updates;
+        }
+        for (final Runnable update : updates.values()) {
+            try {
+                update.run();
+            } catch (final RuntimeException e) {
+                // one failing update must not drop the others, but is still reported like with Platform.runLater
+                Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+            }
+        }
+        final int count = updates.size();
+        updates.clear();
+
+        final long nanos = System.nanoTime() - start;
+        flushCount++;
+        flushedCount += count;
+        lastFlushNanos = nanos;
+        maxFlushNanos = Math.max(maxFlushNanos, nanos);
+        totalFlushNanos += nanos;
+        return count;
+    }
+
+    /**
+     * Returns the amount of pending updates.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        synchronized (lock) {
+            return pending.size();
+        }
+    }
+
+    /**
+     * Returns the highest amount of pending updates so far.
+     *
+     * @return the maximum queue depth
+     */
+    public int getMaxQueueDepth() {
+        synchronized (lock) {
+            return maxQueueDepth;
+        }
+    }
+
+    /**
+     * Returns the amount of submitted updates.
+     *
+     * @return the amount of submitted updates
+     */
+    public long getSubmittedCount() {
+        synchronized (lock) {
+            return submittedCount;
+        }
+    }
+
+    /**
+     * Returns the amount of updates that were replaced by a newer update of their target before they ran.
+     *
+     * @return the amount of replaced updates
+     */
+    public long getCoalescedCount() {
+        synchronized (lock) {
+            return coalescedCount;
+        }
+    }
+
+    /**
+     * Returns the amount of flushes that ran at least one update.
+     *
+     * @return the amount of flushes
+     */
+    public long getFlushCount() {
+        return flushCount;
+    }
+
+    /**
+     * Returns the amount of updates run by all flushes.
+     *
+     * @return the amount of updates run
+     */
+    public long getFlushedCount() {
+        return flushedCount;
+    }
+
+    /**
+     * Returns the time the last flush took.
+     *
+     * @return the duration of the last flush in nanoseconds
+     */
+    public long getLastFlushNanos() {
+        return lastFlushNanos;
+    }
+
+    /**
+     * Returns the time the longest flush took.
+     *
+     * @return the duration of the longest flush in nanoseconds
+     */
+    public long getMaxFlushNanos() {
+        return maxFlushNanos;
+    }
+
+    /**
+     * Returns the time all flushes took.
+     *
+     * @return the total duration of all flushes in nanoseconds
+     */
+    public long getTotalFlushNanos() {
+        return totalFlushNanos;
+    }
+}
@@ -0,0 +1,132 @@
+package projekt.controller.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free ring buffer of the latest latencies of some operation.
+ * <p>
+ * Recording a latency claims the next slot with a single atomic increment and overwrites the oldest latency, so any
+ * amount of threads can record without waiting for each other or for readers. Percentiles are computed from a copy of
+ * the buffer by {@link #snapshot()}; a latency recorded while copying may replace an older one in the copy.
+ */
+public final class LatencyRing {
+
+    private final AtomicLongArray latencies;
+    private final int mask;
+    private final AtomicLong recorded = new AtomicLong();
+
+    /**
+     * Creates a new ring buffer of the given capacity.
+     *
+     * @param capacity the amount of latencies kept, a power of two
+     * @throws IllegalArgumentException if the capacity is not a power of two
+     */
+    public LatencyRing(final int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.latencies = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Records the given latency, replacing the oldest one if the buffer is full.
+     *
+     * @param nanos the latency
+     */
+    public void record(final long nanos) {
+        latencies.set((int) (recorded.getAndIncrement() & mask), nanos);
+    }
+
+    /**
+     * Returns the amount of latencies recorded since the buffer was created or reset.
+     *
+     * @return the amount of recorded latencies
+     */
+    public long getRecordedCount() {
+        return recorded.get();
+    }
+
+    /**
+     * Returns a snapshot of the latencies currently in the buffer.
+     *
+     * @return a snapshot of the latencies
+     */
+    public Snapshot snapshot() {
+        final long recordedCount = recorded.get();
+        final int count = (int) Math.min(recordedCount, latencies.length());
+        final long[] sorted = new long[count];
+        for (int i = 0; i < count; i++) {
+            sorted[i] = latencies.get((int) ((recordedCount - 1 - i) & mask));
+        }
+        Arrays.sort(sorted);
+        long total = 0;
+        for (final long latency : sorted) {
+            total += latency;
+        }
+        return new Snapshot(
+            recordedCount,
+            count,
+            count == 0 ? 0 : total / count,
+            count == 0 ? 0 : sorted[count - 1],
+            percentile(sorted, 0.50),
+            percentile(sorted, 0.95),
+            percentile(sorted, 0.99)
+        );
+    }
+
+    /**
+     * Returns the given percentile of the given sorted latencies, using the nearest rank.
+     *
+     * @param sorted     the sorted latencies
+     * @param percentile the percentile, between 0 and 1
+     * @return the percentile in nanoseconds or {@code 0}, if there are no latencies
+     */
+    private static long percentile(final long[] sorted, final double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.max(0, (int) Math.ceil(sorted.length * percentile) - 1)];
+    }
+
+    /**
+     * Removes all latencies.
+     */
+    public void reset() {
+        recorded.set(0);
+    }
+
+    /**
+     * A snapshot of a {@link LatencyRing}.
+     *
+     * @param recorded  the amount of latencies recorded in total
+     * @param samples   the amount of latencies in the buffer, which the other values are computed from
+     * @param meanNanos the mean latency
+     * @param maxNanos  the maximum latency
+     * @param p50Nanos  the median latency
+     * @param p95Nanos  the 95th percentile latency
+     * @param p99Nanos  the 99th percentile latency
+     */
+    public record Snapshot(
+        long recorded,
+        int samples,
+        long meanNanos,
+        long maxNanos,
+        long p50Nanos,
+        long p95Nanos,
+        long p99Nanos
+    ) {
+
+        @Override
+        public String toString() {
+            return String.format(
+                "p50 %.1f / p95 %.1f / p99 %.1f ms",
+                p50Nanos / 1e6,
+                p95Nanos / 1e6,
+                p99Nanos / 1e6
+            );
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package projekt.controller.metrics;
+
+import javafx.application.Platform;
+import projekt.Config;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The performance metrics of the application, shown by the performance overlay of the game board.
+ * <p>
+ * The metrics consist of the time between two JavaFX pulses, the latency of the turns of the game loop, the
+ * execution time of each type of player action and the amount of tasks waiting to be run by
+ * {@link #runLater(Runnable)}. All of them are recorded into {@link LatencyRing}s or atomic counters without locks.
+ * <p>
+ * Apart from the time to the first frame of each scene, which is measured once per scene anyway, nothing is
+ * recorded while the metrics are disabled; every call site checks {@link #isEnabled()}, which is a single
+ * volatile read, before measuring anything.
+ */
+public final class PerformanceMetrics {
+
+    private static final PerformanceMetrics INSTANCE = new PerformanceMetrics();
+
+    private volatile boolean enabled = Config.PERFORMANCE_OVERLAY;
+    private final LatencyRing frames = new LatencyRing(Config.PERFORMANCE_SAMPLES);
+    private final LatencyRing turns = new LatencyRing(Config.PERFORMANCE_SAMPLES);
+    private final Map<String, LatencyRing> actions = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingRunLater = new AtomicInteger();
+    private final Map<String, Long> firstFrames = new ConcurrentHashMap<>();
+
+    /**
+     * Creates new, empty metrics. Only used directly by tests; the application records into
+     * {@link #getInstance()}.
+     */
+    PerformanceMetrics() {
+    }
+
+    /**
+     * Returns the metrics of the application.
+     *
+     * @return the metrics of the application
+     */
+    public static PerformanceMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns whether the metrics are recorded.
+     *
+     * @return whether the metrics are recorded
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether the metrics are recorded. Enabling them discards the metrics recorded before, since they may be
+     * arbitrarily old.
+     *
+     * @param enabled whether the metrics are recorded
+     */
+    public void setEnabled(final boolean enabled) {
+        if (enabled && !this.enabled) {
+            frames.reset();
+            turns.reset();
+            actions.values().forEach(LatencyRing::reset);
+        }
+        this.enabled = enabled;
+    }
+
+    /**
+     * Records the time between two pulses, if the metrics are enabled.
+     *
+     * @param nanos the time between the pulses
+     */
+    public void recordFrame(final long nanos) {
+        if (enabled) {
+            frames.record(nanos);
+        }
+    }
+
+    /**
+     * Records the latency of a turn of the game loop, if the metrics are enabled.
+     *
+     * @param nanos the latency of the turn
+     */
+    public void recordTurn(final long nanos) {
+        if (enabled) {
+            turns.record(nanos);
+        }
+    }
+
+    /**
+     * Records the execution time of a player action, if the metrics are enabled.
+     *
+     * @param action the name of the action's type
+     * @param nanos  the execution time
+     */
+    public void recordAction(final String action, final long nanos) {
+        if (enabled) {
+            actions.computeIfAbsent(action, name -> new LatencyRing(Config.PERFORMANCE_SAMPLES)).record(nanos);
+        }
+    }
+
+    /**
+     * Records the time from requesting a scene to its first laid out frame, whether the metrics are enabled or not.
+     *
+     * @param scene the name of the scene
+     * @param nanos the time to the first frame
+     */
+    public void recordFirstFrame(final String scene, final long nanos) {
+        firstFrames.put(scene, nanos);
+    }
+
+    /**
+     * Runs the given task on the JavaFX application thread like {@link Platform#runLater(Runnable)}, counting it as
+     * pending until it runs, if the metrics are enabled.
+     *
+     * @param task the task to run
+     */
+    public void runLater(final Runnable task) {
+        if (!enabled) {
+            Platform.runLater(task);
+            return;
+        }
+        pendingRunLater.incrementAndGet();
+        Platform.runLater(() -> {
+            pendingRunLater.decrementAndGet();
+            task.run();
+        });
+    }
+
+    /**
+     * Returns the times between two pulses.
+     *
+     * @return the times between two pulses
+     */
+    public LatencyRing getFrames() {
+        return frames;
+    }
+
+    /**
+     * Returns the latencies of the turns of the game loop.
+     *
+     * @return the latencies of the turns
+     */
+    public LatencyRing getTurns() {
+        return turns;
+    }
+
+    /**
+     * Returns the execution times of the player actions, by the name of the action's type.
+     *
+     * @return the execution times of the player actions
+     */
+    public Map<String, LatencyRing> getActions() {
+        return Collections.unmodifiableMap(actions);
+    }
+
+    /**
+     * Returns the latest times to the first frame, by the name of the scene.
+     *
+     * @return the times to the first frame
+     */
+    public Map<String, Long> getFirstFrames() {
+        return Collections.unmodifiableMap(firstFrames);
+    }
+
+    /**
+     * Returns the amount of tasks passed to {@link #runLater(Runnable)} while the metrics were enabled that have not
+     * run yet.
+     *
+     * @return the amount of pending tasks
+     */
+    public int getPendingRunLaterCount() {
+        return pendingRunLater.get();
+    }
+}
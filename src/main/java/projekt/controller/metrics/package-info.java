@@ -0,0 +1,5 @@
+/**
+ * Contains lock-free recorders of the performance of the game and its GUI, such as frame times, turn latencies and
+ * action execution times, which are shown by the performance overlay of the game board.
+ */
+package projekt.controller.metrics;
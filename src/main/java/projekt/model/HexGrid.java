@@ -223,4 +223,48 @@ public interface HexGrid {
      * @param position the new position of the robber
      */
     void setRobberPosition(TilePosition position);
+
+
+    // Listeners
+
+    /**
+     * Adds a listener notified when a tile, intersection or edge of this grid changes.
+     * The default implementation ignores the listener, see {@link #reportsChanges()}.
+     *
+     * @param listener the listener to add
+     */
+    default void addListener(final HexGridListener listener) {
+    }
+
+    /**
+     * Removes the given listener.
+     *
+     * @param listener the listener to remove
+     */
+    default void removeListener(final HexGridListener listener) {
+    }
+
+    /**
+     * Returns whether this grid notifies its listeners of every change of its tiles, intersections and edges.
+     * Views of grids that do not are drawn in full instead of only their changed elements.
+     *
+     * @return whether this grid notifies its listeners of every change
+     */
+    default boolean reportsChanges() {
+        return false;
+    }
+
+
+    // Hashing
+
+    /**
+     * Returns the Zobrist hash of the current position on this grid, covering roads, settlements and the robber.
+     * The default implementation computes the hash from scratch.
+     *
+     * @return the Zobrist hash of this grid
+     * @see Zobrist
+     */
+    default long getZobristHash() {
+        return Zobrist.hash(this);
+    }
 }
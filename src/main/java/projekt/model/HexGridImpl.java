@@ -20,6 +20,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.BiFunction;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -33,6 +34,8 @@ public class HexGridImpl implements HexGrid {
     private final Map<Set<TilePosition>, Intersection> intersections = new HashMap<>();
     private final Map<Set<TilePosition>, Edge> edges = new HashMap<>();
     private TilePosition robberPosition;
+    private long zobristHash;
+    private final List<HexGridListener> listeners = new CopyOnWriteArrayList<>();
     private final ObservableDoubleValue tileWidth;
     private final ObservableDoubleValue tileHeight;
     private final DoubleProperty tileSize = new SimpleDoubleProperty(50);
@@ -52,6 +55,7 @@ public class HexGridImpl implements HexGrid {
         initIntersections();
         initEdges();
         initRobber();
+        initZobristHash();
     }
 
     /**
@@ -132,6 +136,26 @@ public class HexGridImpl implements HexGrid {
             .ifPresent(tile -> robberPosition = tile.getPosition());
     }
 
+    /**
+     * Initializes the Zobrist hash and keeps it up to date when roads change, notifying the listeners as well.
+     * Settlements update the hash through {@link #toggleZobristKey(long)}.
+     */
+    private void initZobristHash() {
+        this.zobristHash = Zobrist.hash(this);
+        for (final Edge edge : this.edges.values()) {
+            final long edgeCode = Zobrist.code(edge.getAdjacentTilePositions());
+            edge.getRoadOwnerProperty().addListener((observable, oldValue, newValue) -> {
+                if (oldValue != null) {
+                    toggleZobristKey(Zobrist.road(edgeCode, oldValue.getID()));
+                }
+                if (newValue != null) {
+                    toggleZobristKey(Zobrist.road(edgeCode, newValue.getID()));
+                }
+                listeners.forEach(listener -> listener.edgeChanged(edge));
+            });
+        }
+    }
+
 
     // Tiles
 
@@ -262,6 +286,64 @@ public class HexGridImpl implements HexGrid {
 
     @Override
     public void setRobberPosition(final TilePosition position) {
+        toggleZobristKey(Zobrist.robber(robberPosition) ^ Zobrist.robber(position));
+        final Tile previous = getTileAt(robberPosition);
         robberPosition = position;
+        if (previous != null) {
+            listeners.forEach(listener -> listener.tileChanged(previous));
+        }
+        final Tile current = getTileAt(position);
+        if (current != null && current != previous) {
+            listeners.forEach(listener -> listener.tileChanged(current));
+        }
+    }
+
+
+    // Listeners
+
+    @Override
+    public void addListener(final HexGridListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(final HexGridListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Roads are reported by listening to the road owner of every edge, settlements by
+     * {@link IntersectionImpl#setSettlement} and the robber by {@link #setRobberPosition(TilePosition)}.
+     */
+    @Override
+    public boolean reportsChanges() {
+        return true;
+    }
+
+    /**
+     * Notifies the listeners that the settlement on the given intersection changed.
+     *
+     * @param intersection the intersection
+     */
+    void fireIntersectionChanged(final Intersection intersection) {
+        listeners.forEach(listener -> listener.intersectionChanged(intersection));
+    }
+
+
+    // Hashing
+
+    @Override
+    public long getZobristHash() {
+        return zobristHash;
+    }
+
+    /**
+     * Toggles the given Zobrist key in this grid's hash, i.e. adds or removes the feature it belongs to.
+     *
+     * @param key the key to toggle
+     */
+    void toggleZobristKey(final long key) {
+        zobristHash ^= key;
     }
 }
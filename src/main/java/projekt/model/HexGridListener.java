@@ -0,0 +1,37 @@
+package projekt.model;
+
+import projekt.model.buildings.Edge;
+import projekt.model.tiles.Tile;
+
+/**
+ * A listener notified when something on a {@link HexGrid} that is displayed changes, i.e. the robber, a settlement
+ * or a road. Listeners are notified on the thread that changed the grid.
+ *
+ * @see HexGrid#addListener(HexGridListener)
+ */
+public interface HexGridListener {
+
+    /**
+     * Called when the given tile changed, i.e. the robber moved onto or away from it.
+     *
+     * @param tile the tile
+     */
+    default void tileChanged(final Tile tile) {
+    }
+
+    /**
+     * Called when the settlement on the given intersection was placed, upgraded or removed.
+     *
+     * @param intersection the intersection
+     */
+    default void intersectionChanged(final Intersection intersection) {
+    }
+
+    /**
+     * Called when the road on the given edge was placed or removed.
+     *
+     * @param edge the edge
+     */
+    default void edgeChanged(final Edge edge) {
+    }
+}
@@ -77,6 +77,24 @@ public class IntersectionImpl implements Intersection {
         return settlement != null;
     }
 
+    /**
+     * Sets the settlement on this intersection, updates the grid's Zobrist hash and notifies its listeners.
+     * Implementations of {@link #placeVillage(Player, boolean)} and {@link #upgradeSettlement(Player)} should
+     * assign the settlement through this method instead of the field, otherwise views drawing only changed
+     * elements (see {@link HexGrid#reportsChanges()}) and search tables keyed by the hash miss the change.
+     *
+     * @param settlement the new settlement or {@code null} to remove it
+     */
+    void setSettlement(final Settlement settlement) {
+        if (hexGrid instanceof final HexGridImpl grid) {
+            grid.toggleZobristKey(Zobrist.settlement(this.settlement) ^ Zobrist.settlement(settlement));
+            this.settlement = settlement;
+            grid.fireIntersectionChanged(this);
+            return;
+        }
+        this.settlement = settlement;
+    }
+
     @Override
     public boolean playerHasSettlement(final Player player) {
         return settlement != null && settlement.owner().equals(player);
@@ -0,0 +1,173 @@
+package projekt.model;
+
+import projekt.model.buildings.Edge;
+import projekt.model.buildings.Settlement;
+
+import java.util.Set;
+
+/**
+ * Provides 64-bit Zobrist keys for the features of a board position.
+ * <p>
+ * A position's hash is the XOR of the keys of all its features: roads, settlements (villages and cities),
+ * the robber and the player to move. Adding or removing a feature toggles its key, so hashes can be updated
+ * incrementally. Keys are derived deterministically from tile positions and player ids instead of being drawn
+ * from a random table, so every component hashing a position (e.g. {@link HexGridImpl} and the AI's compact
+ * state) agrees on the same keys without sharing state.
+ */
+public final class Zobrist {
+
+    private static final long ROAD = 0x6A09E667F3BCC908L;
+    private static final long VILLAGE = 0xBB67AE8584CAA73BL;
+    private static final long CITY = 0x3C6EF372FE94F82BL;
+    private static final long ROBBER = 0xA54FF53A5F1D36F1L;
+    private static final long ACTIVE_PLAYER = 0x510E527FADE682D1L;
+
+    /**
+     * Utility class, do not instantiate.
+     */
+    private Zobrist() {
+    }
+
+    /**
+     * Mixes the bits of the given value (SplitMix64 finalizer).
+     * Can be used to derive further keys, e.g. for board features.
+     *
+     * @param value the value to mix
+     * @return the mixed value
+     */
+    public static long mix(final long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Returns a code identifying the given tile positions, independent of their order.
+     * Codes of board elements can be cached and passed to the {@code long} overloads of this class.
+     *
+     * @param positions the positions of a tile, edge or intersection
+     * @return the code of the positions
+     */
+    public static long code(final Set<TilePosition> positions) {
+        long code = 0;
+        for (final TilePosition position : positions) {
+            code += code(position);
+        }
+        return code;
+    }
+
+    /**
+     * Returns a code identifying the given tile position.
+     *
+     * @param position the position of a tile
+     * @return the code of the position
+     */
+    public static long code(final TilePosition position) {
+        return mix((long) position.q() << 32 ^ position.r() & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Returns the key of a road.
+     *
+     * @param edgeCode the code of the edge, see {@link #code(Set)}
+     * @param playerId the id of the road's owner
+     * @return the key of the road
+     */
+    public static long road(final long edgeCode, final int playerId) {
+        return mix(mix(edgeCode ^ ROAD) + playerId);
+    }
+
+    /**
+     * Returns the key of a settlement.
+     *
+     * @param intersectionCode the code of the intersection, see {@link #code(Set)}
+     * @param playerId         the id of the settlement's owner
+     * @param type             the type of the settlement
+     * @return the key of the settlement
+     */
+    public static long settlement(final long intersectionCode, final int playerId, final Settlement.Type type) {
+        return mix(mix(intersectionCode ^ (type == Settlement.Type.VILLAGE ? VILLAGE : CITY)) + playerId);
+    }
+
+    /**
+     * Returns the key of the robber standing on a tile.
+     *
+     * @param tileCode the code of the tile, see {@link #code(TilePosition)}
+     * @return the key of the robber
+     */
+    public static long robber(final long tileCode) {
+        return mix(tileCode ^ ROBBER);
+    }
+
+    /**
+     * Returns the key of the player to move.
+     *
+     * @param playerId the id of the player to move
+     * @return the key of the player to move
+     */
+    public static long activePlayer(final int playerId) {
+        return mix(ACTIVE_PLAYER + playerId);
+    }
+
+    /**
+     * Returns the key of the given road.
+     *
+     * @param edge the edge
+     * @return the key of the road on the edge or {@code 0}, if there is none
+     */
+    public static long road(final Edge edge) {
+        return edge.hasRoad() ? road(code(edge.getAdjacentTilePositions()), edge.getRoadOwner().getID()) : 0;
+    }
+
+    /**
+     * Returns the key of the given settlement.
+     *
+     * @param settlement the settlement, may be {@code null}
+     * @return the key of the settlement or {@code 0}, if it is {@code null}
+     */
+    public static long settlement(final Settlement settlement) {
+        return settlement == null ? 0 : settlement(
+            code(settlement.intersection().getAdjacentTilePositions()), settlement.owner().getID(), settlement.type()
+        );
+    }
+
+    /**
+     * Returns the key of the robber standing on the given position.
+     *
+     * @param position the robber's position, may be {@code null}
+     * @return the key of the robber or {@code 0}, if the position is {@code null}
+     */
+    public static long robber(final TilePosition position) {
+        return position == null ? 0 : robber(code(position));
+    }
+
+    /**
+     * Computes the hash of the given grid from scratch.
+     * The player to move is not included, see {@link #hash(GameState, Player)}.
+     *
+     * @param grid the grid
+     * @return the hash of the grid
+     */
+    public static long hash(final HexGrid grid) {
+        long hash = robber(grid.getRobberPosition());
+        for (final Intersection intersection : grid.getIntersections().values()) {
+            hash ^= settlement(intersection.getSettlement());
+        }
+        for (final Edge edge : grid.getEdges().values()) {
+            hash ^= road(edge);
+        }
+        return hash;
+    }
+
+    /**
+     * Returns the hash of the given game state's position with the given player to move.
+     *
+     * @param gameState    the game state
+     * @param activePlayer the player to move
+     * @return the hash of the position
+     */
+    public static long hash(final GameState gameState, final Player activePlayer) {
+        return gameState.getGrid().getZobristHash() ^ activePlayer(activePlayer.getID());
+    }
+}
@@ -0,0 +1,266 @@
+package projekt.net;
+
+import projekt.controller.actions.AcceptTradeAction;
+import projekt.controller.actions.BuildRoadAction;
+import projekt.controller.actions.BuildVillageAction;
+import projekt.controller.actions.BuyDevelopmentCardAction;
+import projekt.controller.actions.EndTurnAction;
+import projekt.controller.actions.PlayDevelopmentCardAction;
+import projekt.controller.actions.PlayerAction;
+import projekt.controller.actions.RollDiceAction;
+import projekt.controller.actions.SelectCardsAction;
+import projekt.controller.actions.SelectRobberTileAction;
+import projekt.controller.actions.StealCardAction;
+import projekt.controller.actions.TradeAction;
+import projekt.controller.actions.UpgradeVillageAction;
+import projekt.controller.ai.BoardIndex;
+import projekt.controller.ai.SearchState;
+import projekt.model.DevelopmentCardType;
+import projekt.model.Player;
+import projekt.model.ResourceType;
+import projekt.model.TradePayload;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes and decodes {@link PlayerAction}s for the {@link Protocol#ACTION} message.
+ * <p>
+ * An action is a tag byte followed by its arguments:
+ * <table>
+ *     <caption>Action encodings</caption>
+ *     <tr><th>Tag</th><th>Action</th><th>Arguments</th></tr>
+ *     <tr><td>{@value #END_TURN}</td><td>{@link EndTurnAction}</td><td></td></tr>
+ *     <tr><td>{@value #ROLL_DICE}</td><td>{@link RollDiceAction}</td><td></td></tr>
+ *     <tr><td>{@value #BUILD_VILLAGE}</td><td>{@link BuildVillageAction}</td><td>{@code short intersection}</td></tr>
+ *     <tr><td>{@value #UPGRADE_VILLAGE}</td><td>{@link UpgradeVillageAction}</td><td>{@code short intersection}</td></tr>
+ *     <tr><td>{@value #BUILD_ROAD}</td><td>{@link BuildRoadAction}</td><td>{@code short edge}</td></tr>
+ *     <tr><td>{@value #BUY_DEVELOPMENT_CARD}</td><td>{@link BuyDevelopmentCardAction}</td><td></td></tr>
+ *     <tr><td>{@value #PLAY_DEVELOPMENT_CARD}</td><td>{@link PlayDevelopmentCardAction}</td><td>{@code byte card}</td></tr>
+ *     <tr><td>{@value #TRADE}</td><td>{@link TradeAction}</td><td>{@code byte withBank, offer, request}</td></tr>
+ *     <tr><td>{@value #ACCEPT_TRADE}</td><td>{@link AcceptTradeAction}</td><td>{@code byte accepted}</td></tr>
+ *     <tr><td>{@value #SELECT_CARDS}</td><td>{@link SelectCardsAction}</td><td>{@code cards}</td></tr>
+ *     <tr><td>{@value #SELECT_ROBBER_TILE}</td><td>{@link SelectRobberTileAction}</td><td>{@code short tile}</td></tr>
+ *     <tr><td>{@value #STEAL_CARD}</td><td>{@link StealCardAction}</td><td>{@code byte resource, byte seat}</td></tr>
+ * </table>
+ * Card and resource arguments are ordinals; offers, requests and cards are resource vectors.
+ * The player of a trade payload is not sent, it is the sender of the action.
+ * <p>
+ * Instances are immutable and can be shared between threads.
+ */
+public final class ActionCodec {
+
+    /**
+     * The tag of {@link EndTurnAction}.
+     */
+    public static final byte END_TURN = 0;
+
+    /**
+     * The tag of {@link RollDiceAction}.
+     */
+    public static final byte ROLL_DICE = 1;
+
+    /**
+     * The tag of {@link BuildVillageAction}.
+     */
+    public static final byte BUILD_VILLAGE = 2;
+
+    /**
+     * The tag of {@link UpgradeVillageAction}.
+     */
+    public static final byte UPGRADE_VILLAGE = 3;
+
+    /**
+     * The tag of {@link BuildRoadAction}.
+     */
+    public static final byte BUILD_ROAD = 4;
+
+    /**
+     * The tag of {@link BuyDevelopmentCardAction}.
+     */
+    public static final byte BUY_DEVELOPMENT_CARD = 5;
+
+    /**
+     * The tag of {@link PlayDevelopmentCardAction}.
+     */
+    public static final byte PLAY_DEVELOPMENT_CARD = 6;
+
+    /**
+     * The tag of {@link TradeAction}.
+     */
+    public static final byte TRADE = 7;
+
+    /**
+     * The tag of {@link AcceptTradeAction}.
+     */
+    public static final byte ACCEPT_TRADE = 8;
+
+    /**
+     * The tag of {@link SelectCardsAction}.
+     */
+    public static final byte SELECT_CARDS = 9;
+
+    /**
+     * The tag of {@link SelectRobberTileAction}.
+     */
+    public static final byte SELECT_ROBBER_TILE = 10;
+
+    /**
+     * The tag of {@link StealCardAction}.
+     */
+    public static final byte STEAL_CARD = 11;
+
+    /**
+     * The maximum size of an encoded action.
+     */
+    public static final int MAX_SIZE = 2 + 4 * SearchState.RESOURCE_TYPES;
+
+    private static final ResourceType[] RESOURCE_TYPES = ResourceType.values();
+    private static final DevelopmentCardType[] DEVELOPMENT_CARD_TYPES = DevelopmentCardType.values();
+
+    private final BoardIndex board;
+    private final List<Player> players;
+
+    /**
+     * Creates a codec for the given board and players.
+     *
+     * @param board   the board index
+     * @param players the players, in seat order
+     */
+    public ActionCodec(final BoardIndex board, final List<Player> players) {
+        this.board = board;
+        this.players = List.copyOf(players);
+    }
+
+    /**
+     * Returns the board index of this codec.
+     *
+     * @return the board index
+     */
+    public BoardIndex getBoard() {
+        return board;
+    }
+
+    /**
+     * Writes the given action.
+     *
+     * @param action the action
+     * @param buffer the buffer to write to
+     * @throws IllegalArgumentException if the action cannot be encoded
+     */
+    public void encode(final PlayerAction action, final ByteBuffer buffer) {
+        if (action instanceof EndTurnAction) {
+            buffer.put(END_TURN);
+        } else if (action instanceof RollDiceAction) {
+            buffer.put(ROLL_DICE);
+        } else if (action instanceof final BuildVillageAction buildVillage) {
+            buffer.put(BUILD_VILLAGE).putShort((short) board.getIntersectionId(buildVillage.intersection()));
+        } else if (action instanceof final UpgradeVillageAction upgradeVillage) {
+            buffer.put(UPGRADE_VILLAGE).putShort((short) board.getIntersectionId(upgradeVillage.intersection()));
+        } else if (action instanceof final BuildRoadAction buildRoad) {
+            buffer.put(BUILD_ROAD).putShort((short) board.getEdgeId(buildRoad.edge()));
+        } else if (action instanceof BuyDevelopmentCardAction) {
+            buffer.put(BUY_DEVELOPMENT_CARD);
+        } else if (action instanceof final PlayDevelopmentCardAction playDevelopmentCard) {
+            buffer.put(PLAY_DEVELOPMENT_CARD).put((byte) playDevelopmentCard.developmentCard().ordinal());
+        } else if (action instanceof final TradeAction trade) {
+            buffer.put(TRADE).put((byte) (trade.payload().withBank() ? 1 : 0));
+            Protocol.putResources(buffer, SearchState.toVector(trade.payload().offer()));
+            Protocol.putResources(buffer, SearchState.toVector(trade.payload().request()));
+        } else if (action instanceof final AcceptTradeAction acceptTrade) {
+            buffer.put(ACCEPT_TRADE).put((byte) (acceptTrade.accepted() ? 1 : 0));
+        } else if (action instanceof final SelectCardsAction selectCards) {
+            buffer.put(SELECT_CARDS);
+            Protocol.putResources(buffer, SearchState.toVector(selectCards.selectedCards()));
+        } else if (action instanceof final SelectRobberTileAction selectRobberTile) {
+            buffer.put(SELECT_ROBBER_TILE).putShort((short) board.getTileId(selectRobberTile.tilePosition()));
+        } else if (action instanceof final StealCardAction stealCard) {
+            buffer.put(STEAL_CARD)
+                .put((byte) stealCard.resourceToSteal().ordinal())
+                .put((byte) players.indexOf(stealCard.playerToStealFrom()));
+        } else {
+            throw new IllegalArgumentException("Unknown action: " + action);
+        }
+    }
+
+    /**
+     * Reads an action.
+     *
+     * @param buffer the buffer to read from
+     * @param sender the player sending the action
+     * @return the action
+     * @throws ProtocolException if the action is malformed or refers to unknown elements
+     */
+    public PlayerAction decode(final ByteBuffer buffer, final Player sender) throws ProtocolException {
+        try {
+            final byte tag = buffer.get();
+            return switch (tag) {
+                case END_TURN -> new EndTurnAction();
+                case ROLL_DICE -> new RollDiceAction();
+                case BUILD_VILLAGE -> new BuildVillageAction(board.getIntersection(id(buffer.getShort(), board.getIntersectionCount())));
+                case UPGRADE_VILLAGE -> new UpgradeVillageAction(board.getIntersection(id(buffer.getShort(), board.getIntersectionCount())));
+                case BUILD_ROAD -> new BuildRoadAction(board.getEdge(id(buffer.getShort(), board.getEdgeCount())));
+                case BUY_DEVELOPMENT_CARD -> new BuyDevelopmentCardAction();
+                case PLAY_DEVELOPMENT_CARD -> new PlayDevelopmentCardAction(
+                    DEVELOPMENT_CARD_TYPES[id(buffer.get(), DEVELOPMENT_CARD_TYPES.length)]
+                );
+                case TRADE -> {
+                    final boolean withBank = buffer.get() != 0;
+                    final Map<ResourceType, Integer> offer = toMap(Protocol.getResources(buffer));
+                    final Map<ResourceType, Integer> request = toMap(Protocol.getResources(buffer));
+                    yield new TradeAction(new TradePayload(offer, request, withBank, sender));
+                }
+                case ACCEPT_TRADE -> new AcceptTradeAction(buffer.get() != 0);
+                case SELECT_CARDS -> new SelectCardsAction(toMap(Protocol.getResources(buffer)));
+                case SELECT_ROBBER_TILE -> new SelectRobberTileAction(
+                    board.getTile(id(buffer.getShort(), board.getTileCount())).getPosition()
+                );
+                case STEAL_CARD -> {
+                    final ResourceType resource = RESOURCE_TYPES[id(buffer.get(), RESOURCE_TYPES.length)];
+                    yield new StealCardAction(resource, players.get(id(buffer.get(), players.size())));
+                }
+                default -> throw new ProtocolException("Unknown action tag: " + tag);
+            };
+        } catch (final BufferUnderflowException e) {
+            throw new ProtocolException("Truncated action");
+        }
+    }
+
+    /**
+     * Checks that the given id is in range.
+     *
+     * @param id    the id
+     * @param count the amount of valid ids
+     * @return the id
+     * @throws ProtocolException if the id is out of range
+     */
+    private static int id(final int id, final int count) throws ProtocolException {
+        if (id < 0 || id >= count) {
+            throw new ProtocolException("Id out of range: " + id);
+        }
+        return id;
+    }
+
+    /**
+     * Converts a resource vector to a map containing its non-zero entries.
+     *
+     * @param resources the amount of each resource, indexed by resource ordinal
+     * @return the map
+     * @throws ProtocolException if an amount is negative
+     */
+    private static Map<ResourceType, Integer> toMap(final int[] resources) throws ProtocolException {
+        final Map<ResourceType, Integer> map = new EnumMap<>(ResourceType.class);
+        for (int resource = 0; resource < resources.length; resource++) {
+            if (resources[resource] < 0) {
+                throw new ProtocolException("Negative resource amount: " + resources[resource]);
+            }
+            if (resources[resource] > 0) {
+                map.put(RESOURCE_TYPES[resource], resources[resource]);
+            }
+        }
+        return map;
+    }
+}
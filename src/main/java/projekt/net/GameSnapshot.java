@@ -0,0 +1,407 @@
+package projekt.net;
+
+import projekt.controller.GameController;
+import projekt.controller.PlayerController;
+import projekt.controller.PlayerObjective;
+import projekt.controller.ai.BoardIndex;
+import projekt.model.Player;
+import projekt.model.buildings.Edge;
+import projekt.model.buildings.Settlement;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The public state of a game, as synchronized to all seats with {@link Protocol#GAME} keyframes and
+ * {@link Protocol#DELTA}s.
+ * <p>
+ * The encoding consists of {@code int round, byte activeSeat, byte diceRoll, byte winner, short robberTile}, the
+ * players ({@code byte count}, then {@code byte victoryPoints, short resourceCards, byte objective} per player), the
+ * settlements ({@code short count}, then one {@code byte} per intersection: {@code -1} if empty, otherwise
+ * {@code seat << 1 | (level - 1)}) and the roads ({@code short count}, then the owner's seat or {@code -1} per edge).
+ * Missing seats, tiles and objectives are {@code -1}.
+ * <p>
+ * A delta between two snapshots of the same game (see {@link #encodeDelta(GameSnapshot, ByteBuffer)}) consists of
+ * {@code byte flags} and the changed fields among round, active seat, dice roll, winner and robber tile, the changed
+ * players ({@code byte count}, then {@code byte seat, byte flags} and the changed values among
+ * {@code byte victoryPointChange, short resourceCardChange, byte objective} per player), the changed settlements
+ * ({@code short count}, then {@code short intersection, byte settlement} each) and the changed roads
+ * ({@code short count}, then {@code short edge, byte owner} each). Like {@link PlayerController}'s changed resources,
+ * the counters of players are sent as signed changes.
+ *
+ * @param round            the round counter
+ * @param activeSeat       the seat of the active player
+ * @param diceRoll         the last dice roll
+ * @param winner           the seat of the winner
+ * @param robberTile       the id of the robber's tile
+ * @param victoryPoints    the victory points of each seat
+ * @param resourceCards    the amount of resource cards held by each seat
+ * @param objectives       the ordinal of the objective of each seat
+ * @param settlementOwners the seat owning the settlement on each intersection
+ * @param settlementLevels the level of the settlement on each intersection ({@code 1} for villages, {@code 2} for
+ *                         cities) or {@code 0}
+ * @param roadOwners       the seat owning the road on each edge
+ */
+public record GameSnapshot(
+    int round,
+    int activeSeat,
+    int diceRoll,
+    int winner,
+    int robberTile,
+    int[] victoryPoints,
+    int[] resourceCards,
+    int[] objectives,
+    int[] settlementOwners,
+    int[] settlementLevels,
+    int[] roadOwners
+) {
+
+    private static final int ROUND = 1;
+    private static final int ACTIVE_SEAT = 1 << 1;
+    private static final int DICE_ROLL = 1 << 2;
+    private static final int WINNER = 1 << 3;
+    private static final int ROBBER_TILE = 1 << 4;
+
+    private static final int VICTORY_POINTS = 1;
+    private static final int RESOURCE_CARDS = 1 << 1;
+    private static final int OBJECTIVE = 1 << 2;
+
+    /**
+     * Captures the public state of the given game. Must be called on the game's thread.
+     *
+     * @param board          the index of the game's board
+     * @param gameController the game controller
+     * @return the snapshot
+     */
+    public static GameSnapshot capture(final BoardIndex board, final GameController gameController) {
+        final List<Player> players = gameController.getState().getPlayers();
+        final int[] victoryPoints = new int[players.size()];
+        final int[] resourceCards = new int[players.size()];
+        final int[] objectives = new int[players.size()];
+        for (int seat = 0; seat < players.size(); seat++) {
+            final Player player = players.get(seat);
+            victoryPoints[seat] = player.getVictoryPoints();
+            resourceCards[seat] = player.getResources().values().stream().mapToInt(Integer::intValue).sum();
+            final PlayerController controller = gameController.getPlayerControllers().get(player);
+            final PlayerObjective objective = controller == null
+                                              ? null
+                                              : controller.getPlayerObjectiveProperty().getValue();
+            objectives[seat] = objective == null ? -1 : objective.ordinal();
+        }
+        final int[] settlementOwners = new int[board.getIntersectionCount()];
+        final int[] settlementLevels = new int[board.getIntersectionCount()];
+        for (int intersection = 0; intersection < settlementOwners.length; intersection++) {
+            final Settlement settlement = board.getIntersection(intersection).getSettlement();
+            settlementOwners[intersection] = settlement == null ? -1 : players.indexOf(settlement.owner());
+            settlementLevels[intersection] = settlement == null ? 0 : settlement.type().resourceAmount;
+        }
+        final int[] roadOwners = new int[board.getEdgeCount()];
+        for (int edge = 0; edge < roadOwners.length; edge++) {
+            final Edge road = board.getEdge(edge);
+            roadOwners[edge] = road.hasRoad() ? players.indexOf(road.getRoadOwner()) : -1;
+        }
+        final PlayerController active = gameController.getActivePlayerControllerProperty().getValue();
+        final Player winner = gameController.getState().getWinnerProperty().getValue();
+        return new GameSnapshot(
+            gameController.getRoundCounterProperty().get(),
+            active == null ? -1 : players.indexOf(active.getPlayer()),
+            gameController.getCurrentDiceRollProperty().get(),
+            winner == null ? -1 : players.indexOf(winner),
+            board.getHexGrid().getRobberPosition() == null ? -1 : board.getTileId(board.getHexGrid().getRobberPosition()),
+            victoryPoints,
+            resourceCards,
+            objectives,
+            settlementOwners,
+            settlementLevels,
+            roadOwners
+        );
+    }
+
+    // Keyframes
+
+    /**
+     * Returns the size of the encoded snapshot.
+     *
+     * @return the size in bytes
+     */
+    public int getEncodedSize() {
+        return 9 + 1 + 4 * victoryPoints.length + Short.BYTES + settlementOwners.length + Short.BYTES + roadOwners.length;
+    }
+
+    /**
+     * Writes this snapshot.
+     *
+     * @param buffer the buffer to write to
+     */
+    public void encode(final ByteBuffer buffer) {
+        buffer.putInt(round).put((byte) activeSeat).put((byte) diceRoll).put((byte) winner).putShort((short) robberTile);
+        buffer.put((byte) victoryPoints.length);
+        for (int seat = 0; seat < victoryPoints.length; seat++) {
+            buffer.put((byte) victoryPoints[seat]).putShort((short) resourceCards[seat]).put((byte) objectives[seat]);
+        }
+        buffer.putShort((short) settlementOwners.length);
+        for (int intersection = 0; intersection < settlementOwners.length; intersection++) {
+            buffer.put(encodeSettlement(intersection));
+        }
+        buffer.putShort((short) roadOwners.length);
+        for (final int owner : roadOwners) {
+            buffer.put((byte) owner);
+        }
+    }
+
+    /**
+     * Reads a snapshot.
+     *
+     * @param buffer the buffer to read from
+     * @return the snapshot
+     * @throws ProtocolException if the snapshot is truncated
+     */
+    public static GameSnapshot decode(final ByteBuffer buffer) throws ProtocolException {
+        try {
+            final int round = buffer.getInt();
+            final int activeSeat = buffer.get();
+            final int diceRoll = buffer.get();
+            final int winner = buffer.get();
+            final int robberTile = buffer.getShort();
+            final int players = buffer.get();
+            final int[] victoryPoints = new int[players];
+            final int[] resourceCards = new int[players];
+            final int[] objectives = new int[players];
+            for (int seat = 0; seat < players; seat++) {
+                victoryPoints[seat] = buffer.get();
+                resourceCards[seat] = buffer.getShort();
+                objectives[seat] = buffer.get();
+            }
+            final int[] settlementOwners = new int[buffer.getShort()];
+            final int[] settlementLevels = new int[settlementOwners.length];
+            for (int intersection = 0; intersection < settlementOwners.length; intersection++) {
+                decodeSettlement(buffer.get(), intersection, settlementOwners, settlementLevels);
+            }
+            final int[] roadOwners = new int[buffer.getShort()];
+            for (int edge = 0; edge < roadOwners.length; edge++) {
+                roadOwners[edge] = buffer.get();
+            }
+            return new GameSnapshot(
+                round, activeSeat, diceRoll, winner, robberTile, victoryPoints, resourceCards, objectives,
+                settlementOwners, settlementLevels, roadOwners
+            );
+        } catch (final BufferUnderflowException | NegativeArraySizeException e) {
+            throw new ProtocolException("Truncated game snapshot");
+        }
+    }
+
+    // Deltas
+
+    /**
+     * Returns the maximum size of a delta from a snapshot of the same game to this one.
+     *
+     * @return the size in bytes
+     */
+    public int getMaxDeltaSize() {
+        return 1 + 9 + 1 + 6 * victoryPoints.length
+            + Short.BYTES + 3 * settlementOwners.length + Short.BYTES + 3 * roadOwners.length;
+    }
+
+    /**
+     * Writes the changes from the given snapshot of the same game to this one.
+     *
+     * @param previous the previous snapshot
+     * @param buffer   the buffer to write to
+     * @throws IllegalArgumentException if the snapshots do not belong to the same game
+     */
+    public void encodeDelta(final GameSnapshot previous, final ByteBuffer buffer) {
+        if (previous.victoryPoints.length != victoryPoints.length
+            || previous.settlementOwners.length != settlementOwners.length
+            || previous.roadOwners.length != roadOwners.length) {
+            throw new IllegalArgumentException("Snapshots of different games");
+        }
+        final int flags = (round != previous.round ? ROUND : 0)
+            | (activeSeat != previous.activeSeat ? ACTIVE_SEAT : 0)
+            | (diceRoll != previous.diceRoll ? DICE_ROLL : 0)
+            | (winner != previous.winner ? WINNER : 0)
+            | (robberTile != previous.robberTile ? ROBBER_TILE : 0);
+        buffer.put((byte) flags);
+        if ((flags & ROUND) != 0) {
+            buffer.putInt(round);
+        }
+        if ((flags & ACTIVE_SEAT) != 0) {
+            buffer.put((byte) activeSeat);
+        }
+        if ((flags & DICE_ROLL) != 0) {
+            buffer.put((byte) diceRoll);
+        }
+        if ((flags & WINNER) != 0) {
+            buffer.put((byte) winner);
+        }
+        if ((flags & ROBBER_TILE) != 0) {
+            buffer.putShort((short) robberTile);
+        }
+
+        final int seatsStart = buffer.position();
+        int seats = 0;
+        buffer.put((byte) 0);
+        for (int seat = 0; seat < victoryPoints.length; seat++) {
+            final int seatFlags = (victoryPoints[seat] != previous.victoryPoints[seat] ? VICTORY_POINTS : 0)
+                | (resourceCards[seat] != previous.resourceCards[seat] ? RESOURCE_CARDS : 0)
+                | (objectives[seat] != previous.objectives[seat] ? OBJECTIVE : 0);
+            if (seatFlags == 0) {
+                continue;
+            }
+            seats++;
+            buffer.put((byte) seat).put((byte) seatFlags);
+            if ((seatFlags & VICTORY_POINTS) != 0) {
+                buffer.put((byte) (victoryPoints[seat] - previous.victoryPoints[seat]));
+            }
+            if ((seatFlags & RESOURCE_CARDS) != 0) {
+                buffer.putShort((short) (resourceCards[seat] - previous.resourceCards[seat]));
+            }
+            if ((seatFlags & OBJECTIVE) != 0) {
+                buffer.put((byte) objectives[seat]);
+            }
+        }
+        buffer.put(seatsStart, (byte) seats);
+
+        final int settlementsStart = buffer.position();
+        int settlements = 0;
+        buffer.putShort((short) 0);
+        for (int intersection = 0; intersection < settlementOwners.length; intersection++) {
+            if (settlementOwners[intersection] != previous.settlementOwners[intersection]
+                || settlementLevels[intersection] != previous.settlementLevels[intersection]) {
+                settlements++;
+                buffer.putShort((short) intersection).put(encodeSettlement(intersection));
+            }
+        }
+        buffer.putShort(settlementsStart, (short) settlements);
+
+        final int roadsStart = buffer.position();
+        int roads = 0;
+        buffer.putShort((short) 0);
+        for (int edge = 0; edge < roadOwners.length; edge++) {
+            if (roadOwners[edge] != previous.roadOwners[edge]) {
+                roads++;
+                buffer.putShort((short) edge).put((byte) roadOwners[edge]);
+            }
+        }
+        buffer.putShort(roadsStart, (short) roads);
+    }
+
+    /**
+     * Reads a delta written by {@link #encodeDelta(GameSnapshot, ByteBuffer)} and applies it to this snapshot.
+     *
+     * @param buffer the buffer to read from
+     * @return the resulting snapshot
+     * @throws ProtocolException if the delta is truncated or refers to unknown elements
+     */
+    public GameSnapshot applyDelta(final ByteBuffer buffer) throws ProtocolException {
+        try {
+            final int flags = buffer.get();
+            final int newRound = (flags & ROUND) != 0 ? buffer.getInt() : round;
+            final int newActiveSeat = (flags & ACTIVE_SEAT) != 0 ? buffer.get() : activeSeat;
+            final int newDiceRoll = (flags & DICE_ROLL) != 0 ? buffer.get() : diceRoll;
+            final int newWinner = (flags & WINNER) != 0 ? buffer.get() : winner;
+            final int newRobberTile = (flags & ROBBER_TILE) != 0 ? buffer.getShort() : robberTile;
+
+            final int[] newVictoryPoints = victoryPoints.clone();
+            final int[] newResourceCards = resourceCards.clone();
+            final int[] newObjectives = objectives.clone();
+            for (int seats = buffer.get(); seats > 0; seats--) {
+                final int seat = buffer.get();
+                final int seatFlags = buffer.get();
+                if ((seatFlags & VICTORY_POINTS) != 0) {
+                    newVictoryPoints[seat] += buffer.get();
+                }
+                if ((seatFlags & RESOURCE_CARDS) != 0) {
+                    newResourceCards[seat] += buffer.getShort();
+                }
+                if ((seatFlags & OBJECTIVE) != 0) {
+                    newObjectives[seat] = buffer.get();
+                }
+            }
+
+            final int[] newSettlementOwners = settlementOwners.clone();
+            final int[] newSettlementLevels = settlementLevels.clone();
+            for (int settlements = buffer.getShort(); settlements > 0; settlements--) {
+                final int intersection = buffer.getShort();
+                decodeSettlement(buffer.get(), intersection, newSettlementOwners, newSettlementLevels);
+            }
+            final int[] newRoadOwners = roadOwners.clone();
+            for (int roads = buffer.getShort(); roads > 0; roads--) {
+                final int edge = buffer.getShort();
+                newRoadOwners[edge] = buffer.get();
+            }
+            return new GameSnapshot(
+                newRound, newActiveSeat, newDiceRoll, newWinner, newRobberTile,
+                newVictoryPoints, newResourceCards, newObjectives,
+                newSettlementOwners, newSettlementLevels, newRoadOwners
+            );
+        } catch (final BufferUnderflowException e) {
+            throw new ProtocolException("Truncated game delta");
+        } catch (final IndexOutOfBoundsException e) {
+            throw new ProtocolException("Game delta refers to unknown element");
+        }
+    }
+
+    /**
+     * Returns the encoded settlement on the given intersection.
+     *
+     * @param intersection the id of the intersection
+     * @return {@code -1} if empty, otherwise {@code seat << 1 | (level - 1)}
+     */
+    private byte encodeSettlement(final int intersection) {
+        return settlementOwners[intersection] == -1
+               ? -1
+               : (byte) (settlementOwners[intersection] << 1 | settlementLevels[intersection] - 1);
+    }
+
+    /**
+     * Stores an encoded settlement.
+     *
+     * @param settlement       the encoded settlement
+     * @param intersection     the id of its intersection
+     * @param settlementOwners the owners to write to
+     * @param settlementLevels the levels to write to
+     */
+    private static void decodeSettlement(
+        final byte settlement, final int intersection, final int[] settlementOwners, final int[] settlementLevels
+    ) {
+        settlementOwners[intersection] = settlement == -1 ? -1 : settlement >> 1;
+        settlementLevels[intersection] = settlement == -1 ? 0 : (settlement & 1) + 1;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return o instanceof final GameSnapshot other
+            && round == other.round
+            && activeSeat == other.activeSeat
+            && diceRoll == other.diceRoll
+            && winner == other.winner
+            && robberTile == other.robberTile
+            && Arrays.equals(victoryPoints, other.victoryPoints)
+            && Arrays.equals(resourceCards, other.resourceCards)
+            && Arrays.equals(objectives, other.objectives)
+            && Arrays.equals(settlementOwners, other.settlementOwners)
+            && Arrays.equals(settlementLevels, other.settlementLevels)
+            && Arrays.equals(roadOwners, other.roadOwners);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = Arrays.hashCode(new int[] {round, activeSeat, diceRoll, winner, robberTile});
+        hash = 31 * hash + Arrays.hashCode(victoryPoints);
+        hash = 31 * hash + Arrays.hashCode(resourceCards);
+        hash = 31 * hash + Arrays.hashCode(objectives);
+        hash = 31 * hash + Arrays.hashCode(settlementOwners);
+        hash = 31 * hash + Arrays.hashCode(settlementLevels);
+        return 31 * hash + Arrays.hashCode(roadOwners);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "GameSnapshot[round=%d, activeSeat=%d, diceRoll=%d, winner=%d, robberTile=%d, victoryPoints=%s]",
+            round, activeSeat, diceRoll, winner, robberTile, Arrays.toString(victoryPoints)
+        );
+    }
+}
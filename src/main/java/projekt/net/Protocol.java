@@ -0,0 +1,163 @@
+package projekt.net;
+
+import projekt.controller.ai.SearchState;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Constants and framing of the binary wire protocol.
+ * <p>
+ * All values are big-endian. A connection is a sequence of frames, each consisting of
+ * <ol>
+ *     <li>the length of the rest of the frame ({@code int}),</li>
+ *     <li>the message type ({@code byte}) and</li>
+ *     <li>the payload of the message type.</li>
+ * </ol>
+ * Ids of tiles, intersections and edges are the ids of a {@link projekt.controller.ai.BoardIndex} of the game's
+ * board, which are sent along with the board in the {@link #WELCOME} message (see {@link StateCodec#encodeBoard}).
+ * Players are identified by their seat, i.e. their index in the game's player list. Resource vectors are five
+ * {@code short}s in the order of {@link projekt.model.ResourceType}.
+ * <p>
+ * Either side may send frames without waiting for a reply (pipelining); frames are processed in order.
+ */
+public final class Protocol {
+
+    /**
+     * The version of the protocol, sent in the {@link #HELLO} message.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The maximum length of a frame, excluding the length field.
+     */
+    public static final int MAX_FRAME_LENGTH = 1 << 16;
+
+    /**
+     * The size of a frame header, i.e. the length field and the message type.
+     */
+    public static final int HEADER_SIZE = Integer.BYTES + 1;
+
+    /**
+     * Client to server: {@code int version, long ticket}. Must be the first frame of a connection.
+     * The ticket selects the seat to play; {@code 0} takes the next free seat.
+     */
+    public static final byte HELLO = 1;
+
+    /**
+     * Server to client: {@code long ticket, byte seat, byte players}, followed by the board.
+     * Sent once a connection is bound to a seat.
+     */
+    public static final byte WELCOME = 2;
+
+    /**
+     * Server to client: the state of the client's player, see {@link StateCodec#encodeState}.
+     */
+    public static final byte STATE = 3;
+
+    /**
+     * Client to server: an action, see {@link ActionCodec}.
+     */
+    public static final byte ACTION = 4;
+
+    /**
+     * Server to client: {@code short length, byte[] utf8 message}. The server closes the connection afterwards.
+     */
+    public static final byte ERROR = 5;
+
+    /**
+     * Server to client: a keyframe of the public state of the game, {@code int sequence} followed by the snapshot,
+     * see {@link GameSnapshot#encode}. Replaces the client's state; see {@link StateSync}.
+     */
+    public static final byte GAME = 6;
+
+    /**
+     * Server to client: a change of the public state of the game, {@code int sequence} followed by the delta from
+     * the state with the previous sequence number, see {@link GameSnapshot#encodeDelta}.
+     */
+    public static final byte DELTA = 7;
+
+    /**
+     * Utility class, do not instantiate.
+     */
+    private Protocol() {
+    }
+
+    /**
+     * Starts a frame of the given type at the buffer's position. The length is filled in by
+     * {@link #endFrame(ByteBuffer, int)}.
+     *
+     * @param buffer the buffer to write to
+     * @param type   the message type
+     * @return the position of the frame, to pass to {@link #endFrame(ByteBuffer, int)}
+     */
+    public static int beginFrame(final ByteBuffer buffer, final byte type) {
+        final int start = buffer.position();
+        buffer.putInt(0);
+        buffer.put(type);
+        return start;
+    }
+
+    /**
+     * Completes the frame started at the given position, ending at the buffer's position.
+     *
+     * @param buffer the buffer written to
+     * @param start  the position returned by {@link #beginFrame(ByteBuffer, byte)}
+     */
+    public static void endFrame(final ByteBuffer buffer, final int start) {
+        final int length = buffer.position() - start - Integer.BYTES;
+        if (length > MAX_FRAME_LENGTH) {
+            throw new IllegalArgumentException("Frame too long: " + length);
+        }
+        buffer.putInt(start, length);
+    }
+
+    /**
+     * Returns the next complete frame in the given buffer, which is in read mode (flipped). The returned buffer
+     * contains the message type and payload; the given buffer's position is moved past the frame.
+     *
+     * @param buffer the buffer to read from
+     * @return the frame or {@code null}, if the buffer does not contain a complete frame
+     * @throws ProtocolException if the frame is too long or empty
+     */
+    public static ByteBuffer nextFrame(final ByteBuffer buffer) throws ProtocolException {
+        if (buffer.remaining() < Integer.BYTES) {
+            return null;
+        }
+        final int length = buffer.getInt(buffer.position());
+        if (length < 1 || length > MAX_FRAME_LENGTH) {
+            throw new ProtocolException("Invalid frame length: " + length);
+        }
+        if (buffer.remaining() < Integer.BYTES + length) {
+            return null;
+        }
+        final ByteBuffer frame = buffer.slice(buffer.position() + Integer.BYTES, length);
+        buffer.position(buffer.position() + Integer.BYTES + length);
+        return frame;
+    }
+
+    /**
+     * Writes a resource vector.
+     *
+     * @param buffer    the buffer to write to
+     * @param resources the amount of each resource, indexed by resource ordinal
+     */
+    public static void putResources(final ByteBuffer buffer, final int[] resources) {
+        for (final int amount : resources) {
+            buffer.putShort((short) amount);
+        }
+    }
+
+    /**
+     * Reads a resource vector.
+     *
+     * @param buffer the buffer to read from
+     * @return the amount of each resource, indexed by resource ordinal
+     */
+    public static int[] getResources(final ByteBuffer buffer) {
+        final int[] resources = new int[SearchState.RESOURCE_TYPES];
+        for (int resource = 0; resource < resources.length; resource++) {
+            resources[resource] = buffer.getShort();
+        }
+        return resources;
+    }
+}
@@ -0,0 +1,18 @@
+package projekt.net;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a peer sends a frame that violates the {@link Protocol}.
+ */
+public class ProtocolException extends IOException {
+
+    /**
+     * Creates a new ProtocolException with the given message.
+     *
+     * @param message the message
+     */
+    public ProtocolException(final String message) {
+        super(message);
+    }
+}
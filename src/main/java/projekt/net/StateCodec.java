@@ -0,0 +1,363 @@
+package projekt.net;
+
+import projekt.controller.PlayerObjective;
+import projekt.controller.ai.BoardIndex;
+import projekt.controller.ai.SearchState;
+import projekt.model.Intersection;
+import projekt.model.Player;
+import projekt.model.PlayerState;
+import projekt.model.ResourceType;
+import projekt.model.buildings.Edge;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes boards and player states for the {@link Protocol#WELCOME} and {@link Protocol#STATE} messages, and
+ * decodes them on the client side.
+ * <p>
+ * A board consists of
+ * <ol>
+ *     <li>the tiles: {@code short count}, then {@code byte q, byte r, byte resource, byte rollNumber} per tile,</li>
+ *     <li>the intersections: {@code short count}, then {@code byte tileCount, short[] tiles, byte portRatio,
+ *     byte portResource} per intersection and</li>
+ *     <li>the edges: {@code short count}, then {@code short intersection0, short intersection1} per edge.</li>
+ * </ol>
+ * Missing resources and ports are {@code -1}. A player state consists of {@code int sequence, byte prompt,
+ * byte objective, short robberTile}, the player's resources, {@code short cardsToSelect}, the lists of buildable
+ * village intersections, upgradable village intersections and buildable road edges ({@code short count, short[] ids}
+ * each), the seats of the players to steal from ({@code byte count, byte[] seats}) and the offered trade
+ * ({@code byte present}, then {@code byte seat}, offer and request if present). The prompt flag is set if the state
+ * was sent because the objective changed, i.e. the player is expected to act on it.
+ * <p>
+ * Instances are immutable and can be shared between threads.
+ */
+public final class StateCodec {
+
+    private static final PlayerObjective[] OBJECTIVES = PlayerObjective.values();
+
+    private final BoardIndex board;
+    private final List<Player> players;
+    private final int maxStateSize;
+
+    /**
+     * A decoded board. Ids are the ids of the server's {@link BoardIndex}.
+     *
+     * @param tilePositions      the axial coordinates {@code {q, r}} of each tile
+     * @param tileResources      the resource ordinal of each tile or {@code -1}
+     * @param tileRollNumbers    the roll number of each tile
+     * @param intersectionTiles  the tiles of each intersection
+     * @param portRatios         the port ratio of each intersection or {@code 0}
+     * @param portResources      the port resource ordinal of each intersection or {@code -1}
+     * @param edgeIntersections  the intersections of each edge
+     */
+    public record Board(
+        int[][] tilePositions,
+        int[] tileResources,
+        int[] tileRollNumbers,
+        int[][] intersectionTiles,
+        int[] portRatios,
+        int[] portResources,
+        int[][] edgeIntersections
+    ) {
+    }
+
+    /**
+     * A decoded player state.
+     *
+     * @param sequence           the sequence number of the state, increasing per connection
+     * @param prompt             whether the player is expected to act on this state
+     * @param objective          the player's objective
+     * @param robberTile         the id of the robber's tile or {@code -1}
+     * @param resources          the player's resources, indexed by resource ordinal
+     * @param cardsToSelect      the amount of cards to select
+     * @param buildableVillages  the ids of the intersections a village can be built on
+     * @param upgradableVillages the ids of the intersections with villages that can be upgraded
+     * @param buildableRoads     the ids of the edges a road can be built on
+     * @param victims            the seats of the players to steal from
+     * @param tradeSeat          the seat of the player offering a trade or {@code -1}
+     * @param tradeOffer         the offered resources, if a trade is offered
+     * @param tradeRequest       the requested resources, if a trade is offered
+     */
+    public record State(
+        int sequence,
+        boolean prompt,
+        PlayerObjective objective,
+        int robberTile,
+        int[] resources,
+        int cardsToSelect,
+        int[] buildableVillages,
+        int[] upgradableVillages,
+        int[] buildableRoads,
+        int[] victims,
+        int tradeSeat,
+        int[] tradeOffer,
+        int[] tradeRequest
+    ) {
+    }
+
+    /**
+     * Creates a codec for the given board and players.
+     *
+     * @param board   the board index
+     * @param players the players, in seat order
+     */
+    public StateCodec(final BoardIndex board, final List<Player> players) {
+        this.board = board;
+        this.players = List.copyOf(players);
+        this.maxStateSize = Protocol.HEADER_SIZE + 8 + 3 * Short.BYTES * SearchState.RESOURCE_TYPES + 4 * Short.BYTES
+            + Short.BYTES * (2 * board.getIntersectionCount() + board.getEdgeCount()) + 3 + players.size();
+    }
+
+    // Encoding
+
+    /**
+     * Returns a {@link Protocol#WELCOME} frame for the player in the given seat.
+     *
+     * @param ticket the ticket of the seat
+     * @param seat   the seat
+     * @return the frame, ready for writing
+     */
+    public ByteBuffer encodeWelcome(final long ticket, final int seat) {
+        final ByteBuffer buffer = ByteBuffer.allocate(Protocol.HEADER_SIZE + 10 + getBoardSize());
+        final int start = Protocol.beginFrame(buffer, Protocol.WELCOME);
+        buffer.putLong(ticket).put((byte) seat).put((byte) players.size());
+        encodeBoard(buffer);
+        Protocol.endFrame(buffer, start);
+        return buffer.flip();
+    }
+
+    /**
+     * Returns the size of the encoded board.
+     *
+     * @return the size in bytes
+     */
+    private int getBoardSize() {
+        int size = 3 * Short.BYTES + 4 * board.getTileCount() + 4 * board.getEdgeCount();
+        for (int intersection = 0; intersection < board.getIntersectionCount(); intersection++) {
+            size += 3 + Short.BYTES * board.getIntersectionTiles(intersection).length;
+        }
+        return size;
+    }
+
+    /**
+     * Writes the board.
+     *
+     * @param buffer the buffer to write to
+     */
+    public void encodeBoard(final ByteBuffer buffer) {
+        buffer.putShort((short) board.getTileCount());
+        for (int tile = 0; tile < board.getTileCount(); tile++) {
+            buffer.put((byte) board.getTile(tile).getPosition().q())
+                .put((byte) board.getTile(tile).getPosition().r())
+                .put((byte) board.getTileResource(tile))
+                .put((byte) board.getTileRollNumber(tile));
+        }
+        buffer.putShort((short) board.getIntersectionCount());
+        for (int intersection = 0; intersection < board.getIntersectionCount(); intersection++) {
+            final int[] tiles = board.getIntersectionTiles(intersection);
+            buffer.put((byte) tiles.length);
+            for (final int tile : tiles) {
+                buffer.putShort((short) tile);
+            }
+            buffer.put((byte) board.getPortRatio(intersection)).put((byte) board.getPortResource(intersection));
+        }
+        buffer.putShort((short) board.getEdgeCount());
+        for (int edge = 0; edge < board.getEdgeCount(); edge++) {
+            final int[] intersections = board.getEdgeIntersections(edge);
+            buffer.putShort((short) (intersections.length > 0 ? intersections[0] : -1))
+                .putShort((short) (intersections.length > 1 ? intersections[1] : -1));
+        }
+    }
+
+    /**
+     * Returns a {@link Protocol#STATE} frame.
+     *
+     * @param sequence  the sequence number
+     * @param prompt    whether the player is expected to act on the state
+     * @param objective the player's objective
+     * @param state     the player's state
+     * @param resources the player's resources
+     * @return the frame, ready for writing
+     */
+    public ByteBuffer encodeState(
+        final int sequence,
+        final boolean prompt,
+        final PlayerObjective objective,
+        final PlayerState state,
+        final Map<ResourceType, Integer> resources
+    ) {
+        final ByteBuffer buffer = ByteBuffer.allocate(maxStateSize);
+        encodeState(buffer, sequence, prompt, objective, state, resources);
+        return buffer.flip();
+    }
+
+    /**
+     * Returns the maximum size of a {@link Protocol#STATE} frame of this codec.
+     *
+     * @return the size in bytes
+     */
+    public int getMaxStateSize() {
+        return maxStateSize;
+    }
+
+    /**
+     * Writes a {@link Protocol#STATE} frame at the buffer's position.
+     *
+     * @param buffer    the buffer to write to, with at least {@link #getMaxStateSize()} bytes remaining
+     * @param sequence  the sequence number
+     * @param prompt    whether the player is expected to act on the state
+     * @param objective the player's objective
+     * @param state     the player's state
+     * @param resources the player's resources
+     */
+    public void encodeState(
+        final ByteBuffer buffer,
+        final int sequence,
+        final boolean prompt,
+        final PlayerObjective objective,
+        final PlayerState state,
+        final Map<ResourceType, Integer> resources
+    ) {
+        final int start = Protocol.beginFrame(buffer, Protocol.STATE);
+        final int robberTile = board.getHexGrid().getRobberPosition() == null
+                               ? -1
+                               : board.getTileId(board.getHexGrid().getRobberPosition());
+        buffer.putInt(sequence)
+            .put((byte) (prompt ? 1 : 0))
+            .put((byte) objective.ordinal())
+            .putShort((short) robberTile);
+        Protocol.putResources(buffer, SearchState.toVector(resources));
+        buffer.putShort((short) state.cardsToSelect());
+        putIntersections(buffer, state.buildableVillageIntersections());
+        putIntersections(buffer, state.upgradableVillageIntersections());
+        buffer.putShort((short) state.buildableRoadEdges().size());
+        for (final Edge edge : state.buildableRoadEdges()) {
+            buffer.putShort((short) board.getEdgeId(edge));
+        }
+        buffer.put((byte) state.playersToStealFrom().size());
+        for (final Player victim : state.playersToStealFrom()) {
+            buffer.put((byte) players.indexOf(victim));
+        }
+        if (state.offeredTrade() == null) {
+            buffer.put((byte) 0);
+        } else {
+            buffer.put((byte) 1).put((byte) players.indexOf(state.offeredTrade().player()));
+            Protocol.putResources(buffer, SearchState.toVector(state.offeredTrade().offer()));
+            Protocol.putResources(buffer, SearchState.toVector(state.offeredTrade().request()));
+        }
+        Protocol.endFrame(buffer, start);
+    }
+
+    /**
+     * Writes a list of intersection ids.
+     *
+     * @param buffer        the buffer to write to
+     * @param intersections the intersections
+     */
+    private void putIntersections(final ByteBuffer buffer, final Collection<Intersection> intersections) {
+        buffer.putShort((short) intersections.size());
+        for (final Intersection intersection : intersections) {
+            buffer.putShort((short) board.getIntersectionId(intersection));
+        }
+    }
+
+    // Decoding
+
+    /**
+     * Reads a board.
+     *
+     * @param buffer the buffer to read from
+     * @return the board
+     * @throws ProtocolException if the board is truncated
+     */
+    public static Board decodeBoard(final ByteBuffer buffer) throws ProtocolException {
+        try {
+            final int tiles = buffer.getShort();
+            final int[][] tilePositions = new int[tiles][];
+            final int[] tileResources = new int[tiles];
+            final int[] tileRollNumbers = new int[tiles];
+            for (int tile = 0; tile < tiles; tile++) {
+                tilePositions[tile] = new int[] {buffer.get(), buffer.get()};
+                tileResources[tile] = buffer.get();
+                tileRollNumbers[tile] = buffer.get();
+            }
+            final int intersections = buffer.getShort();
+            final int[][] intersectionTiles = new int[intersections][];
+            final int[] portRatios = new int[intersections];
+            final int[] portResources = new int[intersections];
+            for (int intersection = 0; intersection < intersections; intersection++) {
+                intersectionTiles[intersection] = getShorts(buffer, buffer.get());
+                portRatios[intersection] = buffer.get();
+                portResources[intersection] = buffer.get();
+            }
+            final int edges = buffer.getShort();
+            final int[][] edgeIntersections = new int[edges][];
+            for (int edge = 0; edge < edges; edge++) {
+                edgeIntersections[edge] = getShorts(buffer, 2);
+            }
+            return new Board(
+                tilePositions, tileResources, tileRollNumbers, intersectionTiles, portRatios, portResources,
+                edgeIntersections
+            );
+        } catch (final BufferUnderflowException | NegativeArraySizeException e) {
+            throw new ProtocolException("Truncated board");
+        }
+    }
+
+    /**
+     * Reads a player state.
+     *
+     * @param buffer the buffer to read from
+     * @return the state
+     * @throws ProtocolException if the state is malformed
+     */
+    public static State decodeState(final ByteBuffer buffer) throws ProtocolException {
+        try {
+            final int sequence = buffer.getInt();
+            final boolean prompt = buffer.get() != 0;
+            final int objective = buffer.get();
+            if (objective < 0 || objective >= OBJECTIVES.length) {
+                throw new ProtocolException("Unknown objective: " + objective);
+            }
+            final int robberTile = buffer.getShort();
+            final int[] resources = Protocol.getResources(buffer);
+            final int cardsToSelect = buffer.getShort();
+            final int[] buildableVillages = getShorts(buffer, buffer.getShort());
+            final int[] upgradableVillages = getShorts(buffer, buffer.getShort());
+            final int[] buildableRoads = getShorts(buffer, buffer.getShort());
+            final int[] victims = new int[buffer.get()];
+            for (int i = 0; i < victims.length; i++) {
+                victims[i] = buffer.get();
+            }
+            final boolean trade = buffer.get() != 0;
+            final int tradeSeat = trade ? buffer.get() : -1;
+            final int[] tradeOffer = trade ? Protocol.getResources(buffer) : new int[SearchState.RESOURCE_TYPES];
+            final int[] tradeRequest = trade ? Protocol.getResources(buffer) : new int[SearchState.RESOURCE_TYPES];
+            return new State(
+                sequence, prompt, OBJECTIVES[objective], robberTile, resources, cardsToSelect,
+                buildableVillages, upgradableVillages, buildableRoads, victims, tradeSeat, tradeOffer, tradeRequest
+            );
+        } catch (final BufferUnderflowException | NegativeArraySizeException e) {
+            throw new ProtocolException("Truncated state");
+        }
+    }
+
+    /**
+     * Reads the given amount of {@code short}s.
+     *
+     * @param buffer the buffer to read from
+     * @param count  the amount of values
+     * @return the values
+     */
+    private static int[] getShorts(final ByteBuffer buffer, final int count) {
+        final int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = buffer.getShort();
+        }
+        return values;
+    }
+}
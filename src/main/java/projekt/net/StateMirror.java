@@ -0,0 +1,73 @@
+package projekt.net;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * The client side of a {@link StateSync}: maintains a copy of the public state of a game by applying the received
+ * {@link Protocol#GAME} keyframes and {@link Protocol#DELTA}s.
+ * <p>
+ * Deltas must be applied in order, starting after a keyframe. A missing delta is detected by its sequence number;
+ * the mirror then rejects further deltas until the next keyframe.
+ */
+public final class StateMirror {
+
+    private GameSnapshot snapshot;
+    private int sequence;
+
+    /**
+     * Returns the mirrored state.
+     *
+     * @return the snapshot or {@code null}, if no keyframe has been applied yet
+     */
+    public GameSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Returns the sequence number of the mirrored state.
+     *
+     * @return the sequence number
+     */
+    public int getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Returns whether the given message type is applied by a mirror.
+     *
+     * @param type the message type
+     * @return whether the type is {@link Protocol#GAME} or {@link Protocol#DELTA}
+     */
+    public static boolean accepts(final byte type) {
+        return type == Protocol.GAME || type == Protocol.DELTA;
+    }
+
+    /**
+     * Applies a received frame.
+     *
+     * @param frame the frame as returned by {@link Protocol#nextFrame(ByteBuffer)}, starting with its message type
+     * @return the mirrored state after applying the frame
+     * @throws ProtocolException if the frame is malformed, not a keyframe or delta, or a delta is missing
+     */
+    public GameSnapshot apply(final ByteBuffer frame) throws ProtocolException {
+        try {
+            final byte type = frame.get();
+            final int frameSequence = frame.getInt();
+            if (type == Protocol.GAME) {
+                snapshot = GameSnapshot.decode(frame);
+            } else if (type != Protocol.DELTA) {
+                throw new ProtocolException("Unexpected message type: " + type);
+            } else if (snapshot == null || frameSequence != sequence + 1) {
+                snapshot = null;
+                throw new ProtocolException("Missing delta before " + frameSequence);
+            } else {
+                snapshot = snapshot.applyDelta(frame);
+            }
+            sequence = frameSequence;
+            return snapshot;
+        } catch (final BufferUnderflowException e) {
+            throw new ProtocolException("Truncated frame");
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package projekt.net;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes the public state of a game as a stream of {@link Protocol#GAME} keyframes and {@link Protocol#DELTA}s.
+ * <p>
+ * Every update of the state is numbered with a sequence number. Most updates are sent as deltas from the previous
+ * state, which only contain the changes of a single action (e.g. a placed piece, a robber move or the changed card
+ * counts of the players), so they are a fraction of the size of a full snapshot. Every
+ * {@link #getKeyframeInterval() few} updates, a keyframe with the full snapshot is sent instead. A client joining
+ * late catches up with the latest keyframe and the deltas since, and a client that missed updates can be reset by
+ * {@link #encodeKeyframe(ByteBuffer) a keyframe of the latest state}. Clients apply the stream with a
+ * {@link StateMirror}.
+ * <p>
+ * The encoder measures the amount and size of the frames it produces and the time spent encoding them.
+ * Instances are not thread-safe.
+ */
+public final class StateSync {
+
+    /**
+     * The default amount of updates between keyframes.
+     */
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 32;
+
+    private final int keyframeInterval;
+    private GameSnapshot latest;
+    private int sequence;
+    private int deltasSinceKeyframe;
+
+    private long keyframeCount;
+    private long keyframeBytes;
+    private long deltaCount;
+    private long deltaBytes;
+    private long encodeNanos;
+
+    /**
+     * Creates a new encoder with the {@link #DEFAULT_KEYFRAME_INTERVAL default keyframe interval}.
+     */
+    public StateSync() {
+        this(DEFAULT_KEYFRAME_INTERVAL);
+    }
+
+    /**
+     * Creates a new encoder.
+     *
+     * @param keyframeInterval the amount of updates between keyframes
+     */
+    public StateSync(final int keyframeInterval) {
+        if (keyframeInterval < 1) {
+            throw new IllegalArgumentException("Invalid keyframe interval: " + keyframeInterval);
+        }
+        this.keyframeInterval = keyframeInterval;
+    }
+
+    /**
+     * Returns the amount of updates between keyframes.
+     *
+     * @return the keyframe interval
+     */
+    public int getKeyframeInterval() {
+        return keyframeInterval;
+    }
+
+    /**
+     * Returns the latest state.
+     *
+     * @return the latest snapshot or {@code null}, if there was no update yet
+     */
+    public GameSnapshot getLatest() {
+        return latest;
+    }
+
+    /**
+     * Returns the sequence number of the latest state.
+     *
+     * @return the sequence number, {@code 0} if there was no update yet
+     */
+    public int getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Returns whether the given snapshot differs from the latest state.
+     *
+     * @param snapshot the snapshot
+     * @return whether an update is needed
+     */
+    public boolean hasChanged(final GameSnapshot snapshot) {
+        return !snapshot.equals(latest);
+    }
+
+    /**
+     * Returns the maximum size of the frame written by {@link #update(GameSnapshot, ByteBuffer)} for the given snapshot.
+     *
+     * @param snapshot the snapshot
+     * @return the size in bytes
+     */
+    public static int getMaxFrameSize(final GameSnapshot snapshot) {
+        return Protocol.HEADER_SIZE + Integer.BYTES + Math.max(snapshot.getEncodedSize(), snapshot.getMaxDeltaSize());
+    }
+
+    /**
+     * Makes the given snapshot the latest state and writes the update as a keyframe or delta frame.
+     *
+     * @param snapshot the new state
+     * @param buffer   the buffer to write the frame to
+     * @return whether the frame is a keyframe
+     */
+    public boolean update(final GameSnapshot snapshot, final ByteBuffer buffer) {
+        final long start = System.nanoTime();
+        final GameSnapshot previous = latest;
+        latest = snapshot;
+        sequence++;
+        final boolean keyframe = previous == null || deltasSinceKeyframe + 1 >= keyframeInterval;
+        if (keyframe) {
+            writeKeyframe(buffer);
+            deltasSinceKeyframe = 0;
+        } else {
+            final int frameStart = Protocol.beginFrame(buffer, Protocol.DELTA);
+            buffer.putInt(sequence);
+            snapshot.encodeDelta(previous, buffer);
+            Protocol.endFrame(buffer, frameStart);
+            deltaCount++;
+            deltaBytes += buffer.position() - frameStart;
+            deltasSinceKeyframe++;
+        }
+        encodeNanos += System.nanoTime() - start;
+        return keyframe;
+    }
+
+    /**
+     * Writes a keyframe of the latest state, e.g. to reset a client that missed updates. Following deltas apply to it.
+     *
+     * @param buffer the buffer to write the frame to
+     * @throws IllegalStateException if there was no update yet
+     */
+    public void encodeKeyframe(final ByteBuffer buffer) {
+        if (latest == null) {
+            throw new IllegalStateException("No state yet");
+        }
+        final long start = System.nanoTime();
+        writeKeyframe(buffer);
+        encodeNanos += System.nanoTime() - start;
+    }
+
+    /**
+     * Writes a keyframe of the latest state.
+     *
+     * @param buffer the buffer to write the frame to
+     */
+    private void writeKeyframe(final ByteBuffer buffer) {
+        final int frameStart = Protocol.beginFrame(buffer, Protocol.GAME);
+        buffer.putInt(sequence);
+        latest.encode(buffer);
+        Protocol.endFrame(buffer, frameStart);
+        keyframeCount++;
+        keyframeBytes += buffer.position() - frameStart;
+    }
+
+    // Metrics
+
+    /**
+     * Returns the amount of keyframes written.
+     *
+     * @return the amount of keyframes
+     */
+    public long getKeyframeCount() {
+        return keyframeCount;
+    }
+
+    /**
+     * Returns the total size of the keyframes written, including their headers.
+     *
+     * @return the size in bytes
+     */
+    public long getKeyframeBytes() {
+        return keyframeBytes;
+    }
+
+    /**
+     * Returns the amount of deltas written.
+     *
+     * @return the amount of deltas
+     */
+    public long getDeltaCount() {
+        return deltaCount;
+    }
+
+    /**
+     * Returns the total size of the deltas written, including their headers.
+     *
+     * @return the size in bytes
+     */
+    public long getDeltaBytes() {
+        return deltaBytes;
+    }
+
+    /**
+     * Returns the total time spent encoding frames.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getEncodeNanos() {
+        return encodeNanos;
+    }
+}
@@ -0,0 +1,204 @@
+package projekt.net.bot;
+
+import projekt.net.Protocol;
+import projekt.net.ProtocolException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+
+/**
+ * A bot's connection to a {@link BotGateway}. Only accessed by the gateway's selector thread.
+ * <p>
+ * Outgoing frames are queued and written together with a single gathering write. A queued informational state that
+ * has not been started yet is replaced by a newer one, so a slow bot does not fall behind.
+ */
+final class BotConnection {
+
+    private static final int READ_BUFFER_SIZE = 4096;
+
+    private final SocketChannel channel;
+    private final SelectionKey key;
+    private final ArrayDeque<ByteBuffer> outgoing = new ArrayDeque<>();
+    private ByteBuffer input = ByteBuffer.allocate(READ_BUFFER_SIZE);
+    private ByteBuffer queuedState;
+    private BotGateway.Seat seat;
+    private boolean greeted;
+    private boolean closing;
+    private boolean reading;
+
+    /**
+     * Creates a new connection.
+     *
+     * @param channel the channel
+     * @param key     the channel's selection key
+     */
+    BotConnection(final SocketChannel channel, final SelectionKey key) {
+        this.channel = channel;
+        this.key = key;
+    }
+
+    /**
+     * Returns the seat this connection plays.
+     *
+     * @return the seat or {@code null}, if the connection is not bound yet
+     */
+    BotGateway.Seat getSeat() {
+        return seat;
+    }
+
+    /**
+     * Binds this connection to the given seat.
+     *
+     * @param seat the seat or {@code null} to unbind it
+     */
+    void setSeat(final BotGateway.Seat seat) {
+        this.seat = seat;
+    }
+
+    /**
+     * Returns whether the bot has sent its {@link Protocol#HELLO}.
+     *
+     * @return whether the bot has greeted
+     */
+    boolean isGreeted() {
+        return greeted;
+    }
+
+    /**
+     * Marks the bot as greeted.
+     */
+    void setGreeted() {
+        greeted = true;
+    }
+
+    /**
+     * Returns whether the connection closes once all queued frames are written.
+     *
+     * @return whether the connection is closing
+     */
+    boolean isClosing() {
+        return closing;
+    }
+
+    /**
+     * Reads available bytes from the channel.
+     *
+     * @return whether the channel is still open
+     * @throws IOException if the channel cannot be read
+     */
+    boolean read() throws IOException {
+        if (!input.hasRemaining()) {
+            final ByteBuffer larger = ByteBuffer.allocate(Math.min(
+                input.capacity() * 2, Protocol.MAX_FRAME_LENGTH + Integer.BYTES
+            ));
+            input.flip();
+            input = larger.put(input);
+        }
+        return channel.read(input) != -1;
+    }
+
+    /**
+     * Returns the next complete frame read from the channel. Frames share the input buffer, so they are only valid
+     * until {@link #compact()} is called.
+     *
+     * @return the frame or {@code null}, if no further complete frame has been read
+     * @throws ProtocolException if the bot violated the protocol
+     */
+    ByteBuffer nextFrame() throws ProtocolException {
+        if (!reading) {
+            input.flip();
+            reading = true;
+        }
+        return Protocol.nextFrame(input);
+    }
+
+    /**
+     * Discards the frames returned by {@link #nextFrame()} and prepares the input buffer for the next read.
+     */
+    void compact() {
+        if (reading) {
+            input.compact();
+            reading = false;
+        }
+    }
+
+    /**
+     * Queues the given frame.
+     *
+     * @param frame the frame, ready for writing; it is not modified
+     */
+    void queue(final ByteBuffer frame) {
+        outgoing.add(frame.duplicate());
+    }
+
+    /**
+     * Queues the given state frame. A queued informational state that has not been started yet is replaced;
+     * prompts are never dropped, since the game waits for the bot to act on them.
+     *
+     * @param frame  the frame, ready for writing; it is not modified
+     * @param prompt whether the state is a prompt
+     */
+    void queueState(final ByteBuffer frame, final boolean prompt) {
+        final ByteBuffer previous = queuedState;
+        if (previous != null && previous.position() == 0) {
+            outgoing.removeIf(queued -> queued == previous);
+        }
+        queuedState = prompt ? null : frame.duplicate();
+        outgoing.add(prompt ? frame.duplicate() : queuedState);
+    }
+
+    /**
+     * Queues an {@link Protocol#ERROR} frame and closes the connection once it is written.
+     *
+     * @param message the error message
+     */
+    void fail(final String message) {
+        final byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        final ByteBuffer frame = ByteBuffer.allocate(Protocol.HEADER_SIZE + Short.BYTES + bytes.length);
+        final int start = Protocol.beginFrame(frame, Protocol.ERROR);
+        frame.putShort((short) bytes.length).put(bytes);
+        Protocol.endFrame(frame, start);
+        outgoing.add(frame.flip());
+        closing = true;
+    }
+
+    /**
+     * Writes as many queued frames as the channel accepts, with a single gathering write.
+     * Registers interest in writability while frames remain.
+     *
+     * @return whether all queued frames were written
+     * @throws IOException if the channel cannot be written
+     */
+    boolean flush() throws IOException {
+        if (!outgoing.isEmpty()) {
+            channel.write(outgoing.toArray(ByteBuffer[]::new));
+            while (!outgoing.isEmpty() && !outgoing.peek().hasRemaining()) {
+                if (outgoing.poll() == queuedState) {
+                    queuedState = null;
+                }
+            }
+        }
+        if (key.isValid()) {
+            key.interestOps(outgoing.isEmpty()
+                            ? SelectionKey.OP_READ
+                            : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        }
+        return outgoing.isEmpty();
+    }
+
+    /**
+     * Closes the channel.
+     */
+    void close() {
+        key.cancel();
+        try {
+            channel.close();
+        } catch (final IOException e) {
+            // already closed
+        }
+    }
+}
@@ -0,0 +1,439 @@
+package projekt.net.bot;
+
+import projekt.controller.actions.PlayerAction;
+import projekt.controller.ai.tournament.AiControllerFactory;
+import projekt.net.Protocol;
+import projekt.net.ProtocolException;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets bots outside the JVM play through {@link RemoteBotController}s, using the binary {@link Protocol} over a
+ * local TCP or Unix domain socket.
+ * <p>
+ * Every {@link RemoteBotController} created by {@link #getControllerFactory()} registers a seat with a unique ticket.
+ * A bot connects, sends a {@link Protocol#HELLO} with the ticket (or {@code 0} for the next free seat) and receives
+ * a {@link Protocol#WELCOME} with the board, followed by the states of its player. It answers with
+ * {@link Protocol#ACTION}s, which are passed to the player's controller in order. Bots may send several actions
+ * without waiting (pipelining), e.g. a build and the end of the turn.
+ * <p>
+ * A single selector thread serves all connections of all games. Other threads hand it work through a task queue,
+ * and it writes the frames queued for a connection with one gathering write per wakeup. A bot that disconnects can
+ * reconnect with its ticket and receives the latest prompt and state again.
+ */
+public final class BotGateway implements AutoCloseable {
+
+    private final Selector selector;
+    private final ServerSocketChannel server;
+    private final Path socketFile;
+    private final Thread thread;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicLong nextTicket = new AtomicLong(1);
+    private volatile boolean open = true;
+
+    // Selector thread only
+    private final Map<Long, Seat> seats = new LinkedHashMap<>();
+    private final Map<SocketChannel, BotConnection> connections = new HashMap<>();
+    private final ArrayDeque<BotConnection> waiting = new ArrayDeque<>();
+    private final Set<BotConnection> dirty = new LinkedHashSet<>();
+
+    /**
+     * A seat of a game played by a bot. Only accessed by the selector thread.
+     */
+    static final class Seat {
+        private final long ticket;
+        private final RemoteBotController controller;
+        private BotConnection connection;
+        private ByteBuffer latestPrompt;
+        private ByteBuffer latestState;
+
+        /**
+         * Creates a new seat.
+         *
+         * @param ticket     the ticket
+         * @param controller the controller of the seat
+         */
+        private Seat(final long ticket, final RemoteBotController controller) {
+            this.ticket = ticket;
+            this.controller = controller;
+        }
+    }
+
+    /**
+     * Creates a new gateway on the given bound server channel and starts its selector thread.
+     *
+     * @param server     the server channel
+     * @param socketFile the file of a Unix domain socket to delete on close or {@code null}
+     * @throws IOException if the selector cannot be opened
+     */
+    private BotGateway(final ServerSocketChannel server, final Path socketFile) throws IOException {
+        this.server = server;
+        this.socketFile = socketFile;
+        this.selector = Selector.open();
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+        this.thread = new Thread(this::loop, "BotGatewayThread");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Opens a gateway on the given address, which is either an {@link InetSocketAddress} or a
+     * {@link UnixDomainSocketAddress}.
+     *
+     * @param address the address to listen on
+     * @return the gateway
+     * @throws IOException if the address cannot be bound
+     */
+    public static BotGateway open(final SocketAddress address) throws IOException {
+        final boolean unix = address instanceof UnixDomainSocketAddress;
+        final ServerSocketChannel server = unix
+                                           ? ServerSocketChannel.open(StandardProtocolFamily.UNIX)
+                                           : ServerSocketChannel.open();
+        try {
+            server.bind(address);
+            return new BotGateway(server, unix ? ((UnixDomainSocketAddress) address).getPath() : null);
+        } catch (final IOException e) {
+            server.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens a gateway on an ephemeral port of the loopback interface.
+     *
+     * @return the gateway
+     * @throws IOException if no port can be bound
+     */
+    public static BotGateway openLoopback() throws IOException {
+        return open(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    }
+
+    /**
+     * Returns the address bots connect to.
+     *
+     * @return the address
+     * @throws IOException if the gateway is closed
+     */
+    public SocketAddress getAddress() throws IOException {
+        return server.getLocalAddress();
+    }
+
+    /**
+     * Returns a factory creating {@link RemoteBotController}s played through this gateway, e.g. for
+     * {@link projekt.controller.ai.tournament.Entrant}s.
+     *
+     * @return the factory
+     */
+    public AiControllerFactory getControllerFactory() {
+        return (playerController, hexGrid, gameState, activePlayerController, aiExecutor) -> new RemoteBotController(
+            this, playerController, hexGrid, gameState, activePlayerController, aiExecutor
+        );
+    }
+
+    // Called by controllers
+
+    /**
+     * Registers a seat for the given controller. A waiting bot takes it immediately.
+     *
+     * @param controller the controller
+     * @return the ticket of the seat
+     */
+    long register(final RemoteBotController controller) {
+        final long ticket = nextTicket.getAndIncrement();
+        execute(() -> {
+            final Seat seat = new Seat(ticket, controller);
+            seats.put(ticket, seat);
+            final BotConnection connection = waiting.poll();
+            if (connection != null) {
+                bind(connection, seat);
+            }
+        });
+        return ticket;
+    }
+
+    /**
+     * Removes the seat with the given ticket and closes its connection.
+     *
+     * @param ticket the ticket
+     */
+    void unregister(final long ticket) {
+        execute(() -> {
+            final Seat seat = seats.remove(ticket);
+            if (seat != null && seat.connection != null) {
+                disconnect(seat.connection);
+            }
+        });
+    }
+
+    /**
+     * Sends the given state frame to the bot of the seat with the given ticket.
+     *
+     * @param ticket the ticket
+     * @param frame  the {@link Protocol#STATE} frame, ready for writing
+     * @param prompt whether the bot is expected to act on the state
+     */
+    void publish(final long ticket, final ByteBuffer frame, final boolean prompt) {
+        execute(() -> {
+            final Seat seat = seats.get(ticket);
+            if (seat == null) {
+                return;
+            }
+            if (prompt) {
+                seat.latestPrompt = frame;
+                seat.latestState = null;
+            } else {
+                seat.latestState = frame;
+            }
+            if (seat.connection != null && !seat.connection.isClosing()) {
+                seat.connection.queueState(frame, prompt);
+                dirty.add(seat.connection);
+            }
+        });
+    }
+
+    /**
+     * Runs the given task on the selector thread.
+     *
+     * @param task the task
+     */
+    private void execute(final Runnable task) {
+        tasks.add(task);
+        selector.wakeup();
+    }
+
+    // Selector thread
+
+    /**
+     * Serves all connections until the gateway is closed.
+     */
+    private void loop() {
+        while (open) {
+            try {
+                selector.select();
+            } catch (final IOException e) {
+                e.printStackTrace();
+                break;
+            }
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+            }
+            final Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                final SelectionKey key = keys.next();
+                keys.remove();
+                if (!key.isValid()) {
+                    continue;
+                }
+                if (key.isAcceptable()) {
+                    accept();
+                    continue;
+                }
+                final BotConnection connection = (BotConnection) key.attachment();
+                if (key.isReadable()) {
+                    read(connection);
+                }
+                if (key.isValid() && key.isWritable()) {
+                    dirty.add(connection);
+                }
+            }
+            final List<BotConnection> flushing = new ArrayList<>(dirty);
+            dirty.clear();
+            for (final BotConnection connection : flushing) {
+                try {
+                    if (connection.flush() && connection.isClosing()) {
+                        disconnect(connection);
+                    }
+                } catch (final IOException e) {
+                    disconnect(connection);
+                }
+            }
+        }
+        for (final BotConnection connection : new ArrayList<>(connections.values())) {
+            connection.close();
+        }
+    }
+
+    /**
+     * Accepts pending connections.
+     */
+    private void accept() {
+        try {
+            SocketChannel channel;
+            while ((channel = server.accept()) != null) {
+                channel.configureBlocking(false);
+                final SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+                final BotConnection connection = new BotConnection(channel, key);
+                key.attach(connection);
+                connections.put(channel, connection);
+            }
+        } catch (final IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Reads and handles all complete frames available on the given connection.
+     *
+     * @param connection the connection
+     */
+    private void read(final BotConnection connection) {
+        try {
+            if (!connection.read()) {
+                disconnect(connection);
+                return;
+            }
+            ByteBuffer frame;
+            while (!connection.isClosing() && (frame = connection.nextFrame()) != null) {
+                handle(connection, frame);
+            }
+            connection.compact();
+        } catch (final ProtocolException e) {
+            connection.compact();
+            connection.fail(e.getMessage());
+            unbind(connection);
+            dirty.add(connection);
+        } catch (final IOException e) {
+            disconnect(connection);
+        }
+    }
+
+    /**
+     * Handles a frame received from a bot.
+     *
+     * @param connection the connection the frame was received on
+     * @param frame      the frame, starting with its message type
+     * @throws ProtocolException if the frame violates the protocol
+     */
+    private void handle(final BotConnection connection, final ByteBuffer frame) throws ProtocolException {
+        final byte type = frame.get();
+        if (!connection.isGreeted()) {
+            if (type != Protocol.HELLO || frame.remaining() < Integer.BYTES + Long.BYTES) {
+                throw new ProtocolException("Expected HELLO");
+            }
+            final int version = frame.getInt();
+            if (version != Protocol.VERSION) {
+                throw new ProtocolException("Unsupported protocol version: " + version);
+            }
+            connection.setGreeted();
+            final long ticket = frame.getLong();
+            if (ticket == 0) {
+                final Seat free = seats.values().stream().filter(seat -> seat.connection == null).findFirst().orElse(null);
+                if (free == null) {
+                    waiting.add(connection);
+                } else {
+                    bind(connection, free);
+                }
+                return;
+            }
+            final Seat seat = seats.get(ticket);
+            if (seat == null) {
+                throw new ProtocolException("Unknown ticket: " + ticket);
+            }
+            if (seat.connection != null) {
+                throw new ProtocolException("Seat is taken: " + ticket);
+            }
+            bind(connection, seat);
+        } else if (type == Protocol.ACTION) {
+            final Seat seat = connection.getSeat();
+            if (seat == null) {
+                throw new ProtocolException("No seat assigned yet");
+            }
+            final PlayerAction action = seat.controller.getActionCodec().decode(frame, seat.controller.getPlayer());
+            seat.controller.receive(action);
+        } else {
+            throw new ProtocolException("Unexpected message type: " + type);
+        }
+    }
+
+    /**
+     * Binds the given connection to the given seat and sends the welcome, the latest prompt and the latest state.
+     *
+     * @param connection the connection
+     * @param seat       the seat
+     */
+    private void bind(final BotConnection connection, final Seat seat) {
+        seat.connection = connection;
+        connection.setSeat(seat);
+        connection.queue(seat.controller.encodeWelcome(seat.ticket));
+        if (seat.latestPrompt != null) {
+            connection.queueState(seat.latestPrompt, true);
+        }
+        if (seat.latestState != null) {
+            connection.queueState(seat.latestState, false);
+        }
+        dirty.add(connection);
+    }
+
+    /**
+     * Frees the seat of the given connection, so another bot can take it.
+     *
+     * @param connection the connection
+     */
+    private void unbind(final BotConnection connection) {
+        waiting.remove(connection);
+        final Seat seat = connection.getSeat();
+        if (seat != null && seat.connection == connection) {
+            seat.connection = null;
+        }
+        connection.setSeat(null);
+    }
+
+    /**
+     * Closes the given connection and frees its seat.
+     *
+     * @param connection the connection
+     */
+    private void disconnect(final BotConnection connection) {
+        unbind(connection);
+        connections.values().remove(connection);
+        dirty.remove(connection);
+        connection.close();
+    }
+
+    /**
+     * Closes the gateway and all connections. Games waiting for their bots keep waiting.
+     *
+     * @throws IOException if the server channel cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        open = false;
+        selector.wakeup();
+        try {
+            thread.join();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        selector.close();
+        server.close();
+        if (socketFile != null) {
+            Files.deleteIfExists(socketFile);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package projekt.net.bot;
+
+import javafx.beans.property.Property;
+import projekt.controller.AiController;
+import projekt.controller.PlayerController;
+import projekt.controller.PlayerObjective;
+import projekt.controller.actions.PlayerAction;
+import projekt.controller.ai.AiExecutor;
+import projekt.controller.ai.BoardIndex;
+import projekt.model.GameState;
+import projekt.model.HexGrid;
+import projekt.model.Player;
+import projekt.model.PlayerState;
+import projekt.net.ActionCodec;
+import projekt.net.StateCodec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An AI controller whose decisions are made by a bot connected to a {@link BotGateway}.
+ * <p>
+ * Every objective change is sent to the bot as a prompt, i.e. a state it is expected to act on, and every other
+ * change of the player's state as an informational update. Actions received from the bot are triggered on the
+ * player controller in the order they arrive; illegal actions are ignored by the player controller as usual.
+ */
+public class RemoteBotController extends AiController implements AutoCloseable {
+
+    private final BotGateway gateway;
+    private final ActionCodec actionCodec;
+    private final StateCodec stateCodec;
+    private final int seat;
+    private final long ticket;
+    private int sequence;
+
+    /**
+     * Creates a new controller played through the given gateway.
+     *
+     * @param gateway                the gateway
+     * @param playerController       the player controller this belongs to
+     * @param hexGrid                the hex grid
+     * @param gameState              the game state
+     * @param activePlayerController the active player controller
+     * @param aiExecutor             the executor running this controller's reactions
+     */
+    public RemoteBotController(
+        final BotGateway gateway,
+        final PlayerController playerController, final HexGrid hexGrid, final GameState gameState,
+        final Property<PlayerController> activePlayerController, final AiExecutor aiExecutor
+    ) {
+        super(playerController, hexGrid, gameState, activePlayerController, aiExecutor);
+        this.gateway = gateway;
+        final BoardIndex board = new BoardIndex(hexGrid);
+        this.actionCodec = new ActionCodec(board, gameState.getPlayers());
+        this.stateCodec = new StateCodec(board, gameState.getPlayers());
+        this.seat = gameState.getPlayers().indexOf(playerController.getPlayer());
+        this.ticket = gateway.register(this);
+        playerController.getPlayerStateProperty().subscribe(state -> publish(false));
+        publish(true);
+    }
+
+    /**
+     * Returns the ticket a bot uses to take this controller's seat.
+     *
+     * @return the ticket
+     */
+    public long getTicket() {
+        return ticket;
+    }
+
+    /**
+     * Returns the player of this controller.
+     *
+     * @return the player
+     */
+    public Player getPlayer() {
+        return playerController.getPlayer();
+    }
+
+    @Override
+    protected void executeActionBasedOnObjective(final PlayerObjective objective) {
+        if (gateway == null) {
+            // the initial objective is reported by the super constructor; this constructor publishes it instead
+            return;
+        }
+        publish(true);
+    }
+
+    /**
+     * Sends the player's current state to the bot.
+     *
+     * @param prompt whether the bot is expected to act on the state
+     */
+    private synchronized void publish(final boolean prompt) {
+        final PlayerState state = playerController.getPlayerState();
+        if (state == null) {
+            return;
+        }
+        final ByteBuffer frame = stateCodec.encodeState(
+            ++sequence, prompt, playerController.getPlayerObjectiveProperty().getValue(), state,
+            playerController.getPlayer().getResources()
+        );
+        gateway.publish(ticket, frame, prompt);
+    }
+
+    /**
+     * Returns the codec of the actions received from the bot.
+     *
+     * @return the action codec
+     */
+    ActionCodec getActionCodec() {
+        return actionCodec;
+    }
+
+    /**
+     * Returns the {@link projekt.net.Protocol#WELCOME} frame sent to a bot taking this controller's seat.
+     *
+     * @param ticket the ticket of the seat
+     * @return the frame, ready for writing
+     */
+    ByteBuffer encodeWelcome(final long ticket) {
+        return stateCodec.encodeWelcome(ticket, seat);
+    }
+
+    /**
+     * Triggers an action received from the bot.
+     *
+     * @param action the action
+     */
+    void receive(final PlayerAction action) {
+        playerController.triggerAction(action);
+    }
+
+    /**
+     * Frees this controller's seat and disconnects its bot.
+     */
+    @Override
+    public void close() {
+        gateway.unregister(ticket);
+    }
+}
@@ -0,0 +1,308 @@
+package projekt.net.bot;
+
+import projekt.controller.ai.SearchState;
+import projekt.net.ActionCodec;
+import projekt.net.Protocol;
+import projekt.net.ProtocolException;
+import projekt.net.StateCodec;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A minimal bot playing through a {@link BotGateway}, standing in for bots written outside the JVM in tests and
+ * as a reference client of the {@link Protocol}.
+ * <p>
+ * The bot only acts on prompts and answers each with a single write. It rolls the dice, places on the first
+ * buildable spot and, in a regular turn, pipelines a build with the end of the turn. It drops or selects the
+ * resources it holds the most of, moves the robber to the first other tile, never steals and declines all trades.
+ */
+public final class StandInBot implements Runnable, AutoCloseable {
+
+    private final SocketChannel channel;
+    private final long ticket;
+    private final ByteBuffer input = ByteBuffer.allocate(Protocol.MAX_FRAME_LENGTH + Integer.BYTES);
+    private final ByteBuffer output = ByteBuffer.allocate(1024);
+    private StateCodec.Board board;
+    private int seat = -1;
+    private volatile int prompts;
+    private volatile int actions;
+
+    /**
+     * Creates a new bot on the given connected channel.
+     *
+     * @param channel the channel
+     * @param ticket  the ticket of the seat to take or {@code 0}
+     */
+    private StandInBot(final SocketChannel channel, final long ticket) {
+        this.channel = channel;
+        this.ticket = ticket;
+    }
+
+    /**
+     * Connects a bot to the gateway at the given address.
+     *
+     * @param address the address of the gateway
+     * @param ticket  the ticket of the seat to take or {@code 0} for the next free seat
+     * @return the bot
+     * @throws IOException if the gateway cannot be reached
+     */
+    public static StandInBot connect(final SocketAddress address, final long ticket) throws IOException {
+        final SocketChannel channel = address instanceof UnixDomainSocketAddress
+                                      ? SocketChannel.open(StandardProtocolFamily.UNIX)
+                                      : SocketChannel.open();
+        try {
+            channel.connect(address);
+        } catch (final IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new StandInBot(channel, ticket);
+    }
+
+    /**
+     * Returns the seat assigned by the gateway.
+     *
+     * @return the seat or {@code -1}, if the bot has not been welcomed yet
+     */
+    public int getSeat() {
+        return seat;
+    }
+
+    /**
+     * Returns the board received from the gateway.
+     *
+     * @return the board or {@code null}, if the bot has not been welcomed yet
+     */
+    public StateCodec.Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Returns the amount of prompts the bot has answered.
+     *
+     * @return the amount of prompts
+     */
+    public int getPrompts() {
+        return prompts;
+    }
+
+    /**
+     * Returns the amount of actions the bot has sent.
+     *
+     * @return the amount of actions
+     */
+    public int getActions() {
+        return actions;
+    }
+
+    /**
+     * Plays until the gateway closes the connection.
+     */
+    @Override
+    public void run() {
+        try {
+            play();
+        } catch (final EOFException e) {
+            // the gateway closed the connection
+        } catch (final IOException e) {
+            if (channel.isOpen()) {
+                throw new IllegalStateException("Stand-in bot failed", e);
+            }
+        }
+    }
+
+    /**
+     * Greets the gateway and answers its prompts.
+     *
+     * @throws IOException if the connection fails or the gateway violates the protocol
+     */
+    private void play() throws IOException {
+        output.clear();
+        final int start = Protocol.beginFrame(output, Protocol.HELLO);
+        output.putInt(Protocol.VERSION).putLong(ticket);
+        Protocol.endFrame(output, start);
+        write();
+
+        while (true) {
+            final ByteBuffer frame = readFrame();
+            final byte type = frame.get();
+            if (type == Protocol.WELCOME) {
+                frame.getLong();
+                seat = frame.get();
+                frame.get();
+                board = StateCodec.decodeBoard(frame);
+            } else if (type == Protocol.STATE) {
+                final StateCodec.State state = StateCodec.decodeState(frame);
+                if (state.prompt()) {
+                    respond(state);
+                }
+            } else if (type == Protocol.ERROR) {
+                final byte[] message = new byte[frame.getShort()];
+                frame.get(message);
+                throw new ProtocolException("Gateway error: " + new String(message, StandardCharsets.UTF_8));
+            } else {
+                throw new ProtocolException("Unexpected message type: " + type);
+            }
+        }
+    }
+
+    /**
+     * Sends the actions answering the given prompt in a single write.
+     *
+     * @param state the prompted state
+     * @throws IOException if the actions cannot be sent
+     */
+    private void respond(final StateCodec.State state) throws IOException {
+        output.clear();
+        switch (state.objective()) {
+            case DICE_ROLL -> action(ActionCodec.ROLL_DICE, -1);
+            case PLACE_VILLAGE -> first(ActionCodec.BUILD_VILLAGE, state.buildableVillages());
+            case PLACE_ROAD -> first(ActionCodec.BUILD_ROAD, state.buildableRoads());
+            case REGULAR_TURN -> {
+                if (!first(ActionCodec.BUILD_VILLAGE, state.buildableVillages())
+                    && !first(ActionCodec.UPGRADE_VILLAGE, state.upgradableVillages())) {
+                    first(ActionCodec.BUILD_ROAD, state.buildableRoads());
+                }
+                action(ActionCodec.END_TURN, -1);
+            }
+            case DROP_CARDS, SELECT_CARDS -> selectCards(state);
+            case SELECT_ROBBER_TILE -> action(ActionCodec.SELECT_ROBBER_TILE, state.robberTile() == 0 ? 1 : 0);
+            case SELECT_CARD_TO_STEAL -> action(ActionCodec.END_TURN, -1);
+            case ACCEPT_TRADE -> {
+                final int start = Protocol.beginFrame(output, Protocol.ACTION);
+                output.put(ActionCodec.ACCEPT_TRADE).put((byte) 0);
+                Protocol.endFrame(output, start);
+                actions++;
+            }
+            default -> {
+                // nothing to do while idle
+            }
+        }
+        prompts++;
+        if (output.position() > 0) {
+            write();
+        }
+    }
+
+    /**
+     * Appends an action frame with an optional id argument.
+     *
+     * @param tag the action tag
+     * @param id  the id argument or {@code -1}, if the action has none
+     */
+    private void action(final byte tag, final int id) {
+        final int start = Protocol.beginFrame(output, Protocol.ACTION);
+        output.put(tag);
+        if (id != -1) {
+            output.putShort((short) id);
+        }
+        Protocol.endFrame(output, start);
+        actions++;
+    }
+
+    /**
+     * Appends an action on the first of the given ids.
+     *
+     * @param tag the action tag
+     * @param ids the candidate ids
+     * @return whether an action was appended
+     */
+    private boolean first(final byte tag, final int[] ids) {
+        if (ids.length == 0) {
+            return false;
+        }
+        action(tag, ids[0]);
+        return true;
+    }
+
+    /**
+     * Appends a card selection of the resources held the most.
+     *
+     * @param state the prompted state
+     */
+    private void selectCards(final StateCodec.State state) {
+        final int[] held = state.resources().clone();
+        final int[] selected = new int[SearchState.RESOURCE_TYPES];
+        for (int card = 0; card < state.cardsToSelect(); card++) {
+            int best = 0;
+            for (int resource = 1; resource < held.length; resource++) {
+                if (held[resource] > held[best]) {
+                    best = resource;
+                }
+            }
+            held[best]--;
+            selected[best]++;
+        }
+        final int start = Protocol.beginFrame(output, Protocol.ACTION);
+        output.put(ActionCodec.SELECT_CARDS);
+        Protocol.putResources(output, selected);
+        Protocol.endFrame(output, start);
+        actions++;
+    }
+
+    /**
+     * Writes the output buffer.
+     *
+     * @throws IOException if the buffer cannot be written
+     */
+    private void write() throws IOException {
+        output.flip();
+        while (output.hasRemaining()) {
+            channel.write(output);
+        }
+    }
+
+    /**
+     * Reads the next frame.
+     *
+     * @return the frame, starting with its message type
+     * @throws IOException if the connection fails or the frame is malformed
+     */
+    private ByteBuffer readFrame() throws IOException {
+        while (true) {
+            input.flip();
+            final ByteBuffer frame = Protocol.nextFrame(input);
+            if (frame != null) {
+                // copy the frame, since compacting moves the remaining bytes
+                final ByteBuffer copy = ByteBuffer.allocate(frame.remaining()).put(frame).flip();
+                input.compact();
+                return copy;
+            }
+            input.compact();
+            if (channel.read(input) == -1) {
+                throw new EOFException();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Connects a stand-in bot and plays until the gateway closes the connection.
+     * Arguments: {@code <host:port | unix socket path> [ticket]}.
+     *
+     * @param args the command line arguments
+     * @throws IOException if the gateway cannot be reached
+     */
+    public static void main(final String[] args) throws IOException {
+        final int separator = args[0].lastIndexOf(':');
+        final SocketAddress address = separator > 0 && args[0].substring(separator + 1).matches("\\d+")
+                                      ? new InetSocketAddress(args[0].substring(0, separator),
+                                                              Integer.parseInt(args[0].substring(separator + 1)))
+                                      : UnixDomainSocketAddress.of(args[0]);
+        try (StandInBot bot = connect(address, args.length > 1 ? Long.parseLong(args[1]) : 0)) {
+            bot.run();
+        }
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * Contains the bot gateway, which lets bots outside the JVM play through {@link projekt.controller.PlayerController}s
+ * over local sockets, and a stand-in bot for tests.
+ */
+package projekt.net.bot;
@@ -0,0 +1,5 @@
+/**
+ * Contains the binary wire protocol used to play games over sockets: framing, and codecs for boards, player states
+ * and {@link projekt.controller.actions.PlayerAction}s.
+ */
+package projekt.net;
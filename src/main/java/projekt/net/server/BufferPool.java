@@ -0,0 +1,104 @@
+package projekt.net.server;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A thread-safe pool of direct buffers of a fixed size.
+ * <p>
+ * Direct buffers are expensive to allocate and are only freed by the garbage collector, so the pool allocates them
+ * in slabs of several buffers at once and hands out slices of the slabs. Buffers are never freed; released buffers
+ * are reused by later {@link #acquire()} calls.
+ */
+public final class BufferPool {
+
+    private final int bufferSize;
+    private final int buffersPerSlab;
+    private final Queue<ByteBuffer> available = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger allocated = new AtomicInteger();
+    private final AtomicInteger acquired = new AtomicInteger();
+
+    /**
+     * Creates a new, empty pool.
+     *
+     * @param bufferSize     the size of each buffer in bytes
+     * @param buffersPerSlab the amount of buffers allocated at once
+     */
+    public BufferPool(final int bufferSize, final int buffersPerSlab) {
+        if (bufferSize < 1 || buffersPerSlab < 1) {
+            throw new IllegalArgumentException("Buffer size and buffers per slab must be positive");
+        }
+        this.bufferSize = bufferSize;
+        this.buffersPerSlab = buffersPerSlab;
+    }
+
+    /**
+     * Returns the size of the buffers of this pool.
+     *
+     * @return the size in bytes
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Takes a cleared buffer from the pool, allocating a new slab if none is available.
+     *
+     * @return the buffer
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = available.poll();
+        if (buffer == null) {
+            buffer = allocateSlab();
+        }
+        acquired.incrementAndGet();
+        return buffer.clear();
+    }
+
+    /**
+     * Returns a buffer taken by {@link #acquire()} to the pool. The buffer must not be used afterwards.
+     *
+     * @param buffer the buffer
+     */
+    public void release(final ByteBuffer buffer) {
+        if (buffer.capacity() != bufferSize || !buffer.isDirect()) {
+            throw new IllegalArgumentException("Buffer does not belong to this pool");
+        }
+        acquired.decrementAndGet();
+        available.add(buffer);
+    }
+
+    /**
+     * Allocates a new slab, keeps all but one of its buffers available and returns the remaining one.
+     *
+     * @return a buffer of the new slab
+     */
+    private ByteBuffer allocateSlab() {
+        final ByteBuffer slab = ByteBuffer.allocateDirect(bufferSize * buffersPerSlab);
+        for (int i = 1; i < buffersPerSlab; i++) {
+            available.add(slab.slice(i * bufferSize, bufferSize));
+        }
+        allocated.addAndGet(buffersPerSlab);
+        return slab.slice(0, bufferSize);
+    }
+
+    /**
+     * Returns the amount of buffers allocated by this pool.
+     *
+     * @return the amount of buffers
+     */
+    public int getAllocatedCount() {
+        return allocated.get();
+    }
+
+    /**
+     * Returns the amount of buffers currently acquired, i.e. not released yet.
+     *
+     * @return the amount of buffers
+     */
+    public int getAcquiredCount() {
+        return acquired.get();
+    }
+}
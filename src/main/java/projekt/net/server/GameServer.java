@@ -0,0 +1,312 @@
+package projekt.net.server;
+
+import projekt.controller.GameController;
+import projekt.net.Protocol;
+import projekt.net.ProtocolException;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A non-blocking server for multiplayer games, using the binary {@link Protocol}.
+ * <p>
+ * Games are hosted with {@link #host(GameController)}, which hands out a secret ticket per seat. A client connects,
+ * sends a {@link Protocol#HELLO} with its ticket and plays the seat by sending {@link Protocol#ACTION}s, which are
+ * the {@link projekt.controller.actions.PlayerAction}s of the game, encoded by {@link projekt.net.ActionCodec}.
+ * A client sending the game's spectator ticket follows the game instead, see {@link HostedGame}.
+ * <p>
+ * The server serves all connections of all games with a small, fixed number of {@link SelectorLoop selector threads}:
+ * the first one also accepts connections and distributes them round-robin among all loops. No thread is ever
+ * blocked by a client, so a few threads can serve thousands of concurrent games. Frames are encoded into direct
+ * buffers taken from a {@link BufferPool}, and a frame broadcast to all seats of a game is encoded only once.
+ * <p>
+ * Use {@link Builder} to configure and open a server.
+ */
+public final class GameServer implements AutoCloseable {
+
+    private final ServerSocketChannel channel;
+    private final BufferPool pool;
+    private final SelectorLoop[] loops;
+    private final AtomicInteger nextLoop = new AtomicInteger();
+    private final Map<Long, HostedGame.Seat> seats = new ConcurrentHashMap<>();
+    private final Map<Long, HostedGame> spectatedGames = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * Opens a server configured by the given builder.
+     *
+     * @param builder the builder
+     * @throws IOException if the address cannot be bound
+     */
+    private GameServer(final Builder builder) throws IOException {
+        this.pool = new BufferPool(builder.bufferSize, builder.buffersPerSlab);
+        this.channel = ServerSocketChannel.open();
+        this.loops = new SelectorLoop[builder.selectorThreads];
+        try {
+            channel.bind(builder.address, builder.backlog);
+            for (int i = 0; i < loops.length; i++) {
+                loops[i] = new SelectorLoop(this, pool, "GameServerThread-" + i);
+            }
+            loops[0].registerAcceptor(channel);
+        } catch (final IOException e) {
+            channel.close();
+            throw e;
+        }
+        for (final SelectorLoop loop : loops) {
+            loop.start();
+        }
+    }
+
+    /**
+     * Returns the address clients connect to.
+     *
+     * @return the address
+     * @throws IOException if the server is closed
+     */
+    public SocketAddress getAddress() throws IOException {
+        return channel.getLocalAddress();
+    }
+
+    /**
+     * Returns the pool of the buffers frames are encoded into.
+     *
+     * @return the pool
+     */
+    public BufferPool getBufferPool() {
+        return pool;
+    }
+
+    /**
+     * Hosts the given game. The game's player controllers must be initialized, but the game need not be started.
+     *
+     * @param gameController the game controller
+     * @return the hosted game, providing the tickets of its seats
+     */
+    public HostedGame host(final GameController gameController) {
+        return new HostedGame(this, gameController);
+    }
+
+    /**
+     * Returns the amount of seats of hosted games.
+     *
+     * @return the amount of seats
+     */
+    public int getSeatCount() {
+        return seats.size();
+    }
+
+    // Hosted games
+
+    /**
+     * Returns a new unique ticket, which is neither {@code 0} nor guessable.
+     *
+     * @return the ticket
+     */
+    long issueTicket() {
+        long ticket;
+        do {
+            ticket = random.nextLong();
+        } while (ticket == 0 || seats.containsKey(ticket) || spectatedGames.containsKey(ticket));
+        return ticket;
+    }
+
+    /**
+     * Makes the given seat available to clients.
+     *
+     * @param seat the seat
+     */
+    void register(final HostedGame.Seat seat) {
+        seats.put(seat.getTicket(), seat);
+    }
+
+    /**
+     * Makes the given seat unavailable to clients.
+     *
+     * @param seat the seat
+     */
+    void unregister(final HostedGame.Seat seat) {
+        seats.values().remove(seat);
+    }
+
+    /**
+     * Lets clients spectate the given game with the given ticket.
+     *
+     * @param ticket the spectator ticket
+     * @param game   the game
+     */
+    void registerSpectators(final long ticket, final HostedGame game) {
+        spectatedGames.put(ticket, game);
+    }
+
+    /**
+     * Invalidates the given spectator ticket.
+     *
+     * @param ticket the spectator ticket
+     */
+    void unregisterSpectators(final long ticket) {
+        spectatedGames.remove(ticket);
+    }
+
+    // Selector threads
+
+    /**
+     * Returns the loop to serve the next accepted connection.
+     *
+     * @return the loop
+     */
+    SelectorLoop nextLoop() {
+        return loops[Math.floorMod(nextLoop.getAndIncrement(), loops.length)];
+    }
+
+    /**
+     * Handles a frame received from a client.
+     *
+     * @param connection the connection the frame was received on
+     * @param frame      the frame, starting with its message type
+     * @throws ProtocolException if the frame violates the protocol
+     */
+    void handle(final ServerConnection connection, final ByteBuffer frame) throws ProtocolException {
+        final byte type = frame.get();
+        final HostedGame.Seat bound = connection.getSeat();
+        if (!connection.isBound()) {
+            if (type != Protocol.HELLO || frame.remaining() < Integer.BYTES + Long.BYTES) {
+                throw new ProtocolException("Expected HELLO");
+            }
+            final int version = frame.getInt();
+            if (version != Protocol.VERSION) {
+                throw new ProtocolException("Unsupported protocol version: " + version);
+            }
+            final long ticket = frame.getLong();
+            final HostedGame.Seat seat = seats.get(ticket);
+            final HostedGame spectated = spectatedGames.get(ticket);
+            if (seat != null) {
+                seat.getGame().bind(connection, seat);
+            } else if (spectated != null) {
+                spectated.spectate(connection);
+            } else {
+                throw new ProtocolException("Unknown ticket");
+            }
+        } else if (bound == null) {
+            throw new ProtocolException("Spectators cannot act");
+        } else if (type == Protocol.ACTION) {
+            bound.getGame().receive(bound, frame);
+        } else {
+            throw new ProtocolException("Unexpected message type: " + type);
+        }
+    }
+
+    /**
+     * Frees the seat of the given connection.
+     *
+     * @param connection the connection
+     */
+    void unbind(final ServerConnection connection) {
+        final HostedGame.Seat seat = connection.getSeat();
+        if (seat != null) {
+            seat.getGame().unbind(connection);
+        } else if (connection.getSpectatedGame() != null) {
+            connection.getSpectatedGame().unbindSpectator(connection);
+        }
+    }
+
+    /**
+     * Closes the server and all connections. Hosted games keep running, waiting for their clients.
+     *
+     * @throws IOException if the server channel cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        for (final SelectorLoop loop : loops) {
+            loop.close();
+        }
+        channel.close();
+    }
+
+    /**
+     * Builder for {@link GameServer}.
+     */
+    public static class Builder {
+        private SocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+        private int selectorThreads = 2;
+        private int bufferSize = 4096;
+        private int buffersPerSlab = 64;
+        private int backlog = 1024;
+
+        /**
+         * Sets the address to listen on. Defaults to an ephemeral port of the loopback interface.
+         *
+         * @param address the address
+         * @return this builder
+         */
+        public Builder address(final SocketAddress address) {
+            this.address = address;
+            return this;
+        }
+
+        /**
+         * Sets the amount of selector threads serving the connections. Defaults to {@code 2}.
+         *
+         * @param selectorThreads the amount of threads
+         * @return this builder
+         */
+        public Builder selectorThreads(final int selectorThreads) {
+            if (selectorThreads < 1) {
+                throw new IllegalArgumentException("Invalid amount of selector threads: " + selectorThreads);
+            }
+            this.selectorThreads = selectorThreads;
+            return this;
+        }
+
+        /**
+         * Sets the size of the pooled buffers, which limits the size of frames received from clients.
+         * Larger frames sent to clients are encoded into unpooled buffers. Defaults to {@code 4096}.
+         *
+         * @param bufferSize the size in bytes
+         * @return this builder
+         */
+        public Builder bufferSize(final int bufferSize) {
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        /**
+         * Sets the amount of buffers the pool allocates at once. Defaults to {@code 64}.
+         *
+         * @param buffersPerSlab the amount of buffers
+         * @return this builder
+         */
+        public Builder buffersPerSlab(final int buffersPerSlab) {
+            this.buffersPerSlab = buffersPerSlab;
+            return this;
+        }
+
+        /**
+         * Sets the maximum amount of pending connections. Defaults to {@code 1024}.
+         *
+         * @param backlog the amount of connections
+         * @return this builder
+         */
+        public Builder backlog(final int backlog) {
+            this.backlog = backlog;
+            return this;
+        }
+
+        /**
+         * Opens the configured server.
+         *
+         * @return the server
+         * @throws IOException if the address cannot be bound
+         */
+        public GameServer build() throws IOException {
+            return new GameServer(this);
+        }
+    }
+}
@@ -0,0 +1,411 @@
+package projekt.net.server;
+
+import javafx.util.Subscription;
+import projekt.controller.GameController;
+import projekt.controller.PlayerController;
+import projekt.controller.ai.BoardIndex;
+import projekt.model.Player;
+import projekt.model.PlayerState;
+import projekt.net.ActionCodec;
+import projekt.net.GameSnapshot;
+import projekt.net.Protocol;
+import projekt.net.ProtocolException;
+import projekt.net.StateCodec;
+import projekt.net.StateSync;
+import projekt.net.spectator.Spectator;
+import projekt.net.spectator.SpectatorFeed;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A game hosted by a {@link GameServer}, whose seats are played by remote clients.
+ * <p>
+ * Each seat has a secret ticket, which a client sends in its {@link Protocol#HELLO} to take the seat. Whenever the
+ * public state of the game changes, a {@link Protocol#DELTA} or keyframe (see {@link StateSync}) is encoded once into
+ * a pooled buffer and shared by the connections of all seats. Each seat additionally receives the
+ * {@link Protocol#STATE}s of its player, as sent to bots by {@link projekt.net.bot.RemoteBotController}. Clients that
+ * connect late or reconnect receive the latest keyframe, the deltas since, and the latest prompt and state right
+ * after the {@link Protocol#WELCOME}.
+ * <p>
+ * Spectators, local or remote, follow the game through its {@link SpectatorFeed}. Remote spectators connect with the
+ * game's {@link #getSpectatorTicket() spectator ticket} and receive a {@link Protocol#WELCOME} with seat {@code -1},
+ * followed by the frames of their spectator queue.
+ * <p>
+ * The game itself runs on its own thread, as usual; actions received from clients are passed to the player
+ * controllers with {@link PlayerController#triggerAction}.
+ */
+public final class HostedGame implements AutoCloseable {
+
+    private final GameServer server;
+    private final GameController gameController;
+    private final BoardIndex board;
+    private final StateCodec stateCodec;
+    private final ActionCodec actionCodec;
+    private final List<Seat> seats = new ArrayList<>();
+    private final List<Subscription> subscriptions = new ArrayList<>();
+    private final SpectatorFeed feed = new SpectatorFeed();
+    private final long spectatorTicket;
+
+    // Guarded by this
+    private final StateSync sync = new StateSync();
+    private final List<SharedFrame> history = new ArrayList<>();
+    private final List<ServerConnection> spectators = new ArrayList<>();
+    private boolean closed;
+
+    /**
+     * A seat of a hosted game.
+     */
+    static final class Seat {
+        private final HostedGame game;
+        private final int index;
+        private final long ticket;
+        private final PlayerController controller;
+
+        // Guarded by the game
+        private ServerConnection connection;
+        private SharedFrame latestPrompt;
+        private SharedFrame latestState;
+        private int sequence;
+
+        /**
+         * Creates a new seat.
+         *
+         * @param game       the game
+         * @param index      the index of the seat
+         * @param ticket     the ticket
+         * @param controller the controller of the seat's player
+         */
+        private Seat(final HostedGame game, final int index, final long ticket, final PlayerController controller) {
+            this.game = game;
+            this.index = index;
+            this.ticket = ticket;
+            this.controller = controller;
+        }
+
+        /**
+         * Returns the game of this seat.
+         *
+         * @return the game
+         */
+        HostedGame getGame() {
+            return game;
+        }
+
+        /**
+         * Returns the ticket of this seat.
+         *
+         * @return the ticket
+         */
+        long getTicket() {
+            return ticket;
+        }
+    }
+
+    /**
+     * Hosts the given game on the given server. The game's player controllers must be initialized.
+     *
+     * @param server         the server
+     * @param gameController the game controller
+     */
+    HostedGame(final GameServer server, final GameController gameController) {
+        this.server = server;
+        this.gameController = gameController;
+        final List<Player> players = gameController.getState().getPlayers();
+        this.board = new BoardIndex(gameController.getState().getGrid());
+        this.stateCodec = new StateCodec(board, players);
+        this.actionCodec = new ActionCodec(board, players);
+        for (int index = 0; index < players.size(); index++) {
+            final PlayerController controller = gameController.getPlayerControllers().get(players.get(index));
+            if (controller == null) {
+                throw new IllegalStateException("Player controllers are not initialized");
+            }
+            seats.add(new Seat(this, index, server.issueTicket(), controller));
+        }
+        this.spectatorTicket = server.issueTicket();
+
+        subscriptions.add(gameController.getRoundCounterProperty().subscribe(this::publishGame));
+        subscriptions.add(gameController.getActivePlayerControllerProperty().subscribe(this::publishGame));
+        subscriptions.add(gameController.getCurrentDiceRollProperty().subscribe(this::publishGame));
+        subscriptions.add(gameController.getState().getWinnerProperty().subscribe(this::publishGame));
+        for (final Seat seat : seats) {
+            subscriptions.add(seat.controller.getPlayerStateProperty().subscribe(() -> {
+                publishState(seat, false);
+                publishGame();
+            }));
+            subscriptions.add(seat.controller.getPlayerObjectiveProperty().subscribe(() -> publishState(seat, true)));
+            publishState(seat, true);
+        }
+        publishGame();
+        seats.forEach(server::register);
+        server.registerSpectators(spectatorTicket, this);
+    }
+
+    /**
+     * Returns the game controller of this game.
+     *
+     * @return the game controller
+     */
+    public GameController getGameController() {
+        return gameController;
+    }
+
+    /**
+     * Returns the ticket a client sends to take the given seat. Tickets are secret; only hand them to the client
+     * meant to play the seat.
+     *
+     * @param seat the index of the seat in the game's player list
+     * @return the ticket
+     */
+    public long getTicket(final int seat) {
+        return seats.get(seat).ticket;
+    }
+
+    /**
+     * Returns the ticket remote spectators send to follow this game.
+     *
+     * @return the ticket
+     */
+    public long getSpectatorTicket() {
+        return spectatorTicket;
+    }
+
+    /**
+     * Returns the feed local spectators subscribe to, e.g. a view of the game.
+     *
+     * @return the feed
+     */
+    public SpectatorFeed getSpectatorFeed() {
+        return feed;
+    }
+
+    /**
+     * Returns the amount of seats of this game.
+     *
+     * @return the amount of seats
+     */
+    public int getSeatCount() {
+        return seats.size();
+    }
+
+    /**
+     * Returns the latest snapshot broadcast to the seats.
+     *
+     * @return the snapshot
+     */
+    public synchronized GameSnapshot getLatestSnapshot() {
+        return sync.getLatest();
+    }
+
+    /**
+     * Returns the amount of frames a client joining now receives to catch up with the public state, i.e. the latest
+     * keyframe and the deltas since.
+     *
+     * @return the amount of frames
+     */
+    public synchronized int getCatchUpLength() {
+        return history.size();
+    }
+
+    // Game thread
+
+    /**
+     * Broadcasts the changes of the public state to all seats, if it changed. The frame is kept until the next
+     * keyframe, so late joiners can catch up.
+     */
+    private synchronized void publishGame() {
+        if (closed) {
+            return;
+        }
+        final GameSnapshot snapshot = GameSnapshot.capture(board, gameController);
+        if (!sync.hasChanged(snapshot)) {
+            return;
+        }
+        final ByteBuffer buffer = SharedFrame.allocate(server.getBufferPool(), StateSync.getMaxFrameSize(snapshot));
+        if (sync.update(snapshot, buffer)) {
+            history.forEach(SharedFrame::release);
+            history.clear();
+        }
+        final SharedFrame frame = SharedFrame.wrap(server.getBufferPool(), buffer.flip());
+        history.add(frame);
+        feed.publish(snapshot);
+        for (final Seat seat : seats) {
+            if (seat.connection != null) {
+                seat.connection.getLoop().send(seat.connection, frame.retain(), false);
+            }
+        }
+    }
+
+    /**
+     * Sends the state of the given seat's player to the seat.
+     *
+     * @param seat   the seat
+     * @param prompt whether the client is expected to act on the state
+     */
+    private synchronized void publishState(final Seat seat, final boolean prompt) {
+        final PlayerState state = seat.controller.getPlayerState();
+        if (closed || state == null) {
+            return;
+        }
+        final ByteBuffer buffer = SharedFrame.allocate(server.getBufferPool(), stateCodec.getMaxStateSize());
+        stateCodec.encodeState(
+            buffer, ++seat.sequence, prompt, seat.controller.getPlayerObjectiveProperty().getValue(), state,
+            seat.controller.getPlayer().getResources()
+        );
+        final SharedFrame frame = SharedFrame.wrap(server.getBufferPool(), buffer.flip());
+        if (prompt) {
+            seat.latestPrompt = replace(seat.latestPrompt, frame);
+            seat.latestState = replace(seat.latestState, null);
+        } else {
+            seat.latestState = replace(seat.latestState, frame);
+        }
+        if (seat.connection != null) {
+            seat.connection.getLoop().send(seat.connection, frame.retain(), prompt);
+        }
+    }
+
+    /**
+     * Releases the given frame.
+     *
+     * @param previous the frame to release or {@code null}
+     * @param frame    the frame replacing it
+     * @return the frame replacing it
+     */
+    private static SharedFrame replace(final SharedFrame previous, final SharedFrame frame) {
+        if (previous != null) {
+            previous.release();
+        }
+        return frame;
+    }
+
+    // Selector threads
+
+    /**
+     * Binds the given connection to the given seat and queues the welcome, the frames to catch up with the public
+     * state, and the latest prompt and state.
+     * Must be called on the connection's loop thread.
+     *
+     * @param connection the connection
+     * @param seat       the seat
+     * @throws ProtocolException if the seat is taken or the game is closed
+     */
+    synchronized void bind(final ServerConnection connection, final Seat seat) throws ProtocolException {
+        if (closed) {
+            throw new ProtocolException("Game is closed");
+        }
+        if (seat.connection != null) {
+            throw new ProtocolException("Seat is taken");
+        }
+        seat.connection = connection;
+        connection.setSeat(seat);
+        final SelectorLoop loop = connection.getLoop();
+        final ByteBuffer welcome = stateCodec.encodeWelcome(seat.ticket, seat.index);
+        loop.queue(connection, SharedFrame.wrap(server.getBufferPool(), welcome), false);
+        for (final SharedFrame frame : history) {
+            loop.queue(connection, frame.retain(), false);
+        }
+        if (seat.latestPrompt != null) {
+            loop.queue(connection, seat.latestPrompt.retain(), true);
+        }
+        if (seat.latestState != null) {
+            loop.queue(connection, seat.latestState.retain(), false);
+        }
+    }
+
+    /**
+     * Makes the given connection a spectator of this game and queues the welcome. The frames of the spectator's queue
+     * follow as the connection writes them. Must be called on the connection's loop thread.
+     *
+     * @param connection the connection
+     * @throws ProtocolException if the game is closed
+     */
+    synchronized void spectate(final ServerConnection connection) throws ProtocolException {
+        if (closed) {
+            throw new ProtocolException("Game is closed");
+        }
+        final SelectorLoop loop = connection.getLoop();
+        final ByteBuffer welcome = stateCodec.encodeWelcome(spectatorTicket, -1);
+        loop.queue(connection, SharedFrame.wrap(server.getBufferPool(), welcome), false);
+        final Spectator spectator = feed.subscribe(
+            SpectatorFeed.DEFAULT_CAPACITY, () -> loop.execute(() -> loop.markDirty(connection))
+        );
+        connection.setSpectator(this, spectator);
+        spectators.add(connection);
+    }
+
+    /**
+     * Removes the given spectator connection.
+     *
+     * @param connection the connection
+     */
+    synchronized void unbindSpectator(final ServerConnection connection) {
+        spectators.remove(connection);
+    }
+
+    /**
+     * Returns the amount of remote spectators.
+     *
+     * @return the amount of spectators
+     */
+    public synchronized int getRemoteSpectatorCount() {
+        return spectators.size();
+    }
+
+    /**
+     * Frees the seat of the given connection, so the client can reconnect.
+     *
+     * @param connection the connection
+     */
+    synchronized void unbind(final ServerConnection connection) {
+        final Seat seat = connection.getSeat();
+        if (seat != null && seat.connection == connection) {
+            seat.connection = null;
+        }
+    }
+
+    /**
+     * Passes an action received on the given seat to its player controller.
+     *
+     * @param seat  the seat
+     * @param frame the action, after its message type
+     * @throws ProtocolException if the action is malformed
+     */
+    void receive(final Seat seat, final ByteBuffer frame) throws ProtocolException {
+        seat.controller.triggerAction(actionCodec.decode(frame, seat.controller.getPlayer()));
+    }
+
+    /**
+     * Stops hosting this game: invalidates its tickets, disconnects its clients and spectators and releases its
+     * buffers.
+     * The game itself is not stopped.
+     */
+    @Override
+    public void close() {
+        subscriptions.forEach(Subscription::unsubscribe);
+        seats.forEach(server::unregister);
+        server.unregisterSpectators(spectatorTicket);
+        feed.close();
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (final Seat seat : seats) {
+                final ServerConnection connection = seat.connection;
+                if (connection != null) {
+                    connection.getLoop().execute(() -> connection.getLoop().fail(connection, "Game closed"));
+                }
+                seat.connection = null;
+                seat.latestPrompt = replace(seat.latestPrompt, null);
+                seat.latestState = replace(seat.latestState, null);
+            }
+            history.forEach(SharedFrame::release);
+            history.clear();
+            for (final ServerConnection connection : spectators) {
+                connection.getLoop().execute(() -> connection.getLoop().fail(connection, "Game closed"));
+            }
+            spectators.clear();
+        }
+    }
+}
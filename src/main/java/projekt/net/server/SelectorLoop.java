@@ -0,0 +1,289 @@
+package projekt.net.server;
+
+import projekt.net.ProtocolException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A selector thread of a {@link GameServer}, serving a share of its connections.
+ * <p>
+ * Other threads hand the loop work through a task queue. Connections that have frames to write are collected while
+ * handling a wakeup and flushed once at its end, so all frames queued for a connection during a wakeup are written
+ * with a single gathering write.
+ */
+final class SelectorLoop implements Runnable {
+
+    private final GameServer server;
+    private final BufferPool pool;
+    private final Selector selector;
+    private final Thread thread;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private volatile boolean open = true;
+
+    // Loop thread only
+    private final Set<ServerConnection> connections = new HashSet<>();
+    private final Set<ServerConnection> dirty = new LinkedHashSet<>();
+
+    /**
+     * Creates a new loop. The loop starts serving once {@link #start()} is called.
+     *
+     * @param server the server
+     * @param pool   the pool to take buffers from
+     * @param name   the name of the loop's thread
+     * @throws IOException if the selector cannot be opened
+     */
+    SelectorLoop(final GameServer server, final BufferPool pool, final String name) throws IOException {
+        this.server = server;
+        this.pool = pool;
+        this.selector = Selector.open();
+        this.thread = new Thread(this, name);
+        thread.setDaemon(true);
+    }
+
+    /**
+     * Starts the loop's thread.
+     */
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Returns the amount of connections served by this loop. Only accurate on the loop's thread.
+     *
+     * @return the amount of connections
+     */
+    int getConnectionCount() {
+        return connections.size();
+    }
+
+    /**
+     * Runs the given task on the loop's thread.
+     *
+     * @param task the task
+     */
+    void execute(final Runnable task) {
+        tasks.add(task);
+        selector.wakeup();
+    }
+
+    /**
+     * Registers the given server channel to accept connections. Must be called before {@link #start()}.
+     *
+     * @param channel the server channel
+     * @throws IOException if the channel cannot be registered
+     */
+    void registerAcceptor(final ServerSocketChannel channel) throws IOException {
+        channel.configureBlocking(false);
+        channel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    /**
+     * Takes over the given accepted channel. May be called from any thread.
+     *
+     * @param channel the channel
+     */
+    void register(final SocketChannel channel) {
+        execute(() -> {
+            try {
+                channel.configureBlocking(false);
+                final SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+                final ServerConnection connection = new ServerConnection(channel, key, this, pool);
+                key.attach(connection);
+                connections.add(connection);
+            } catch (final IOException e) {
+                try {
+                    channel.close();
+                } catch (final IOException ignored) {
+                    // already closed
+                }
+            }
+        });
+    }
+
+    /**
+     * Queues the given frame on the given connection of this loop, taking over the caller's reference.
+     * May be called from any thread.
+     *
+     * @param connection the connection
+     * @param frame      the frame
+     * @param prompt     whether the frame is a prompt, see {@link ServerConnection#queue(SharedFrame, boolean)}
+     */
+    void send(final ServerConnection connection, final SharedFrame frame, final boolean prompt) {
+        execute(() -> queue(connection, frame, prompt));
+    }
+
+    /**
+     * Queues the given frame on the given connection. Must be called on the loop's thread.
+     *
+     * @param connection the connection
+     * @param frame      the frame
+     * @param prompt     whether the frame is a prompt
+     */
+    void queue(final ServerConnection connection, final SharedFrame frame, final boolean prompt) {
+        connection.queue(frame, prompt);
+        dirty.add(connection);
+    }
+
+    /**
+     * Schedules the given connection for flushing, e.g. because its spectator queue has frames.
+     * Must be called on the loop's thread.
+     *
+     * @param connection the connection
+     */
+    void markDirty(final ServerConnection connection) {
+        if (!connection.isClosing()) {
+            dirty.add(connection);
+        }
+    }
+
+    /**
+     * Sends an error to the given connection and closes it afterwards. Must be called on the loop's thread.
+     *
+     * @param connection the connection
+     * @param message    the error message
+     */
+    void fail(final ServerConnection connection, final String message) {
+        connection.fail(message);
+        dirty.add(connection);
+    }
+
+    /**
+     * Serves the loop's connections until the loop is closed.
+     */
+    @Override
+    public void run() {
+        while (open) {
+            try {
+                selector.select();
+            } catch (final IOException e) {
+                e.printStackTrace();
+                break;
+            }
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+            }
+            final Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                final SelectionKey key = keys.next();
+                keys.remove();
+                if (!key.isValid()) {
+                    continue;
+                }
+                if (key.isAcceptable()) {
+                    accept((ServerSocketChannel) key.channel());
+                    continue;
+                }
+                final ServerConnection connection = (ServerConnection) key.attachment();
+                if (key.isReadable()) {
+                    read(connection);
+                }
+                if (key.isValid() && key.isWritable()) {
+                    dirty.add(connection);
+                }
+            }
+            final List<ServerConnection> flushing = new ArrayList<>(dirty);
+            dirty.clear();
+            for (final ServerConnection connection : flushing) {
+                try {
+                    boolean flushed = connection.flush();
+                    while (flushed && connection.pullSpectatorFrames()) {
+                        flushed = connection.flush();
+                    }
+                    if (flushed && connection.isClosing()) {
+                        disconnect(connection);
+                    }
+                } catch (final IOException e) {
+                    disconnect(connection);
+                }
+            }
+        }
+        for (final ServerConnection connection : new ArrayList<>(connections)) {
+            disconnect(connection);
+        }
+        try {
+            selector.close();
+        } catch (final IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Accepts pending connections and distributes them among the server's loops.
+     *
+     * @param channel the server channel
+     */
+    private void accept(final ServerSocketChannel channel) {
+        try {
+            SocketChannel accepted;
+            while ((accepted = channel.accept()) != null) {
+                server.nextLoop().register(accepted);
+            }
+        } catch (final IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Reads and handles all complete frames available on the given connection.
+     *
+     * @param connection the connection
+     */
+    private void read(final ServerConnection connection) {
+        try {
+            if (!connection.read()) {
+                disconnect(connection);
+                return;
+            }
+            ByteBuffer frame;
+            while (!connection.isClosing() && (frame = connection.nextFrame()) != null) {
+                server.handle(connection, frame);
+            }
+            connection.compact();
+        } catch (final ProtocolException e) {
+            connection.compact();
+            server.unbind(connection);
+            fail(connection, e.getMessage());
+        } catch (final IOException e) {
+            disconnect(connection);
+        }
+    }
+
+    /**
+     * Closes the given connection and frees its seat.
+     *
+     * @param connection the connection
+     */
+    private void disconnect(final ServerConnection connection) {
+        server.unbind(connection);
+        connections.remove(connection);
+        dirty.remove(connection);
+        connection.close();
+    }
+
+    /**
+     * Closes all connections of this loop and stops its thread.
+     */
+    void close() {
+        open = false;
+        selector.wakeup();
+        try {
+            thread.join();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
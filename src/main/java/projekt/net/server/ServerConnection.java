@@ -0,0 +1,365 @@
+package projekt.net.server;
+
+import projekt.net.Protocol;
+import projekt.net.ProtocolException;
+import projekt.net.spectator.Spectator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * A client's connection to a {@link GameServer}. Only accessed by the thread of its {@link SelectorLoop}.
+ * <p>
+ * Incoming bytes are read into a pooled buffer, which is only held while a partial frame remains, so idle
+ * connections hold no buffers. Outgoing frames are shared with other connections and written together with a
+ * single gathering write. Queued frames that have not been started yet are dropped once they are superseded: the
+ * public state of the game by a {@link Protocol#GAME} keyframe, and an informational state by a newer one. So a slow
+ * client receives the latest state instead of falling behind; a client that still cannot keep up is disconnected.
+ * <p>
+ * A spectator's connection takes the frames of its {@link Spectator} queue only when everything before has been
+ * written, so the socket's pace determines how fast the queue drains, and a spectator that falls behind is reset
+ * to a keyframe by the queue.
+ */
+final class ServerConnection {
+
+    /**
+     * The maximum amount of queued frames before the client is considered too slow.
+     */
+    static final int MAX_QUEUED_FRAMES = 256;
+
+    /**
+     * The maximum amount of frames taken from a spectator queue at once.
+     */
+    private static final int SPECTATOR_BATCH = 16;
+
+    private final SocketChannel channel;
+    private final SelectionKey key;
+    private final SelectorLoop loop;
+    private final BufferPool pool;
+    private final ArrayDeque<Entry> outgoing = new ArrayDeque<>();
+    private ByteBuffer input;
+    private Entry queuedState;
+    private HostedGame.Seat seat;
+    private Spectator spectator;
+    private HostedGame spectatedGame;
+    private boolean reading;
+    private boolean closing;
+    private boolean closed;
+
+    /**
+     * A queued frame and the view it is written through.
+     *
+     * @param frame the frame
+     * @param view  the view
+     * @param type  the message type of the frame
+     */
+    private record Entry(SharedFrame frame, ByteBuffer view, byte type) {
+
+        /**
+         * Returns whether writing this frame has not been started yet.
+         *
+         * @return whether the frame is unstarted
+         */
+        boolean isUnstarted() {
+            return view.position() == 0;
+        }
+    }
+
+    /**
+     * Creates a new connection.
+     *
+     * @param channel the channel
+     * @param key     the channel's selection key
+     * @param loop    the loop serving the connection
+     * @param pool    the pool to take read buffers from
+     */
+    ServerConnection(final SocketChannel channel, final SelectionKey key, final SelectorLoop loop, final BufferPool pool) {
+        this.channel = channel;
+        this.key = key;
+        this.loop = loop;
+        this.pool = pool;
+    }
+
+    /**
+     * Returns the loop serving this connection.
+     *
+     * @return the loop
+     */
+    SelectorLoop getLoop() {
+        return loop;
+    }
+
+    /**
+     * Returns the seat this connection plays.
+     *
+     * @return the seat or {@code null}, if the client has not sent its {@link Protocol#HELLO} yet
+     */
+    HostedGame.Seat getSeat() {
+        return seat;
+    }
+
+    /**
+     * Binds this connection to the given seat.
+     *
+     * @param seat the seat
+     */
+    void setSeat(final HostedGame.Seat seat) {
+        this.seat = seat;
+    }
+
+    /**
+     * Returns whether the client has taken a seat or spectates a game.
+     *
+     * @return whether the client has sent a valid {@link Protocol#HELLO}
+     */
+    boolean isBound() {
+        return seat != null || spectator != null;
+    }
+
+    /**
+     * Returns whether the client spectates a game.
+     *
+     * @return whether the connection has a spectator queue
+     */
+    boolean isSpectating() {
+        return spectator != null;
+    }
+
+    /**
+     * Returns the game this connection spectates.
+     *
+     * @return the game or {@code null}, if the client does not spectate
+     */
+    HostedGame getSpectatedGame() {
+        return spectatedGame;
+    }
+
+    /**
+     * Makes this connection a spectator's, sending the frames of the given queue.
+     *
+     * @param game      the spectated game
+     * @param spectator the spectator
+     */
+    void setSpectator(final HostedGame game, final Spectator spectator) {
+        this.spectatedGame = game;
+        this.spectator = spectator;
+    }
+
+    /**
+     * Queues the next frames of the spectator queue, if all previously queued frames have been written.
+     *
+     * @return whether any frames were queued
+     */
+    boolean pullSpectatorFrames() {
+        if (spectator == null || isClosing() || !outgoing.isEmpty()) {
+            return false;
+        }
+        int pulled = 0;
+        ByteBuffer frame;
+        while (pulled < SPECTATOR_BATCH && (frame = spectator.poll()) != null) {
+            queue(SharedFrame.wrap(pool, frame), false);
+            pulled++;
+        }
+        return pulled > 0;
+    }
+
+    /**
+     * Returns whether the connection closes once all queued frames are written, or is closed already.
+     *
+     * @return whether the connection is closing
+     */
+    boolean isClosing() {
+        return closing || closed;
+    }
+
+    /**
+     * Reads available bytes from the channel.
+     *
+     * @return whether the channel is still open
+     * @throws IOException if the channel cannot be read
+     */
+    boolean read() throws IOException {
+        if (input == null) {
+            input = pool.acquire();
+        } else if (!input.hasRemaining()) {
+            throw new ProtocolException("Frame exceeds " + pool.getBufferSize() + " bytes");
+        }
+        return channel.read(input) != -1;
+    }
+
+    /**
+     * Returns the next complete frame read from the channel. Frames share the input buffer, so they are only valid
+     * until {@link #compact()} is called.
+     *
+     * @return the frame or {@code null}, if no further complete frame has been read
+     * @throws ProtocolException if the client violated the protocol
+     */
+    ByteBuffer nextFrame() throws ProtocolException {
+        if (input == null) {
+            return null;
+        }
+        if (!reading) {
+            input.flip();
+            reading = true;
+        }
+        return Protocol.nextFrame(input);
+    }
+
+    /**
+     * Discards the frames returned by {@link #nextFrame()} and returns the input buffer to the pool if no partial
+     * frame remains.
+     */
+    void compact() {
+        if (input == null || !reading) {
+            return;
+        }
+        reading = false;
+        if (input.hasRemaining()) {
+            input.compact();
+        } else {
+            pool.release(input);
+            input = null;
+        }
+    }
+
+    /**
+     * Queues the given frame, taking over the caller's reference. A {@link Protocol#GAME} keyframe supersedes the
+     * unstarted keyframes and deltas queued before it, and an informational state the unstarted one queued before.
+     *
+     * @param frame  the frame
+     * @param prompt whether the frame is a prompt, which is never replaced
+     */
+    void queue(final SharedFrame frame, final boolean prompt) {
+        if (isClosing()) {
+            frame.release();
+            return;
+        }
+        final Entry entry = new Entry(frame, frame.view(), frame.getType());
+        if (entry.type() == Protocol.GAME) {
+            outgoing.removeIf(queued -> {
+                final boolean superseded = queued.isUnstarted()
+                    && (queued.type() == Protocol.GAME || queued.type() == Protocol.DELTA);
+                if (superseded) {
+                    queued.frame().release();
+                }
+                return superseded;
+            });
+            outgoing.add(entry);
+        } else if (entry.type() == Protocol.STATE && !prompt) {
+            queuedState = replace(queuedState, entry);
+        } else {
+            outgoing.add(entry);
+        }
+        if (outgoing.size() > MAX_QUEUED_FRAMES) {
+            fail("Client too slow");
+        }
+    }
+
+    /**
+     * Replaces the given queued entry with a new one at the end of the queue, if it has not been started yet.
+     *
+     * @param previous the queued entry or {@code null}
+     * @param entry    the new entry
+     * @return the new entry
+     */
+    private Entry replace(final Entry previous, final Entry entry) {
+        if (previous != null && previous.isUnstarted()) {
+            final Iterator<Entry> iterator = outgoing.iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next() == previous) {
+                    iterator.remove();
+                    previous.frame().release();
+                    break;
+                }
+            }
+        }
+        outgoing.add(entry);
+        return entry;
+    }
+
+    /**
+     * Queues an {@link Protocol#ERROR} frame and closes the connection once it is written.
+     *
+     * @param message the error message
+     */
+    void fail(final String message) {
+        if (isClosing()) {
+            return;
+        }
+        final byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        final ByteBuffer buffer = SharedFrame.allocate(pool, Protocol.HEADER_SIZE + Short.BYTES + bytes.length);
+        final int start = Protocol.beginFrame(buffer, Protocol.ERROR);
+        buffer.putShort((short) bytes.length).put(bytes);
+        Protocol.endFrame(buffer, start);
+        final SharedFrame frame = SharedFrame.wrap(pool, buffer.flip());
+        outgoing.add(new Entry(frame, frame.view(), Protocol.ERROR));
+        closing = true;
+    }
+
+    /**
+     * Writes as many queued frames as the channel accepts, with a single gathering write, and releases the written
+     * frames. Registers interest in writability while frames remain.
+     *
+     * @return whether all queued frames were written
+     * @throws IOException if the channel cannot be written
+     */
+    boolean flush() throws IOException {
+        if (closed) {
+            return true;
+        }
+        if (!outgoing.isEmpty()) {
+            final ByteBuffer[] views = new ByteBuffer[outgoing.size()];
+            int i = 0;
+            for (final Entry entry : outgoing) {
+                views[i++] = entry.view();
+            }
+            channel.write(views);
+            while (!outgoing.isEmpty() && !outgoing.peek().view().hasRemaining()) {
+                final Entry entry = outgoing.poll();
+                entry.frame().release();
+                if (entry == queuedState) {
+                    queuedState = null;
+                }
+            }
+        }
+        if (key.isValid()) {
+            key.interestOps(outgoing.isEmpty()
+                            ? SelectionKey.OP_READ
+                            : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        }
+        return outgoing.isEmpty();
+    }
+
+    /**
+     * Closes the channel and releases all buffers held by this connection.
+     */
+    void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        key.cancel();
+        try {
+            channel.close();
+        } catch (final IOException e) {
+            // already closed
+        }
+        if (spectator != null) {
+            spectator.close();
+        }
+        if (input != null) {
+            pool.release(input);
+            input = null;
+        }
+        for (final Entry entry : outgoing) {
+            entry.frame().release();
+        }
+        outgoing.clear();
+        queuedState = null;
+    }
+}
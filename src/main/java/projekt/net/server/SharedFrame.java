@@ -0,0 +1,94 @@
+package projekt.net.server;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An encoded frame shared by several connections, e.g. a broadcast to all seats of a game. The frame is encoded
+ * once and each connection writes it through its own view of the buffer.
+ * <p>
+ * Frames are reference-counted: the creator holds the first reference and each holder calls {@link #retain()}
+ * before and {@link #release()} after using it. The buffer of a pooled frame returns to its pool when the last
+ * reference is released.
+ */
+final class SharedFrame {
+
+    private final ByteBuffer buffer;
+    private final BufferPool pool;
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    /**
+     * Creates a new frame.
+     *
+     * @param buffer the buffer, containing the frame between position and limit
+     * @param pool   the pool the buffer belongs to or {@code null}
+     */
+    private SharedFrame(final ByteBuffer buffer, final BufferPool pool) {
+        this.buffer = buffer;
+        this.pool = pool;
+    }
+
+    /**
+     * Returns a buffer of at least the given size to encode a frame into, taken from the pool if it is large enough.
+     *
+     * @param pool the pool
+     * @param size the required size
+     * @return the buffer, cleared
+     */
+    static ByteBuffer allocate(final BufferPool pool, final int size) {
+        return size <= pool.getBufferSize() ? pool.acquire() : ByteBuffer.allocate(size);
+    }
+
+    /**
+     * Wraps an encoded frame, taking over the buffer returned by {@link #allocate(BufferPool, int)}.
+     *
+     * @param pool   the pool passed to {@link #allocate(BufferPool, int)}
+     * @param buffer the buffer, flipped
+     * @return the frame
+     */
+    static SharedFrame wrap(final BufferPool pool, final ByteBuffer buffer) {
+        return new SharedFrame(buffer, buffer.isDirect() && buffer.capacity() == pool.getBufferSize() ? pool : null);
+    }
+
+    /**
+     * Returns the message type of this frame.
+     *
+     * @return the message type
+     */
+    byte getType() {
+        return buffer.get(buffer.position() + Integer.BYTES);
+    }
+
+    /**
+     * Returns a new view of this frame for writing, with an independent position.
+     *
+     * @return the view
+     */
+    ByteBuffer view() {
+        return buffer.duplicate();
+    }
+
+    /**
+     * Adds a reference to this frame.
+     *
+     * @return this frame
+     */
+    SharedFrame retain() {
+        if (references.getAndIncrement() <= 0) {
+            throw new IllegalStateException("Frame already released");
+        }
+        return this;
+    }
+
+    /**
+     * Removes a reference from this frame, returning its buffer to the pool if it was the last one.
+     */
+    void release() {
+        final int remaining = references.decrementAndGet();
+        if (remaining == 0 && pool != null) {
+            pool.release(buffer);
+        } else if (remaining < 0) {
+            throw new IllegalStateException("Frame already released");
+        }
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * A non-blocking server for multiplayer games, where every seat of a hosted game is played by a remote client
+ * speaking the binary {@link projekt.net.Protocol}.
+ */
+package projekt.net.server;
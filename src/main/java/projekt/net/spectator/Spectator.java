@@ -0,0 +1,160 @@
+package projekt.net.spectator;
+
+import projekt.net.Protocol;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A subscription to a {@link SpectatorFeed}, receiving the {@link Protocol#GAME} keyframes and
+ * {@link Protocol#DELTA}s of the game in a bounded queue.
+ * <p>
+ * The frames are shared with all other spectators of the feed; each call to {@link #poll()} returns a new read-only
+ * view of them. If the queue is full when the feed publishes an update, the spectator has fallen behind: the queued
+ * frames are dropped and replaced by a keyframe of the latest state, so the spectator catches up with a single frame
+ * instead of slowing down the game or the other spectators.
+ * <p>
+ * Instances are thread-safe.
+ */
+public final class Spectator implements AutoCloseable {
+
+    private final SpectatorFeed feed;
+    private final int capacity;
+    private final Runnable onAvailable;
+    private final ArrayDeque<ByteBuffer> queue;
+    private long droppedCount;
+    private long resetCount;
+    private boolean closed;
+
+    /**
+     * Creates a new spectator.
+     *
+     * @param feed        the feed
+     * @param capacity    the capacity of the queue
+     * @param onAvailable called when a frame is queued while the queue is empty, or {@code null}
+     */
+    Spectator(final SpectatorFeed feed, final int capacity, final Runnable onAvailable) {
+        this.feed = feed;
+        this.capacity = capacity;
+        this.onAvailable = onAvailable;
+        this.queue = new ArrayDeque<>(capacity);
+    }
+
+    /**
+     * Queues the given frame, or resets the queue to the given keyframe if it is full. Called by the feed.
+     *
+     * @param frame    the frame
+     * @param keyframe the keyframe of the state after the frame
+     */
+    void offer(final ByteBuffer frame, final SpectatorFeed.Keyframe keyframe) {
+        final boolean wasEmpty;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            wasEmpty = queue.isEmpty();
+            if (queue.size() < capacity) {
+                queue.add(frame);
+            } else {
+                droppedCount += queue.size();
+                resetCount++;
+                queue.clear();
+                queue.add(keyframe.get());
+            }
+            notifyAll();
+        }
+        if (wasEmpty && onAvailable != null) {
+            onAvailable.run();
+        }
+    }
+
+    /**
+     * Queues the given keyframe as the first frame. Called by the feed.
+     *
+     * @param keyframe the keyframe
+     */
+    synchronized void start(final ByteBuffer keyframe) {
+        queue.add(keyframe);
+    }
+
+    /**
+     * Returns the next frame, if any.
+     *
+     * @return a read-only view of the frame, ready for {@link Protocol#nextFrame(ByteBuffer)} or writing to a
+     *     channel, or {@code null} if the queue is empty
+     */
+    public synchronized ByteBuffer poll() {
+        final ByteBuffer frame = queue.poll();
+        return frame == null ? null : frame.duplicate();
+    }
+
+    /**
+     * Returns the next frame, waiting up to the given time for one to arrive.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the unit of the timeout
+     * @return a read-only view of the frame or {@code null}, if none arrived in time or the spectator is closed
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public synchronized ByteBuffer poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (queue.isEmpty() && !closed) {
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return null;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        return poll();
+    }
+
+    /**
+     * Returns the amount of queued frames.
+     *
+     * @return the amount of frames
+     */
+    public synchronized int getQueuedCount() {
+        return queue.size();
+    }
+
+    /**
+     * Returns the capacity of the queue.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the amount of frames dropped because this spectator fell behind.
+     *
+     * @return the amount of frames
+     */
+    public synchronized long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * Returns how often the queue was reset to a keyframe because this spectator fell behind.
+     *
+     * @return the amount of resets
+     */
+    public synchronized long getResetCount() {
+        return resetCount;
+    }
+
+    /**
+     * Unsubscribes from the feed and discards the queued frames.
+     */
+    @Override
+    public void close() {
+        feed.unsubscribe(this);
+        synchronized (this) {
+            closed = true;
+            queue.clear();
+            notifyAll();
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package projekt.net.spectator;
+
+import javafx.util.Subscription;
+import projekt.controller.GameController;
+import projekt.controller.PlayerController;
+import projekt.controller.ai.BoardIndex;
+import projekt.net.GameSnapshot;
+import projekt.net.StateSync;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Broadcasts the public state of a game to any number of {@link Spectator}s.
+ * <p>
+ * Each update is encoded once by a {@link StateSync} into an immutable buffer, which is shared by the queues of all
+ * spectators without copying. A spectator joining late starts with a keyframe of the latest state, and a spectator
+ * that falls behind is reset to one (see {@link Spectator}); such keyframes are also encoded at most once per update,
+ * however many spectators need them. So the cost of an update for the game's thread is one encoding plus one queue
+ * insertion per spectator.
+ * <p>
+ * A feed either follows a game by itself (see {@link #attach(GameController)}) or is fed snapshots with
+ * {@link #publish(GameSnapshot)}, e.g. by a {@link projekt.net.server.HostedGame} that captures them anyway.
+ */
+public final class SpectatorFeed implements AutoCloseable {
+
+    /**
+     * The default capacity of a spectator's queue.
+     */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private final List<Spectator> spectators = new CopyOnWriteArrayList<>();
+    private final List<Subscription> subscriptions = new ArrayList<>();
+
+    // Guarded by this
+    private final StateSync sync = new StateSync();
+    private ByteBuffer scratch = ByteBuffer.allocate(0);
+    private Keyframe keyframe;
+    private long extraKeyframeCount;
+
+    /**
+     * A keyframe of the latest state, encoded on first use.
+     */
+    final class Keyframe {
+        private ByteBuffer frame;
+
+        /**
+         * Returns the keyframe, encoding it on first use. Must be called while holding the feed's lock.
+         *
+         * @return the keyframe
+         */
+        ByteBuffer get() {
+            if (frame == null) {
+                sync.encodeKeyframe(scratch.clear());
+                frame = seal(scratch);
+                extraKeyframeCount++;
+            }
+            return frame;
+        }
+    }
+
+    /**
+     * Creates a feed that publishes the snapshots passed to {@link #publish(GameSnapshot)}.
+     */
+    public SpectatorFeed() {
+    }
+
+    /**
+     * Creates a feed following the given game. A snapshot is published whenever the round counter, the active
+     * player, the dice roll, the winner or the state of a player (i.e. after every action) changes.
+     * The game's player controllers must be initialized.
+     *
+     * @param gameController the game controller
+     * @return the feed
+     */
+    public static SpectatorFeed attach(final GameController gameController) {
+        final SpectatorFeed feed = new SpectatorFeed();
+        final BoardIndex board = new BoardIndex(gameController.getState().getGrid());
+        final Runnable update = () -> feed.publish(GameSnapshot.capture(board, gameController));
+        feed.subscriptions.add(gameController.getRoundCounterProperty().subscribe(update));
+        feed.subscriptions.add(gameController.getActivePlayerControllerProperty().subscribe(update));
+        feed.subscriptions.add(gameController.getCurrentDiceRollProperty().subscribe(update));
+        feed.subscriptions.add(gameController.getState().getWinnerProperty().subscribe(update));
+        for (final PlayerController playerController : gameController.getPlayerControllers().values()) {
+            feed.subscriptions.add(playerController.getPlayerStateProperty().subscribe(update));
+        }
+        update.run();
+        return feed;
+    }
+
+    /**
+     * Publishes the given snapshot to all spectators, if it differs from the latest one.
+     *
+     * @param snapshot the snapshot
+     * @return whether the snapshot was published
+     */
+    public synchronized boolean publish(final GameSnapshot snapshot) {
+        if (!sync.hasChanged(snapshot)) {
+            return false;
+        }
+        final int size = StateSync.getMaxFrameSize(snapshot);
+        if (scratch.capacity() < size) {
+            scratch = ByteBuffer.allocate(size);
+        }
+        sync.update(snapshot, scratch.clear());
+        final ByteBuffer frame = seal(scratch);
+        keyframe = new Keyframe();
+        for (final Spectator spectator : spectators) {
+            spectator.offer(frame, keyframe);
+        }
+        return true;
+    }
+
+    /**
+     * Copies the frame written to the given buffer into an immutable buffer of its exact size.
+     *
+     * @param buffer the buffer, in write mode
+     * @return the frame
+     */
+    private static ByteBuffer seal(final ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.position()];
+        buffer.flip().get(bytes);
+        return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+    }
+
+    /**
+     * Subscribes a new spectator with a queue of the {@link #DEFAULT_CAPACITY default capacity}.
+     *
+     * @return the spectator
+     */
+    public Spectator subscribe() {
+        return subscribe(DEFAULT_CAPACITY, null);
+    }
+
+    /**
+     * Subscribes a new spectator. Its queue starts with a keyframe of the latest state, if there is one.
+     *
+     * @param capacity    the capacity of the spectator's queue
+     * @param onAvailable called on the game's thread when a frame is queued while the queue is empty, e.g. to wake up
+     *                    the spectator's consumer, or {@code null}
+     * @return the spectator
+     */
+    public synchronized Spectator subscribe(final int capacity, final Runnable onAvailable) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        final Spectator spectator = new Spectator(this, capacity, onAvailable);
+        if (keyframe != null) {
+            spectator.start(keyframe.get());
+        }
+        spectators.add(spectator);
+        return spectator;
+    }
+
+    /**
+     * Removes the given spectator.
+     *
+     * @param spectator the spectator
+     */
+    void unsubscribe(final Spectator spectator) {
+        spectators.remove(spectator);
+    }
+
+    /**
+     * Returns the amount of subscribed spectators.
+     *
+     * @return the amount of spectators
+     */
+    public int getSpectatorCount() {
+        return spectators.size();
+    }
+
+    /**
+     * Returns the latest published snapshot.
+     *
+     * @return the snapshot or {@code null}, if none was published yet
+     */
+    public synchronized GameSnapshot getLatestSnapshot() {
+        return sync.getLatest();
+    }
+
+    /**
+     * Returns the amount of frames encoded, including the keyframes for late or lagging spectators.
+     * It depends on the amount of updates, not on the amount of spectators.
+     *
+     * @return the amount of frames
+     */
+    public synchronized long getEncodedFrameCount() {
+        return sync.getKeyframeCount() + sync.getDeltaCount();
+    }
+
+    /**
+     * Returns the amount of frames published to the spectators, i.e. the amount of updates.
+     *
+     * @return the amount of frames
+     */
+    public synchronized long getPublishedFrameCount() {
+        return sync.getKeyframeCount() + sync.getDeltaCount() - extraKeyframeCount;
+    }
+
+    /**
+     * Returns the total time spent encoding frames.
+     *
+     * @return the time in nanoseconds
+     */
+    public synchronized long getEncodeNanos() {
+        return sync.getEncodeNanos();
+    }
+
+    /**
+     * Stops following the game, if attached, and closes all spectators.
+     */
+    @Override
+    public void close() {
+        subscriptions.forEach(Subscription::unsubscribe);
+        subscriptions.clear();
+        for (final Spectator spectator : spectators) {
+            spectator.close();
+        }
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * Broadcasting the public state of games to spectators, in-process or through a
+ * {@link projekt.net.server.GameServer}.
+ */
+package projekt.net.spectator;
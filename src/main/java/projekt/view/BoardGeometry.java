@@ -0,0 +1,323 @@
+package projekt.view;
+
+import projekt.controller.ai.BoardIndex;
+import projekt.model.HexGrid;
+import projekt.model.Intersection;
+import projekt.model.TilePosition;
+import projekt.model.buildings.Edge;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * The precomputed pixel coordinates of the tiles, intersections and edges of a {@link HexGrid}, keyed by the ids of
+ * its {@link BoardIndex}.
+ * <p>
+ * All coordinates are computed once for a tile size of {@code 1} and stored in primitive arrays. A coordinate for
+ * another tile size is the stored one multiplied by that size, so zooming never derives a coordinate again.
+ * Coordinates are relative to the center of the tile at {@code (0, 0)}, which is the same as the translation of the
+ * upper left corner of a tile region relative to the one at {@code (0, 0)}. An intersection lies at the average of
+ * the centers of its three adjacent positions, including positions outside the grid.
+ * <p>
+ * Instances are immutable and may be shared between threads.
+ */
+public final class BoardGeometry {
+    private static final double SQRT_3 = Math.sqrt(3);
+
+    private final BoardIndex index;
+    private final double[] tileX;
+    private final double[] tileY;
+    private final double[] intersectionX;
+    private final double[] intersectionY;
+    private final double[] edgeStartX;
+    private final double[] edgeStartY;
+    private final double[] edgeEndX;
+    private final double[] edgeEndY;
+    private final double[] portX;
+    private final double[] portY;
+    private final double minX;
+    private final double minY;
+    private final double maxX;
+    private final double maxY;
+
+    /**
+     * Computes the geometry of the given grid.
+     *
+     * @param grid the grid
+     */
+    public BoardGeometry(final HexGrid grid) {
+        this(new BoardIndex(grid));
+    }
+
+    /**
+     * Computes the geometry of the grid of the given index.
+     *
+     * @param index the index of the grid
+     */
+    public BoardGeometry(final BoardIndex index) {
+        this.index = index;
+
+        final int tileCount = index.getTileCount();
+        this.tileX = new double[tileCount];
+        this.tileY = new double[tileCount];
+        for (int tile = 0; tile < tileCount; tile++) {
+            final TilePosition position = index.getTile(tile).getPosition();
+            tileX[tile] = x(position);
+            tileY[tile] = y(position);
+        }
+        this.minX = tileCount == 0 ? 0 : Arrays.stream(tileX).min().getAsDouble();
+        this.minY = tileCount == 0 ? 0 : Arrays.stream(tileY).min().getAsDouble();
+        this.maxX = tileCount == 0 ? 0 : Arrays.stream(tileX).max().getAsDouble();
+        this.maxY = tileCount == 0 ? 0 : Arrays.stream(tileY).max().getAsDouble();
+
+        final int intersectionCount = index.getIntersectionCount();
+        this.intersectionX = new double[intersectionCount];
+        this.intersectionY = new double[intersectionCount];
+        for (int intersection = 0; intersection < intersectionCount; intersection++) {
+            double x = 0;
+            double y = 0;
+            for (final TilePosition position : index.getIntersection(intersection).getAdjacentTilePositions()) {
+                x += x(position);
+                y += y(position);
+            }
+            intersectionX[intersection] = x / 3;
+            intersectionY[intersection] = y / 3;
+        }
+
+        final int edgeCount = index.getEdgeCount();
+        this.edgeStartX = new double[edgeCount];
+        this.edgeStartY = new double[edgeCount];
+        this.edgeEndX = new double[edgeCount];
+        this.edgeEndY = new double[edgeCount];
+        this.portX = new double[edgeCount];
+        this.portY = new double[edgeCount];
+        final Set<TilePosition> tilePositions = index.getHexGrid().getTiles().keySet();
+        for (int edge = 0; edge < edgeCount; edge++) {
+            final int[] intersections = index.getEdgeIntersections(edge);
+            edgeStartX[edge] = intersectionX[intersections[0]];
+            edgeStartY[edge] = intersectionY[intersections[0]];
+            edgeEndX[edge] = intersectionX[intersections[intersections.length - 1]];
+            edgeEndY[edge] = intersectionY[intersections[intersections.length - 1]];
+
+            portX[edge] = Double.NaN;
+            portY[edge] = Double.NaN;
+            if (index.getEdge(edge).hasPort()) {
+                for (final TilePosition position : index.getEdge(edge).getAdjacentTilePositions()) {
+                    if (!tilePositions.contains(position)) {
+                        portX[edge] = x(position);
+                        portY[edge] = y(position);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the x coordinate of the given position for a tile size of {@code 1}.
+     *
+     * @param position the position
+     * @return the x coordinate
+     */
+    private static double x(final TilePosition position) {
+        return SQRT_3 * position.q() + SQRT_3 / 2 * position.r();
+    }
+
+    /**
+     * Returns the y coordinate of the given position for a tile size of {@code 1}.
+     *
+     * @param position the position
+     * @return the y coordinate
+     */
+    private static double y(final TilePosition position) {
+        return 3.0 / 2 * position.r();
+    }
+
+    /**
+     * Returns the index whose ids key the coordinates.
+     *
+     * @return the index
+     */
+    public BoardIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the x coordinate of the given tile.
+     *
+     * @param tile the id of the tile
+     * @param size the tile size
+     * @return the x coordinate
+     */
+    public double getTileX(final int tile, final double size) {
+        return tileX[tile] * size;
+    }
+
+    /**
+     * Returns the y coordinate of the given tile.
+     *
+     * @param tile the id of the tile
+     * @param size the tile size
+     * @return the y coordinate
+     */
+    public double getTileY(final int tile, final double size) {
+        return tileY[tile] * size;
+    }
+
+    /**
+     * Returns the x coordinate of the given intersection.
+     *
+     * @param intersection the id of the intersection
+     * @param size         the tile size
+     * @return the x coordinate
+     */
+    public double getIntersectionX(final int intersection, final double size) {
+        return intersectionX[intersection] * size;
+    }
+
+    /**
+     * Returns the y coordinate of the given intersection.
+     *
+     * @param intersection the id of the intersection
+     * @param size         the tile size
+     * @return the y coordinate
+     */
+    public double getIntersectionY(final int intersection, final double size) {
+        return intersectionY[intersection] * size;
+    }
+
+    /**
+     * Returns the x coordinate of the start of the given edge.
+     *
+     * @param edge the id of the edge
+     * @param size the tile size
+     * @return the x coordinate
+     */
+    public double getEdgeStartX(final int edge, final double size) {
+        return edgeStartX[edge] * size;
+    }
+
+    /**
+     * Returns the y coordinate of the start of the given edge.
+     *
+     * @param edge the id of the edge
+     * @param size the tile size
+     * @return the y coordinate
+     */
+    public double getEdgeStartY(final int edge, final double size) {
+        return edgeStartY[edge] * size;
+    }
+
+    /**
+     * Returns the x coordinate of the end of the given edge.
+     *
+     * @param edge the id of the edge
+     * @param size the tile size
+     * @return the x coordinate
+     */
+    public double getEdgeEndX(final int edge, final double size) {
+        return edgeEndX[edge] * size;
+    }
+
+    /**
+     * Returns the y coordinate of the end of the given edge.
+     *
+     * @param edge the id of the edge
+     * @param size the tile size
+     * @return the y coordinate
+     */
+    public double getEdgeEndY(final int edge, final double size) {
+        return edgeEndY[edge] * size;
+    }
+
+    /**
+     * Returns the x coordinate of the port of the given edge, i.e. of its adjacent position outside the grid.
+     *
+     * @param edge the id of the edge
+     * @param size the tile size
+     * @return the x coordinate or {@link Double#NaN}, if the edge has no port
+     */
+    public double getPortX(final int edge, final double size) {
+        return portX[edge] * size;
+    }
+
+    /**
+     * Returns the y coordinate of the port of the given edge, i.e. of its adjacent position outside the grid.
+     *
+     * @param edge the id of the edge
+     * @param size the tile size
+     * @return the y coordinate or {@link Double#NaN}, if the edge has no port
+     */
+    public double getPortY(final int edge, final double size) {
+        return portY[edge] * size;
+    }
+
+    /**
+     * Returns the smallest x coordinate of all tiles.
+     *
+     * @param size the tile size
+     * @return the smallest x coordinate
+     */
+    public double getMinX(final double size) {
+        return minX * size;
+    }
+
+    /**
+     * Returns the smallest y coordinate of all tiles.
+     *
+     * @param size the tile size
+     * @return the smallest y coordinate
+     */
+    public double getMinY(final double size) {
+        return minY * size;
+    }
+
+    /**
+     * Returns the largest x coordinate of all tiles.
+     *
+     * @param size the tile size
+     * @return the largest x coordinate
+     */
+    public double getMaxX(final double size) {
+        return maxX * size;
+    }
+
+    /**
+     * Returns the largest y coordinate of all tiles.
+     *
+     * @param size the tile size
+     * @return the largest y coordinate
+     */
+    public double getMaxY(final double size) {
+        return maxY * size;
+    }
+
+    /**
+     * Returns the id of the given tile position.
+     *
+     * @param position the position
+     * @return the id of the tile or {@code -1}, if there is no tile at the position
+     */
+    public int getTileId(final TilePosition position) {
+        return index.getTileId(position);
+    }
+
+    /**
+     * Returns the id of the given intersection.
+     *
+     * @param intersection the intersection
+     * @return the id of the intersection or {@code -1}, if it is not part of the grid
+     */
+    public int getIntersectionId(final Intersection intersection) {
+        return index.getIntersectionId(intersection);
+    }
+
+    /**
+     * Returns the id of the given edge.
+     *
+     * @param edge the edge
+     * @return the id of the edge or {@code -1}, if it is not part of the grid
+     */
+    public int getEdgeId(final Edge edge) {
+        return index.getEdgeId(edge);
+    }
+}
@@ -0,0 +1,974 @@
+package projekt.view;
+
+import javafx.application.Platform;
+import javafx.beans.Observable;
+import javafx.beans.binding.Bindings;
+import javafx.event.Event;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Button;
+import javafx.scene.image.Image;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+import projekt.Config;
+import projekt.controller.metrics.PerformanceMetrics;
+import projekt.model.HexGrid;
+import projekt.model.buildings.Edge;
+import projekt.model.buildings.Port;
+import projekt.model.buildings.Settlement;
+import projekt.model.tiles.Tile;
+import projekt.view.tiles.TileBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * An alternative builder for the {@link HexGrid} that draws the whole board onto a single {@link Canvas}.
+ * <p>
+ * Unlike {@link HexGridBuilder}, no node is created per tile, intersection, edge or port, so layout and CSS
+ * passes do not grow with the board. The board is laid out once in board coordinates (the coordinates
+ * {@link HexGridBuilder} places its nodes at) and every shape is added to a {@link SpatialIndex}, which is used for
+ * hit-testing mouse events and for finding the shapes to draw again. Changes only mark a dirty rectangle; a single
+ * repaint per pulse clears and draws again the shapes overlapping it.
+ * <p>
+ * Highlighting keeps the semantics of the node based view: the {@link IntersectionBuilder}s, {@link EdgeLine}s and
+ * {@link TileBuilder}s are still highlighted through their controllers, and this builder follows their
+ * {@link IntersectionBuilder#highlightHandlerProperty() highlight handlers}. A click is dispatched to the topmost
+ * highlighted intersection, edge or tile under the mouse, in this order.
+ * <p>
+ * Zooming and panning use the same handlers as {@link HexGridBuilder}: they transform an invisible region whose
+ * scale and translation this builder applies to the drawing. Only shapes inside the visible part of the board are
+ * drawn. When zoomed out so far that a tile is narrower than {@link Config#DETAIL_TILE_SIZE}, tiles, ports and
+ * settlements are drawn as flat shapes without sprites and labels.
+ */
+public class CanvasHexGridBuilder implements HexGridRenderer {
+    private static final double BORDER_WIDTH = 5;
+    private static final double EDGE_WIDTH = 5;
+    private static final double EDGE_OFFSET = 10;
+    private static final double HIGHLIGHT_RADIUS = 15;
+    private static final double HIGHLIGHT_WIDTH = 4;
+    private static final double SETTLEMENT_WIDTH = 25;
+    private static final double PORT_CONNECTION_WIDTH = 3;
+    private static final double LABEL_SIZE = 18;
+    private static final Color SELECTED_COLOR = Color.CRIMSON;
+    private static final Color HOVER_COLOR = Color.LIME;
+
+    private final HexGrid grid;
+    private final BiConsumer<ScrollEvent, Region> scrollHandler;
+    private final Consumer<MouseEvent> pressedHandler;
+    private final BiConsumer<MouseEvent, Region> draggedHandler;
+    private final BiConsumer<Event, Region> centerButtonHandler;
+    private final Set<IntersectionBuilder> intersectionBuilders;
+    private final Set<EdgeLine> edgeLines;
+    private final Set<TileBuilder> tileBuilders;
+    private final Map<Object, Object> viewsByElement = new HashMap<>();
+    private final HexGridChangeTracker changeTracker = new HexGridChangeTracker();
+    private final BoardGeometry geometry;
+
+    private final Canvas canvas = new Canvas();
+    private final Region viewport = new Region();
+    private final Map<Object, Shape> shapes = new HashMap<>();
+    private SpatialIndex<PortShape> portIndex;
+    private SpatialIndex<TileShape> tileIndex;
+    private SpatialIndex<EdgeShape> edgeIndex;
+    private SpatialIndex<IntersectionShape> intersectionIndex;
+    private double boardWidth;
+    private double boardHeight;
+    private Shape hovered;
+    private double dirtyMinX = Double.POSITIVE_INFINITY;
+    private double dirtyMinY = Double.POSITIVE_INFINITY;
+    private double dirtyMaxX = Double.NEGATIVE_INFINITY;
+    private double dirtyMaxY = Double.NEGATIVE_INFINITY;
+    private boolean repaintPending;
+    private boolean detailed = true;
+
+    /**
+     * Creates a new canvas hex grid builder with the given hex grid, intersection builders, edge lines, tile
+     * builders and event handlers.
+     *
+     * @param grid                 The hex grid.
+     * @param intersectionBuilders The intersection builders.
+     * @param edgeLines            The edge lines.
+     * @param tileBuilders         The tile builders.
+     * @param scrollHandler        The handler for the scroll event. Used for
+     *                             zooming.
+     * @param pressedHandler       The handler for the mouse pressed event.
+     * @param draggedHandler       The handler for the mouse dragged event. Used for
+     *                             panning
+     * @param centerButtonHandler  The handler for the center button event.
+     */
+    public CanvasHexGridBuilder(
+        final HexGrid grid, final Set<IntersectionBuilder> intersectionBuilders,
+        final Set<EdgeLine> edgeLines,
+        final Set<TileBuilder> tileBuilders, final BiConsumer<ScrollEvent, Region> scrollHandler,
+        final Consumer<MouseEvent> pressedHandler, final BiConsumer<MouseEvent, Region> draggedHandler,
+        final BiConsumer<Event, Region> centerButtonHandler
+    ) {
+        this.grid = grid;
+        this.intersectionBuilders = intersectionBuilders;
+        this.edgeLines = edgeLines;
+        this.tileBuilders = tileBuilders;
+        intersectionBuilders.forEach(builder -> viewsByElement.put(builder.getIntersection(), builder));
+        edgeLines.forEach(edgeLine -> viewsByElement.put(edgeLine.getEdge(), edgeLine));
+        tileBuilders.forEach(builder -> viewsByElement.put(builder.getTile(), builder));
+
+        this.scrollHandler = scrollHandler;
+        this.pressedHandler = pressedHandler;
+        this.draggedHandler = draggedHandler;
+        this.centerButtonHandler = centerButtonHandler;
+
+        this.geometry = new BoardGeometry(grid);
+        layoutBoard();
+        grid.tileSizeProperty().addListener(observable -> {
+            layoutBoard();
+            invalidateAll();
+        });
+        tileBuilders.forEach(builder -> builder.highlightHandlerProperty()
+            .addListener(observable -> invalidate(builder)));
+        edgeLines.forEach(edgeLine -> edgeLine.highlightHandlerProperty()
+            .addListener(observable -> invalidate(edgeLine)));
+        intersectionBuilders.forEach(builder -> builder.highlightHandlerProperty()
+            .addListener(observable -> invalidate(builder)));
+    }
+
+    @Override
+    public Region build() {
+        final Pane canvasPane = new Pane(canvas);
+        canvas.setManaged(false);
+        canvas.widthProperty().bind(canvasPane.widthProperty());
+        canvas.heightProperty().bind(canvasPane.heightProperty());
+        canvas.setOnMouseMoved(this::updateHover);
+        canvas.setOnMouseExited(event -> setHovered(null));
+        canvas.setOnMouseClicked(this::dispatchClick);
+
+        viewport.setManaged(false);
+        viewport.setVisible(false);
+        for (final Observable observable : List.of(
+            canvas.widthProperty(), canvas.heightProperty(),
+            viewport.scaleXProperty(), viewport.scaleYProperty(),
+            viewport.translateXProperty(), viewport.translateYProperty()
+        )) {
+            observable.addListener(ignored -> invalidateAll());
+        }
+
+        final StackPane mapPane = new StackPane(viewport, canvasPane);
+        mapPane.getStylesheets().add("css/hexmap.css");
+        mapPane.getStyleClass().add("hex-grid");
+        mapPane.setOnScroll(event -> scrollHandler.accept(event, viewport));
+        mapPane.setOnMousePressed(pressedHandler::accept);
+        mapPane.setOnMouseDragged(event -> draggedHandler.accept(event, viewport));
+
+        final Button centerButton = new Button("Center map");
+        centerButton.setOnAction(event -> centerButtonHandler.accept(event, viewport));
+        centerButton.translateXProperty().bind(Bindings
+                                                   .createDoubleBinding(
+                                                       () -> (centerButton.getWidth() - mapPane.getWidth()) / 2 + 10,
+                                                       mapPane.widthProperty()
+                                                   ));
+        centerButton.translateYProperty().bind(Bindings
+                                                   .createDoubleBinding(
+                                                       () -> (mapPane.getHeight() - centerButton.getHeight()) / 2 - 10,
+                                                       mapPane.heightProperty()
+                                                   ));
+
+        mapPane.getChildren().add(centerButton);
+        invalidateAll();
+        return mapPane;
+    }
+
+    @Override
+    public void drawTiles() {
+        tileBuilders.forEach(this::invalidate);
+    }
+
+    @Override
+    public void drawIntersections() {
+        // rebuilding an intersection view removes its highlight, so drawing them again does as well
+        intersectionBuilders.forEach(IntersectionBuilder::unhighlight);
+        intersectionBuilders.forEach(this::invalidate);
+    }
+
+    @Override
+    public void drawEdges() {
+        edgeLines.forEach(this::invalidate);
+    }
+
+    @Override
+    public HexGridChangeTracker getChangeTracker() {
+        return changeTracker;
+    }
+
+    @Override
+    public int drawChanged() {
+        return changeTracker.drain(this::invalidateElement, this::invalidateElement, this::invalidateElement);
+    }
+
+    /**
+     * Marks the shape of the given tile, intersection or edge as dirty.
+     *
+     * @param element the tile, intersection or edge
+     * @return whether the element has a shape
+     */
+    private boolean invalidateElement(final Object element) {
+        final Shape shape = shapes.get(viewsByElement.get(element));
+        if (shape == null) {
+            return false;
+        }
+        invalidate(shape);
+        return true;
+    }
+
+    // Layout
+
+    /**
+     * Scales the precomputed {@link BoardGeometry} to the current tile size and indexes the bounds of every shape.
+     */
+    private void layoutBoard() {
+        final double size = grid.getTileSize();
+        final double tileWidth = grid.getTileWidth();
+        final double tileHeight = grid.getTileHeight();
+        final double minX = geometry.getMinX(size);
+        final double minY = geometry.getMinY(size);
+        final double offsetX = Math.abs(minX) + tileWidth / 2;
+        final double offsetY = Math.abs(minY) + tileHeight / 2;
+        boardWidth = Math.abs(minX) + geometry.getMaxX(size) + tileWidth;
+        boardHeight = Math.abs(minY) + geometry.getMaxY(size) + tileHeight;
+
+        shapes.clear();
+        final double cellSize = Math.max(tileWidth, tileHeight);
+        portIndex = new SpatialIndex<>(cellSize);
+        tileIndex = new SpatialIndex<>(cellSize);
+        edgeIndex = new SpatialIndex<>(cellSize);
+        intersectionIndex = new SpatialIndex<>(cellSize);
+
+        for (final IntersectionBuilder builder : intersectionBuilders) {
+            final int id = geometry.getIntersectionId(builder.getIntersection());
+            final IntersectionShape shape = new IntersectionShape(
+                builder, geometry.getIntersectionX(id, size) + offsetX, geometry.getIntersectionY(id, size) + offsetY
+            );
+            shapes.put(builder, shape);
+            insert(intersectionIndex, shape);
+        }
+        for (final TileBuilder builder : tileBuilders) {
+            final int id = geometry.getTileId(builder.getTile().getPosition());
+            final TileShape shape = new TileShape(
+                builder, geometry.getTileX(id, size) + offsetX, geometry.getTileY(id, size) + offsetY,
+                tileWidth, tileHeight
+            );
+            shapes.put(builder, shape);
+            insert(tileIndex, shape);
+        }
+        for (final EdgeLine edgeLine : edgeLines) {
+            final Edge edge = edgeLine.getEdge();
+            final int id = geometry.getEdgeId(edge);
+            final EdgeShape shape = new EdgeShape(
+                edgeLine,
+                geometry.getEdgeStartX(id, size) + offsetX, geometry.getEdgeStartY(id, size) + offsetY,
+                geometry.getEdgeEndX(id, size) + offsetX, geometry.getEdgeEndY(id, size) + offsetY
+            );
+            shapes.put(edgeLine, shape);
+            insert(edgeIndex, shape);
+
+            if (edge.hasPort()) {
+                final double centerX = geometry.getPortX(id, size) + offsetX;
+                final double centerY = geometry.getPortY(id, size) + offsetY;
+                final double radius = tileWidth / 2 * 0.6;
+                final double margin = radius + PORT_CONNECTION_WIDTH;
+                portIndex.insert(
+                    new PortShape(edge.getPort(), centerX, centerY, radius,
+                                  shape.x0(), shape.y0(), shape.x1(), shape.y1()
+                    ),
+                    Math.min(centerX - margin, Math.min(shape.x0(), shape.x1()) - PORT_CONNECTION_WIDTH),
+                    Math.min(centerY - margin, Math.min(shape.y0(), shape.y1()) - PORT_CONNECTION_WIDTH),
+                    Math.max(centerX + margin, Math.max(shape.x0(), shape.x1()) + PORT_CONNECTION_WIDTH),
+                    Math.max(centerY + margin, Math.max(shape.y0(), shape.y1()) + PORT_CONNECTION_WIDTH)
+                );
+            }
+        }
+    }
+
+    /**
+     * Adds the given shape to the given index.
+     *
+     * @param index the index
+     * @param shape the shape
+     * @param <S>   the type of the shape
+     */
+    private static <S extends Shape> void insert(final SpatialIndex<S> index, final S shape) {
+        index.insert(shape, shape.minX(), shape.minY(), shape.maxX(), shape.maxY());
+    }
+
+    // Repainting
+
+    /**
+     * Marks the shape of the given tile builder, edge line or intersection builder as dirty.
+     * May be called from any thread.
+     *
+     * @param element the tile builder, edge line or intersection builder
+     */
+    private void invalidate(final Object element) {
+        if (!Platform.isFxApplicationThread()) {
+            PerformanceMetrics.getInstance().runLater(() -> invalidate(element));
+            return;
+        }
+        final Shape shape = shapes.get(element);
+        if (shape != null) {
+            invalidate(shape);
+        }
+    }
+
+    /**
+     * Marks the bounds of the given shape as dirty.
+     *
+     * @param shape the shape
+     */
+    private void invalidate(final Shape shape) {
+        invalidate(shape.minX(), shape.minY(), shape.maxX(), shape.maxY());
+    }
+
+    /**
+     * Marks the whole canvas as dirty.
+     * May be called from any thread.
+     */
+    private void invalidateAll() {
+        if (!Platform.isFxApplicationThread()) {
+            PerformanceMetrics.getInstance().runLater(this::invalidateAll);
+            return;
+        }
+        invalidate(Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY,
+                   Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY
+        );
+    }
+
+    /**
+     * Adds the given rectangle in board coordinates to the dirty rectangle and schedules a repaint, unless one is
+     * already pending.
+     *
+     * @param minX the left bound
+     * @param minY the top bound
+     * @param maxX the right bound
+     * @param maxY the bottom bound
+     */
+    private void invalidate(final double minX, final double minY, final double maxX, final double maxY) {
+        dirtyMinX = Math.min(dirtyMinX, minX);
+        dirtyMinY = Math.min(dirtyMinY, minY);
+        dirtyMaxX = Math.max(dirtyMaxX, maxX);
+        dirtyMaxY = Math.max(dirtyMaxY, maxY);
+        if (!repaintPending) {
+            repaintPending = true;
+            PerformanceMetrics.getInstance().runLater(this::repaint);
+        }
+    }
+
+    /**
+     * Clears the visible part of the dirty rectangle and draws again every shape overlapping it, clipped to it.
+     */
+    private void repaint() {
+        repaintPending = false;
+        final double scaleX = viewport.getScaleX();
+        final double scaleY = viewport.getScaleY();
+        final double originX = getOriginX();
+        final double originY = getOriginY();
+        // one extra pixel on each side covers anti-aliasing at the border of the previous drawing
+        final double minX = Math.max(dirtyMinX - 1 / scaleX, -originX / scaleX);
+        final double minY = Math.max(dirtyMinY - 1 / scaleY, -originY / scaleY);
+        final double maxX = Math.min(dirtyMaxX + 1 / scaleX, (canvas.getWidth() - originX) / scaleX);
+        final double maxY = Math.min(dirtyMaxY + 1 / scaleY, (canvas.getHeight() - originY) / scaleY);
+        dirtyMinX = Double.POSITIVE_INFINITY;
+        dirtyMinY = Double.POSITIVE_INFINITY;
+        dirtyMaxX = Double.NEGATIVE_INFINITY;
+        dirtyMaxY = Double.NEGATIVE_INFINITY;
+        if (!(minX < maxX && minY < maxY)) {
+            return;
+        }
+        // the level of detail only changes with the scale, which invalidates the whole canvas
+        detailed = scaleX * grid.getTileWidth() >= Config.DETAIL_TILE_SIZE;
+
+        final GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.save();
+        gc.setTransform(scaleX, 0, 0, scaleY, originX, originY);
+        gc.beginPath();
+        gc.rect(minX, minY, maxX - minX, maxY - minY);
+        gc.clip();
+        gc.clearRect(minX, minY, maxX - minX, maxY - minY);
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+        portIndex.query(minX, minY, maxX, maxY, port -> drawPort(gc, port));
+        tileIndex.query(minX, minY, maxX, maxY, tile -> drawTile(gc, tile));
+        edgeIndex.query(minX, minY, maxX, maxY, edge -> drawEdge(gc, edge));
+        intersectionIndex.query(minX, minY, maxX, maxY, intersection -> drawIntersection(gc, intersection));
+        gc.restore();
+    }
+
+    /**
+     * Returns the x coordinate of the board's origin on the canvas.
+     * The board is centered on the canvas, then scaled around its center and translated like the viewport.
+     *
+     * @return the x coordinate of the board's origin
+     */
+    private double getOriginX() {
+        return canvas.getWidth() / 2 + viewport.getTranslateX() - viewport.getScaleX() * boardWidth / 2;
+    }
+
+    /**
+     * Returns the y coordinate of the board's origin on the canvas.
+     *
+     * @return the y coordinate of the board's origin
+     * @see #getOriginX()
+     */
+    private double getOriginY() {
+        return canvas.getHeight() / 2 + viewport.getTranslateY() - viewport.getScaleY() * boardHeight / 2;
+    }
+
+    // Drawing
+
+    /**
+     * Draws a port with its connections to its intersections.
+     *
+     * @param gc   the graphics context
+     * @param port the port
+     */
+    private void drawPort(final GraphicsContext gc, final PortShape port) {
+        gc.setStroke(Color.BLACK);
+        gc.setLineWidth(PORT_CONNECTION_WIDTH);
+        gc.strokeLine(port.x(), port.y(), port.x0(), port.y0());
+        gc.strokeLine(port.x(), port.y(), port.x1(), port.y1());
+        gc.setFill(Color.WHITE);
+        gc.fillOval(port.x() - port.radius(), port.y() - port.radius(), port.radius() * 2, port.radius() * 2);
+        gc.strokeOval(port.x() - port.radius(), port.y() - port.radius(), port.radius() * 2, port.radius() * 2);
+        if (!detailed) {
+            return;
+        }
+
+        final double iconSize = port.radius();
+        final double labelHeight = 15;
+        final double top = port.y() - (iconSize + labelHeight) / 2;
+        if (port.port().resourceType() != null) {
+            drawSprite(gc, Utils.resourcesSpriteSheet, port.port().resourceType().iconIndex,
+                       port.port().resourceType().color, port.x() - iconSize / 2, top, iconSize
+            );
+        } else {
+            gc.setFill(Color.BLACK);
+            gc.setFont(Font.font("Roboto Merged Icons Black", FontWeight.BLACK, 30));
+            gc.fillText("?", port.x(), top + iconSize / 2);
+        }
+        drawLabel(gc, String.format("%d:1", port.port().ratio()), port.x(), top + iconSize + labelHeight / 2, 15);
+    }
+
+    /**
+     * Draws a tile with its resource icon, roll number and robber.
+     *
+     * @param gc   the graphics context
+     * @param tile the tile
+     */
+    private void drawTile(final GraphicsContext gc, final TileShape tile) {
+        final Tile model = tile.builder().getTile();
+        gc.setFill(model.getType().color);
+        hexagon(gc, tile, 0);
+        gc.fill();
+        if (!detailed) {
+            drawFlatTile(gc, tile);
+            return;
+        }
+        gc.setStroke(getHighlightColor(tile, Color.BLACK));
+        gc.setLineWidth(BORDER_WIDTH);
+        hexagon(gc, tile, BORDER_WIDTH / 2);
+        gc.stroke();
+
+        final double iconSize = model.getType().resourceType != null ? tile.width() * 0.5 : 0;
+        final Image robber = Utils.robberImage;
+        final double robberWidth = tile.width() * 0.3;
+        final double robberHeight = model.hasRobber() && robber.getWidth() > 0
+            ? robberWidth * robber.getHeight() / robber.getWidth()
+            : 0;
+        final double iconHeight = Math.max(iconSize, robberHeight);
+        final double labelHeight = model.getRollNumber() > 0 ? LABEL_SIZE * 1.2 : 0;
+        final double top = tile.y() - (iconHeight + labelHeight) / 2;
+        if (iconSize > 0) {
+            drawSprite(gc, Utils.resourcesSpriteSheet, model.getType().resourceType.iconIndex,
+                       model.getType().resourceType.color, tile.x() - iconSize / 2, top + (iconHeight - iconSize) / 2,
+                       iconSize
+            );
+        }
+        if (robberHeight > 0) {
+            gc.drawImage(SpriteAtlas.getTinted(robber, Color.BLACK), tile.x() - robberWidth / 2,
+                         top + (iconHeight - robberHeight) / 2, robberWidth, robberHeight
+            );
+        }
+        if (labelHeight > 0) {
+            drawLabel(gc, Integer.toString(model.getRollNumber()), tile.x(), top + iconHeight + labelHeight / 2,
+                      LABEL_SIZE
+            );
+        }
+    }
+
+    /**
+     * Draws the highlight and robber of a tile whose hexagon is already filled, with low detail: the robber is a dot.
+     *
+     * @param gc   the graphics context
+     * @param tile the tile
+     */
+    private void drawFlatTile(final GraphicsContext gc, final TileShape tile) {
+        if (tile.isHighlighted()) {
+            gc.setStroke(getHighlightColor(tile, Color.BLACK));
+            gc.setLineWidth(BORDER_WIDTH);
+            hexagon(gc, tile, BORDER_WIDTH / 2);
+            gc.stroke();
+        }
+        if (tile.builder().getTile().hasRobber()) {
+            final double radius = tile.width() * 0.15;
+            gc.setFill(Color.BLACK);
+            gc.fillOval(tile.x() - radius, tile.y() - radius, radius * 2, radius * 2);
+        }
+    }
+
+    /**
+     * Draws an edge with its road, or its dashed highlight.
+     *
+     * @param gc   the graphics context
+     * @param edge the edge
+     */
+    private void drawEdge(final GraphicsContext gc, final EdgeShape edge) {
+        final Edge model = edge.line().getEdge();
+        final boolean highlighted = edge.isHighlighted();
+        if (!highlighted && !model.hasRoad()) {
+            return;
+        }
+        final double distance = Math.hypot(edge.x1() - edge.x0(), edge.y1() - edge.y0());
+        if (highlighted) {
+            gc.setLineDashes((distance - EDGE_OFFSET) * 0.1, 10);
+        } else {
+            gc.setLineDashes(distance - EDGE_OFFSET);
+        }
+        gc.setLineDashOffset(-EDGE_OFFSET / 2);
+        gc.setStroke(Color.BLACK);
+        gc.setLineWidth(EDGE_WIDTH * (highlighted ? 1.6 : 1.4));
+        gc.strokeLine(edge.x0(), edge.y0(), edge.x1(), edge.y1());
+        gc.setStroke(getHighlightColor(edge, model.hasRoad() ? model.getRoadOwner().getColor() : Color.TRANSPARENT));
+        gc.setLineWidth(EDGE_WIDTH * (highlighted ? 1.2 : 1));
+        gc.strokeLine(edge.x0(), edge.y0(), edge.x1(), edge.y1());
+        gc.setLineDashes();
+        gc.setLineDashOffset(0);
+    }
+
+    /**
+     * Draws an intersection with its settlement and highlight.
+     *
+     * @param gc           the graphics context
+     * @param intersection the intersection
+     */
+    private void drawIntersection(final GraphicsContext gc, final IntersectionShape intersection) {
+        final Settlement settlement = intersection.builder().getIntersection().getSettlement();
+        if (settlement != null && !detailed) {
+            // villages are circles and cities squares in the color of their owner
+            gc.setFill(settlement.owner().getColor());
+            if (settlement.type() == Settlement.Type.CITY) {
+                gc.fillRect(intersection.x() - SETTLEMENT_WIDTH / 2, intersection.y() - SETTLEMENT_WIDTH / 2,
+                            SETTLEMENT_WIDTH, SETTLEMENT_WIDTH
+                );
+            } else {
+                gc.fillOval(intersection.x() - SETTLEMENT_WIDTH / 2, intersection.y() - SETTLEMENT_WIDTH / 2,
+                            SETTLEMENT_WIDTH, SETTLEMENT_WIDTH
+                );
+            }
+        } else if (settlement != null) {
+            drawSprite(gc, Utils.settlementsSpriteSheet, settlement.type().ordinal(), settlement.owner().getColor(),
+                       intersection.x() - SETTLEMENT_WIDTH / 2, intersection.y() - SETTLEMENT_WIDTH / 2,
+                       SETTLEMENT_WIDTH
+            );
+        }
+        if (intersection.isHighlighted()) {
+            gc.setStroke(getHighlightColor(intersection, SELECTED_COLOR));
+            gc.setLineWidth(HIGHLIGHT_WIDTH);
+            gc.strokeOval(intersection.x() - HIGHLIGHT_RADIUS, intersection.y() - HIGHLIGHT_RADIUS,
+                          HIGHLIGHT_RADIUS * 2, HIGHLIGHT_RADIUS * 2
+            );
+        }
+    }
+
+    /**
+     * Returns the color a shape is stroked with: {@code -highlight-color} while hovered,
+     * {@code -selected-color} while highlighted and the given color otherwise, like {@code css/hexmap.css}.
+     *
+     * @param shape the shape
+     * @param color the color of the shape when not highlighted
+     * @return the stroke color
+     */
+    private Color getHighlightColor(final Shape shape, final Color color) {
+        if (!shape.isHighlighted()) {
+            return color;
+        }
+        return shape == hovered ? HOVER_COLOR : SELECTED_COLOR;
+    }
+
+    /**
+     * Adds the outline of a tile's hexagon, shrunk by the given inset, to a new path.
+     *
+     * @param gc    the graphics context
+     * @param tile  the tile
+     * @param inset the distance to move every side of the hexagon inwards
+     */
+    private static void hexagon(final GraphicsContext gc, final TileShape tile, final double inset) {
+        final double halfWidth = tile.width() / 2 - inset;
+        final double halfHeight = tile.height() / 2 - inset * 2 / Math.sqrt(3);
+        gc.beginPath();
+        gc.moveTo(tile.x(), tile.y() - halfHeight);
+        gc.lineTo(tile.x() + halfWidth, tile.y() - halfHeight / 2);
+        gc.lineTo(tile.x() + halfWidth, tile.y() + halfHeight / 2);
+        gc.lineTo(tile.x(), tile.y() + halfHeight);
+        gc.lineTo(tile.x() - halfWidth, tile.y() + halfHeight / 2);
+        gc.lineTo(tile.x() - halfWidth, tile.y() - halfHeight / 2);
+        gc.closePath();
+    }
+
+    /**
+     * Draws a single, optionally colored, image of a sprite sheet, like {@link Sprite}.
+     *
+     * @param gc          the graphics context
+     * @param spriteSheet the sprite sheet
+     * @param index       the index of the image in the sprite sheet
+     * @param color       the color of the image or {@code null}
+     * @param x           the left bound
+     * @param y           the top bound
+     * @param size        the width and height
+     */
+    private static void drawSprite(
+        final GraphicsContext gc, final Image spriteSheet, final int index, final Color color,
+        final double x, final double y, final double size
+    ) {
+        final double cellSize = spriteSheet.getWidth();
+        gc.drawImage(SpriteAtlas.getTinted(spriteSheet, color), 0, cellSize * index, cellSize, cellSize,
+                     x, y, size, size
+        );
+    }
+
+    /**
+     * Draws a label in the style of {@code .highlighted-label}.
+     *
+     * @param gc   the graphics context
+     * @param text the text
+     * @param x    the x coordinate of the center
+     * @param y    the y coordinate of the center
+     * @param size the font size
+     */
+    private static void drawLabel(final GraphicsContext gc, final String text, final double x, final double y,
+                                  final double size) {
+        gc.setFont(Font.font("Roboto Merged Icons Black", FontWeight.BLACK, size));
+        gc.setFill(Color.WHITE);
+        gc.fillText(text, x, y);
+        gc.setStroke(Color.BLACK);
+        gc.setLineWidth(1);
+        gc.strokeText(text, x, y);
+    }
+
+    // Mouse events
+
+    /**
+     * Returns the topmost highlighted shape at the given position on the canvas: an intersection, an edge or a tile.
+     *
+     * @param canvasX the x coordinate on the canvas
+     * @param canvasY the y coordinate on the canvas
+     * @return the shape or {@code null} if no highlighted shape is at the position
+     */
+    private Shape pick(final double canvasX, final double canvasY) {
+        final double x = (canvasX - getOriginX()) / viewport.getScaleX();
+        final double y = (canvasY - getOriginY()) / viewport.getScaleY();
+        for (final SpatialIndex<? extends Shape> index : List.of(intersectionIndex, edgeIndex, tileIndex)) {
+            final List<Shape> hits = new ArrayList<>();
+            index.query(x, y, shape -> {
+                if (shape.isHighlighted() && shape.contains(x, y)) {
+                    hits.add(shape);
+                }
+            });
+            if (!hits.isEmpty()) {
+                // shapes inserted later are drawn on top
+                return hits.get(hits.size() - 1);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Updates the hovered shape when the mouse moves.
+     *
+     * @param event the event that triggered the handler
+     */
+    private void updateHover(final MouseEvent event) {
+        setHovered(pick(event.getX(), event.getY()));
+    }
+
+    /**
+     * Sets the hovered shape and marks the previous and the new one as dirty.
+     *
+     * @param shape the hovered shape or {@code null}
+     */
+    private void setHovered(final Shape shape) {
+        if (shape == hovered) {
+            return;
+        }
+        if (hovered != null) {
+            invalidate(hovered);
+        }
+        hovered = shape;
+        if (shape != null) {
+            invalidate(shape);
+        }
+    }
+
+    /**
+     * Calls the highlight handler of the shape that was clicked, if any.
+     *
+     * @param event the event that triggered the handler
+     */
+    private void dispatchClick(final MouseEvent event) {
+        final Shape shape = pick(event.getX(), event.getY());
+        if (shape != null) {
+            shape.click(event);
+        }
+    }
+
+    // Shapes
+
+    /**
+     * A highlightable shape of the board in board coordinates.
+     */
+    private interface Shape {
+        /**
+         * Returns the left bound of the shape.
+         *
+         * @return the left bound
+         */
+        double minX();
+
+        /**
+         * Returns the top bound of the shape.
+         *
+         * @return the top bound
+         */
+        double minY();
+
+        /**
+         * Returns the right bound of the shape.
+         *
+         * @return the right bound
+         */
+        double maxX();
+
+        /**
+         * Returns the bottom bound of the shape.
+         *
+         * @return the bottom bound
+         */
+        double maxY();
+
+        /**
+         * Returns whether the given point is inside the clickable area of the shape.
+         *
+         * @param x the x coordinate
+         * @param y the y coordinate
+         * @return whether the point is inside the shape
+         */
+        boolean contains(double x, double y);
+
+        /**
+         * Returns whether the shape is highlighted, i.e. has a click handler.
+         *
+         * @return whether the shape is highlighted
+         */
+        boolean isHighlighted();
+
+        /**
+         * Calls the click handler of the shape, if it is highlighted.
+         *
+         * @param event the mouse event
+         */
+        void click(MouseEvent event);
+    }
+
+    /**
+     * The hexagon of a tile.
+     *
+     * @param builder the builder of the tile
+     * @param x       the x coordinate of the center
+     * @param y       the y coordinate of the center
+     * @param width   the width of the tile
+     * @param height  the height of the tile
+     */
+    private record TileShape(TileBuilder builder, double x, double y, double width, double height) implements Shape {
+        @Override
+        public double minX() {
+            return x - width / 2;
+        }
+
+        @Override
+        public double minY() {
+            return y - height / 2;
+        }
+
+        @Override
+        public double maxX() {
+            return x + width / 2;
+        }
+
+        @Override
+        public double maxY() {
+            return y + height / 2;
+        }
+
+        @Override
+        public boolean contains(final double x, final double y) {
+            final double dx = Math.abs(x - this.x);
+            final double dy = Math.abs(y - this.y);
+            return dx <= width / 2 && dy <= height / 2 - dx * height / (2 * width);
+        }
+
+        @Override
+        public boolean isHighlighted() {
+            return builder.highlightHandlerProperty().get() != null;
+        }
+
+        @Override
+        public void click(final MouseEvent event) {
+            final Runnable handler = builder.highlightHandlerProperty().get();
+            if (handler != null) {
+                handler.run();
+            }
+        }
+    }
+
+    /**
+     * The line of an edge between the centers of its intersections.
+     *
+     * @param line the edge line of the edge
+     * @param x0   the x coordinate of the first intersection
+     * @param y0   the y coordinate of the first intersection
+     * @param x1   the x coordinate of the second intersection
+     * @param y1   the y coordinate of the second intersection
+     */
+    private record EdgeShape(EdgeLine line, double x0, double y0, double x1, double y1) implements Shape {
+        private static final double MARGIN = EDGE_WIDTH * 1.6 / 2 + 1;
+
+        @Override
+        public double minX() {
+            return Math.min(x0, x1) - MARGIN;
+        }
+
+        @Override
+        public double minY() {
+            return Math.min(y0, y1) - MARGIN;
+        }
+
+        @Override
+        public double maxX() {
+            return Math.max(x0, x1) + MARGIN;
+        }
+
+        @Override
+        public double maxY() {
+            return Math.max(y0, y1) + MARGIN;
+        }
+
+        @Override
+        public boolean contains(final double x, final double y) {
+            final double dx = x1 - x0;
+            final double dy = y1 - y0;
+            final double lengthSquared = dx * dx + dy * dy;
+            final double t = lengthSquared == 0
+                ? 0
+                : Math.max(0, Math.min(1, ((x - x0) * dx + (y - y0) * dy) / lengthSquared));
+            return Math.hypot(x - (x0 + t * dx), y - (y0 + t * dy)) <= MARGIN;
+        }
+
+        @Override
+        public boolean isHighlighted() {
+            return line.highlightHandlerProperty().get() != null;
+        }
+
+        @Override
+        public void click(final MouseEvent event) {
+            final Consumer<MouseEvent> handler = line.highlightHandlerProperty().get();
+            if (handler != null) {
+                handler.accept(event);
+            }
+        }
+    }
+
+    /**
+     * The circle of an intersection.
+     *
+     * @param builder the builder of the intersection
+     * @param x       the x coordinate of the center
+     * @param y       the y coordinate of the center
+     */
+    private record IntersectionShape(IntersectionBuilder builder, double x, double y) implements Shape {
+        private static final double RADIUS = HIGHLIGHT_RADIUS + HIGHLIGHT_WIDTH / 2;
+
+        @Override
+        public double minX() {
+            return x - RADIUS;
+        }
+
+        @Override
+        public double minY() {
+            return y - RADIUS;
+        }
+
+        @Override
+        public double maxX() {
+            return x + RADIUS;
+        }
+
+        @Override
+        public double maxY() {
+            return y + RADIUS;
+        }
+
+        @Override
+        public boolean contains(final double x, final double y) {
+            return Math.hypot(x - this.x, y - this.y) <= RADIUS;
+        }
+
+        @Override
+        public boolean isHighlighted() {
+            return builder.highlightHandlerProperty().get() != null;
+        }
+
+        @Override
+        public void click(final MouseEvent event) {
+            final Consumer<MouseEvent> handler = builder.highlightHandlerProperty().get();
+            if (handler != null) {
+                handler.accept(event);
+            }
+        }
+    }
+
+    /**
+     * The circle of a port with its connections to the intersections of its edge.
+     *
+     * @param port   the port
+     * @param x      the x coordinate of the center
+     * @param y      the y coordinate of the center
+     * @param radius the radius of the circle
+     * @param x0     the x coordinate of the first intersection
+     * @param y0     the y coordinate of the first intersection
+     * @param x1     the x coordinate of the second intersection
+     * @param y1     the y coordinate of the second intersection
+     */
+    private record PortShape(
+        Port port, double x, double y, double radius, double x0, double y0, double x1, double y1
+    ) {
+    }
+}
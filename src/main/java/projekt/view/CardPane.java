@@ -43,7 +43,7 @@ public class CardPane extends StackPane {
      * @param iconPath  The path to the icon.
      */
     public CardPane(final Color cardColor, final String iconPath, final String labelText) {
-        this(cardColor, new Image(iconPath), labelText);
+        this(cardColor, SpriteAtlas.getImage(iconPath), labelText);
     }
 
     /**
@@ -1,5 +1,8 @@
 package projekt.view;
 
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
 import javafx.collections.ListChangeListener;
 import javafx.geometry.Point2D;
 import javafx.scene.input.MouseEvent;
@@ -20,6 +23,7 @@ public class EdgeLine extends Line {
     private final int strokeWidth = 5;
     private final double positionOffset = 10;
     private final Line outline = new Line();
+    private final ObjectProperty<Consumer<MouseEvent>> highlightHandler = new SimpleObjectProperty<>();
 
     /**
      * Creates a new EdgeLine for the given {@link EdgeImpl}.
@@ -85,6 +89,16 @@ public class EdgeLine extends Line {
         }
     }
 
+    /**
+     * Returns the property holding the click handler of the highlighted EdgeLine, or {@code null} if the EdgeLine
+     * is not highlighted.
+     *
+     * @return the property holding the click handler
+     */
+    public ReadOnlyObjectProperty<Consumer<MouseEvent>> highlightHandlerProperty() {
+        return highlightHandler;
+    }
+
     /**
      * Highlights the EdgeLine with the given handler.
      *
@@ -98,6 +112,7 @@ public class EdgeLine extends Line {
         getStrokeDashArray().add(10.0);
         setStrokeWidth(strokeWidth * 1.2);
         setOnMouseClicked(handler::accept);
+        highlightHandler.set(handler);
     }
 
     /**
@@ -106,6 +121,7 @@ public class EdgeLine extends Line {
     public void unhighlight() {
         outline.setStroke(Color.TRANSPARENT);
         setOnMouseClicked(null);
+        highlightHandler.set(null);
         getStyleClass().remove("selectable");
         init();
     }
@@ -6,11 +6,14 @@ import javafx.beans.property.SimpleIntegerProperty;
 import javafx.geometry.Pos;
 import javafx.scene.control.Label;
 import javafx.scene.control.ScrollPane;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.Background;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.util.Builder;
@@ -36,6 +39,9 @@ public class GameBoardBuilder implements Builder<Region> {
     private final Pane playerInformation = new VBox();
     private final IntegerProperty diceRollProperty = new SimpleIntegerProperty(0);
     private final IntegerProperty roundCounterProperty = new SimpleIntegerProperty(0);
+    private Region fastForwardControls;
+    private Region performanceOverlay;
+    private Runnable performanceOverlayToggle;
 
     /**
      * Creates a new game board builder with the given hex grid and supplier for the
@@ -94,6 +100,9 @@ public class GameBoardBuilder implements Builder<Region> {
         infoBox.setAlignment(Pos.CENTER);
         final Region actionsRegion = actions.get();
         bottomBox.getChildren().addAll(actionsRegion, infoBox);
+        if (fastForwardControls != null) {
+            bottomBox.getChildren().add(fastForwardControls);
+        }
         bottomBox.setAlignment(Pos.CENTER_LEFT);
         bottomBox.setBackground(Background.fill(Color.WHITE));
         bottomBox.setMinHeight(50);
@@ -103,7 +112,39 @@ public class GameBoardBuilder implements Builder<Region> {
 
         // Make it look pretty
 
-        return mainPane;
+        if (performanceOverlay == null) {
+            return mainPane;
+        }
+        final StackPane rootPane = new StackPane(mainPane, performanceOverlay);
+        StackPane.setAlignment(performanceOverlay, Pos.TOP_LEFT);
+        rootPane.addEventFilter(KeyEvent.KEY_PRESSED, event -> {
+            if (event.getCode() == KeyCode.F3) {
+                performanceOverlayToggle.run();
+            }
+        });
+        return rootPane;
+    }
+
+    /**
+     * Sets the fast-forward controls shown next to the dice roll and round counter.
+     * Must be called before the game board is built.
+     *
+     * @param fastForwardControls The fast-forward controls.
+     */
+    public void setFastForwardControls(final Region fastForwardControls) {
+        this.fastForwardControls = fastForwardControls;
+    }
+
+    /**
+     * Sets the performance overlay shown above the game board and the handler toggling it, which is called when
+     * {@code F3} is pressed. Must be called before the game board is built.
+     *
+     * @param performanceOverlay       The performance overlay.
+     * @param performanceOverlayToggle The handler toggling the performance overlay.
+     */
+    public void setPerformanceOverlay(final Region performanceOverlay, final Runnable performanceOverlayToggle) {
+        this.performanceOverlay = performanceOverlay;
+        this.performanceOverlayToggle = performanceOverlayToggle;
     }
 
     /**
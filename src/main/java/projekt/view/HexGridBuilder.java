@@ -1,30 +1,33 @@
 package projekt.view;
 
+import javafx.beans.Observable;
 import javafx.beans.binding.Bindings;
 import javafx.event.Event;
+import javafx.geometry.Bounds;
 import javafx.geometry.Point2D;
+import javafx.scene.Node;
 import javafx.scene.control.Button;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.input.ScrollEvent;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.Region;
 import javafx.scene.layout.StackPane;
-import javafx.util.Builder;
+import projekt.Config;
+import projekt.controller.metrics.PerformanceMetrics;
 import projekt.model.HexGrid;
 import projekt.model.Intersection;
-import projekt.model.TilePosition;
 import projekt.model.buildings.Edge;
 import projekt.model.tiles.Tile;
 import projekt.view.tiles.TileBuilder;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.BiConsumer;
-import java.util.function.BiFunction;
 import java.util.function.Consumer;
-import java.util.function.IntBinaryOperator;
-import java.util.function.Predicate;
-import java.util.function.ToIntFunction;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -32,20 +35,33 @@ import java.util.stream.Collectors;
  * It creates a pane with the hex grid and handles the placement of the tiles,
  * intersections, edges and ports.
  * The hex grid pane can be zoomed, panned and centered.
+ * <p>
+ * Only the nodes overlapping the visible part of the hex grid pane are visible, so panning and zooming across
+ * large boards only render what is on screen. When zoomed out so far that a tile is narrower than
+ * {@link Config#DETAIL_TILE_SIZE}, tiles and ports are rendered as flat shapes without icons and labels.
  */
-public class HexGridBuilder implements Builder<Region> {
+public class HexGridBuilder implements HexGridRenderer {
     private final HexGrid grid;
     private final BiConsumer<ScrollEvent, Region> scrollHandler;
     private final Consumer<MouseEvent> pressedHandler;
     private final BiConsumer<MouseEvent, Region> draggedHandler;
-    private final Point2D maxPoint;
-    private final Point2D minPoint;
+    private final BoardGeometry geometry;
     private final BiConsumer<Event, Region> centerButtonHandler;
     private final Set<IntersectionBuilder> intersectionBuilders;
     private final Set<EdgeLine> edgeLines;
     private final Set<TileBuilder> tileBuilders;
+    private final Map<Intersection, IntersectionBuilder> intersectionBuilderMap;
+    private final Map<Edge, EdgeLine> edgeLineMap;
+    private final Map<Tile, TileBuilder> tileBuilderMap;
+    private final HexGridChangeTracker changeTracker = new HexGridChangeTracker();
+
+    private final List<PortBuilder> portBuilders = new ArrayList<>();
 
     private final Pane hexGridPane = new Pane();
+    private SpatialIndex<Node> nodeIndex;
+    private Set<Node> visibleNodes = new HashSet<>();
+    private boolean detailed = true;
+    private boolean viewportUpdatePending;
 
     /**
      * Creates a new hex grid builder with the given hex grid, intersection
@@ -73,35 +89,25 @@ public class HexGridBuilder implements Builder<Region> {
         this.intersectionBuilders = intersectionBuilders;
         this.edgeLines = edgeLines;
         this.tileBuilders = tileBuilders;
+        this.intersectionBuilderMap = intersectionBuilders.stream()
+            .collect(Collectors.toMap(IntersectionBuilder::getIntersection, Function.identity()));
+        this.edgeLineMap = edgeLines.stream().collect(Collectors.toMap(EdgeLine::getEdge, Function.identity()));
+        this.tileBuilderMap = tileBuilders.stream().collect(Collectors.toMap(TileBuilder::getTile, Function.identity()));
 
         this.scrollHandler = scrollHandler;
         this.pressedHandler = pressedHandler;
         this.draggedHandler = draggedHandler;
         this.centerButtonHandler = centerButtonHandler;
 
-        final BiFunction<ToIntFunction<TilePosition>, IntBinaryOperator, Integer> reduceTiles = (
-            positionFunction,
-            reduceFunction
-        ) -> grid.getTiles().values().stream().map(Tile::getPosition).mapToInt(positionFunction)
-            .reduce(reduceFunction).getAsInt();
-
-        this.maxPoint = new Point2D(
-            calculatePositionTranslation(new TilePosition(reduceTiles.apply(TilePosition::q, Integer::max), 0))
-                .getX(),
-            calculatePositionTranslation(new TilePosition(0, reduceTiles.apply(TilePosition::r, Integer::max)))
-                .getY()
-        );
-        this.minPoint = new Point2D(
-            calculatePositionTranslation(new TilePosition(reduceTiles.apply(TilePosition::q, Integer::min), 0))
-                .getX(),
-            calculatePositionTranslation(new TilePosition(0, reduceTiles.apply(TilePosition::r, Integer::min)))
-                .getY()
-        );
+        this.geometry = new BoardGeometry(grid);
     }
 
     @Override
     public Region build() {
         hexGridPane.getChildren().clear();
+        portBuilders.clear();
+        nodeIndex = new SpatialIndex<>(grid.getTileWidth());
+        visibleNodes = new HashSet<>();
 
         edgeLines.stream().map(EdgeLine::getEdge).filter(Edge::hasPort).forEach(this::placePort);
 
@@ -109,12 +115,14 @@ public class HexGridBuilder implements Builder<Region> {
 
         hexGridPane.maxWidthProperty().bind(Bindings
                                                 .createDoubleBinding(
-                                                    () -> Math.abs(minPoint.getX()) + maxPoint.getX() + grid.getTileWidth(),
+                                                    () -> getOffsetX() + geometry.getMaxX(grid.getTileSize())
+                                                        + grid.getTileWidth(),
                                                     grid.tileSizeProperty()
                                                 ));
         hexGridPane.maxHeightProperty().bind(Bindings
                                                  .createDoubleBinding(
-                                                     () -> Math.abs(minPoint.getY()) + maxPoint.getX() + grid.getTileHeight(),
+                                                     () -> getOffsetY() + geometry.getMaxX(grid.getTileSize())
+                                                         + grid.getTileHeight(),
                                                      grid.tileSizeProperty()
                                                  ));
         hexGridPane.minWidthProperty().bind(hexGridPane.maxWidthProperty());
@@ -145,12 +153,19 @@ public class HexGridBuilder implements Builder<Region> {
 
         mapPane.getChildren().add(centerButton);
 
+        for (final Observable observable : List.of(
+            mapPane.widthProperty(), mapPane.heightProperty(),
+            hexGridPane.scaleXProperty(), hexGridPane.scaleYProperty(),
+            hexGridPane.translateXProperty(), hexGridPane.translateYProperty()
+        )) {
+            observable.addListener(ignored -> invalidateViewport(mapPane));
+        }
+        invalidateViewport(mapPane);
+
         return mapPane;
     }
 
-    /**
-     * Draws the tiles on the hex grid.
-     */
+    @Override
     public void drawTiles() {
         tileBuilders.forEach(TileBuilder::build);
     }
@@ -164,18 +179,21 @@ public class HexGridBuilder implements Builder<Region> {
     private Region placeTile(final TileBuilder builder) {
         final Region tileView = builder.build();
         final Tile tile = builder.getTile();
-        final TilePosition position = tile.getPosition();
-        final Point2D translatedPoint = calculatePositionTranslationOffset(position);
+        final int id = geometry.getTileId(tile.getPosition());
+        final double size = grid.getTileSize();
+        final double translatedX = geometry.getTileX(id, size) + getOffsetX();
+        final double translatedY = geometry.getTileY(id, size) + getOffsetY();
         tileView.translateXProperty().bind(
-            Bindings.createDoubleBinding(() -> (translatedPoint.getX()), tile.widthProperty()));
+            Bindings.createDoubleBinding(() -> translatedX, tile.widthProperty()));
         tileView.translateYProperty().bind(
-            Bindings.createDoubleBinding(() -> translatedPoint.getY(), tile.heightProperty()));
+            Bindings.createDoubleBinding(() -> translatedY, tile.heightProperty()));
+        index(tileView, translatedX, translatedY,
+              translatedX + grid.getTileWidth(), translatedY + grid.getTileHeight()
+        );
         return tileView;
     }
 
-    /**
-     * Draws the intersections on the hex grid.
-     */
+    @Override
     public void drawIntersections() {
         intersectionBuilders.forEach(IntersectionBuilder::build);
     }
@@ -188,37 +206,75 @@ public class HexGridBuilder implements Builder<Region> {
      */
     private Region placeIntersection(final IntersectionBuilder builder) {
         final Region intersectionView = builder.build();
-        final Point2D translatedPoint = calculateIntersectionTranslation(builder.getIntersection());
+        final int id = geometry.getIntersectionId(builder.getIntersection());
+        final double size = grid.getTileSize();
+        final double centerX = geometry.getIntersectionX(id, size) + getCenterOffsetX();
+        final double centerY = geometry.getIntersectionY(id, size) + getCenterOffsetY();
         intersectionView.translateXProperty().bind(Bindings.createDoubleBinding(
-            () -> (translatedPoint.getX() - intersectionView.getWidth() / 2), intersectionView.widthProperty()));
+            () -> (centerX - intersectionView.getWidth() / 2), intersectionView.widthProperty()));
         intersectionView.translateYProperty().bind(Bindings.createDoubleBinding(
-            () -> (translatedPoint.getY() - intersectionView.getHeight() / 2), intersectionView.heightProperty()));
+            () -> (centerY - intersectionView.getHeight() / 2), intersectionView.heightProperty()));
+        final double margin = grid.getTileWidth() / 2;
+        index(intersectionView, centerX - margin, centerY - margin, centerX + margin, centerY + margin);
         return intersectionView;
     }
 
-    /**
-     * Draws the edges on the hex grid.
-     */
+    @Override
     public void drawEdges() {
         edgeLines.forEach(EdgeLine::init);
     }
 
+    @Override
+    public HexGridChangeTracker getChangeTracker() {
+        return changeTracker;
+    }
+
+    @Override
+    public int drawChanged() {
+        return changeTracker.drain(
+            tile -> draw(tileBuilderMap.get(tile), TileBuilder::build),
+            intersection -> draw(intersectionBuilderMap.get(intersection), IntersectionBuilder::build),
+            edge -> draw(edgeLineMap.get(edge), EdgeLine::init)
+        );
+    }
+
+    /**
+     * Draws the view of a changed element again, if it has one.
+     *
+     * @param view the view of the element or {@code null}
+     * @param draw draws the view again
+     * @param <T>  the type of the view
+     * @return whether the view was drawn
+     */
+    private static <T> boolean draw(final T view, final Consumer<T> draw) {
+        if (view == null) {
+            return false;
+        }
+        draw.accept(view);
+        return true;
+    }
+
     /**
      * Places an edge on the hex grid.
      *
      * @param edgeLine The edge line.
      */
     private void placeEdge(final EdgeLine edgeLine) {
-        final List<Intersection> intersections = edgeLine.getEdge().getIntersections().stream().toList();
-        final Point2D translatedStart = calculateIntersectionTranslation(intersections.get(0));
-        final Point2D translatedEnd = calculateIntersectionTranslation(intersections.get(1));
-        edgeLine.setStartX(translatedStart.getX());
-        edgeLine.setStartY(translatedStart.getY());
-        edgeLine.setEndX(translatedEnd.getX());
-        edgeLine.setEndY(translatedEnd.getY());
+        final int id = geometry.getEdgeId(edgeLine.getEdge());
+        final double size = grid.getTileSize();
+        edgeLine.setStartX(geometry.getEdgeStartX(id, size) + getCenterOffsetX());
+        edgeLine.setStartY(geometry.getEdgeStartY(id, size) + getCenterOffsetY());
+        edgeLine.setEndX(geometry.getEdgeEndX(id, size) + getCenterOffsetX());
+        edgeLine.setEndY(geometry.getEdgeEndY(id, size) + getCenterOffsetY());
         edgeLine.init();
         hexGridPane.getChildren().add(edgeLine.getOutline());
         hexGridPane.getChildren().add(edgeLine);
+        for (final Node node : List.of(edgeLine.getOutline(), edgeLine)) {
+            index(node,
+                  Math.min(edgeLine.getStartX(), edgeLine.getEndX()), Math.min(edgeLine.getStartY(), edgeLine.getEndY()),
+                  Math.max(edgeLine.getStartX(), edgeLine.getEndX()), Math.max(edgeLine.getStartY(), edgeLine.getEndY())
+            );
+        }
     }
 
     /**
@@ -227,72 +283,136 @@ public class HexGridBuilder implements Builder<Region> {
      * @param edge The edge the port is on.
      */
     private void placePort(final Edge edge) {
-        final TilePosition position = edge.getAdjacentTilePositions().stream()
-            .filter(Predicate.not(grid.getTiles()::containsKey))
-            .findAny()
-            .orElseThrow();
-        final List<Intersection> intersections = edge.getIntersections().stream().toList();
-        final Point2D node0 = calculateIntersectionTranslation(intersections.get(0));
-        final Point2D node1 = calculateIntersectionTranslation(intersections.get(1));
+        final int id = geometry.getEdgeId(edge);
+        final double size = grid.getTileSize();
+        final Point2D node0 = new Point2D(
+            geometry.getEdgeStartX(id, size) + getCenterOffsetX(),
+            geometry.getEdgeStartY(id, size) + getCenterOffsetY()
+        );
+        final Point2D node1 = new Point2D(
+            geometry.getEdgeEndX(id, size) + getCenterOffsetX(),
+            geometry.getEdgeEndY(id, size) + getCenterOffsetY()
+        );
+        final double translatedX = geometry.getPortX(id, size) + getOffsetX();
+        final double translatedY = geometry.getPortY(id, size) + getOffsetY();
         final PortBuilder portBuilder = new PortBuilder(edge, grid.tileWidthProperty(), grid.tileHeightProperty(),
                                                         node0, node1
         );
+        portBuilder.setDetailed(detailed);
+        portBuilders.add(portBuilder);
         final Region portView = portBuilder.build();
-        final Point2D translatedPoint = calculatePositionTranslationOffset(position);
         portView.translateXProperty().bind(Bindings.createDoubleBinding(
-            () -> (translatedPoint.getX() - portView.getWidth() / 2), grid.tileWidthProperty()));
+            () -> (translatedX - portView.getWidth() / 2), grid.tileWidthProperty()));
         portView.translateYProperty().bind(Bindings.createDoubleBinding(
-            () -> (translatedPoint.getY() - portView.getHeight() / 2), grid.tileHeightProperty()));
-        hexGridPane.getChildren().addAll(portBuilder.initConnections(calculatePositionCenterOffset(position)));
+            () -> (translatedY - portView.getHeight() / 2), grid.tileHeightProperty()));
+        final List<Node> connections = portBuilder.initConnections(new Point2D(
+            translatedX + grid.getTileWidth() / 2,
+            translatedY + grid.getTileHeight() / 2
+        ));
+        hexGridPane.getChildren().addAll(connections);
         hexGridPane.getChildren().addAll(portView);
+        final double minX = Math.min(translatedX, Math.min(node0.getX(), node1.getX()));
+        final double minY = Math.min(translatedY, Math.min(node0.getY(), node1.getY()));
+        final double maxX = Math.max(translatedX + grid.getTileWidth(), Math.max(node0.getX(), node1.getX()));
+        final double maxY = Math.max(translatedY + grid.getTileHeight(), Math.max(node0.getY(), node1.getY()));
+        for (final Node node : connections) {
+            index(node, minX, minY, maxX, maxY);
+        }
+        index(portView, minX, minY, maxX, maxY);
+    }
+
+    // Viewport
+
+    /**
+     * Adds the given node with the given bounds in the coordinates of the hex grid pane to the index of nodes that
+     * are hidden while outside the visible part of the pane.
+     *
+     * @param node The node.
+     * @param minX The left bound.
+     * @param minY The top bound.
+     * @param maxX The right bound.
+     * @param maxY The bottom bound.
+     */
+    private void index(final Node node, final double minX, final double minY, final double maxX, final double maxY) {
+        nodeIndex.insert(node, minX, minY, maxX, maxY);
+        visibleNodes.add(node);
     }
 
     /**
-     * Calculates the upper left corner of the tile region.
+     * Schedules an update of the visible nodes and their level of detail, unless one is already pending.
      *
-     * @param position The position of the tile.
-     * @return The point of the upper left corner.
+     * @param mapPane The pane showing the hex grid pane.
      */
-    private Point2D calculatePositionTranslation(final TilePosition position) {
-        return new Point2D(
-            grid.getTileSize() * (Math.sqrt(3) * position.q() + Math.sqrt(3) / 2 * position.r()),
-            grid.getTileSize() * (3.0 / 2 * position.r())
-        );
+    private void invalidateViewport(final Region mapPane) {
+        if (!viewportUpdatePending) {
+            viewportUpdatePending = true;
+            PerformanceMetrics.getInstance().runLater(() -> updateViewport(mapPane));
+        }
+    }
+
+    /**
+     * Shows the nodes overlapping the visible part of the hex grid pane, hides the others and switches the level of
+     * detail of the tiles and ports when the zoom crosses {@link Config#DETAIL_TILE_SIZE}.
+     * Only the nodes that were or become visible are touched.
+     *
+     * @param mapPane The pane showing the hex grid pane.
+     */
+    private void updateViewport(final Region mapPane) {
+        viewportUpdatePending = false;
+        final boolean detailed = hexGridPane.getScaleX() * grid.getTileWidth() >= Config.DETAIL_TILE_SIZE;
+        if (detailed != this.detailed) {
+            this.detailed = detailed;
+            tileBuilders.forEach(builder -> builder.setDetailed(detailed));
+            portBuilders.forEach(builder -> builder.setDetailed(detailed));
+        }
+
+        final Bounds bounds = hexGridPane.parentToLocal(mapPane.getLayoutBounds());
+        final Set<Node> visible = new HashSet<>();
+        nodeIndex.query(bounds.getMinX(), bounds.getMinY(), bounds.getMaxX(), bounds.getMaxY(), visible::add);
+        for (final Node node : visibleNodes) {
+            if (!visible.contains(node)) {
+                node.setVisible(false);
+            }
+        }
+        visible.forEach(node -> node.setVisible(true));
+        visibleNodes = visible;
+    }
+
+    /**
+     * Returns the horizontal offset moving the coordinate system center to the center of the hex grid, i.e. from a
+     * coordinate of the {@link BoardGeometry} to the upper left corner of a tile region.
+     *
+     * @return The horizontal offset.
+     */
+    private double getOffsetX() {
+        return Math.abs(geometry.getMinX(grid.getTileSize()));
     }
 
     /**
-     * Calculates the upper left corner of the tile region with an offset to move
-     * the coordinate system center to the center of the hex grid.
+     * Returns the vertical offset moving the coordinate system center to the center of the hex grid, i.e. from a
+     * coordinate of the {@link BoardGeometry} to the upper left corner of a tile region.
      *
-     * @param position The position of the tile.
-     * @return The point of the upper left corner.
+     * @return The vertical offset.
      */
-    private Point2D calculatePositionTranslationOffset(final TilePosition position) {
-        return calculatePositionTranslation(position).add(Math.abs(minPoint.getX()), Math.abs(minPoint.getY()));
+    private double getOffsetY() {
+        return Math.abs(geometry.getMinY(grid.getTileSize()));
     }
 
     /**
-     * Calculates the center of the tile region with an offset to move the
-     * coordinate system center to the center of the hex grid.
+     * Returns the horizontal offset from a coordinate of the {@link BoardGeometry} to the center of a tile region.
      *
-     * @param position The position of the tile.
-     * @return The point of the center.
+     * @return The horizontal offset.
      */
-    private Point2D calculatePositionCenterOffset(final TilePosition position) {
-        return calculatePositionTranslationOffset(position).add(grid.getTileWidth() / 2, grid.getTileHeight() / 2);
+    private double getCenterOffsetX() {
+        return getOffsetX() + grid.getTileWidth() / 2;
     }
 
     /**
-     * Calculates the center of the intersection region with an offset to move the
-     * coordinate system center to the center of the hex grid.
+     * Returns the vertical offset from a coordinate of the {@link BoardGeometry} to the center of a tile region.
      *
-     * @param intersection The intersection.
-     * @return The point of the center.
+     * @return The vertical offset.
      */
-    private Point2D calculateIntersectionTranslation(final Intersection intersection) {
-        final Set<Point2D> adjacentPoints = intersection.getAdjacentTilePositions().stream()
-            .map(this::calculatePositionCenterOffset)
-            .collect(Collectors.toSet());
-        return adjacentPoints.stream().reduce(Point2D::add).get().multiply(1.0 / 3);
+    private double getCenterOffsetY() {
+        return getOffsetY() + grid.getTileHeight() / 2;
     }
 }
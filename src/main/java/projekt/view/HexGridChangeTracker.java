@@ -0,0 +1,154 @@
+package projekt.view;
+
+import projekt.model.HexGrid;
+import projekt.model.HexGridListener;
+import projekt.model.Intersection;
+import projekt.model.buildings.Edge;
+import projekt.model.tiles.Tile;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * Tracks the tiles, intersections and edges of a {@link HexGrid} that changed since they were last drawn.
+ * <p>
+ * The tracker listens to the change events of the grid, which may come from any thread, and collects the changed
+ * elements until a {@link HexGridRenderer} draws them again with {@link #drain(Predicate, Predicate, Predicate)}.
+ * An element changing several times before it is drawn is drawn only once. The first change after a draw calls the
+ * change handler, so that exactly one draw is scheduled per batch of changes.
+ * <p>
+ * The tracker counts the nodes touched by every draw, which only depends on the amount of changed elements and not
+ * on the size of the grid.
+ */
+public final class HexGridChangeTracker implements HexGridListener {
+    private final Set<Tile> changedTiles = ConcurrentHashMap.newKeySet();
+    private final Set<Intersection> changedIntersections = ConcurrentHashMap.newKeySet();
+    private final Set<Edge> changedEdges = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile Runnable changeHandler = () -> { };
+    private volatile int lastTouchedCount;
+    private volatile long totalTouchedCount;
+    private volatile long drawCount;
+
+    /**
+     * Sets the handler called, from the changing thread, on the first change after a draw.
+     *
+     * @param changeHandler the handler, which has to make sure the changes are drawn
+     */
+    public void setChangeHandler(final Runnable changeHandler) {
+        this.changeHandler = changeHandler;
+    }
+
+    @Override
+    public void tileChanged(final Tile tile) {
+        if (changedTiles.add(tile)) {
+            scheduleDraw();
+        }
+    }
+
+    @Override
+    public void intersectionChanged(final Intersection intersection) {
+        if (changedIntersections.add(intersection)) {
+            scheduleDraw();
+        }
+    }
+
+    @Override
+    public void edgeChanged(final Edge edge) {
+        if (changedEdges.add(edge)) {
+            scheduleDraw();
+        }
+    }
+
+    /**
+     * Calls the change handler, unless a draw is already scheduled.
+     */
+    private void scheduleDraw() {
+        if (scheduled.compareAndSet(false, true)) {
+            changeHandler.run();
+        }
+    }
+
+    /**
+     * Removes all changed elements and passes them to the given functions, which draw them again.
+     * Elements changing while draining are either drawn by this call or by the next one.
+     *
+     * @param drawTile         draws the given tile again and returns whether a node was touched
+     * @param drawIntersection draws the given intersection again and returns whether a node was touched
+     * @param drawEdge         draws the given edge again and returns whether a node was touched
+     * @return the amount of touched nodes
+     */
+    public int drain(
+        final Predicate<Tile> drawTile,
+        final Predicate<Intersection> drawIntersection,
+        final Predicate<Edge> drawEdge
+    ) {
+        scheduled.set(false);
+        final int touched = drain(changedTiles, drawTile)
+            + drain(changedIntersections, drawIntersection)
+            + drain(changedEdges, drawEdge);
+        lastTouchedCount = touched;
+        totalTouchedCount += touched;
+        drawCount++;
+        return touched;
+    }
+
+    /**
+     * Removes all elements of the given set and passes them to the given function.
+     *
+     * @param changed the changed elements
+     * @param draw    draws the given element again and returns whether a node was touched
+     * @param <T>     the type of the elements
+     * @return the amount of touched nodes
+     */
+    private static <T> int drain(final Set<T> changed, final Predicate<T> draw) {
+        int touched = 0;
+        for (final Iterator<T> iterator = changed.iterator(); iterator.hasNext(); ) {
+            final T element = iterator.next();
+            iterator.remove();
+            if (draw.test(element)) {
+                touched++;
+            }
+        }
+        return touched;
+    }
+
+    /**
+     * Returns whether any element changed since the last draw.
+     *
+     * @return whether any element changed
+     */
+    public boolean hasChanges() {
+        return !changedTiles.isEmpty() || !changedIntersections.isEmpty() || !changedEdges.isEmpty();
+    }
+
+    /**
+     * Returns the amount of nodes touched by the last draw.
+     *
+     * @return the amount of nodes touched by the last draw
+     */
+    public int getLastTouchedCount() {
+        return lastTouchedCount;
+    }
+
+    /**
+     * Returns the amount of nodes touched by all draws.
+     *
+     * @return the amount of nodes touched by all draws
+     */
+    public long getTotalTouchedCount() {
+        return totalTouchedCount;
+    }
+
+    /**
+     * Returns the amount of draws.
+     *
+     * @return the amount of draws
+     */
+    public long getDrawCount() {
+        return drawCount;
+    }
+}
@@ -0,0 +1,46 @@
+package projekt.view;
+
+import javafx.scene.layout.Region;
+import javafx.util.Builder;
+import projekt.model.HexGrid;
+
+/**
+ * A view of a {@link HexGrid} whose tiles, intersections and edges can be drawn again after the model changed, either
+ * all of them or only the changed ones.
+ *
+ * @see HexGridBuilder
+ * @see CanvasHexGridBuilder
+ */
+public interface HexGridRenderer extends Builder<Region> {
+
+    /**
+     * Draws the tiles on the hex grid.
+     */
+    void drawTiles();
+
+    /**
+     * Draws the intersections on the hex grid.
+     */
+    void drawIntersections();
+
+    /**
+     * Draws the edges on the hex grid.
+     */
+    void drawEdges();
+
+    /**
+     * Returns the tracker of the tiles, intersections and edges that changed since they were last drawn.
+     * It has to be added as a listener to the hex grid to receive its changes.
+     *
+     * @return the change tracker
+     */
+    HexGridChangeTracker getChangeTracker();
+
+    /**
+     * Draws again only the tiles, intersections and edges that changed since they were last drawn.
+     * Must be called on the JavaFX application thread.
+     *
+     * @return the amount of touched nodes
+     */
+    int drawChanged();
+}
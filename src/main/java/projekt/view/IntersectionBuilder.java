@@ -1,5 +1,8 @@
 package projekt.view;
 
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.Region;
 import javafx.scene.layout.StackPane;
@@ -20,6 +23,7 @@ import java.util.function.Consumer;
 public class IntersectionBuilder implements Builder<Region> {
     private final Intersection intersection;
     private final StackPane pane = new StackPane();
+    private final ObjectProperty<Consumer<MouseEvent>> highlightHandler = new SimpleObjectProperty<>();
 
     /**
      * Creates a new IntersectionBuilder for the given {@link Intersection}.
@@ -66,6 +70,16 @@ public class IntersectionBuilder implements Builder<Region> {
         return intersection;
     }
 
+    /**
+     * Returns the property holding the click handler of the highlighted intersection, or {@code null} if the
+     * intersection is not highlighted.
+     *
+     * @return the property holding the click handler
+     */
+    public ReadOnlyObjectProperty<Consumer<MouseEvent>> highlightHandlerProperty() {
+        return highlightHandler;
+    }
+
     /**
      * Highlights the intersection and sets a handler for mouse clicks.
      *
@@ -79,6 +93,7 @@ public class IntersectionBuilder implements Builder<Region> {
         circle.getStyleClass().add("selectable");
         pane.getChildren().add(circle);
         pane.setOnMouseClicked(handler::accept);
+        highlightHandler.set(handler);
     }
 
     /**
@@ -87,5 +102,6 @@ public class IntersectionBuilder implements Builder<Region> {
     public void unhighlight() {
         pane.getChildren().removeIf(Circle.class::isInstance);
         pane.setOnMouseClicked(null);
+        highlightHandler.set(null);
     }
 }
@@ -0,0 +1,37 @@
+package projekt.view;
+
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.scene.control.Label;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+import javafx.util.Builder;
+
+/**
+ * The builder for the performance overlay of the game board.
+ * It creates a translucent box showing the text set with {@link #setText(String)}, which lets all mouse events pass
+ * through to the game board below it.
+ */
+public class PerformanceOverlayBuilder implements Builder<Region> {
+    private final StringProperty textProperty = new SimpleStringProperty("");
+
+    @Override
+    public Region build() {
+        final Label label = new Label();
+        label.textProperty().bind(textProperty);
+        final VBox mainBox = new VBox(label);
+        mainBox.getStyleClass().add("performance-overlay");
+        mainBox.setMaxSize(Region.USE_PREF_SIZE, Region.USE_PREF_SIZE);
+        mainBox.setMouseTransparent(true);
+        return mainBox;
+    }
+
+    /**
+     * Sets the text of the overlay.
+     *
+     * @param text The text.
+     */
+    public void setText(final String text) {
+        textProperty.set(text);
+    }
+}
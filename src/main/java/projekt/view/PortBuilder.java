@@ -33,6 +33,8 @@ public class PortBuilder implements Builder<Region> {
     private final ObservableDoubleValue height;
     private final Point2D node0;
     private final Point2D node1;
+    private Node details;
+    private boolean detailed = true;
 
     /**
      * Creates a new PortBuilder on the given {@link Edge}.
@@ -88,10 +90,24 @@ public class PortBuilder implements Builder<Region> {
         ratioLabel.getStyleClass().add("highlighted-label");
         final VBox iconBox = new VBox(icon, ratioLabel);
         iconBox.setAlignment(Pos.CENTER);
+        iconBox.setVisible(detailed);
         mainPane.getChildren().addAll(background, iconBox);
+        details = iconBox;
         return mainPane;
     }
 
+    /**
+     * Sets whether the port is rendered with its resource icon and ratio, or only as a circle.
+     *
+     * @param detailed whether the port is rendered with full detail
+     */
+    public void setDetailed(final boolean detailed) {
+        this.detailed = detailed;
+        if (details != null) {
+            details.setVisible(detailed);
+        }
+    }
+
     /**
      * Initializes the connections to the nodes.
      *
@@ -0,0 +1,74 @@
+package projekt.view;
+
+import javafx.css.CssParser;
+import javafx.scene.text.Font;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Loads the resources of the application on a background thread while the first scene is shown.
+ * <p>
+ * The fonts are loaded, which initializes the font system and registers their families before the stylesheet refers
+ * to them, the stylesheet is parsed once, which loads the classes of the CSS parser, and the images are decoded and
+ * colorized by {@link SpriteAtlas#preload()}. Without preloading, all of this happens on the JavaFX application
+ * thread while the first scenes are built.
+ */
+public final class ResourcePreloader {
+
+    private static final List<String> FONTS = List.of(
+        "/fonts/Roboto-Merged-Icons.ttf",
+        "/fonts/Roboto-Merged-Icons-Black.ttf"
+    );
+    private static final String STYLESHEET = "/css/hexmap.css";
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "ResourcePreloaderThread");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private ResourcePreloader() {
+    }
+
+    /**
+     * Loads the fonts, the stylesheet and the images on background threads.
+     *
+     * @return a future completed when all resources are loaded
+     */
+    public static CompletableFuture<Void> preload() {
+        final CompletableFuture<Void> fontsAndStylesheet = CompletableFuture.runAsync(() -> {
+            for (final String font : FONTS) {
+                Font.loadFont(getResource(font).toExternalForm(), Font.getDefault().getSize());
+            }
+            try {
+                new CssParser().parse(getResource(STYLESHEET));
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, EXECUTOR);
+        return CompletableFuture.allOf(fontsAndStylesheet, SpriteAtlas.preload());
+    }
+
+    /**
+     * Returns the URL of the given resource.
+     *
+     * @param path the absolute path of the resource
+     * @return the URL of the resource
+     * @throws IllegalStateException if the resource does not exist
+     */
+    private static URL getResource(final String path) {
+        final URL url = ResourcePreloader.class.getResource(path);
+        if (url == null) {
+            throw new IllegalStateException("Missing resource: " + path);
+        }
+        return url;
+    }
+}
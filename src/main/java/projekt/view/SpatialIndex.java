@@ -0,0 +1,212 @@
+package projekt.view;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * A uniform grid of buckets indexing items by their axis-aligned bounding boxes.
+ * <p>
+ * Each item is added to every cell its bounds overlap, so point and rectangle queries only look at the items of
+ * the cells they touch instead of every item. Queries report candidates whose bounds match; callers run the exact
+ * test (e.g. against a hexagon or a line) themselves. Items are reported in the order they were inserted, so
+ * overlapping items can be drawn in a stable order.
+ * <p>
+ * Instances are not thread-safe.
+ *
+ * @param <T> the type of the indexed items
+ */
+public final class SpatialIndex<T> {
+
+    private final double cellSize;
+    private final Map<Long, List<Entry<T>>> cells = new HashMap<>();
+    private final List<Entry<T>> entries = new ArrayList<>();
+    private int queryStamp;
+
+    /**
+     * Creates a new empty index with the given cell size.
+     *
+     * @param cellSize the width and height of a cell, ideally about the size of a typical item
+     */
+    public SpatialIndex(final double cellSize) {
+        if (!(cellSize > 0)) {
+            throw new IllegalArgumentException("Cell size must be positive: " + cellSize);
+        }
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Adds the given item with the given bounds.
+     *
+     * @param item the item
+     * @param minX the left bound
+     * @param minY the top bound
+     * @param maxX the right bound
+     * @param maxY the bottom bound
+     */
+    public void insert(final T item, final double minX, final double minY, final double maxX, final double maxY) {
+        final Entry<T> entry = new Entry<>(item, entries.size(), minX, minY, maxX, maxY);
+        entries.add(entry);
+        for (int cellY = cell(minY); cellY <= cell(maxY); cellY++) {
+            for (int cellX = cell(minX); cellX <= cell(maxX); cellX++) {
+                cells.computeIfAbsent(key(cellX, cellY), key -> new ArrayList<>()).add(entry);
+            }
+        }
+    }
+
+    /**
+     * Removes all items.
+     */
+    public void clear() {
+        cells.clear();
+        entries.clear();
+    }
+
+    /**
+     * Returns the amount of indexed items.
+     *
+     * @return the amount of items
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Passes every item whose bounds contain the given point to the given consumer.
+     *
+     * @param x        the x coordinate
+     * @param y        the y coordinate
+     * @param consumer the consumer of the items
+     */
+    public void query(final double x, final double y, final Consumer<? super T> consumer) {
+        final List<Entry<T>> cell = cells.get(key(cell(x), cell(y)));
+        if (cell == null) {
+            return;
+        }
+        for (final Entry<T> entry : cell) {
+            if (entry.minX <= x && x <= entry.maxX && entry.minY <= y && y <= entry.maxY) {
+                consumer.accept(entry.item);
+            }
+        }
+    }
+
+    /**
+     * Passes every item whose bounds intersect the given rectangle to the given consumer, in insertion order.
+     *
+     * @param minX     the left bound of the rectangle
+     * @param minY     the top bound of the rectangle
+     * @param maxX     the right bound of the rectangle
+     * @param maxY     the bottom bound of the rectangle
+     * @param consumer the consumer of the items
+     */
+    public void query(
+        final double minX, final double minY, final double maxX, final double maxY,
+        final Consumer<? super T> consumer
+    ) {
+        final int stamp = ++queryStamp;
+        final List<Entry<T>> matches = new ArrayList<>();
+        final int fromX = cell(minX);
+        final int toX = cell(maxX);
+        final int fromY = cell(minY);
+        final int toY = cell(maxY);
+        if ((long) (toX - fromX + 1) * (toY - fromY + 1) > cells.size()) {
+            // the rectangle covers more cells than are occupied, so scanning the items is cheaper
+            for (final Entry<T> entry : entries) {
+                if (entry.intersects(minX, minY, maxX, maxY)) {
+                    consumer.accept(entry.item);
+                }
+            }
+            return;
+        }
+        for (int cellY = fromY; cellY <= toY; cellY++) {
+            for (int cellX = fromX; cellX <= toX; cellX++) {
+                final List<Entry<T>> cell = cells.get(key(cellX, cellY));
+                if (cell == null) {
+                    continue;
+                }
+                for (final Entry<T> entry : cell) {
+                    if (entry.stamp != stamp && entry.intersects(minX, minY, maxX, maxY)) {
+                        entry.stamp = stamp;
+                        matches.add(entry);
+                    }
+                }
+            }
+        }
+        matches.sort(Comparator.comparingInt(entry -> entry.sequence));
+        matches.forEach(entry -> consumer.accept(entry.item));
+    }
+
+    /**
+     * Returns the cell of the given coordinate.
+     *
+     * @param coordinate the coordinate
+     * @return the index of the cell along the coordinate's axis
+     */
+    private int cell(final double coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    /**
+     * Returns the key of the given cell.
+     *
+     * @param cellX the column of the cell
+     * @param cellY the row of the cell
+     * @return the key of the cell
+     */
+    private static long key(final int cellX, final int cellY) {
+        return (long) cellX << 32 | cellY & 0xFFFFFFFFL;
+    }
+
+    /**
+     * An indexed item with its bounds.
+     *
+     * @param <T> the type of the item
+     */
+    private static final class Entry<T> {
+        private final T item;
+        private final int sequence;
+        private final double minX;
+        private final double minY;
+        private final double maxX;
+        private final double maxY;
+        private int stamp;
+
+        /**
+         * Creates a new entry.
+         *
+         * @param item     the item
+         * @param sequence the insertion order of the item
+         * @param minX     the left bound
+         * @param minY     the top bound
+         * @param maxX     the right bound
+         * @param maxY     the bottom bound
+         */
+        private Entry(
+            final T item, final int sequence,
+            final double minX, final double minY, final double maxX, final double maxY
+        ) {
+            this.item = item;
+            this.sequence = sequence;
+            this.minX = minX;
+            this.minY = minY;
+            this.maxX = maxX;
+            this.maxY = maxY;
+        }
+
+        /**
+         * Returns whether the bounds of this entry intersect the given rectangle.
+         *
+         * @param minX the left bound of the rectangle
+         * @param minY the top bound of the rectangle
+         * @param maxX the right bound of the rectangle
+         * @param maxY the bottom bound of the rectangle
+         * @return whether the bounds intersect
+         */
+        private boolean intersects(final double minX, final double minY, final double maxX, final double maxY) {
+            return this.minX <= maxX && minX <= this.maxX && this.minY <= maxY && minY <= this.maxY;
+        }
+    }
+}
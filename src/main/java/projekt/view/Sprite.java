@@ -35,7 +35,7 @@ public class Sprite extends ColoredImageView {
      * @param color          The color of the sprite.
      */
     public Sprite(final String spriteFilePath, final int startingIndex, final Color color) {
-        this(new Image(spriteFilePath), startingIndex, color);
+        this(SpriteAtlas.getImage(spriteFilePath), startingIndex, color);
     }
 
     /**
@@ -0,0 +1,170 @@
+package projekt.view;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import projekt.model.ResourceType;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A shared cache of the images in {@code img} and of their colorized copies.
+ * <p>
+ * Every image is decoded once per path. Instead of a {@link javafx.scene.effect.Lighting} effect per node, images
+ * are colorized once per color into a {@link WritableImage}, multiplying every pixel with the color like a distant
+ * light from straight above does. The results are equal to the effect, but views display them without any effect
+ * pass. The images used by the game can be colorized ahead of time on a background thread with
+ * {@link #preload()} and {@link #preloadPlayerColors(Collection)}; images missing from the cache are colorized on
+ * first use.
+ */
+public final class SpriteAtlas {
+
+    private static final Map<String, Image> IMAGES = new ConcurrentHashMap<>();
+    private static final Map<TintKey, Image> TINTED_IMAGES = new ConcurrentHashMap<>();
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "SpriteAtlasThread");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private SpriteAtlas() {
+    }
+
+    /**
+     * Returns the image at the given path, decoding it on first use.
+     *
+     * @param path the path to the image
+     * @return the image
+     */
+    public static Image getImage(final String path) {
+        return IMAGES.computeIfAbsent(path, Image::new);
+    }
+
+    /**
+     * Returns the given image colorized with the given color, colorizing it on first use.
+     *
+     * @param image the image
+     * @param color the color or {@code null}
+     * @return the colorized image or the given image if the color is {@code null}
+     */
+    public static Image getTinted(final Image image, final Color color) {
+        if (color == null) {
+            return image;
+        }
+        return TINTED_IMAGES.computeIfAbsent(new TintKey(image, color), key -> tint(image, color));
+    }
+
+    /**
+     * Returns the amount of colorized images in the cache.
+     *
+     * @return the amount of colorized images
+     */
+    public static int getTintedImageCount() {
+        return TINTED_IMAGES.size();
+    }
+
+    /**
+     * Colorizes the images whose colors do not depend on the players on a background thread.
+     *
+     * @return a future completed when all images are colorized
+     */
+    public static CompletableFuture<Void> preload() {
+        return CompletableFuture.runAsync(() -> {
+            for (final ResourceType resourceType : ResourceType.values()) {
+                getTinted(Utils.resourcesSpriteSheet, resourceType.color);
+                getTinted(Utils.emptyCardImage, resourceType.color);
+            }
+            getTinted(Utils.emptyCardImage, Color.BLUEVIOLET);
+            getTinted(Utils.developmentCardsSpriteSheet, Color.BLACK);
+            getTinted(Utils.robberImage, Color.BLACK);
+        }, EXECUTOR);
+    }
+
+    /**
+     * Colorizes the settlements with the given player colors on a background thread.
+     *
+     * @param colors the colors of the players
+     * @return a future completed when all images are colorized
+     */
+    public static CompletableFuture<Void> preloadPlayerColors(final Collection<Color> colors) {
+        final List<Color> copy = List.copyOf(colors);
+        return CompletableFuture.runAsync(
+            () -> copy.forEach(color -> getTinted(Utils.settlementsSpriteSheet, color)),
+            EXECUTOR
+        );
+    }
+
+    /**
+     * Creates a copy of the given image colorized with the given color.
+     *
+     * @param image the image
+     * @param color the color
+     * @return the colorized copy
+     */
+    private static Image tint(final Image image, final Color color) {
+        final int width = (int) image.getWidth();
+        final int height = (int) image.getHeight();
+        if (width == 0 || height == 0 || image.getPixelReader() == null) {
+            return image;
+        }
+        final int[] pixels = new int[width * height];
+        image.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), pixels, 0, width);
+        tint(pixels, color);
+        final WritableImage tinted = new WritableImage(width, height);
+        tinted.getPixelWriter().setPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), pixels, 0, width);
+        return tinted;
+    }
+
+    /**
+     * Multiplies the color channels of the given non-premultiplied ARGB pixels with the given color, keeping their
+     * alpha. This is the result of a {@link javafx.scene.effect.Lighting} with a white distant light replaced by the
+     * given color, an elevation of 90 degrees, a diffuse constant of 1 and no specular or surface component.
+     *
+     * @param pixels the pixels to colorize in place
+     * @param color  the color
+     */
+    static void tint(final int[] pixels, final Color color) {
+        final int[] red = channelTable(color.getRed());
+        final int[] green = channelTable(color.getGreen());
+        final int[] blue = channelTable(color.getBlue());
+        for (int i = 0; i < pixels.length; i++) {
+            final int pixel = pixels[i];
+            pixels[i] = pixel & 0xFF000000
+                | red[pixel >>> 16 & 0xFF] << 16
+                | green[pixel >>> 8 & 0xFF] << 8
+                | blue[pixel & 0xFF];
+        }
+    }
+
+    /**
+     * Returns the products of every channel value with the given factor.
+     *
+     * @param factor the factor between {@code 0} and {@code 1}
+     * @return the products, indexed by the channel value
+     */
+    private static int[] channelTable(final double factor) {
+        final int[] table = new int[256];
+        Arrays.setAll(table, value -> (int) Math.round(value * factor));
+        return table;
+    }
+
+    /**
+     * The key of a colorized image.
+     *
+     * @param image the original image, compared by identity
+     * @param color the color
+     */
+    private record TintKey(Image image, Color color) {
+    }
+}
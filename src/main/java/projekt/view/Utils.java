@@ -1,5 +1,6 @@
 package projekt.view;
 
+import javafx.application.Platform;
 import javafx.scene.Node;
 import javafx.scene.control.TextField;
 import javafx.scene.control.TextFormatter;
@@ -8,6 +9,7 @@ import javafx.scene.control.Tooltip;
 import javafx.scene.image.Image;
 import javafx.util.Duration;
 import org.tudalgo.algoutils.student.annotation.DoNotTouch;
+import projekt.controller.metrics.PerformanceMetrics;
 
 import java.util.function.UnaryOperator;
 
@@ -31,11 +33,16 @@ public final class Utils {
 
     /**
      * Attaches a tooltip to a node.
+     * May be called from any thread; tooltips are windows and thus created on the JavaFX application thread.
      *
      * @param text   The text to display in the tooltip.
      * @param target The node to attach the tooltip to.
      */
     public static void attachTooltip(final String text, final Node target) {
+        if (!Platform.isFxApplicationThread()) {
+            PerformanceMetrics.getInstance().runLater(() -> attachTooltip(text, target));
+            return;
+        }
         final Tooltip tooltip = new Tooltip(text);
         tooltip.setShowDelay(Duration.millis(100));
         Tooltip.install(target, tooltip);
@@ -44,25 +51,25 @@ public final class Utils {
     /**
      * The sprite sheet for the resources.
      */
-    public static final Image resourcesSpriteSheet = new Image("img/resources.png");
+    public static final Image resourcesSpriteSheet = SpriteAtlas.getImage("img/resources.png");
 
     /**
      * The sprite sheet for the settlements.
      */
-    public static final Image settlementsSpriteSheet = new Image("img/settlements.png");
+    public static final Image settlementsSpriteSheet = SpriteAtlas.getImage("img/settlements.png");
 
     /**
      * The sprite sheet for the cities.
      */
-    public static final Image developmentCardsSpriteSheet = new Image("img/development_cards.png");
+    public static final Image developmentCardsSpriteSheet = SpriteAtlas.getImage("img/development_cards.png");
 
     /**
      * The sprite sheet for the development cards.
      */
-    public static final Image emptyCardImage = new Image("img/empty_card.png");
+    public static final Image emptyCardImage = SpriteAtlas.getImage("img/empty_card.png");
 
     /**
      * The sprite sheet for the development cards.
      */
-    public static final Image robberImage = new Image("img/robber.png");
+    public static final Image robberImage = SpriteAtlas.getImage("img/robber.png");
 }
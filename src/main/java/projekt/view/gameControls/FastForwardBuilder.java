@@ -0,0 +1,70 @@
+package projekt.view.gameControls;
+
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
+import javafx.util.Builder;
+import projekt.Config;
+import projekt.view.IntegerField;
+
+import java.util.SortedSet;
+import java.util.function.IntConsumer;
+
+/**
+ * A Builder to create the fast-forward controls of a game whose players are all AIs.
+ * The controls consist of a button cycling through the {@link Config#FAST_FORWARD_SPEEDS speed multipliers} and a
+ * field for the amount of turns after which the fast-forwarded game is shown again.
+ */
+public class FastForwardBuilder implements Builder<Region> {
+    private final int speed;
+    private final IntConsumer speedHandler;
+    private final int renderEveryNthTurn;
+    private final IntConsumer renderEveryNthTurnHandler;
+
+    /**
+     * Creates a new FastForwardBuilder.
+     *
+     * @param speed                     the initial speed multiplier
+     * @param speedHandler              the handler to call with the selected speed multiplier
+     * @param renderEveryNthTurn        the initial amount of turns after which the game is shown again
+     * @param renderEveryNthTurnHandler the handler to call with the entered amount of turns
+     */
+    public FastForwardBuilder(
+        final int speed, final IntConsumer speedHandler,
+        final int renderEveryNthTurn, final IntConsumer renderEveryNthTurnHandler
+    ) {
+        this.speed = speed;
+        this.speedHandler = speedHandler;
+        this.renderEveryNthTurn = renderEveryNthTurn;
+        this.renderEveryNthTurnHandler = renderEveryNthTurnHandler;
+    }
+
+    @Override
+    public Region build() {
+        final IntegerProperty selectedSpeed = new SimpleIntegerProperty(speed);
+        final Button speedButton = new Button();
+        speedButton.textProperty().bind(selectedSpeed.map(value -> String.format("Speed: %dx", value.intValue())));
+        speedButton.setOnAction(event -> {
+            final SortedSet<Integer> faster = Config.FAST_FORWARD_SPEEDS.tailSet(selectedSpeed.get() + 1);
+            selectedSpeed.set(faster.isEmpty() ? Config.FAST_FORWARD_SPEEDS.first() : faster.first());
+            speedHandler.accept(selectedSpeed.get());
+        });
+
+        final IntegerField turnsField = new IntegerField(renderEveryNthTurn);
+        turnsField.setPrefColumnCount(3);
+        turnsField.valueProperty().subscribe(turns -> {
+            if (turns.intValue() > 0) {
+                renderEveryNthTurnHandler.accept(turns.intValue());
+            }
+        });
+
+        final HBox mainBox = new HBox(speedButton, new Label("Show every"), turnsField, new Label("turns"));
+        mainBox.setAlignment(Pos.CENTER_LEFT);
+        mainBox.setSpacing(5);
+        return mainBox;
+    }
+}
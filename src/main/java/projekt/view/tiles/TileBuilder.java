@@ -1,5 +1,8 @@
 package projekt.view.tiles;
 
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
 import javafx.geometry.Pos;
 import javafx.scene.control.Label;
 import javafx.scene.image.ImageView;
@@ -24,6 +27,9 @@ public class TileBuilder implements Builder<Region> {
     private final Tile tile;
     private final StackPane pane = new StackPane();
     private final Sprite resourceIcon;
+    private final ObjectProperty<Runnable> highlightHandler = new SimpleObjectProperty<>();
+    private VBox details;
+    private boolean detailed = true;
 
     /**
      * Creates a new TileBuilder for the given {@link Tile}.
@@ -71,10 +77,29 @@ public class TileBuilder implements Builder<Region> {
         }
         mainBox.getChildren().addAll(resourcePane, createLabels());
         mainBox.setAlignment(Pos.CENTER);
+        mainBox.setVisible(detailed);
         pane.getChildren().addAll(mainBox);
+        details = mainBox;
         return pane;
     }
 
+    /**
+     * Sets whether the tile is rendered with its resource icon, robber and labels, or only as a flat hexagon.
+     *
+     * @param detailed whether the tile is rendered with full detail
+     */
+    public void setDetailed(final boolean detailed) {
+        this.detailed = detailed;
+        if (details != null) {
+            details.setVisible(detailed);
+        }
+        if (detailed) {
+            pane.getStyleClass().remove("low-detail");
+        } else if (!pane.getStyleClass().contains("low-detail")) {
+            pane.getStyleClass().add("low-detail");
+        }
+    }
+
     /**
      * Styles and resizes the tile so it is rendered as a hexagon via css.
      *
@@ -111,6 +136,16 @@ public class TileBuilder implements Builder<Region> {
         return labelBox;
     }
 
+    /**
+     * Returns the property holding the click handler of the highlighted tile, or {@code null} if the tile is not
+     * highlighted.
+     *
+     * @return the property holding the click handler
+     */
+    public ReadOnlyObjectProperty<Runnable> highlightHandlerProperty() {
+        return highlightHandler;
+    }
+
     /**
      * Highlights the tile and sets a handler for mouse clicks.
      *
@@ -119,6 +154,7 @@ public class TileBuilder implements Builder<Region> {
     public void highlight(final Runnable hanlder) {
         pane.getStyleClass().add("selectable");
         pane.setOnMouseClicked(e -> hanlder.run());
+        highlightHandler.set(hanlder);
     }
 
     /**
@@ -127,5 +163,6 @@ public class TileBuilder implements Builder<Region> {
     public void unhighlight() {
         pane.getStyleClass().remove("selectable");
         pane.setOnMouseClicked(null);
+        highlightHandler.set(null);
     }
 }
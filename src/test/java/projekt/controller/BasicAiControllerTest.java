@@ -0,0 +1,65 @@
+package projekt.controller;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import projekt.Config;
+import projekt.controller.actions.PlayerAction;
+import projekt.controller.actions.SelectRobberTileAction;
+import projekt.controller.ai.AiExecutor;
+import projekt.model.HexGrid;
+import projekt.model.HexGridImpl;
+import projekt.net.TestGames;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link BasicAiController}.
+ */
+public class BasicAiControllerTest {
+
+    private final HexGrid grid = new HexGridImpl(Config.GRID_RADIUS);
+
+    @Test
+    @Timeout(10)
+    public void testRobberIsDecidedOnExecutor() throws InterruptedException {
+        final GameController gameController = TestGames.createGame(grid, 3);
+        final PlayerController playerController = TestGames.controllerOf(gameController, 0);
+        try (AiExecutor executor = new AiExecutor(1, 4)) {
+            new BasicAiController(
+                playerController, grid, gameController.getState(),
+                gameController.getActivePlayerControllerProperty(), executor
+            );
+            playerController.setPlayerObjective(PlayerObjective.SELECT_ROBBER_TILE);
+
+            final PlayerAction action = playerController.blockingGetNextAction();
+            assertInstanceOf(SelectRobberTileAction.class, action);
+            assertEquals(1, executor.getMetrics().snapshot().decisions());
+        }
+    }
+
+    @Test
+    public void testGamesHaveOwnExecutors() {
+        final GameController gameController = TestGames.createGame(grid, 3);
+        final GameController otherGameController = TestGames.createGame(grid, 3);
+
+        assertSame(gameController.getAiExecutor(), gameController.getAiExecutor());
+        assertNotSame(gameController.getAiExecutor(), otherGameController.getAiExecutor());
+        gameController.getAiExecutor().close();
+        otherGameController.getAiExecutor().close();
+    }
+
+    @Test
+    public void testExecutorIsClosedWhenTheGameIsWon() {
+        final GameController gameController = TestGames.createGame(grid, 3);
+        final AiExecutor executor = gameController.getAiExecutor();
+        assertFalse(executor.isClosed());
+
+        gameController.getState().setWinner(gameController.getState().getPlayers().get(0));
+        assertTrue(executor.isClosed());
+    }
+}
@@ -0,0 +1,173 @@
+package projekt.controller;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import projekt.Config;
+import projekt.controller.actions.RollDiceAction;
+import projekt.controller.ai.AiExecutor;
+import projekt.model.GameState;
+import projekt.model.HexGrid;
+import projekt.model.HexGridImpl;
+import projekt.model.Player;
+import projekt.model.PlayerImpl;
+import projekt.net.GameSnapshot;
+import projekt.net.TestGames;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link FastForward}.
+ */
+public class FastForwardTest {
+
+    private final HexGrid grid = new HexGridImpl(Config.GRID_RADIUS);
+
+    /**
+     * Creates a game with three players, whose controllers are initialized.
+     *
+     * @param ai whether the players are AIs
+     * @return the game controller
+     */
+    private GameController createGame(final boolean ai) {
+        final List<Player> players = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            players.add(TestGames.withResources(new PlayerImpl.Builder(i).ai(ai).build(grid)));
+        }
+        final Map<Player, PlayerController> playerControllers = new LinkedHashMap<>();
+        final GameController gameController = new GameController(new GameState(grid, players), playerControllers, () -> 8);
+        for (final Player player : players) {
+            playerControllers.put(player, new TestGames.VillagePlayerController(gameController, player));
+        }
+        return gameController;
+    }
+
+    /**
+     * Plays the given amount of turns, the way {@link GameController#withActivePlayer} does, cycling through the
+     * seats and counting the rounds.
+     *
+     * @param gameController the game controller
+     * @param turns          the amount of turns
+     */
+    private static void playTurns(final GameController gameController, final int turns) {
+        final int players = gameController.getState().getPlayers().size();
+        for (int turn = 0; turn < turns; turn++) {
+            gameController.getRoundCounterProperty().set(turn / players + 1);
+            gameController.getActivePlayerControllerProperty().setValue(
+                TestGames.controllerOf(gameController, turn % players));
+            gameController.getActivePlayerControllerProperty().setValue(null);
+        }
+    }
+
+    @Test
+    public void testOnlyGamesOfAisCanBeFastForwarded() {
+        final FastForward human = createGame(false).getFastForward();
+        assertFalse(human.isAvailable());
+        assertThrows(IllegalStateException.class, () -> human.setSpeed(4));
+        human.setSpeed(1);
+        assertFalse(human.isActive());
+        assertEquals(Config.AI_DECISION_BUDGET, human.getDecisionBudget());
+
+        final FastForward ai = createGame(true).getFastForward();
+        assertTrue(ai.isAvailable());
+        assertThrows(IllegalArgumentException.class, () -> ai.setSpeed(0));
+        ai.setSpeed(4);
+        assertTrue(ai.isActive());
+        assertEquals(Config.AI_DECISION_BUDGET.dividedBy(4), ai.getDecisionBudget());
+    }
+
+    @Test
+    public void testActionDelayIsDividedBySpeed() {
+        final FastForward fastForward = createGame(true).getFastForward();
+        assertEquals(Duration.ZERO, fastForward.getActionDelay(), "headless games do not wait");
+
+        fastForward.applyDefaultSpeed();
+        fastForward.setSpeed(1);
+        assertEquals(Config.AI_ACTION_DELAY, fastForward.getActionDelay());
+        fastForward.setSpeed(4);
+        assertEquals(Config.AI_ACTION_DELAY.dividedBy(4), fastForward.getActionDelay());
+    }
+
+    @Test
+    @Timeout(10)
+    public void testHigherSpeedMakesAisActSooner() throws InterruptedException {
+        final GameController gameController = createGame(true);
+        final PlayerController playerController = TestGames.controllerOf(gameController, 0);
+        final FastForward fastForward = gameController.getFastForward();
+        fastForward.applyDefaultSpeed();
+        try (AiExecutor executor = new AiExecutor(1, 4)) {
+            new BasicAiController(
+                playerController, grid, gameController.getState(),
+                gameController.getActivePlayerControllerProperty(), executor
+            );
+
+            fastForward.setSpeed(1);
+            final long normalMillis = timeUntilDiceRoll(playerController);
+            fastForward.setSpeed(16);
+            final long fastMillis = timeUntilDiceRoll(playerController);
+
+            assertTrue(normalMillis >= Config.AI_ACTION_DELAY.toMillis(), "Acted after " + normalMillis + "ms");
+            assertTrue(fastMillis < Config.AI_ACTION_DELAY.toMillis(), "Acted after " + fastMillis + "ms");
+        }
+    }
+
+    /**
+     * Asks the AI of the given player to roll the dice and measures the time until it does.
+     *
+     * @param playerController the player's controller
+     * @return the time until the dice are rolled, in milliseconds
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private static long timeUntilDiceRoll(final PlayerController playerController) throws InterruptedException {
+        final long start = System.nanoTime();
+        playerController.setPlayerObjective(PlayerObjective.DICE_ROLL);
+        assertInstanceOf(RollDiceAction.class, playerController.blockingGetNextAction());
+        final long millis = (System.nanoTime() - start) / 1_000_000;
+        playerController.setPlayerObjective(PlayerObjective.IDLE);
+        return millis;
+    }
+
+    @Test
+    public void testSnapshotsArePublishedEveryNthTurn() {
+        final GameController gameController = createGame(true);
+        final FastForward fastForward = gameController.getFastForward();
+        fastForward.setSpeed(16);
+        fastForward.setRenderEveryNthTurn(3);
+
+        playTurns(gameController, 8);
+        assertEquals(8, fastForward.getTurnCount());
+        assertEquals(2, fastForward.getPublishedCount());
+        final GameSnapshot snapshot = fastForward.getLatestSnapshot();
+        assertEquals(2, snapshot.round(), "the sixth turn is the last one of the second round");
+        assertEquals(2, snapshot.activeSeat());
+        assertEquals(fastForward.getBoard().getEdgeCount(), snapshot.roadOwners().length);
+    }
+
+    @Test
+    public void testSnapshotsArePublishedOnlyWhileFastForwarded() {
+        final GameController gameController = createGame(true);
+        final FastForward fastForward = gameController.getFastForward();
+
+        playTurns(gameController, 5);
+        assertEquals(0, fastForward.getPublishedCount());
+        assertNull(fastForward.getLatestSnapshot());
+
+        fastForward.setSpeed(2);
+        fastForward.setRenderEveryNthTurn(100);
+        playTurns(gameController, 1);
+        assertEquals(0, fastForward.getPublishedCount());
+        gameController.getState().setWinner(gameController.getState().getPlayers().get(1));
+        assertEquals(1, fastForward.getPublishedCount());
+        assertEquals(1, fastForward.getLatestSnapshot().winner());
+    }
+}
@@ -0,0 +1,58 @@
+package projekt.controller.ai;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link AiExecutor}.
+ */
+public class AiExecutorTest {
+
+    @Test
+    public void testBestSoFarIsReturnedWhenBudgetExpires() {
+        try (AiExecutor executor = new AiExecutor(1, 4)) {
+            final long start = System.nanoTime();
+            final int result = executor.decide(context -> {
+                for (int depth = 1; ; depth++) {
+                    context.offer(depth);
+                    // ignores shouldStop() on purpose: the deadline must hold regardless
+                    Thread.sleep(5);
+                }
+            }, Duration.ofMillis(50), -1);
+            final long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            assertTrue(result > 0, "No intermediate result: " + result);
+            assertTrue(elapsedMillis < 500, "Deadline overrun: " + elapsedMillis + "ms");
+            assertEquals(1, executor.getMetrics().snapshot().timeouts());
+        }
+    }
+
+    @Test
+    public void testFinishedDecisionCompletesEarly() {
+        try (AiExecutor executor = new AiExecutor(1, 4)) {
+            final int result = executor.decide(context -> context.offer(42), Duration.ofSeconds(10), -1);
+            assertEquals(42, result);
+            final DecisionMetrics.Snapshot snapshot = executor.getMetrics().snapshot();
+            assertEquals(1, snapshot.decisions());
+            assertEquals(0, snapshot.timeouts());
+        }
+    }
+
+    @Test
+    public void testFallbackWhenQueueIsFull() throws InterruptedException {
+        try (AiExecutor executor = new AiExecutor(1, 1)) {
+            final CountDownLatch release = new CountDownLatch(1);
+            executor.submit(context -> release.await(), Duration.ofSeconds(10), 0);
+            executor.submit(context -> release.await(), Duration.ofSeconds(10), 0);
+            final int result = executor.decide(context -> context.offer(1), Duration.ofSeconds(10), -1);
+            assertEquals(-1, result);
+            assertEquals(1, executor.getMetrics().snapshot().rejections());
+            release.countDown();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package projekt.controller.ai;
+
+import org.junit.jupiter.api.Test;
+import projekt.Config;
+import projekt.model.HexGridImpl;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for {@link IntersectionValues}.
+ */
+public class IntersectionValuesTest {
+
+    @Test
+    public void testBestFreeSpotsMatchFullScan() {
+        final Random random = new Random(7);
+        final BoardIndex board = new BoardIndex(new HexGridImpl(Config.GRID_RADIUS));
+        final IntersectionValues values = new IntersectionValues(board);
+        final int[] spots = new int[5];
+
+        for (int step = 0; step < 50; step++) {
+            if (random.nextBoolean()) {
+                values.setRobberTile(random.nextInt(board.getTileCount()));
+            } else {
+                values.occupy(random.nextInt(board.getIntersectionCount()));
+            }
+            final IntersectionValues expected = new IntersectionValues(board);
+            expected.setRobberTile(values.getRobberTile());
+            final int[] scan = IntStream.range(0, board.getIntersectionCount())
+                .filter(values::isFree)
+                .boxed()
+                .sorted(Comparator.comparingDouble(expected::getValue).reversed().thenComparing(Integer::intValue))
+                .limit(spots.length)
+                .mapToInt(Integer::intValue)
+                .toArray();
+            final int count = values.getBestFreeSpots(spots);
+            assertArrayEquals(scan, Arrays.copyOf(spots, count));
+        }
+    }
+
+    @Test
+    public void testWeightsScaleValueComponents() {
+        final BoardIndex board = new BoardIndex(new HexGridImpl(Config.GRID_RADIUS));
+        final double[] factors = new double[HeuristicWeights.COUNT];
+        Arrays.fill(factors, 1);
+        factors[0] = 2;
+        final IntersectionValues values = new IntersectionValues(board);
+        final IntersectionValues weighted = new IntersectionValues(board, HeuristicWeights.DEFAULT.scale(factors));
+
+        for (int intersection = 0; intersection < board.getIntersectionCount(); intersection++) {
+            assertEquals(
+                IntersectionValues.DIVERSITY_WEIGHT * values.getDiversity(intersection),
+                weighted.getValue(intersection) - values.getValue(intersection),
+                1e-9
+            );
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package projekt.controller.ai;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import projekt.Config;
+import projekt.controller.PlayerObjective;
+import projekt.controller.actions.BuildVillageAction;
+import projekt.controller.actions.SelectCardsAction;
+import projekt.controller.actions.TradeAction;
+import projekt.model.HexGrid;
+import projekt.model.HexGridImpl;
+import projekt.model.Player;
+import projekt.model.PlayerImpl;
+import projekt.model.ResourceType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link MoveGenerator}.
+ */
+public class MoveGeneratorTest {
+
+    private BoardIndex board;
+    private SearchState state;
+    private int[] buffer;
+
+    @BeforeEach
+    public void setUp() {
+        final HexGrid grid = new HexGridImpl(Config.GRID_RADIUS);
+        final List<Player> players = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            players.add(new PlayerImpl.Builder(i).build(grid));
+        }
+        board = new BoardIndex(grid);
+        state = new SearchState(board, players);
+        buffer = new int[MoveGenerator.getMaxMoves(board)];
+    }
+
+    @Test
+    public void testFirstRoundPlacements() {
+        final int count = MoveGenerator.generate(state, PlayerObjective.PLACE_VILLAGE, 0, buffer);
+
+        assertEquals(board.getIntersectionCount(), count);
+        for (int i = 0; i < count; i++) {
+            assertEquals(Move.BUILD_VILLAGE, Move.kind(buffer[i]));
+            assertTrue(Move.isFree(buffer[i]));
+            final BuildVillageAction action = (BuildVillageAction) MoveGenerator.toAction(state, buffer[i]);
+            assertEquals(board.getIntersection(Move.index(buffer[i])), action.intersection());
+        }
+
+        final int village = Move.index(buffer[0]);
+        state.makeMove(buffer[0]);
+        final int roads = MoveGenerator.generate(state, PlayerObjective.PLACE_ROAD, 0, buffer);
+        assertEquals(board.getIntersectionEdges(village).length, roads);
+    }
+
+    @Test
+    public void testRegularTurnMovesCanBeMadeAndUnmade() {
+        state.makeMove(Move.ofIndex(Move.BUILD_VILLAGE, 0, true));
+        state.makeMove(Move.ofIndex(Move.BUILD_ROAD, board.getIntersectionEdges(0)[0], true));
+        state.setRoundCounter(1);
+        for (int resource = 0; resource < SearchState.RESOURCE_TYPES; resource++) {
+            for (int i = 0; i < 4; i++) {
+                state.makeMove(Move.ofArguments(Move.TAKE_RESOURCE, 0, resource));
+            }
+        }
+
+        final int count = MoveGenerator.generate(state, PlayerObjective.REGULAR_TURN, 0, buffer);
+        final int[] kinds = new int[Move.KINDS];
+        for (int i = 0; i < count; i++) {
+            kinds[Move.kind(buffer[i])]++;
+            final SearchState before = state.copy();
+            state.makeMove(buffer[i]);
+            state.unmakeMove();
+            assertEquals(before, state, Move.toString(buffer[i]));
+            MoveGenerator.toAction(state, buffer[i]);
+        }
+
+        assertEquals(1, kinds[Move.END_TURN]);
+        assertEquals(1, kinds[Move.UPGRADE_VILLAGE]);
+        assertEquals(SearchState.RESOURCE_TYPES * (SearchState.RESOURCE_TYPES - 1), kinds[Move.BANK_TRADE]);
+        assertEquals(1, kinds[Move.BUY_DEVELOPMENT_CARD]);
+        assertTrue(kinds[Move.BUILD_ROAD] > 0);
+    }
+
+    @Test
+    public void testRobberAndStealMoves() {
+        final int robberTile = state.getRobberTile();
+        final int count = MoveGenerator.generate(state, PlayerObjective.SELECT_ROBBER_TILE, 0, buffer);
+
+        assertEquals(robberTile == -1 ? board.getTileCount() : board.getTileCount() - 1, count);
+        for (int i = 0; i < count; i++) {
+            assertNotEquals(robberTile, Move.index(buffer[i]));
+        }
+
+        final int tile = Move.index(buffer[0]);
+        final int intersection = board.getTileIntersections(tile)[0];
+        state.setActiveSeat(1);
+        state.makeMove(Move.ofIndex(Move.BUILD_VILLAGE, intersection, true));
+        state.makeMove(Move.ofArguments(Move.TAKE_RESOURCE, 0, ResourceType.ORE.ordinal()));
+        state.setActiveSeat(0);
+        state.makeMove(buffer[0]);
+
+        final int steals = MoveGenerator.generate(state, PlayerObjective.SELECT_CARD_TO_STEAL, 0, buffer);
+        assertEquals(2, steals);
+        assertEquals(Move.ofArguments(Move.STEAL, 1, ResourceType.ORE.ordinal()), buffer[1]);
+    }
+
+    @Test
+    public void testDecodesTradesAndCardSelections() {
+        for (int i = 0; i < SearchState.DEFAULT_TRADE_RATIO; i++) {
+            state.makeMove(Move.ofArguments(Move.TAKE_RESOURCE, 0, ResourceType.WOOD.ordinal()));
+        }
+        final TradeAction trade = (TradeAction) MoveGenerator.toAction(
+            state, Move.ofArguments(Move.BANK_TRADE, ResourceType.WOOD.ordinal(), ResourceType.ORE.ordinal())
+        );
+        assertTrue(trade.payload().withBank());
+        assertEquals(Map.of(ResourceType.WOOD, SearchState.DEFAULT_TRADE_RATIO), trade.payload().offer());
+        assertEquals(Map.of(ResourceType.ORE, 1), trade.payload().request());
+
+        final int count = MoveGenerator.generate(state, PlayerObjective.SELECT_CARDS, 2, buffer);
+        assertEquals(SearchState.RESOURCE_TYPES, count);
+        final SelectCardsAction selection = MoveGenerator.toSelectCardsAction(new int[] {buffer[0], buffer[0]}, 2);
+        assertEquals(Map.of(ResourceType.values()[Move.second(buffer[0])], 2), selection.selectedCards());
+    }
+}
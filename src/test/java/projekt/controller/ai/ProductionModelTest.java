@@ -0,0 +1,118 @@
+package projekt.controller.ai;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import projekt.Config;
+import projekt.model.HexGrid;
+import projekt.model.HexGridImpl;
+import projekt.model.Player;
+import projekt.model.PlayerImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link ProductionModel}.
+ */
+public class ProductionModelTest {
+
+    private static final int PLAYERS = 3;
+
+    private BoardIndex board;
+    private SearchState state;
+
+    @BeforeEach
+    public void setUp() {
+        final HexGrid grid = new HexGridImpl(Config.GRID_RADIUS);
+        final List<Player> players = new ArrayList<>();
+        for (int i = 1; i <= PLAYERS; i++) {
+            players.add(new PlayerImpl.Builder(i).build(grid));
+        }
+        board = new BoardIndex(grid);
+        state = new SearchState(board, players);
+    }
+
+    @Test
+    public void testRollDistribution() {
+        double total = 0;
+        for (int sum = 0; sum <= ProductionModel.getMaxSum(); sum++) {
+            total += ProductionModel.getRollProbability(sum);
+            assertEquals(
+                (double) IntersectionValues.pips(sum) / ProductionModel.OUTCOMES,
+                sum == ProductionModel.ROBBER_ROLL ? 0 : ProductionModel.getRollProbability(sum),
+                1e-12
+            );
+        }
+        assertEquals(1, total, 1e-12);
+        assertEquals(6 / 36.0, ProductionModel.getRollProbability(7), 1e-12);
+        assertEquals(5, IntersectionValues.pips(8));
+        assertEquals(1, IntersectionValues.pips(12));
+    }
+
+    @Test
+    public void testIncrementalUpdatesMatchRebuild() {
+        final Random random = new Random(3);
+        final ProductionModel model = new ProductionModel(state);
+        for (int step = 0; step < 200; step++) {
+            final int seat = random.nextInt(PLAYERS);
+            state.setActiveSeat(seat);
+            final int intersection = random.nextInt(board.getIntersectionCount());
+            if (random.nextInt(3) == 0) {
+                final int tile = random.nextInt(board.getTileCount());
+                state.makeMove(Move.ofIndex(Move.MOVE_ROBBER, tile, false));
+                model.setRobberTile(tile);
+            } else if (state.getSettlementOwner(intersection) == -1) {
+                state.makeMove(Move.ofIndex(Move.BUILD_VILLAGE, intersection, true));
+                model.addSettlement(intersection, seat, 1);
+            } else if (state.isVillageUpgradable(state.getSettlementOwner(intersection), intersection)) {
+                state.setActiveSeat(state.getSettlementOwner(intersection));
+                state.makeMove(Move.ofIndex(Move.UPGRADE_VILLAGE, intersection, false));
+                model.addSettlement(intersection, state.getSettlementOwner(intersection), 1);
+            }
+
+            final ProductionModel expected = new ProductionModel(state);
+            for (int player = 0; player < PLAYERS; player++) {
+                for (int resource = 0; resource < SearchState.RESOURCE_TYPES; resource++) {
+                    assertEquals(expected.getExpectedIncome(player, resource), model.getExpectedIncome(player, resource), 1e-9);
+                    for (int sum = 0; sum <= ProductionModel.getMaxSum(); sum++) {
+                        final int expectedProduction = expected.getProduction(player, sum, resource);
+                        assertEquals(expectedProduction, model.getProduction(player, sum, resource));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testTargetProbability() {
+        final ProductionModel model = new ProductionModel(state);
+        int tile = 0;
+        while (board.getTileResource(tile) == -1 || tile == model.getRobberTile()) {
+            tile++;
+        }
+        final int intersection = board.getTileIntersections(tile)[0];
+        model.addSettlement(intersection, 0, 1);
+        final int resource = board.getTileResource(tile);
+        final int[] hand = new int[SearchState.RESOURCE_TYPES];
+        final int[] target = new int[SearchState.RESOURCE_TYPES];
+        target[resource] = 1;
+
+        double chance = 0;
+        for (final int other : board.getIntersectionTiles(intersection)) {
+            if (board.getTileResource(other) == resource && other != model.getRobberTile()) {
+                chance += ProductionModel.getRollProbability(board.getTileRollNumber(other));
+            }
+        }
+        for (int rolls = 0; rolls <= 5; rolls++) {
+            assertEquals(1 - Math.pow(1 - chance, rolls), model.getTargetProbability(0, hand, target, rolls), 1e-9);
+        }
+        assertEquals(0.0, model.getTargetProbability(1, hand, target, 10));
+        hand[resource] = 1;
+        assertEquals(1.0, model.getTargetProbability(1, hand, target, 0));
+        assertTrue(model.getExpectedIncome(0) > 0);
+    }
+}
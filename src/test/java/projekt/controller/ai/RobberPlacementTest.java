@@ -0,0 +1,121 @@
+package projekt.controller.ai;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import projekt.Config;
+import projekt.model.HexGrid;
+import projekt.model.HexGridImpl;
+import projekt.model.Player;
+import projekt.model.PlayerImpl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link RobberPlacement}.
+ */
+public class RobberPlacementTest {
+
+    private BoardIndex board;
+    private SearchState state;
+    private RobberPlacement robberPlacement;
+
+    @BeforeEach
+    public void setUp() {
+        final HexGrid grid = new HexGridImpl(Config.GRID_RADIUS);
+        final List<Player> players = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            players.add(new PlayerImpl.Builder(i).build(grid));
+        }
+        board = new BoardIndex(grid);
+        state = new SearchState(board, players);
+        robberPlacement = new RobberPlacement(board);
+    }
+
+    @Test
+    public void testTargetsOpponentsAndAvoidsOwnSettlements() {
+        final int own = 0;
+        final int opponent = findIntersection(own);
+        build(0, own);
+        build(1, opponent);
+
+        final int tile = robberPlacement.selectTile(state, 0);
+
+        assertNotEquals(state.getRobberTile(), tile);
+        assertTrue(contains(board.getTileIntersections(tile), opponent));
+        assertTrue(robberPlacement.score(state, 0, tile) > 0);
+        for (final int ownTile : board.getIntersectionTiles(own)) {
+            if (robberPlacement.getTileProduction(ownTile) > 0) {
+                assertTrue(robberPlacement.score(state, 0, ownTile) < 0);
+            }
+        }
+    }
+
+    @Test
+    public void testRobberStaysUntilTheNextRobberRoll() {
+        // with Config.NUMBER_OF_DICE = 2 and Config.DICE_SIDES = 6, 6 of 36 outcomes sum to seven
+        assertEquals(36.0 / 6, RobberPlacement.EXPECTED_ROBBER_ROLLS, 1e-12);
+    }
+
+    @Test
+    public void testPrefersRobbingTheLeader() {
+        final int intersection = findIntersection(0);
+        final int neighbour = Arrays.stream(board.getTileIntersections(board.getIntersectionTiles(intersection)[0]))
+            .filter(other -> other != intersection && !contains(board.getIntersectionNeighbours(intersection), other))
+            .findFirst()
+            .orElseThrow();
+        build(1, intersection);
+        build(2, neighbour);
+        build(2, findIntersection(neighbour));
+        give(1, 3);
+        give(2, 1);
+        final int tile = board.getIntersectionTiles(intersection)[0];
+
+        assertTrue(RobberPlacement.getThreat(state, 2) > RobberPlacement.getThreat(state, 1));
+        final int victim = robberPlacement.selectVictim(state, 0, tile);
+        assertEquals(2, victim);
+        final int resource = RobberPlacement.selectResource(state, victim);
+        assertEquals(0, resource);
+    }
+
+    /**
+     * Returns a productive intersection that shares no tile with the given one.
+     *
+     * @param other the intersection to avoid
+     * @return the id of the intersection
+     */
+    private int findIntersection(final int other) {
+        for (int intersection = 0; intersection < board.getIntersectionCount(); intersection++) {
+            final int[] tiles = board.getIntersectionTiles(intersection);
+            final long productiveTiles = Arrays.stream(tiles)
+                .filter(tile -> robberPlacement.getTileProduction(tile) > 0 && tile != state.getRobberTile())
+                .count();
+            if (productiveTiles >= 2
+                && Arrays.stream(tiles).noneMatch(tile -> contains(board.getIntersectionTiles(other), tile))) {
+                return intersection;
+            }
+        }
+        throw new IllegalStateException("No suitable intersection");
+    }
+
+    private void build(final int seat, final int intersection) {
+        state.setActiveSeat(seat);
+        state.makeMove(Move.ofIndex(Move.BUILD_VILLAGE, intersection, true));
+    }
+
+    private void give(final int seat, final int amount) {
+        state.setActiveSeat(seat);
+        for (int i = 0; i < amount; i++) {
+            state.makeMove(Move.ofArguments(Move.TAKE_RESOURCE, 0, 0));
+        }
+    }
+
+    private static boolean contains(final int[] array, final int value) {
+        return Arrays.stream(array).anyMatch(element -> element == value);
+    }
+}
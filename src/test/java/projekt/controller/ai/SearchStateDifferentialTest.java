@@ -0,0 +1,355 @@
+package projekt.controller.ai;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import projekt.Config;
+import projekt.controller.PlayerObjective;
+import projekt.model.GameState;
+import projekt.model.HexGrid;
+import projekt.model.HexGridImpl;
+import projekt.model.Intersection;
+import projekt.model.Player;
+import projekt.model.PlayerImpl;
+import projekt.model.ResourceType;
+import projekt.model.TestIntersections;
+import projekt.model.Zobrist;
+import projekt.model.buildings.Settlement;
+import projekt.model.tiles.Tile;
+import projekt.net.TestGames;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Tests {@link SearchState} by replaying random move sequences and comparing it against itself (make / unmake, copy)
+ * and by replaying a scripted move sequence and comparing it against states built from scratch from an object model
+ * changed by hand.
+ */
+public class SearchStateDifferentialTest {
+
+    private static final long SEED = 0x5EA2C4L;
+    private static final int PLAYERS = 3;
+    private static final int STEPS = 400;
+
+    private HexGrid grid;
+    private List<Player> players;
+
+    @BeforeEach
+    public void setUp() {
+        // seeded, so that the grid has the ports the scripted test relies on
+        Config.runSeeded(SEED, () -> grid = new HexGridImpl(Config.GRID_RADIUS));
+        players = new ArrayList<>();
+        for (int i = 0; i < PLAYERS; i++) {
+            players.add(new PlayerImpl.Builder(i).build(grid));
+        }
+    }
+
+    @Test
+    public void testUnmakeRestoresEveryIntermediateState() {
+        final Random random = new Random(SEED);
+        final SearchState state = new SearchState(new BoardIndex(grid), players);
+        final List<SearchState> history = new ArrayList<>();
+        for (int step = 0; step < STEPS; step++) {
+            history.add(state.copy());
+            state.makeMove(randomMove(state, random));
+            assertEquals(state.computeZobristHash(), state.getZobristHash(), "Hash differs after move " + step);
+        }
+        for (int step = STEPS - 1; step >= 0; step--) {
+            state.unmakeMove();
+            assertEquals(history.get(step), state, "State differs after unmaking move " + step);
+            assertEquals(history.get(step).getZobristHash(), state.getZobristHash());
+        }
+        assertEquals(0, state.getMoveCount());
+    }
+
+    @Test
+    public void testCopyIsIndependent() {
+        final Random random = new Random(SEED);
+        final SearchState state = new SearchState(new BoardIndex(grid), players);
+        for (int step = 0; step < 20; step++) {
+            state.makeMove(randomMove(state, random));
+        }
+        final SearchState copy = state.copy();
+        assertEquals(state, copy);
+        assertEquals(0, copy.getMoveCount());
+
+        copy.makeMove(Move.ofArguments(Move.TAKE_RESOURCE, 0, ResourceType.ORE.ordinal()));
+        copy.makeMove(Move.ofIndex(Move.BUILD_ROAD, firstFreeEdge(copy), true));
+        assertNotEquals(state, copy);
+        copy.unmakeMove();
+        copy.unmakeMove();
+        assertEquals(state, copy);
+    }
+
+    @Test
+    public void testAgainstHandBuiltStates() {
+        final List<Player> handPlayers = players.stream().map(TestGames::withResources).toList();
+        final GameState gameState = new GameState(grid, handPlayers);
+        final BoardIndex board = new BoardIndex(grid);
+        final Player first = handPlayers.get(0);
+        final Player second = handPlayers.get(1);
+        give(first, Config.SETTLEMENT_BUILDING_COST.get(Settlement.Type.CITY), 1);
+        give(second, Config.SETTLEMENT_BUILDING_COST.get(Settlement.Type.VILLAGE), 1);
+        final SearchState state = new SearchState(board, gameState, first, 1);
+        final List<SearchState> expectedStates = new ArrayList<>();
+        expectedStates.add(assertMatches(gameState, state));
+
+        // a village at a port for a single resource lowers only that resource's ratio
+        final int port = findPort(board, true, -1);
+        final int portResource = board.getPortResource(port);
+        final int otherResource = (portResource + 1) % SearchState.RESOURCE_TYPES;
+        TestIntersections.build(board.getIntersection(port), first, Settlement.Type.VILLAGE);
+        state.makeMove(Move.ofIndex(Move.BUILD_VILLAGE, port, true));
+        expectedStates.add(assertMatches(gameState, state));
+        assertEquals(board.getPortRatio(port), state.getTradeRatio(0, portResource));
+        assertEquals(SearchState.DEFAULT_TRADE_RATIO, state.getTradeRatio(0, otherResource));
+        assertEquals(SearchState.DEFAULT_TRADE_RATIO, state.getTradeRatio(1, portResource));
+
+        final int edge = board.getIntersectionEdges(port)[0];
+        board.getEdge(edge).getRoadOwnerProperty().setValue(first);
+        state.makeMove(Move.ofIndex(Move.BUILD_ROAD, edge, true));
+        expectedStates.add(assertMatches(gameState, state));
+
+        for (int i = 0; i < board.getPortRatio(port); i++) {
+            first.getResources().merge(ResourceType.values()[portResource], 1, Integer::sum);
+            state.makeMove(Move.ofArguments(Move.TAKE_RESOURCE, 0, portResource));
+            expectedStates.add(assertMatches(gameState, state));
+        }
+
+        first.getResources().merge(ResourceType.values()[portResource], -board.getPortRatio(port), Integer::sum);
+        first.getResources().merge(ResourceType.values()[otherResource], 1, Integer::sum);
+        state.makeMove(Move.ofArguments(Move.BANK_TRADE, portResource, otherResource));
+        expectedStates.add(assertMatches(gameState, state));
+
+        TestIntersections.build(board.getIntersection(port), first, Settlement.Type.CITY);
+        give(first, Config.SETTLEMENT_BUILDING_COST.get(Settlement.Type.CITY), -1);
+        state.makeMove(Move.ofIndex(Move.UPGRADE_VILLAGE, port, false));
+        expectedStates.add(assertMatches(gameState, state));
+        assertEquals(2, state.getVictoryPoints(0));
+
+        final int producingTile = Arrays.stream(board.getIntersectionTiles(port))
+            .filter(tile -> board.getTileResource(tile) != -1)
+            .findFirst()
+            .orElseThrow();
+        final int robberTile = producingTile == 0 ? 1 : 0;
+        grid.setRobberPosition(board.getTile(robberTile).getPosition());
+        state.makeMove(Move.ofIndex(Move.MOVE_ROBBER, robberTile, false));
+        expectedStates.add(assertMatches(gameState, state));
+
+        final int diceRoll = board.getTileRollNumber(producingTile);
+        produce(grid, diceRoll);
+        state.makeMove(Move.ofArguments(Move.ROLL_DICE, 0, diceRoll));
+        expectedStates.add(assertMatches(gameState, state));
+
+        state.makeMove(Move.of(Move.END_TURN));
+        expectedStates.add(assertMatches(gameState, state));
+
+        // a village at a generic port lowers every ratio of its owner
+        final int genericPort = findPort(board, false, port);
+        TestIntersections.build(board.getIntersection(genericPort), second, Settlement.Type.VILLAGE);
+        give(second, Config.SETTLEMENT_BUILDING_COST.get(Settlement.Type.VILLAGE), -1);
+        state.makeMove(Move.ofIndex(Move.BUILD_VILLAGE, genericPort, false));
+        expectedStates.add(assertMatches(gameState, state));
+        for (int resource = 0; resource < SearchState.RESOURCE_TYPES; resource++) {
+            assertEquals(board.getPortRatio(genericPort), state.getTradeRatio(1, resource));
+        }
+
+        for (int seat = 1; seat < PLAYERS; seat++) {
+            state.makeMove(Move.of(Move.END_TURN));
+            expectedStates.add(assertMatches(gameState, state));
+        }
+        assertEquals(2, state.getRoundCounter());
+
+        for (int step = expectedStates.size() - 2; step >= 0; step--) {
+            state.unmakeMove();
+            assertEquals(expectedStates.get(step), state, "State differs after unmaking move " + step);
+            assertEquals(expectedStates.get(step).getZobristHash(), state.getZobristHash());
+            assertTradeRatiosEqual(expectedStates.get(step), state);
+        }
+        assertEquals(0, state.getMoveCount());
+    }
+
+    /**
+     * Asserts that the given state equals the one built from scratch from the given game state.
+     *
+     * @param gameState the game state, changed by hand like the moves change the state
+     * @param state     the state changed by moves
+     * @return the state built from scratch
+     */
+    private static SearchState assertMatches(final GameState gameState, final SearchState state) {
+        final Player activePlayer = state.getPlayer(state.getActiveSeat());
+        final SearchState expected = new SearchState(
+            state.getBoard(), gameState, activePlayer, state.getRoundCounter()
+        );
+        assertEquals(expected, state);
+        assertEquals(expected.getZobristHash(), state.getZobristHash());
+        assertEquals(Zobrist.hash(gameState, activePlayer), state.getZobristHash());
+        assertTradeRatiosEqual(expected, state);
+        return expected;
+    }
+
+    private static void assertTradeRatiosEqual(final SearchState expected, final SearchState state) {
+        for (int seat = 0; seat < state.getPlayerCount(); seat++) {
+            for (int resource = 0; resource < SearchState.RESOURCE_TYPES; resource++) {
+                assertEquals(expected.getTradeRatio(seat, resource), state.getTradeRatio(seat, resource),
+                             "Trade ratio of seat " + seat + " for resource " + resource);
+            }
+        }
+    }
+
+    /**
+     * Returns the first intersection with a port of the given kind that is neither the excluded intersection
+     * nor adjacent to it.
+     */
+    private static int findPort(final BoardIndex board, final boolean singleResource, final int excluded) {
+        for (int i = 0; i < board.getIntersectionCount(); i++) {
+            final int intersection = i;
+            if (board.getPortRatio(i) > 0 && (board.getPortResource(i) != -1) == singleResource && i != excluded
+                && (excluded == -1
+                    || Arrays.stream(board.getIntersectionNeighbours(excluded)).noneMatch(n -> n == intersection))) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("No port found");
+    }
+
+    /**
+     * Adds (or, with a negative factor, removes) the given resources to the given player.
+     */
+    private static void give(final Player player, final Map<ResourceType, Integer> resources, final int factor) {
+        resources.forEach(
+            (resourceType, amount) -> player.getResources().merge(resourceType, factor * amount, Integer::sum)
+        );
+    }
+
+    /**
+     * Distributes the resources for the given dice roll through the object model.
+     */
+    private static void produce(final HexGrid grid, final int diceRoll) {
+        for (final Tile tile : grid.getTiles().values()) {
+            if (tile.getRollNumber() != diceRoll || tile.hasRobber() || tile.getType().resourceType == null) {
+                continue;
+            }
+            for (final Intersection intersection : tile.getIntersections()) {
+                final Settlement settlement = intersection.getSettlement();
+                if (settlement != null) {
+                    settlement.owner().getResources()
+                        .merge(tile.getType().resourceType, settlement.type().resourceAmount, Integer::sum);
+                }
+            }
+        }
+    }
+
+    private static int randomMove(final SearchState state, final Random random) {
+        final int seat = state.getActiveSeat();
+        if (state.isFirstRound()) {
+            final List<Integer> villages = buildableVillages(state, seat, PlayerObjective.PLACE_VILLAGE);
+            final List<Integer> roads = buildableRoads(state, seat, PlayerObjective.PLACE_ROAD);
+            if (!roads.isEmpty()) {
+                return Move.ofIndex(Move.BUILD_ROAD, roads.get(random.nextInt(roads.size())), true);
+            }
+            if (state.getRemainingVillages(seat) == Config.MAX_VILLAGES && !villages.isEmpty()) {
+                return Move.ofIndex(Move.BUILD_VILLAGE, villages.get(random.nextInt(villages.size())), true);
+            }
+            return Move.of(Move.END_TURN);
+        }
+        final List<Integer> moves = new ArrayList<>();
+        moves.add(Move.of(Move.END_TURN));
+        moves.add(Move.ofArguments(Move.ROLL_DICE, 0, 2 + random.nextInt(11)));
+        moves.add(Move.ofArguments(Move.TAKE_RESOURCE, 0, random.nextInt(SearchState.RESOURCE_TYPES)));
+        moves.add(Move.ofArguments(Move.MONOPOLY, 0, random.nextInt(SearchState.RESOURCE_TYPES)));
+        moves.add(Move.ofIndex(Move.MOVE_ROBBER, random.nextInt(state.getBoard().getTileCount()), false));
+        buildableVillages(state, seat, PlayerObjective.REGULAR_TURN)
+            .forEach(i -> moves.add(Move.ofIndex(Move.BUILD_VILLAGE, i, false)));
+        upgradableVillages(state, seat).forEach(i -> moves.add(Move.ofIndex(Move.UPGRADE_VILLAGE, i, false)));
+        buildableRoads(state, seat, PlayerObjective.REGULAR_TURN)
+            .forEach(i -> moves.add(Move.ofIndex(Move.BUILD_ROAD, i, false)));
+        for (int offer = 0; offer < SearchState.RESOURCE_TYPES; offer++) {
+            for (int request = 0; request < SearchState.RESOURCE_TYPES; request++) {
+                if (state.canTradeWithBank(seat, offer, request)) {
+                    moves.add(Move.ofArguments(Move.BANK_TRADE, offer, request));
+                }
+            }
+            if (state.getResource(seat, offer) > 0) {
+                moves.add(Move.ofArguments(Move.DROP_RESOURCE, 0, offer));
+            }
+        }
+        for (final int victim : stealableSeats(state, seat)) {
+            for (int resource = 0; resource < SearchState.RESOURCE_TYPES; resource++) {
+                if (state.getResource(victim, resource) > 0) {
+                    moves.add(Move.ofArguments(Move.STEAL, victim, resource));
+                }
+            }
+        }
+        if (state.canBuyDevelopmentCard(seat)) {
+            moves.add(Move.ofArguments(Move.BUY_DEVELOPMENT_CARD, 0, random.nextInt(SearchState.DEVELOPMENT_CARD_TYPES)));
+        }
+        for (int card = 0; card < SearchState.DEVELOPMENT_CARD_TYPES; card++) {
+            if (state.getDevelopmentCards(seat, card) > 0) {
+                moves.add(Move.ofArguments(Move.PLAY_DEVELOPMENT_CARD, 0, card));
+            }
+        }
+        return moves.get(random.nextInt(moves.size()));
+    }
+
+    private static List<Integer> buildableVillages(final SearchState state, final int seat, final PlayerObjective objective) {
+        final List<Integer> result = new ArrayList<>();
+        if (state.canBuildVillage(seat, objective)) {
+            for (int i = 0; i < state.getBoard().getIntersectionCount(); i++) {
+                if (state.isVillageBuildable(seat, i)) {
+                    result.add(i);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static List<Integer> upgradableVillages(final SearchState state, final int seat) {
+        final List<Integer> result = new ArrayList<>();
+        if (state.canUpgradeVillage(seat)) {
+            for (int i = 0; i < state.getBoard().getIntersectionCount(); i++) {
+                if (state.isVillageUpgradable(seat, i)) {
+                    result.add(i);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static List<Integer> buildableRoads(final SearchState state, final int seat, final PlayerObjective objective) {
+        final List<Integer> result = new ArrayList<>();
+        if (state.canBuildRoad(seat, objective)) {
+            for (int i = 0; i < state.getBoard().getEdgeCount(); i++) {
+                if (state.isRoadBuildable(seat, i)) {
+                    result.add(i);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static List<Integer> stealableSeats(final SearchState state, final int seat) {
+        final List<Integer> result = new ArrayList<>();
+        for (int victim = 0; victim < state.getPlayerCount(); victim++) {
+            if (state.canStealFrom(seat, victim)) {
+                result.add(victim);
+            }
+        }
+        return result;
+    }
+
+    private static int firstFreeEdge(final SearchState state) {
+        for (int i = 0; i < state.getBoard().getEdgeCount(); i++) {
+            if (state.getRoadOwner(i) == -1) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("No free edge");
+    }
+}
@@ -0,0 +1,132 @@
+package projekt.controller.ai;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import projekt.Config;
+import projekt.model.HexGrid;
+import projekt.model.HexGridImpl;
+import projekt.model.Player;
+import projekt.model.PlayerImpl;
+import projekt.model.ResourceType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link TradeEvaluator}.
+ */
+public class TradeEvaluatorTest {
+
+    private static final int WOOD = ResourceType.WOOD.ordinal();
+    private static final int CLAY = ResourceType.CLAY.ordinal();
+    private static final int WOOL = ResourceType.WOOL.ordinal();
+    private static final int ORE = ResourceType.ORE.ordinal();
+
+    private SearchState state;
+    private final TradeEvaluator tradeEvaluator = new TradeEvaluator();
+
+    @BeforeEach
+    public void setUp() {
+        final HexGrid grid = new HexGridImpl(Config.GRID_RADIUS);
+        final List<Player> players = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            players.add(new PlayerImpl.Builder(i).build(grid));
+        }
+        state = new SearchState(new BoardIndex(grid), players);
+    }
+
+    @Test
+    public void testBankTradeCompletesRoad() {
+        give(0, WOOD, 1);
+        give(0, ORE, 5);
+
+        final int move = tradeEvaluator.selectBankTrade(state, 0);
+
+        assertEquals(Move.BANK_TRADE, Move.kind(move));
+        assertEquals(ORE, Move.first(move));
+        assertEquals(CLAY, Move.second(move));
+        assertEquals(-1, tradeEvaluator.selectBankTrade(state, 1));
+    }
+
+    @Test
+    public void testBankTradeIgnoresEarlierEvaluations() {
+        give(0, ORE, 4);
+        final int[] offer = SearchState.toVector(Map.of(ResourceType.WOOD, 1, ResourceType.CLAY, 1));
+        final int[] request = SearchState.toVector(Map.of(ResourceType.WOOL, 1));
+
+        // leaves seat 0's side of this trade in the evaluator's scratch vector
+        tradeEvaluator.getTradeValue(state, 1, 0, request, offer);
+
+        assertEquals(new TradeEvaluator().selectBankTrade(state, 0), tradeEvaluator.selectBankTrade(state, 0));
+    }
+
+    @Test
+    public void testAcceptsUsefulTradesAndRejectsHarmfulOnes() {
+        give(0, WOOD, 2);
+        give(1, WOOD, 1);
+        give(1, ORE, 2);
+        final int[] wood = SearchState.toVector(Map.of(ResourceType.WOOD, 1));
+        final int[] clay = SearchState.toVector(Map.of(ResourceType.CLAY, 1));
+        final int[] ore = SearchState.toVector(Map.of(ResourceType.ORE, 1));
+        give(0, CLAY, 1);
+
+        // seat 1 lacks clay for a road and has ore to spare
+        assertEquals(TradeEvaluator.Verdict.ACCEPT, tradeEvaluator.respond(state, 0, 1, clay, ore).verdict());
+        // giving away the only wood for ore it does not need is not accepted
+        assertNotEquals(TradeEvaluator.Verdict.ACCEPT, tradeEvaluator.respond(state, 0, 1, ore, wood).verdict());
+    }
+
+    @Test
+    public void testCounterOfferIsAcceptable() {
+        give(0, CLAY, 3);
+        give(1, WOOD, 1);
+        give(1, ORE, 3);
+        final int[] clay = SearchState.toVector(Map.of(ResourceType.CLAY, 1));
+        final int[] ore = SearchState.toVector(Map.of(ResourceType.ORE, 3));
+
+        final TradeEvaluator.Response response = tradeEvaluator.respond(state, 0, 1, clay, ore);
+
+        if (response.verdict() == TradeEvaluator.Verdict.COUNTER) {
+            final TradeEvaluator.Offer counter = response.counter();
+            assertTrue(tradeEvaluator.getTradeValue(state, 0, 1, counter.offer(), counter.request())
+                > TradeEvaluator.TRADE_MARGIN);
+        } else {
+            assertEquals(TradeEvaluator.Verdict.ACCEPT, response.verdict());
+        }
+    }
+
+    @Test
+    public void testThreateningInitiatorLowersTradeValue() {
+        for (final int seat : new int[] {0, 2}) {
+            give(seat, WOOD, 1);
+            give(seat, WOOL, 1);
+        }
+        give(1, CLAY, 2);
+        state.setActiveSeat(0);
+        for (int intersection = 0, villages = 0; villages < 3; intersection++) {
+            if (state.getBoard().getPortRatio(intersection) == 0) {
+                state.makeMove(Move.ofIndex(Move.BUILD_VILLAGE, intersection, true));
+                villages++;
+            }
+        }
+        final int[] wool = SearchState.toVector(Map.of(ResourceType.WOOL, 1));
+        final int[] clay = SearchState.toVector(Map.of(ResourceType.CLAY, 1));
+
+        final double valueForLeader = tradeEvaluator.getTradeValue(state, 0, 1, wool, clay);
+        final double valueForNewcomer = tradeEvaluator.getTradeValue(state, 2, 1, wool, clay);
+
+        assertTrue(valueForLeader < valueForNewcomer, valueForLeader + " vs " + valueForNewcomer);
+    }
+
+    private void give(final int seat, final int resource, final int amount) {
+        state.setActiveSeat(seat);
+        for (int i = 0; i < amount; i++) {
+            state.makeMove(Move.ofArguments(Move.TAKE_RESOURCE, 0, resource));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package projekt.controller.ai;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link TranspositionTable}.
+ */
+public class TranspositionTableTest {
+
+    @Test
+    public void testStoreAndProbe() {
+        final TranspositionTable table = new TranspositionTable(1024);
+        final int move = Move.ofIndex(Move.BUILD_ROAD, 42, true);
+        table.store(0x1234_5678_9ABC_DEF0L, move, -1234, 7, TranspositionTable.LOWER_BOUND);
+
+        final long data = table.probe(0x1234_5678_9ABC_DEF0L);
+        assertNotEquals(TranspositionTable.MISS, data);
+        assertEquals(move, TranspositionTable.move(data));
+        assertEquals(-1234, TranspositionTable.value(data));
+        assertEquals(7, TranspositionTable.depth(data));
+        assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.bound(data));
+        assertEquals(TranspositionTable.MISS, table.probe(0x1234_5678_9ABC_DEF1L));
+    }
+
+    @Test
+    public void testCapacityIsBounded() {
+        // the largest table is not allocated here, it takes 8 GiB
+        final int maxLength = TranspositionTable.getTableLength(TranspositionTable.MAX_CAPACITY);
+        assertEquals(2L * TranspositionTable.MAX_CAPACITY, maxLength);
+        assertTrue(maxLength <= Integer.MAX_VALUE - 8);
+        assertEquals(8, TranspositionTable.getTableLength(1));
+        assertEquals(8, new TranspositionTable(5).getCapacity());
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(0));
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(TranspositionTable.MAX_CAPACITY + 1));
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testDeeperEntryIsKept() {
+        final TranspositionTable table = new TranspositionTable(16);
+        table.store(1L, 1, 10, 5, TranspositionTable.LOWER_BOUND);
+        table.store(1L, 2, 20, 3, TranspositionTable.UPPER_BOUND);
+        assertEquals(5, TranspositionTable.depth(table.probe(1L)));
+
+        table.newSearch();
+        table.store(1L, 2, 20, 3, TranspositionTable.UPPER_BOUND);
+        assertEquals(3, TranspositionTable.depth(table.probe(1L)));
+    }
+
+    @Test
+    public void testConcurrentAccessNeverReturnsForeignData() throws InterruptedException {
+        final TranspositionTable table = new TranspositionTable(256);
+        final List<Thread> threads = new ArrayList<>();
+        final List<Throwable> failures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final long seed = t;
+            threads.add(new Thread(() -> {
+                final Random random = new Random(seed);
+                for (int i = 0; i < 200_000; i++) {
+                    final long key = random.nextInt(4096) * 0x9E3779B97F4A7C15L;
+                    // the stored move is derived from the key, so foreign data is detectable
+                    table.store(key, (int) (key >>> 40), 0, random.nextInt(10), TranspositionTable.EXACT);
+                    final long data = table.probe(key);
+                    if (data != TranspositionTable.MISS && TranspositionTable.move(data) != (int) (key >>> 40)) {
+                        synchronized (failures) {
+                            failures.add(new AssertionError("Foreign data for key " + key));
+                        }
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(failures.isEmpty(), failures.toString());
+    }
+}
@@ -0,0 +1,157 @@
+package projekt.controller.ai.book;
+
+import org.junit.jupiter.api.Test;
+import projekt.Config;
+import projekt.controller.ai.BoardIndex;
+import projekt.controller.ai.Move;
+import projekt.controller.ai.SearchState;
+import projekt.model.HexGrid;
+import projekt.model.HexGridImpl;
+import projekt.model.Player;
+import projekt.model.PlayerImpl;
+import projekt.model.TilePosition;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link OpeningBook} and {@link BoardSymmetry}.
+ */
+public class OpeningBookTest {
+
+    private static final int PLAYERS = 3;
+
+    @Test
+    public void testSymmetries() {
+        final TilePosition position = new TilePosition(1, 2);
+        final Set<TilePosition> images = new HashSet<>();
+        for (int symmetry = 0; symmetry < BoardSymmetry.COUNT; symmetry++) {
+            final TilePosition image = BoardSymmetry.apply(symmetry, position);
+            assertEquals(3, Math.max(Math.abs(image.q()), Math.max(Math.abs(image.r()), Math.abs(image.s()))));
+            images.add(image);
+        }
+        assertEquals(BoardSymmetry.COUNT, images.size());
+        assertEquals(position, BoardSymmetry.apply(0, position));
+    }
+
+    @Test
+    public void testPutAndGet() throws IOException {
+        final Path file = Files.createTempDirectory("opening-book").resolve("book.bin");
+        try (OpeningBook book = OpeningBook.open(file, 3)) {
+            assertEquals(4, book.getCapacity());
+            book.put(1, new long[] {1, 2, 3});
+            book.put(5, new long[] {4});
+            book.put(1, new long[] {5, 6});
+            assertArrayEquals(new long[] {5, 6}, book.get(1));
+            assertArrayEquals(new long[] {4}, book.get(5));
+            assertNull(book.get(9));
+            assertEquals(2, book.size());
+            book.put(9, new long[0]);
+            book.put(13, new long[0]);
+            assertThrows(IllegalStateException.class, () -> book.put(17, new long[0]));
+        }
+        try (OpeningBook book = OpeningBook.openReadOnly(file)) {
+            assertEquals(4, book.size());
+            assertArrayEquals(new long[] {4}, book.get(5));
+            assertThrows(IllegalStateException.class, () -> book.put(21, new long[0]));
+        }
+    }
+
+    @Test
+    public void testGetDuringPutReturnsWholeLines() throws Exception {
+        final Path file = Files.createTempDirectory("opening-book").resolve("book.bin");
+        final long[][] lines = {{1, 1, 1, 1}, {2, 2, 2, 2, 2, 2}};
+        try (OpeningBook book = OpeningBook.open(file, 4)) {
+            book.put(1, lines[0]);
+            final AtomicBoolean done = new AtomicBoolean();
+            final Thread writer = new Thread(() -> {
+                for (int i = 0; !done.get(); i++) {
+                    book.put(1, lines[i % 2]);
+                }
+            });
+            writer.start();
+            int hits = 0;
+            try {
+                final long end = System.nanoTime() + 200_000_000L;
+                while (System.nanoTime() < end) {
+                    final long[] line = book.get(1);
+                    if (line != null) {
+                        assertTrue(Arrays.equals(lines[0], line) || Arrays.equals(lines[1], line),
+                                   Arrays.toString(line));
+                        hits++;
+                    }
+                }
+            } finally {
+                done.set(true);
+                writer.join();
+            }
+            assertTrue(hits > 0);
+        }
+    }
+
+    @Test
+    public void testBuildAndLookup() throws Exception {
+        final Path file = Files.createTempDirectory("opening-book").resolve("book.bin");
+        final int added = new OpeningBookBuilder.Builder()
+            .bookFile(file)
+            .boards(8)
+            .players(PLAYERS)
+            .parallelism(2)
+            .capacity(64)
+            .build()
+            .run();
+        assertEquals(8, added);
+
+        final HexGrid[] grid = new HexGrid[1];
+        Config.runSeeded(3, () -> grid[0] = new HexGridImpl(Config.GRID_RADIUS));
+        final BoardIndex board = new BoardIndex(grid[0]);
+        try (OpeningBook book = OpeningBook.openReadOnly(file)) {
+            assertEquals(8, book.size());
+            assertArrayEquals(OpeningLine.compute(board, PLAYERS), book.lookup(board, PLAYERS));
+            assertNull(book.lookup(board, PLAYERS + 1));
+        }
+    }
+
+    @Test
+    public void testFollowLine() {
+        final HexGrid grid = new HexGridImpl(Config.GRID_RADIUS);
+        final List<Player> players = new ArrayList<>();
+        for (int i = 1; i <= PLAYERS; i++) {
+            players.add(new PlayerImpl.Builder(i).build(grid));
+        }
+        final BoardIndex board = new BoardIndex(grid);
+        final SearchState state = new SearchState(board, players);
+        state.setRoundCounter(0);
+        final int[] line = OpeningLine.compute(board, PLAYERS);
+
+        assertEquals(line[0], OpeningBook.nextVillage(line, state));
+        assertEquals(-1, OpeningBook.nextRoad(line, state));
+        state.makeMove(Move.ofIndex(Move.BUILD_VILLAGE, line[0], true));
+        assertEquals(line[1], OpeningBook.nextRoad(line, state));
+        state.makeMove(Move.ofIndex(Move.BUILD_ROAD, line[1], true));
+
+        state.setActiveSeat(1);
+        assertEquals(line[2], OpeningBook.nextVillage(line, state));
+        // leave the line: the next player settles elsewhere
+        int other = 0;
+        while (other == line[2] || !state.isVillageBuildable(1, other)) {
+            other++;
+        }
+        state.makeMove(Move.ofIndex(Move.BUILD_VILLAGE, other, true));
+        assertEquals(-1, OpeningBook.nextRoad(line, state));
+        assertEquals(-1, OpeningBook.nextVillage(line, state));
+    }
+}
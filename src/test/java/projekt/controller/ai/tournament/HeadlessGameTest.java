@@ -0,0 +1,92 @@
+package projekt.controller.ai.tournament;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import projekt.Config;
+import projekt.controller.AiController;
+import projekt.controller.GameController;
+import projekt.controller.PlayerController;
+import projekt.controller.PlayerObjective;
+import projekt.controller.ai.AiExecutor;
+import projekt.model.HexGridImpl;
+import projekt.model.Player;
+import projekt.net.TestGames;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link HeadlessGame}.
+ */
+public class HeadlessGameTest {
+
+    @Test
+    @Timeout(10)
+    public void testAiThatNeverActsTimesOut() {
+        final GameController gameController = TestGames.createGame(new HexGridImpl(Config.GRID_RADIUS), 2);
+        final PlayerController playerController = new IdleTimedPlayerController(
+            gameController, gameController.getState().getPlayers().get(0), Duration.ofMillis(100)
+        );
+        new AiController(
+            playerController, gameController.getState().getGrid(), gameController.getState(),
+            gameController.getActivePlayerControllerProperty(), AiExecutor.direct()
+        ) {
+            @Override
+            protected void executeActionBasedOnObjective(final PlayerObjective objective) {
+                // never acts
+            }
+        };
+
+        final long start = System.nanoTime();
+        final HeadlessGame.ActionTimeoutException exception = assertThrows(
+            HeadlessGame.ActionTimeoutException.class,
+            () -> playerController.waitForNextAction(PlayerObjective.DICE_ROLL)
+        );
+        assertTrue((System.nanoTime() - start) / 1_000_000 >= 100);
+        assertTrue(exception.getMessage().contains("forfeits"), exception.getMessage());
+    }
+
+    @Test
+    public void testForfeitLosesAgainstEverySeat() {
+        final MatchResult result = new MatchResult(
+            new Match(0, 0, 0, List.of(0, 1, 2)), List.of(9, 2, 2), -1, 10, 0, "timed out", 0
+        );
+        assertEquals(0.0, result.score(0, 1));
+        assertEquals(1.0, result.score(2, 0));
+        assertEquals(0.5, result.score(1, 2));
+    }
+
+    /**
+     * A timed player controller that may build nothing, independent of the template's model.
+     */
+    private static class IdleTimedPlayerController extends HeadlessGame.TimedPlayerController {
+
+        IdleTimedPlayerController(final GameController gameController, final Player player, final Duration timeout) {
+            super(gameController, player, timeout);
+        }
+
+        @Override
+        public boolean canBuildVillage() {
+            return false;
+        }
+
+        @Override
+        public boolean canBuildRoad() {
+            return false;
+        }
+
+        @Override
+        public boolean canUpgradeVillage() {
+            return false;
+        }
+
+        @Override
+        public List<Player> getPlayersToStealFrom() {
+            return List.of();
+        }
+    }
+}
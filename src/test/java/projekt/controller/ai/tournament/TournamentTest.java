@@ -0,0 +1,123 @@
+package projekt.controller.ai.tournament;
+
+import org.junit.jupiter.api.Test;
+import projekt.controller.BasicAiController;
+import projekt.controller.GameController;
+import projekt.model.Player;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link Tournament} and {@link Ratings}.
+ */
+public class TournamentTest {
+
+    private static final List<Entrant> ENTRANTS = List.of(
+        new Entrant("Strong", BasicAiController::new),
+        new Entrant("Average", BasicAiController::new),
+        new Entrant("Weak", BasicAiController::new)
+    );
+    private static final int DICE_GAME_ROUNDS = 10;
+
+    @Test
+    public void testRatingsRankStrongerEntrantsHigher() {
+        final List<MatchResult> results = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            // the strong entrant wins 2 of 3 games, the average one beats the weak one on points
+            final int winnerSeat = i % 3 == 0 ? 1 : 0;
+            results.add(new MatchResult(new Match(i, 0, i, List.of(0, 1, 2)), List.of(8, 6, 3), winnerSeat, 40, 0, null));
+        }
+        final List<Ratings.Rating> ratings = Ratings.compute(ENTRANTS, results, 0.95, 100, 1);
+
+        assertTrue(ratings.get(0).rating() > ratings.get(1).rating());
+        assertTrue(ratings.get(1).rating() > ratings.get(2).rating());
+        for (final Ratings.Rating rating : ratings) {
+            assertTrue(rating.lower() <= rating.rating() && rating.rating() <= rating.upper(), rating.toString());
+            assertEquals(60, rating.games());
+        }
+        assertEquals(40, ratings.get(0).wins());
+    }
+
+    @Test
+    public void testUnfinishedGamesAreNotRated() {
+        final Match match = new Match(0, 0, 0, List.of(0, 1, 2));
+        final List<MatchResult> results = List.of(
+            new MatchResult(match, List.of(2, 2, 2), 0, 40, 0, null),
+            new MatchResult(match, List.of(9, 2, 2), -1, 3, 0, "java.lang.RuntimeException: crashed"),
+            new MatchResult(match, List.of(9, 2, 2), -1, 3, 0, "Strong did not act in time", 0)
+        );
+
+        final List<Ratings.Rating> ratings = Ratings.compute(ENTRANTS, results, 0.95, 100, 1);
+
+        assertFalse(results.get(1).isRated());
+        assertTrue(results.get(2).isRated());
+        assertEquals(2, ratings.get(0).games());
+        assertEquals(1, ratings.get(0).wins());
+        assertEquals(ratings.get(1).rating(), ratings.get(2).rating(), 1e-6);
+        assertTrue(results.get(2).toCsv(ENTRANTS).contains(",Strong,3,"));
+    }
+
+    @Test
+    public void testResultsAreStreamedForEveryGame() throws Exception {
+        final Path resultsFile = Files.createTempFile("tournament", ".csv");
+        try {
+            final Tournament.Builder builder = new Tournament.Builder()
+                .games(12)
+                .seats(2)
+                .parallelism(4)
+                .maxRounds(50)
+                .resultsFile(resultsFile)
+                .gameLoop(TournamentTest::playDiceGame);
+            ENTRANTS.forEach(builder::entrant);
+            final List<Ratings.Rating> ratings = builder.build().run();
+
+            final List<String> lines = Files.readAllLines(resultsFile);
+            assertEquals(MatchResult.CSV_HEADER, lines.get(0));
+            assertEquals(13, lines.size());
+            final List<String> columns = List.of(MatchResult.CSV_HEADER.split(","));
+            for (final String line : lines.subList(1, lines.size())) {
+                final String[] values = line.split(",", -1);
+                assertEquals("", values[columns.indexOf("error")], line);
+                assertNotEquals("", values[columns.indexOf("winner")], line);
+                assertEquals(String.valueOf(DICE_GAME_ROUNDS), values[columns.indexOf("rounds")], line);
+            }
+            assertEquals(3, ratings.size());
+            assertEquals(24, ratings.stream().mapToInt(Ratings.Rating::games).sum());
+            assertEquals(12, ratings.stream().mapToInt(Ratings.Rating::wins).sum());
+        } finally {
+            Files.deleteIfExists(resultsFile);
+        }
+    }
+
+    /**
+     * Stands in for {@link GameController#startGame()}, whose turns are not implemented in the template:
+     * every player rolls the dice once per round and the highest total wins.
+     *
+     * @param gameController the game controller
+     */
+    private static void playDiceGame(final GameController gameController) {
+        final List<Player> players = gameController.getState().getPlayers();
+        final int[] totals = new int[players.size()];
+        for (int round = 1; round <= DICE_GAME_ROUNDS; round++) {
+            gameController.getRoundCounterProperty().set(round);
+            for (int seat = 0; seat < players.size(); seat++) {
+                totals[seat] += gameController.castDice();
+            }
+        }
+        int winner = 0;
+        for (int seat = 1; seat < players.size(); seat++) {
+            if (totals[seat] > totals[winner]) {
+                winner = seat;
+            }
+        }
+        gameController.getState().setWinner(players.get(winner));
+    }
+}
@@ -0,0 +1,85 @@
+package projekt.controller.ai.tuning;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link SpsaTuner} and {@link Checkpoint}.
+ */
+public class SpsaTunerTest {
+
+    private static final double[] OPTIMUM = {1.5, -0.5, 0.25};
+
+    /**
+     * A noisy quadratic objective. The noise only depends on the iteration, like common random numbers.
+     */
+    private static final Objective QUADRATIC = (candidates, iteration) -> {
+        final double noise = new Random(iteration).nextGaussian();
+        final double[] scores = new double[candidates.length];
+        for (int candidate = 0; candidate < candidates.length; candidate++) {
+            for (int i = 0; i < OPTIMUM.length; i++) {
+                scores[candidate] -= Math.pow(candidates[candidate][i] - OPTIMUM[i], 2);
+            }
+            scores[candidate] += noise;
+        }
+        return scores;
+    };
+
+    @Test
+    public void testConvergesOnNoisyObjective() {
+        final Checkpoint result = new SpsaTuner.Builder(QUADRATIC, new double[3])
+            .iterations(500)
+            .seed(7)
+            .build()
+            .run();
+
+        assertEquals(500, result.iteration());
+        for (int i = 0; i < OPTIMUM.length; i++) {
+            assertEquals(OPTIMUM[i], result.weights()[i], 0.1);
+        }
+    }
+
+    @Test
+    public void testResumesFromCheckpoint() throws Exception {
+        final Path checkpointFile = Files.createTempFile("spsa", ".properties");
+        Files.delete(checkpointFile);
+        try {
+            final Checkpoint uninterrupted = new SpsaTuner.Builder(QUADRATIC, new double[3]).iterations(40).build().run();
+            new SpsaTuner.Builder(QUADRATIC, new double[3]).iterations(15).checkpointFile(checkpointFile).build().run();
+            final Checkpoint saved = Checkpoint.load(checkpointFile);
+            final Checkpoint resumed = new SpsaTuner.Builder(QUADRATIC, new double[3])
+                .iterations(40)
+                .checkpointFile(checkpointFile)
+                .build()
+                .run();
+
+            assertEquals(15, saved.iteration());
+            assertArrayEquals(uninterrupted.weights(), resumed.weights());
+            assertArrayEquals(uninterrupted.bestWeights(), resumed.bestWeights());
+            assertEquals(uninterrupted.bestScore(), resumed.bestScore());
+        } finally {
+            Files.deleteIfExists(checkpointFile);
+        }
+    }
+
+    @Test
+    public void testRespectsBounds() {
+        final Checkpoint result = new SpsaTuner.Builder(QUADRATIC, new double[3])
+            .bounds(new double[] {0, 0, 0}, new double[] {1, 1, 1})
+            .iterations(200)
+            .build()
+            .run();
+
+        for (final double weight : result.weights()) {
+            assertTrue(weight >= 0 && weight <= 1, String.valueOf(weight));
+        }
+        assertEquals(1, result.weights()[0], 1e-9);
+    }
+}
@@ -0,0 +1,36 @@
+package projekt.controller.ai.tuning;
+
+import org.junit.jupiter.api.Test;
+import projekt.Config;
+import projekt.controller.AiController;
+import projekt.controller.BasicAiController;
+import projekt.controller.GameController;
+import projekt.controller.ai.AiExecutor;
+import projekt.controller.ai.HeuristicWeights;
+import projekt.model.HexGridImpl;
+import projekt.net.TestGames;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * Tests for {@link WeightedBasicAiFactory}.
+ */
+public class WeightedBasicAiFactoryTest {
+
+    @Test
+    public void testCreatesBasicAiWithScaledWeights() {
+        final double[] factors = WeightedBasicAiFactory.getInitialWeights();
+        factors[HeuristicWeights.COUNT - 1] = 0.5;
+        final GameController gameController = TestGames.createGame(new HexGridImpl(Config.GRID_RADIUS), 2);
+
+        final AiController aiController = new WeightedBasicAiFactory().withWeights(factors).create(
+            TestGames.controllerOf(gameController, 0), gameController.getState().getGrid(), gameController.getState(),
+            gameController.getActivePlayerControllerProperty(), AiExecutor.direct()
+        );
+
+        final HeuristicWeights weights = assertInstanceOf(BasicAiController.class, aiController).getWeights();
+        assertEquals(HeuristicWeights.DEFAULT.opponentGain() / 2, weights.opponentGain(), 1e-12);
+        assertEquals(HeuristicWeights.DEFAULT.diversity(), weights.diversity(), 1e-12);
+    }
+}
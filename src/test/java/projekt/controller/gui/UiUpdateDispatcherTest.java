@@ -0,0 +1,130 @@
+package projekt.controller.gui;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link UiUpdateDispatcher}.
+ */
+public class UiUpdateDispatcherTest {
+
+    private final AtomicInteger wakeUps = new AtomicInteger();
+    private final UiUpdateDispatcher dispatcher = new UiUpdateDispatcher(wakeUps::incrementAndGet);
+
+    @Test
+    public void testUpdatesOfTheSameTargetAreCoalesced() {
+        final List<String> applied = new ArrayList<>();
+        final Object dice = new Object();
+        final Object round = new Object();
+        dispatcher.submit(dice, () -> applied.add("dice 3"));
+        dispatcher.submit(round, () -> applied.add("round 1"));
+        dispatcher.submit(() -> applied.add("alert"));
+        dispatcher.submit(dice, () -> applied.add("dice 7"));
+        dispatcher.submit(dice, () -> applied.add("dice 12"));
+        dispatcher.submit(() -> applied.add("alert"));
+        assertEquals(4, dispatcher.getQueueDepth());
+
+        assertEquals(4, dispatcher.flush());
+        assertEquals(List.of("dice 12", "round 1", "alert", "alert"), applied);
+        assertEquals(6, dispatcher.getSubmittedCount());
+        assertEquals(2, dispatcher.getCoalescedCount());
+        assertEquals(4, dispatcher.getMaxQueueDepth());
+        assertEquals(0, dispatcher.getQueueDepth());
+        assertEquals(1, dispatcher.getFlushCount());
+        assertEquals(4, dispatcher.getFlushedCount());
+        assertTrue(dispatcher.getLastFlushNanos() > 0);
+        assertEquals(dispatcher.getLastFlushNanos(), dispatcher.getTotalFlushNanos());
+    }
+
+    @Test
+    public void testWakesUpOnlyWhileIdle() {
+        dispatcher.submit("a", () -> { });
+        dispatcher.submit("b", () -> { });
+        assertEquals(1, wakeUps.get());
+
+        assertEquals(2, dispatcher.flush());
+        dispatcher.submit("a", () -> { });
+        assertEquals(1, wakeUps.get(), "a flush is still scheduled until one finds nothing to do");
+        assertEquals(1, dispatcher.flush());
+        assertEquals(0, dispatcher.flush());
+
+        dispatcher.submit("a", () -> { });
+        assertEquals(2, wakeUps.get());
+    }
+
+    @Test
+    public void testUpdatesSubmittedWhileFlushingRunInTheNextFlush() {
+        final List<String> applied = new ArrayList<>();
+        dispatcher.submit("outer", () -> {
+            applied.add("outer");
+            dispatcher.submit("inner", () -> applied.add("inner"));
+        });
+
+        assertEquals(1, dispatcher.flush());
+        assertEquals(List.of("outer"), applied);
+        assertEquals(1, dispatcher.flush());
+        assertEquals(List.of("outer", "inner"), applied);
+        assertEquals(0, dispatcher.flush());
+    }
+
+    @Test
+    public void testFailingUpdateDoesNotDropOthers() {
+        final List<Throwable> reported = new ArrayList<>();
+        final Thread thread = Thread.currentThread();
+        final Thread.UncaughtExceptionHandler handler = thread.getUncaughtExceptionHandler();
+        thread.setUncaughtExceptionHandler((t, e) -> reported.add(e));
+        try {
+            final AtomicInteger applied = new AtomicInteger();
+            dispatcher.submit(() -> {
+                throw new IllegalStateException("broken view");
+            });
+            dispatcher.submit(applied::incrementAndGet);
+
+            assertEquals(2, dispatcher.flush());
+            assertEquals(1, applied.get());
+            assertEquals(1, reported.size());
+        } finally {
+            thread.setUncaughtExceptionHandler(handler);
+        }
+    }
+
+    @Test
+    public void testConcurrentProducersKeepTheLastValue() throws InterruptedException {
+        final int producers = 4;
+        final int updates = 20_000;
+        final AtomicIntegerArray values = new AtomicIntegerArray(producers);
+        final List<Thread> threads = new ArrayList<>();
+        for (int producer = 0; producer < producers; producer++) {
+            final int target = producer;
+            threads.add(new Thread(() -> {
+                for (int value = 1; value <= updates; value++) {
+                    final int update = value;
+                    dispatcher.submit(target, () -> values.set(target, update));
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        while (threads.stream().anyMatch(Thread::isAlive)) {
+            dispatcher.flush();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        while (dispatcher.flush() > 0) {
+            Thread.onSpinWait();
+        }
+
+        for (int producer = 0; producer < producers; producer++) {
+            assertEquals(updates, values.get(producer));
+        }
+        assertEquals(dispatcher.getSubmittedCount(), dispatcher.getFlushedCount() + dispatcher.getCoalescedCount());
+        assertTrue(dispatcher.getMaxQueueDepth() <= producers);
+    }
+}
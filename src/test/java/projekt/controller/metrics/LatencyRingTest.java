@@ -0,0 +1,98 @@
+package projekt.controller.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link LatencyRing} and {@link PerformanceMetrics}.
+ */
+public class LatencyRingTest {
+
+    @Test
+    public void testPercentilesOfTheLatestLatencies() {
+        final LatencyRing ring = new LatencyRing(128);
+        for (int latency = 1; latency <= 100; latency++) {
+            ring.record(latency);
+        }
+        LatencyRing.Snapshot snapshot = ring.snapshot();
+        assertEquals(100, snapshot.samples());
+        assertEquals(50, snapshot.p50Nanos());
+        assertEquals(95, snapshot.p95Nanos());
+        assertEquals(99, snapshot.p99Nanos());
+        assertEquals(100, snapshot.maxNanos());
+        assertEquals(50, snapshot.meanNanos());
+
+        // the oldest latencies are overwritten
+        for (int latency = 0; latency < 128; latency++) {
+            ring.record(1000);
+        }
+        snapshot = ring.snapshot();
+        assertEquals(228, snapshot.recorded());
+        assertEquals(128, snapshot.samples());
+        assertEquals(1000, snapshot.p50Nanos());
+        assertEquals(1000, snapshot.meanNanos());
+
+        ring.reset();
+        assertEquals(0, ring.snapshot().samples());
+        assertEquals(0, ring.snapshot().p99Nanos());
+    }
+
+    @Test
+    public void testCapacityMustBeAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new LatencyRing(100));
+        assertThrows(IllegalArgumentException.class, () -> new LatencyRing(0));
+    }
+
+    @Test
+    public void testConcurrentRecordingLosesNoCount() throws InterruptedException {
+        final LatencyRing ring = new LatencyRing(64);
+        final List<Thread> threads = new ArrayList<>();
+        for (int thread = 0; thread < 4; thread++) {
+            threads.add(new Thread(() -> {
+                for (int latency = 0; latency < 10_000; latency++) {
+                    ring.record(7);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(40_000, ring.getRecordedCount());
+        assertEquals(7, ring.snapshot().maxNanos());
+    }
+
+    @Test
+    public void testDisabledMetricsRecordNothing() {
+        final PerformanceMetrics metrics = new PerformanceMetrics();
+        metrics.setEnabled(false);
+        metrics.recordFrame(16_000_000);
+        metrics.recordTurn(1_000_000);
+        metrics.recordAction("BuildRoadAction", 1000);
+        assertEquals(0, metrics.getFrames().getRecordedCount());
+        assertEquals(0, metrics.getTurns().getRecordedCount());
+        assertTrue(metrics.getActions().isEmpty());
+        // the time to the first frame is measured once per scene and thus recorded anyway
+        metrics.recordFirstFrame("MAIN_MENU", 80_000_000);
+        assertEquals(80_000_000L, (long) metrics.getFirstFrames().get("MAIN_MENU"));
+
+        metrics.setEnabled(true);
+        metrics.recordFrame(16_000_000);
+        metrics.recordAction("BuildRoadAction", 1000);
+        metrics.recordAction("BuildRoadAction", 3000);
+        assertEquals(1, metrics.getFrames().getRecordedCount());
+        assertEquals(3000, metrics.getActions().get("BuildRoadAction").snapshot().maxNanos());
+
+        // enabling again discards the old metrics
+        metrics.setEnabled(false);
+        metrics.setEnabled(true);
+        assertEquals(0, metrics.getFrames().getRecordedCount());
+        assertEquals(0, metrics.getActions().get("BuildRoadAction").getRecordedCount());
+    }
+}
@@ -0,0 +1,26 @@
+package projekt.model;
+
+import projekt.model.buildings.Settlement;
+
+/**
+ * Builds settlements for tests, independent of the template's unimplemented
+ * {@link Intersection#placeVillage(Player, boolean)} and {@link Intersection#upgradeSettlement(Player)}.
+ */
+public final class TestIntersections {
+
+    private TestIntersections() {
+    }
+
+    /**
+     * Sets a settlement of the given type and owner on the given intersection, the way the implementations
+     * of {@link Intersection#placeVillage(Player, boolean)} and {@link Intersection#upgradeSettlement(Player)}
+     * do, without checking whether it may be built.
+     *
+     * @param intersection the intersection, an {@link IntersectionImpl}
+     * @param player       the owner
+     * @param type         the type of the settlement
+     */
+    public static void build(final Intersection intersection, final Player player, final Settlement.Type type) {
+        ((IntersectionImpl) intersection).setSettlement(new Settlement(player, type, intersection));
+    }
+}
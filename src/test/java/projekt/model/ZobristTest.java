@@ -0,0 +1,57 @@
+package projekt.model;
+
+import org.junit.jupiter.api.Test;
+import projekt.Config;
+import projekt.model.buildings.Edge;
+import projekt.model.buildings.Settlement;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Tests for the incremental {@link Zobrist} hash of {@link HexGridImpl}.
+ */
+public class ZobristTest {
+
+    @Test
+    public void testIncrementalHashMatchesRecomputation() {
+        final HexGridImpl grid = new HexGridImpl(Config.GRID_RADIUS);
+        final Player player = new PlayerImpl.Builder(1).build(grid);
+        final long initialHash = grid.getZobristHash();
+        assertEquals(Zobrist.hash(grid), initialHash);
+
+        final List<Edge> edges = grid.getEdges().values().stream().limit(3).toList();
+        edges.forEach(edge -> edge.getRoadOwnerProperty().setValue(player));
+        final TilePosition robberPosition = grid.getRobberPosition();
+        grid.setRobberPosition(new TilePosition(1, -1));
+        assertNotEquals(initialHash, grid.getZobristHash());
+        assertEquals(Zobrist.hash(grid), grid.getZobristHash());
+
+        edges.forEach(grid::removeRoad);
+        grid.setRobberPosition(robberPosition);
+        assertEquals(initialHash, grid.getZobristHash());
+    }
+
+    @Test
+    public void testSettlementPlacedAndRemovedRestoresHash() {
+        final HexGridImpl grid = new HexGridImpl(Config.GRID_RADIUS);
+        final Player player = new PlayerImpl.Builder(1).build(grid);
+        final long initialHash = grid.getZobristHash();
+        final IntersectionImpl intersection = (IntersectionImpl) grid.getIntersections().values().iterator().next();
+
+        TestIntersections.build(intersection, player, Settlement.Type.VILLAGE);
+        final long villageHash = grid.getZobristHash();
+        assertNotEquals(initialHash, villageHash);
+        assertEquals(Zobrist.hash(grid), villageHash);
+
+        TestIntersections.build(intersection, player, Settlement.Type.CITY);
+        assertEquals(Settlement.Type.CITY, intersection.getSettlement().type());
+        assertNotEquals(villageHash, grid.getZobristHash());
+        assertEquals(Zobrist.hash(grid), grid.getZobristHash());
+
+        intersection.setSettlement(null);
+        assertEquals(initialHash, grid.getZobristHash());
+    }
+}
@@ -0,0 +1,228 @@
+package projekt.net;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import projekt.Config;
+import projekt.controller.PlayerObjective;
+import projekt.controller.actions.AcceptTradeAction;
+import projekt.controller.actions.BuildRoadAction;
+import projekt.controller.actions.BuildVillageAction;
+import projekt.controller.actions.BuyDevelopmentCardAction;
+import projekt.controller.actions.EndTurnAction;
+import projekt.controller.actions.PlayDevelopmentCardAction;
+import projekt.controller.actions.PlayerAction;
+import projekt.controller.actions.RollDiceAction;
+import projekt.controller.actions.SelectCardsAction;
+import projekt.controller.actions.SelectRobberTileAction;
+import projekt.controller.actions.StealCardAction;
+import projekt.controller.actions.TradeAction;
+import projekt.controller.actions.UpgradeVillageAction;
+import projekt.controller.ai.BoardIndex;
+import projekt.model.DevelopmentCardType;
+import projekt.model.HexGrid;
+import projekt.model.HexGridImpl;
+import projekt.model.Player;
+import projekt.model.PlayerImpl;
+import projekt.model.PlayerState;
+import projekt.model.ResourceType;
+import projekt.model.TradePayload;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link Protocol}, {@link ActionCodec} and {@link StateCodec}.
+ */
+public class CodecTest {
+
+    private BoardIndex board;
+    private List<Player> players;
+
+    @BeforeEach
+    public void setUp() {
+        final HexGrid grid = new HexGridImpl(Config.GRID_RADIUS);
+        players = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            players.add(new PlayerImpl.Builder(i).build(grid));
+        }
+        board = new BoardIndex(grid);
+    }
+
+    @Test
+    public void testActionsRoundTrip() throws ProtocolException {
+        final List<PlayerAction> actions = List.of(
+            new EndTurnAction(),
+            new RollDiceAction(),
+            new BuildVillageAction(board.getIntersection(5)),
+            new UpgradeVillageAction(board.getIntersection(board.getIntersectionCount() - 1)),
+            new BuildRoadAction(board.getEdge(7)),
+            new BuyDevelopmentCardAction(),
+            new PlayDevelopmentCardAction(DevelopmentCardType.KNIGHT),
+            new TradeAction(new TradePayload(
+                Map.of(ResourceType.WOOD, 4), Map.of(ResourceType.ORE, 1), true, players.get(0)
+            )),
+            new AcceptTradeAction(true),
+            new SelectCardsAction(Map.of(ResourceType.WOOL, 2, ResourceType.GRAIN, 1)),
+            new SelectRobberTileAction(board.getTile(3).getPosition()),
+            new StealCardAction(ResourceType.CLAY, players.get(2))
+        );
+        final ActionCodec codec = new ActionCodec(board, players);
+        final ByteBuffer buffer = ByteBuffer.allocate(actions.size() * ActionCodec.MAX_SIZE);
+        for (final PlayerAction action : actions) {
+            codec.encode(action, buffer);
+        }
+        buffer.flip();
+        for (final PlayerAction action : actions) {
+            final PlayerAction decoded = codec.decode(buffer, players.get(0));
+            assertEquals(action.getClass(), decoded.getClass());
+            if (action.getClass().isRecord()) {
+                assertEquals(action, decoded);
+            }
+        }
+        assertEquals(0, buffer.remaining());
+    }
+
+    @Test
+    public void testMalformedActions() {
+        final ActionCodec codec = new ActionCodec(board, players);
+        assertThrows(ProtocolException.class, () -> codec.decode(ByteBuffer.wrap(new byte[] {99}), players.get(0)));
+        assertThrows(ProtocolException.class, () -> codec.decode(
+            ByteBuffer.wrap(new byte[] {ActionCodec.BUILD_ROAD, 0x7F, 0}), players.get(0)
+        ));
+        assertThrows(ProtocolException.class, () -> codec.decode(
+            ByteBuffer.wrap(new byte[] {ActionCodec.BUILD_VILLAGE, 0}), players.get(0)
+        ));
+    }
+
+    @Test
+    public void testStateRoundTrip() throws ProtocolException {
+        final PlayerState state = new PlayerState(
+            Set.of(board.getIntersection(1), board.getIntersection(4)),
+            Set.of(board.getIntersection(9)),
+            Set.of(board.getEdge(2), board.getEdge(3), board.getEdge(11)),
+            List.of(players.get(2)),
+            new TradePayload(Map.of(ResourceType.WOOL, 1), Map.of(ResourceType.ORE, 2), false, players.get(1)),
+            3,
+            Map.of()
+        );
+        final StateCodec codec = new StateCodec(board, players);
+        final ByteBuffer frame = Protocol.nextFrame(codec.encodeState(
+            42, true, PlayerObjective.REGULAR_TURN, state, Map.of(ResourceType.GRAIN, 5, ResourceType.CLAY, 1)
+        ));
+        assertEquals(Protocol.STATE, frame.get());
+        final StateCodec.State decoded = StateCodec.decodeState(frame);
+        assertEquals(0, frame.remaining());
+
+        assertEquals(42, decoded.sequence());
+        assertTrue(decoded.prompt());
+        assertEquals(PlayerObjective.REGULAR_TURN, decoded.objective());
+        assertEquals(board.getTileId(board.getHexGrid().getRobberPosition()), decoded.robberTile());
+        assertArrayEquals(new int[] {0, 1, 0, 5, 0}, decoded.resources());
+        assertEquals(3, decoded.cardsToSelect());
+        assertArrayEquals(new int[] {1, 4}, sorted(decoded.buildableVillages()));
+        assertArrayEquals(new int[] {9}, decoded.upgradableVillages());
+        assertArrayEquals(new int[] {2, 3, 11}, sorted(decoded.buildableRoads()));
+        assertArrayEquals(new int[] {2}, decoded.victims());
+        assertEquals(1, decoded.tradeSeat());
+        assertArrayEquals(new int[] {0, 0, 1, 0, 0}, decoded.tradeOffer());
+        assertArrayEquals(new int[] {0, 0, 0, 0, 2}, decoded.tradeRequest());
+    }
+
+    @Test
+    public void testBoardRoundTrip() throws ProtocolException {
+        final ByteBuffer frame = Protocol.nextFrame(new StateCodec(board, players).encodeWelcome(7, 2));
+        assertEquals(Protocol.WELCOME, frame.get());
+        assertEquals(7, frame.getLong());
+        assertEquals(2, frame.get());
+        assertEquals(3, frame.get());
+        final StateCodec.Board decoded = StateCodec.decodeBoard(frame);
+        assertEquals(0, frame.remaining());
+
+        assertEquals(board.getTileCount(), decoded.tileResources().length);
+        for (int tile = 0; tile < board.getTileCount(); tile++) {
+            assertEquals(board.getTile(tile).getPosition().q(), decoded.tilePositions()[tile][0]);
+            assertEquals(board.getTile(tile).getPosition().r(), decoded.tilePositions()[tile][1]);
+            assertEquals(board.getTileResource(tile), decoded.tileResources()[tile]);
+            assertEquals(board.getTileRollNumber(tile), decoded.tileRollNumbers()[tile]);
+        }
+        for (int intersection = 0; intersection < board.getIntersectionCount(); intersection++) {
+            assertArrayEquals(board.getIntersectionTiles(intersection), decoded.intersectionTiles()[intersection]);
+            assertEquals(board.getPortRatio(intersection), decoded.portRatios()[intersection]);
+            assertEquals(board.getPortResource(intersection), decoded.portResources()[intersection]);
+        }
+        for (int edge = 0; edge < board.getEdgeCount(); edge++) {
+            assertArrayEquals(board.getEdgeIntersections(edge), decoded.edgeIntersections()[edge]);
+        }
+    }
+
+    @Test
+    public void testFraming() throws ProtocolException {
+        final ByteBuffer buffer = ByteBuffer.allocate(64);
+        for (int i = 0; i < 2; i++) {
+            final int start = Protocol.beginFrame(buffer, Protocol.ACTION);
+            buffer.put(ActionCodec.END_TURN);
+            Protocol.endFrame(buffer, start);
+        }
+        final byte[] bytes = Arrays.copyOf(buffer.array(), buffer.position());
+
+        // frames split at every byte are only returned once complete
+        final ByteBuffer input = ByteBuffer.allocate(64);
+        int frames = 0;
+        for (final byte b : bytes) {
+            input.put(b).flip();
+            final ByteBuffer frame = Protocol.nextFrame(input);
+            if (frame != null) {
+                assertEquals(Protocol.ACTION, frame.get());
+                assertEquals(ActionCodec.END_TURN, frame.get());
+                frames++;
+            }
+            input.compact();
+        }
+        assertEquals(2, frames);
+        input.flip();
+        assertNull(Protocol.nextFrame(input));
+
+        assertThrows(ProtocolException.class, () -> Protocol.nextFrame(
+            ByteBuffer.allocate(8).putInt(Protocol.MAX_FRAME_LENGTH + 1).flip()
+        ));
+    }
+
+    @Test
+    public void testGameSnapshotRoundTrip() throws ProtocolException {
+        final int[] settlementOwners = new int[board.getIntersectionCount()];
+        final int[] settlementLevels = new int[board.getIntersectionCount()];
+        final int[] roadOwners = new int[board.getEdgeCount()];
+        Arrays.fill(settlementOwners, -1);
+        Arrays.fill(roadOwners, -1);
+        settlementOwners[3] = 1;
+        settlementLevels[3] = 2;
+        settlementOwners[7] = 0;
+        settlementLevels[7] = 1;
+        roadOwners[5] = 1;
+        final GameSnapshot snapshot = new GameSnapshot(
+            4, 1, 8, -1, 9, new int[] {2, 3}, new int[] {7, 0}, new int[] {1, -1},
+            settlementOwners, settlementLevels, roadOwners
+        );
+        final ByteBuffer buffer = ByteBuffer.allocate(snapshot.getEncodedSize());
+        snapshot.encode(buffer);
+        assertEquals(snapshot.getEncodedSize(), buffer.position());
+        assertEquals(snapshot, GameSnapshot.decode(buffer.flip()));
+        assertThrows(ProtocolException.class, () -> GameSnapshot.decode(buffer.flip().limit(10)));
+    }
+
+    private static int[] sorted(final int[] values) {
+        final int[] copy = values.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+}
@@ -0,0 +1,203 @@
+package projekt.net;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import projekt.Config;
+import projekt.controller.PlayerObjective;
+import projekt.controller.ai.BoardIndex;
+import projekt.model.HexGridImpl;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link StateSync} and {@link StateMirror}, with a simulated game of single-action updates.
+ */
+public class StateSyncTest {
+
+    private static final int PLAYERS = 4;
+    private static final int UPDATES = 2000;
+    private static final int SPECTATORS = 50;
+
+    private final Random random = new Random(42);
+    private BoardIndex board;
+    private int round;
+    private int activeSeat;
+    private int diceRoll;
+    private int robberTile;
+    private int[] victoryPoints;
+    private int[] resourceCards;
+    private int[] objectives;
+    private int[] settlementOwners;
+    private int[] settlementLevels;
+    private int[] roadOwners;
+
+    @BeforeEach
+    public void setUp() {
+        board = new BoardIndex(new HexGridImpl(Config.GRID_RADIUS));
+        victoryPoints = new int[PLAYERS];
+        resourceCards = new int[PLAYERS];
+        objectives = new int[PLAYERS];
+        Arrays.fill(objectives, PlayerObjective.IDLE.ordinal());
+        settlementOwners = new int[board.getIntersectionCount()];
+        settlementLevels = new int[board.getIntersectionCount()];
+        roadOwners = new int[board.getEdgeCount()];
+        Arrays.fill(settlementOwners, -1);
+        Arrays.fill(roadOwners, -1);
+    }
+
+    @Test
+    public void testSpectatorsMirrorStateWithDeltas() throws ProtocolException {
+        final StateSync sync = new StateSync();
+        final StateMirror[] spectators = new StateMirror[SPECTATORS];
+        Arrays.setAll(spectators, i -> new StateMirror());
+        final ByteBuffer buffer = ByteBuffer.allocate(Protocol.MAX_FRAME_LENGTH);
+        long fullBytes = 0;
+        long applyNanos = 0;
+        for (int update = 0; update < UPDATES; update++) {
+            GameSnapshot snapshot;
+            do {
+                snapshot = nextSnapshot();
+            } while (!sync.hasChanged(snapshot));
+            sync.update(snapshot, buffer.clear());
+            buffer.flip();
+            fullBytes += Protocol.HEADER_SIZE + Integer.BYTES + snapshot.getEncodedSize();
+
+            final long start = System.nanoTime();
+            for (final StateMirror spectator : spectators) {
+                spectator.apply(Protocol.nextFrame(buffer.duplicate()));
+            }
+            applyNanos += System.nanoTime() - start;
+            for (final StateMirror spectator : spectators) {
+                assertEquals(snapshot, spectator.getSnapshot());
+                assertEquals(sync.getSequence(), spectator.getSequence());
+            }
+        }
+
+        assertEquals(UPDATES, sync.getKeyframeCount() + sync.getDeltaCount());
+        assertEquals(UPDATES / StateSync.DEFAULT_KEYFRAME_INTERVAL + 1, sync.getKeyframeCount(), 1);
+        final long sentBytes = sync.getKeyframeBytes() + sync.getDeltaBytes();
+        final double bytesPerUpdate = (double) sentBytes / UPDATES;
+        final double deltaBytesPerUpdate = (double) sync.getDeltaBytes() / sync.getDeltaCount();
+        final double encodeMicros = sync.getEncodeNanos() / 1000.0 / UPDATES;
+        final double applyMicros = applyNanos / 1000.0 / UPDATES / SPECTATORS;
+        final String metrics = String.format(
+            "%.1f bytes per update and spectator (deltas %.1f, full snapshots %d), "
+                + "encoding %.2f us per update, applying %.2f us per update and spectator",
+            bytesPerUpdate, deltaBytesPerUpdate, fullBytes / UPDATES, encodeMicros, applyMicros
+        );
+        // bandwidth: deltas plus keyframes are a fraction of full snapshots
+        assertTrue(sentBytes * 4 < fullBytes, metrics);
+        assertTrue(deltaBytesPerUpdate < 32, metrics);
+        // CPU: encoding is shared by all spectators, applying a delta is cheap
+        assertTrue(applyMicros < 50, metrics);
+        assertTrue(encodeMicros < 500, metrics);
+    }
+
+    @Test
+    public void testLateJoinCatchesUpFromKeyframe() throws ProtocolException {
+        final int interval = 16;
+        final StateSync sync = new StateSync(interval);
+        final List<ByteBuffer> history = new ArrayList<>();
+        for (int update = 0; update < 100; update++) {
+            final ByteBuffer frame = ByteBuffer.allocate(StateSync.getMaxFrameSize(nextSnapshot()));
+            if (sync.update(currentSnapshot(), frame)) {
+                history.clear();
+            }
+            history.add(frame.flip());
+        }
+        assertEquals(100 % interval, history.size());
+
+        final StateMirror late = new StateMirror();
+        for (final ByteBuffer frame : history) {
+            late.apply(Protocol.nextFrame(frame.duplicate()));
+        }
+        assertEquals(sync.getLatest(), late.getSnapshot());
+        assertEquals(100, late.getSequence());
+    }
+
+    @Test
+    public void testMissingDeltaIsDetectedAndReset() throws ProtocolException {
+        final StateSync sync = new StateSync();
+        final StateMirror mirror = new StateMirror();
+        final ByteBuffer buffer = ByteBuffer.allocate(Protocol.MAX_FRAME_LENGTH);
+        sync.update(nextSnapshot(), buffer.clear());
+        mirror.apply(Protocol.nextFrame(buffer.flip()));
+        sync.update(nextSnapshot(), buffer.clear());
+        // the first delta is lost
+        sync.update(nextSnapshot(), buffer.clear());
+        assertThrows(ProtocolException.class, () -> mirror.apply(Protocol.nextFrame(buffer.flip())));
+        assertNull(mirror.getSnapshot());
+
+        // a keyframe of the latest state resets the mirror, and following deltas apply to it
+        sync.encodeKeyframe(buffer.clear());
+        mirror.apply(Protocol.nextFrame(buffer.flip()));
+        assertEquals(sync.getLatest(), mirror.getSnapshot());
+        sync.update(nextSnapshot(), buffer.clear());
+        mirror.apply(Protocol.nextFrame(buffer.flip()));
+        assertEquals(sync.getLatest(), mirror.getSnapshot());
+    }
+
+    @Test
+    public void testDeltaOfUnchangedStateIsMinimal() throws ProtocolException {
+        final GameSnapshot snapshot = nextSnapshot();
+        final ByteBuffer buffer = ByteBuffer.allocate(snapshot.getMaxDeltaSize());
+        snapshot.encodeDelta(snapshot, buffer);
+        assertEquals(1 + 1 + Short.BYTES + Short.BYTES, buffer.position());
+        assertEquals(snapshot, snapshot.applyDelta(buffer.flip()));
+    }
+
+    /**
+     * Applies a random action to the simulated game and returns its state.
+     */
+    private GameSnapshot nextSnapshot() {
+        final int seat = random.nextInt(PLAYERS);
+        switch (random.nextInt(7)) {
+            case 0 -> {
+                activeSeat = (activeSeat + 1) % PLAYERS;
+                round += activeSeat == 0 ? 1 : 0;
+                objectives[activeSeat] = PlayerObjective.DICE_ROLL.ordinal();
+            }
+            case 1 -> {
+                diceRoll = 2 + random.nextInt(6) + random.nextInt(6);
+                for (int player = 0; player < PLAYERS; player++) {
+                    resourceCards[player] += random.nextInt(3);
+                }
+            }
+            case 2 -> {
+                final int intersection = random.nextInt(settlementOwners.length);
+                if (settlementOwners[intersection] == -1) {
+                    settlementOwners[intersection] = seat;
+                    settlementLevels[intersection] = 1;
+                } else {
+                    settlementLevels[intersection] = 2;
+                }
+                victoryPoints[seat]++;
+                resourceCards[seat] = Math.max(0, resourceCards[seat] - 4);
+            }
+            case 3 -> {
+                roadOwners[random.nextInt(roadOwners.length)] = seat;
+                resourceCards[seat] = Math.max(0, resourceCards[seat] - 2);
+            }
+            case 4 -> robberTile = random.nextInt(board.getTileCount());
+            case 5 -> objectives[seat] = random.nextInt(PlayerObjective.values().length);
+            default -> resourceCards[seat] += 1;
+        }
+        return currentSnapshot();
+    }
+
+    private GameSnapshot currentSnapshot() {
+        return new GameSnapshot(
+            round, activeSeat, diceRoll, -1, robberTile, victoryPoints.clone(), resourceCards.clone(),
+            objectives.clone(), settlementOwners.clone(), settlementLevels.clone(), roadOwners.clone()
+        );
+    }
+}
@@ -0,0 +1,104 @@
+package projekt.net;
+
+import projekt.controller.GameController;
+import projekt.controller.PlayerController;
+import projekt.model.GameState;
+import projekt.model.HexGrid;
+import projekt.model.Player;
+import projekt.model.PlayerImpl;
+import projekt.model.ResourceType;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Games for network tests, independent of the parts of the model the template leaves unimplemented.
+ */
+public final class TestGames {
+
+    private TestGames() {
+    }
+
+    /**
+     * Creates a game on the given grid with the given amount of players, whose controllers are initialized.
+     */
+    public static GameController createGame(final HexGrid grid, final int playerCount) {
+        final List<Player> players = new ArrayList<>();
+        for (int i = 1; i <= playerCount; i++) {
+            players.add(withResources(new PlayerImpl.Builder(i).build(grid)));
+        }
+        final Map<Player, PlayerController> playerControllers = new LinkedHashMap<>();
+        final GameController gameController = new GameController(new GameState(grid, players), playerControllers, () -> 8);
+        for (final Player player : players) {
+            playerControllers.put(player, new VillagePlayerController(gameController, player));
+        }
+        return gameController;
+    }
+
+    /**
+     * Returns the controller of the player in the given seat.
+     */
+    public static PlayerController controllerOf(final GameController gameController, final int seat) {
+        return gameController.getPlayerControllers().get(gameController.getState().getPlayers().get(seat));
+    }
+
+    /**
+     * Returns a view of the given player holding some resources and no development cards, since neither is
+     * implemented in the template.
+     */
+    public static Player withResources(final Player player) {
+        final Map<ResourceType, Integer> resources = new EnumMap<>(ResourceType.class);
+        resources.put(ResourceType.WOOD, 2);
+        return (Player) Proxy.newProxyInstance(
+            Player.class.getClassLoader(), new Class<?>[] {Player.class}, (proxy, method, args) -> switch (method.getName()) {
+                case "getResources" -> resources;
+                case "getDevelopmentCards" -> Map.of();
+                case "getKnightsPlayed" -> 0;
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> {
+                    try {
+                        yield method.invoke(player, args);
+                    } catch (final InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }
+            }
+        );
+    }
+
+    /**
+     * A player controller that may always build villages and nothing else, independent of the template's model.
+     */
+    public static class VillagePlayerController extends PlayerController {
+
+        public VillagePlayerController(final GameController gameController, final Player player) {
+            super(gameController, player);
+        }
+
+        @Override
+        public boolean canBuildVillage() {
+            return true;
+        }
+
+        @Override
+        public boolean canBuildRoad() {
+            return false;
+        }
+
+        @Override
+        public boolean canUpgradeVillage() {
+            return false;
+        }
+
+        @Override
+        public List<Player> getPlayersToStealFrom() {
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package projekt.net.bot;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import projekt.Config;
+import projekt.controller.GameController;
+import projekt.controller.PlayerController;
+import projekt.controller.PlayerObjective;
+import projekt.controller.actions.BuildVillageAction;
+import projekt.controller.actions.EndTurnAction;
+import projekt.controller.actions.PlayerAction;
+import projekt.controller.actions.RollDiceAction;
+import projekt.controller.ai.AiExecutor;
+import projekt.model.GameState;
+import projekt.model.HexGrid;
+import projekt.model.HexGridImpl;
+import projekt.model.Player;
+import projekt.model.PlayerImpl;
+import projekt.model.ResourceType;
+import projekt.net.Protocol;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link BotGateway}, played by {@link StandInBot}s.
+ */
+public class BotGatewayTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        final Thread thread = new Thread(runnable);
+        thread.setDaemon(true);
+        return thread;
+    });
+    private GameController gameController;
+    private PlayerController playerController;
+    private HexGrid grid;
+    private BotGateway gateway;
+
+    @BeforeEach
+    public void setUp() {
+        grid = new HexGridImpl(Config.GRID_RADIUS);
+        final List<Player> players = new ArrayList<>();
+        for (int i = 1; i <= 2; i++) {
+            players.add(withResources(new PlayerImpl.Builder(i).build(grid)));
+        }
+        final GameState gameState = new GameState(grid, players);
+        final Map<Player, PlayerController> playerControllers = new LinkedHashMap<>();
+        gameController = new GameController(gameState, playerControllers, () -> 8);
+        playerController = new VillagePlayerController(gameController, players.get(0));
+        playerControllers.put(players.get(0), playerController);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        executor.shutdownNow();
+        if (gateway != null) {
+            gateway.close();
+        }
+    }
+
+    @Test
+    public void testPromptsAndPipelinedActions() throws Exception {
+        gateway = BotGateway.openLoopback();
+        final RemoteBotController controller = createController();
+        final StandInBot bot = StandInBot.connect(gateway.getAddress(), controller.getTicket());
+        executor.execute(bot);
+
+        playerController.setPlayerObjective(PlayerObjective.PLACE_VILLAGE);
+        final PlayerAction placement = nextAction();
+        assertInstanceOf(BuildVillageAction.class, placement);
+        assertTrue(playerController.getPlayerState().buildableVillageIntersections()
+            .contains(((BuildVillageAction) placement).intersection()));
+
+        // a regular turn is answered with a build and the end of the turn in one write
+        gameController.getRoundCounterProperty().set(1);
+        playerController.setPlayerObjective(PlayerObjective.REGULAR_TURN);
+        final boolean canBuild = !playerController.getPlayerState().buildableVillageIntersections().isEmpty();
+        if (canBuild) {
+            assertInstanceOf(BuildVillageAction.class, nextAction());
+        }
+        assertInstanceOf(EndTurnAction.class, nextAction());
+        assertEquals(0, bot.getSeat());
+        assertEquals(grid.getTiles().size(), bot.getBoard().tileResources().length);
+    }
+
+    @Test
+    public void testUnixDomainSocketWithWaitingBot() throws Exception {
+        final Path socket = Files.createTempDirectory("bot-gateway").resolve("gateway.sock");
+        gateway = BotGateway.open(UnixDomainSocketAddress.of(socket));
+        final StandInBot bot = StandInBot.connect(gateway.getAddress(), 0);
+        executor.execute(bot);
+
+        // the bot connected before the seat existed and takes it once registered
+        createController();
+        playerController.setPlayerObjective(PlayerObjective.DICE_ROLL);
+        assertInstanceOf(RollDiceAction.class, nextAction());
+        gateway.close();
+        gateway = null;
+        assertTrue(Files.notExists(socket));
+    }
+
+    @Test
+    public void testReconnectReceivesLatestPrompt() throws Exception {
+        gateway = BotGateway.openLoopback();
+        final RemoteBotController controller = createController();
+        playerController.setPlayerObjective(PlayerObjective.DICE_ROLL);
+
+        final StandInBot first = StandInBot.connect(gateway.getAddress(), controller.getTicket());
+        executor.execute(first);
+        assertInstanceOf(RollDiceAction.class, nextAction());
+        first.close();
+
+        connectWhenFree(controller.getTicket());
+        assertInstanceOf(RollDiceAction.class, nextAction());
+    }
+
+    @Test
+    public void testProtocolViolationClosesConnection() throws Exception {
+        gateway = BotGateway.openLoopback();
+        createController();
+        try (SocketChannel channel = SocketChannel.open(gateway.getAddress())) {
+            final ByteBuffer hello = ByteBuffer.allocate(32);
+            final int start = Protocol.beginFrame(hello, Protocol.HELLO);
+            hello.putInt(Protocol.VERSION + 1).putLong(0);
+            Protocol.endFrame(hello, start);
+            channel.write(hello.flip());
+
+            final ByteBuffer input = ByteBuffer.allocate(256);
+            while (channel.read(input) != -1) {
+                // read until the gateway closes the connection
+            }
+            final ByteBuffer frame = Protocol.nextFrame(input.flip());
+            assertEquals(Protocol.ERROR, frame.get());
+        }
+    }
+
+    @Test
+    public void testStandInBotProcess() throws Exception {
+        gateway = BotGateway.openLoopback();
+        final RemoteBotController controller = createController();
+        final InetSocketAddress address = (InetSocketAddress) gateway.getAddress();
+        final Process process = new ProcessBuilder(
+            Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+            "-cp", System.getProperty("java.class.path"),
+            StandInBot.class.getName(),
+            address.getHostString() + ":" + address.getPort(),
+            Long.toString(controller.getTicket())
+        ).inheritIO().start();
+        try {
+            playerController.setPlayerObjective(PlayerObjective.DICE_ROLL);
+            assertInstanceOf(RollDiceAction.class, nextAction());
+            controller.close();
+            assertTrue(process.waitFor(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        } finally {
+            process.destroyForcibly();
+        }
+    }
+
+    private RemoteBotController createController() {
+        return (RemoteBotController) gateway.getControllerFactory().create(
+            playerController, grid, gameController.getState(),
+            gameController.getActivePlayerControllerProperty(), AiExecutor.direct()
+        );
+    }
+
+    private PlayerAction nextAction() throws Exception {
+        return executor.submit(playerController::blockingGetNextAction).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Connects a bot with the given ticket, retrying while the gateway has not noticed the previous bot leave.
+     * The returned bot is already playing.
+     */
+    private StandInBot connectWhenFree(final long ticket) throws Exception {
+        final SocketAddress address = gateway.getAddress();
+        for (int attempt = 0; ; attempt++) {
+            final StandInBot bot = StandInBot.connect(address, ticket);
+            try {
+                executor.submit(bot).get(200, TimeUnit.MILLISECONDS);
+            } catch (final ExecutionException e) {
+                // the gateway rejected the bot
+            } catch (final TimeoutException e) {
+                return bot;
+            }
+            if (attempt > 20) {
+                throw new AssertionError("Seat was not freed");
+            }
+        }
+    }
+
+    /**
+     * Returns a view of the given player holding some resources, since resources are not implemented in the template.
+     */
+    private static Player withResources(final Player player) {
+        final Map<ResourceType, Integer> resources = new EnumMap<>(ResourceType.class);
+        resources.put(ResourceType.WOOD, 2);
+        return (Player) Proxy.newProxyInstance(
+            Player.class.getClassLoader(), new Class<?>[] {Player.class}, (proxy, method, args) -> switch (method.getName()) {
+                case "getResources" -> resources;
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> {
+                    try {
+                        yield method.invoke(player, args);
+                    } catch (final InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }
+            }
+        );
+    }
+
+    /**
+     * A player controller that may always build villages and nothing else, independent of the template's model.
+     */
+    private static class VillagePlayerController extends PlayerController {
+
+        VillagePlayerController(final GameController gameController, final Player player) {
+            super(gameController, player);
+        }
+
+        @Override
+        public boolean canBuildVillage() {
+            return true;
+        }
+
+        @Override
+        public boolean canBuildRoad() {
+            return false;
+        }
+
+        @Override
+        public boolean canUpgradeVillage() {
+            return false;
+        }
+
+        @Override
+        public List<Player> getPlayersToStealFrom() {
+            return List.of();
+        }
+    }
+}
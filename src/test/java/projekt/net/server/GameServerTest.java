@@ -0,0 +1,350 @@
+package projekt.net.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import projekt.Config;
+import projekt.controller.GameController;
+import projekt.controller.PlayerController;
+import projekt.controller.PlayerObjective;
+import projekt.controller.actions.EndTurnAction;
+import projekt.controller.actions.PlayerAction;
+import projekt.controller.actions.RollDiceAction;
+import projekt.controller.ai.BoardIndex;
+import projekt.model.HexGrid;
+import projekt.model.HexGridImpl;
+import projekt.net.ActionCodec;
+import projekt.net.GameSnapshot;
+import projekt.net.Protocol;
+import projekt.net.StateCodec;
+import projekt.net.StateMirror;
+import projekt.net.TestGames;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link GameServer}, played by clients speaking the raw protocol.
+ */
+public class GameServerTest {
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+    private static final int GAMES = 200;
+    private static final int SPECTATORS = 100;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        final Thread thread = new Thread(runnable);
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final HexGrid grid = new HexGridImpl(Config.GRID_RADIUS);
+    private final List<Client> clients = new ArrayList<>();
+    private GameServer server;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = new GameServer.Builder().selectorThreads(2).build();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        executor.shutdownNow();
+        for (final Client client : clients) {
+            client.channel.close();
+        }
+        server.close();
+    }
+
+    @Test
+    public void testBroadcastAndActions() throws Exception {
+        final HostedGame game = server.host(TestGames.createGame(grid, 2));
+        final GameController gameController = game.getGameController();
+        final Client first = connect(game.getTicket(0));
+        final Client second = connect(game.getTicket(1));
+
+        first.next(Protocol.WELCOME);
+        second.next(Protocol.WELCOME);
+        assertEquals(0, first.welcomeSeat);
+        assertEquals(1, second.welcomeSeat);
+        assertEquals(0, first.awaitRound(0).round());
+        assertEquals(0, second.awaitRound(0).round());
+
+        // the prompt only goes to the player's seat
+        final PlayerController controller = TestGames.controllerOf(gameController, 0);
+        controller.setPlayerObjective(PlayerObjective.DICE_ROLL);
+        final StateCodec.State prompt = nextPrompt(first);
+        assertEquals(PlayerObjective.DICE_ROLL, prompt.objective());
+
+        first.send(new RollDiceAction());
+        assertInstanceOf(RollDiceAction.class, nextAction(controller));
+
+        // both seats receive the same snapshot
+        gameController.getRoundCounterProperty().set(1);
+        final GameSnapshot snapshot = first.awaitRound(1);
+        assertEquals(snapshot, second.awaitRound(1));
+        assertEquals(snapshot, game.getLatestSnapshot());
+        assertEquals(PlayerObjective.DICE_ROLL.ordinal(), snapshot.objectives()[0]);
+    }
+
+    @Test
+    public void testLateJoinReceivesLatestState() throws Exception {
+        final HostedGame game = server.host(TestGames.createGame(grid, 2));
+        game.getGameController().getRoundCounterProperty().set(3);
+        TestGames.controllerOf(game.getGameController(), 1).setPlayerObjective(PlayerObjective.DICE_ROLL);
+
+        final Client client = connect(game.getTicket(1));
+        client.next(Protocol.WELCOME);
+        assertEquals(1, client.welcomeSeat);
+        // the prompt follows the keyframe and the deltas since
+        assertEquals(PlayerObjective.DICE_ROLL, nextPrompt(client).objective());
+        assertEquals(game.getLatestSnapshot(), client.mirror.getSnapshot());
+        assertTrue(game.getCatchUpLength() > 1, "No deltas since the keyframe");
+    }
+
+    @Test
+    public void testUnknownTicketIsRejected() throws Exception {
+        final HostedGame game = server.host(TestGames.createGame(grid, 2));
+        final Client client = connect(game.getTicket(0) + 1);
+        client.next(Protocol.ERROR);
+        assertEquals(-1, client.channel.read(ByteBuffer.allocate(1)));
+    }
+
+    @Test
+    public void testCloseReleasesBuffers() throws Exception {
+        final HostedGame game = server.host(TestGames.createGame(grid, 2));
+        final Client client = connect(game.getTicket(0));
+        client.awaitRound(0);
+        game.close();
+        client.next(Protocol.ERROR);
+        awaitCondition(() -> server.getBufferPool().getAcquiredCount() == 0);
+        assertEquals(0, server.getSeatCount());
+    }
+
+    @Test
+    public void testManyConcurrentGames() throws Exception {
+        final List<HostedGame> games = new ArrayList<>();
+        for (int i = 0; i < GAMES; i++) {
+            games.add(server.host(TestGames.createGame(grid, 2)));
+        }
+        try (Selector selector = Selector.open()) {
+            for (final HostedGame game : games) {
+                for (int seat = 0; seat < game.getSeatCount(); seat++) {
+                    final Client client = new Client(SocketChannel.open(server.getAddress()));
+                    client.hello(game.getTicket(seat));
+                    client.channel.configureBlocking(false);
+                    client.channel.register(selector, SelectionKey.OP_READ, client);
+                    clients.add(client);
+                }
+            }
+            pump(selector, 0);
+
+            for (final HostedGame game : games) {
+                game.getGameController().getRoundCounterProperty().set(1);
+            }
+            pump(selector, 1);
+        }
+
+        // games only hold the frames to catch up with; connection buffers return to the pool once idle
+        final int catchUpFrames = games.stream().mapToInt(HostedGame::getCatchUpLength).sum();
+        awaitCondition(() -> server.getBufferPool().getAcquiredCount() == catchUpFrames);
+        final int spare = server.getBufferPool().getAllocatedCount() - catchUpFrames;
+        assertTrue(spare < clients.size() / 4, "Buffers allocated beyond the catch-up frames: " + spare);
+
+        for (int i = 0; i < GAMES; i++) {
+            clients.get(2 * i + 1).channel.configureBlocking(true);
+            clients.get(2 * i + 1).send(new EndTurnAction());
+        }
+        for (final HostedGame game : games) {
+            assertInstanceOf(EndTurnAction.class, nextAction(TestGames.controllerOf(game.getGameController(), 1)));
+        }
+    }
+
+    @Test
+    public void testRemoteSpectators() throws Exception {
+        final HostedGame game = server.host(TestGames.createGame(grid, 2));
+        try (Selector selector = Selector.open()) {
+            for (int i = 0; i < SPECTATORS; i++) {
+                final Client client = new Client(SocketChannel.open(server.getAddress()));
+                client.hello(game.getSpectatorTicket());
+                client.channel.configureBlocking(false);
+                client.channel.register(selector, SelectionKey.OP_READ, client);
+                clients.add(client);
+            }
+            pump(selector, 0);
+            for (int round = 1; round <= 5; round++) {
+                game.getGameController().getRoundCounterProperty().set(round);
+            }
+            pump(selector, 5);
+        }
+        for (final Client client : clients) {
+            assertEquals(-1, client.welcomeSeat);
+            assertEquals(game.getLatestSnapshot(), client.mirror.getSnapshot());
+        }
+        assertEquals(SPECTATORS, game.getRemoteSpectatorCount());
+        // updates are encoded once, independent of the amount of spectators
+        assertTrue(game.getSpectatorFeed().getEncodedFrameCount() <= 2 * 6, "Frames encoded per spectator");
+
+        // spectators cannot act
+        final Client spectator = clients.get(0);
+        spectator.channel.configureBlocking(true);
+        spectator.send(new EndTurnAction());
+        spectator.channel.configureBlocking(false);
+        spectator.next(Protocol.ERROR);
+        awaitCondition(() -> game.getRemoteSpectatorCount() == SPECTATORS - 1);
+    }
+
+    /**
+     * Reads from all clients until each has received a snapshot of the given round.
+     */
+    private void pump(final Selector selector, final int round) throws Exception {
+        final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (clients.stream().anyMatch(client -> client.getRound() < round)) {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for round " + round);
+            selector.select(100);
+            for (final SelectionKey key : selector.selectedKeys()) {
+                final Client client = (Client) key.attachment();
+                client.channel.read(client.input);
+                client.input.flip();
+                ByteBuffer frame;
+                while ((frame = Protocol.nextFrame(client.input)) != null) {
+                    client.accept(frame);
+                }
+                client.input.compact();
+            }
+            selector.selectedKeys().clear();
+        }
+    }
+
+    private Client connect(final long ticket) throws IOException {
+        final Client client = new Client(SocketChannel.open(server.getAddress()));
+        clients.add(client);
+        client.hello(ticket);
+        client.channel.configureBlocking(false);
+        return client;
+    }
+
+    private StateCodec.State nextPrompt(final Client client) throws Exception {
+        while (true) {
+            final StateCodec.State state = StateCodec.decodeState(client.next(Protocol.STATE));
+            if (state.prompt()) {
+                return state;
+            }
+        }
+    }
+
+    private PlayerAction nextAction(final PlayerController controller) throws Exception {
+        return executor.submit(controller::blockingGetNextAction).get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private static void awaitCondition(final BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out");
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * A client speaking the raw protocol.
+     */
+    private final class Client {
+        private final SocketChannel channel;
+        private final ByteBuffer input = ByteBuffer.allocate(Protocol.MAX_FRAME_LENGTH + Integer.BYTES);
+        private final ActionCodec actionCodec = new ActionCodec(new BoardIndex(grid), List.of());
+        private final StateMirror mirror = new StateMirror();
+        private int welcomeSeat = -1;
+
+        Client(final SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        void hello(final long ticket) throws IOException {
+            final ByteBuffer hello = ByteBuffer.allocate(Protocol.HEADER_SIZE + Integer.BYTES + Long.BYTES);
+            final int start = Protocol.beginFrame(hello, Protocol.HELLO);
+            hello.putInt(Protocol.VERSION).putLong(ticket);
+            Protocol.endFrame(hello, start);
+            write(hello.flip());
+        }
+
+        void send(final PlayerAction action) throws IOException {
+            final ByteBuffer frame = ByteBuffer.allocate(ActionCodec.MAX_SIZE + Protocol.HEADER_SIZE);
+            final int start = Protocol.beginFrame(frame, Protocol.ACTION);
+            actionCodec.encode(action, frame);
+            Protocol.endFrame(frame, start);
+            write(frame.flip());
+        }
+
+        private void write(final ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+
+        int getRound() {
+            return mirror.getSnapshot() == null ? -1 : mirror.getSnapshot().round();
+        }
+
+        /**
+         * Records the seat of a welcome and applies keyframes and deltas to the mirror.
+         */
+        void accept(final ByteBuffer frame) throws Exception {
+            final byte type = frame.get(frame.position());
+            if (type == Protocol.WELCOME) {
+                welcomeSeat = frame.get(frame.position() + 1 + Long.BYTES);
+            } else if (StateMirror.accepts(type)) {
+                mirror.apply(frame.duplicate());
+            }
+        }
+
+        /**
+         * Reads frames until the mirrored state reaches the given round.
+         */
+        GameSnapshot awaitRound(final int round) throws Exception {
+            while (getRound() < round) {
+                next(Protocol.DELTA, Protocol.GAME);
+            }
+            return mirror.getSnapshot();
+        }
+
+        /**
+         * Reads frames until one of the given types arrives and returns its payload.
+         */
+        ByteBuffer next(final byte... types) throws Exception {
+            final byte[] sorted = types.clone();
+            Arrays.sort(sorted);
+            final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+            while (true) {
+                input.flip();
+                ByteBuffer frame;
+                while ((frame = Protocol.nextFrame(input)) != null) {
+                    accept(frame);
+                    final byte type = frame.get();
+                    if (Arrays.binarySearch(sorted, type) >= 0) {
+                        final ByteBuffer payload = ByteBuffer.allocate(frame.remaining()).put(frame).flip();
+                        input.compact();
+                        return payload;
+                    }
+                }
+                input.compact();
+                assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for " + Arrays.toString(types));
+                assertNotEquals(-1, channel.read(input), "Connection closed");
+                Thread.sleep(1);
+            }
+        }
+    }
+}
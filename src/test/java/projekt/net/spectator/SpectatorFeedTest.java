@@ -0,0 +1,164 @@
+package projekt.net.spectator;
+
+import org.junit.jupiter.api.Test;
+import projekt.Config;
+import projekt.controller.GameController;
+import projekt.controller.PlayerObjective;
+import projekt.controller.ai.BoardIndex;
+import projekt.model.HexGrid;
+import projekt.model.HexGridImpl;
+import projekt.net.GameSnapshot;
+import projekt.net.Protocol;
+import projekt.net.ProtocolException;
+import projekt.net.StateMirror;
+import projekt.net.TestGames;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link SpectatorFeed} and {@link Spectator}.
+ */
+public class SpectatorFeedTest {
+
+    private static final int SPECTATORS = 300;
+    private static final int UPDATES = 50;
+
+    private final HexGrid grid = new HexGridImpl(Config.GRID_RADIUS);
+    private final BoardIndex board = new BoardIndex(grid);
+
+    @Test
+    public void testAttachedFeedFollowsGame() throws ProtocolException {
+        final GameController gameController = TestGames.createGame(grid, 2);
+        try (SpectatorFeed feed = SpectatorFeed.attach(gameController)) {
+            final Spectator spectator = feed.subscribe();
+            final StateMirror mirror = new StateMirror();
+
+            gameController.getRoundCounterProperty().set(2);
+            assertEquals(2, drain(spectator, mirror).round());
+            gameController.getCurrentDiceRollProperty().set(6);
+            assertEquals(6, drain(spectator, mirror).diceRoll());
+            gameController.getActivePlayerControllerProperty().setValue(TestGames.controllerOf(gameController, 1));
+            assertEquals(1, drain(spectator, mirror).activeSeat());
+            TestGames.controllerOf(gameController, 1).setPlayerObjective(PlayerObjective.DICE_ROLL);
+            assertEquals(PlayerObjective.DICE_ROLL.ordinal(), drain(spectator, mirror).objectives()[1]);
+            gameController.getState().getWinnerProperty().setValue(gameController.getState().getPlayers().get(0));
+            assertEquals(0, drain(spectator, mirror).winner());
+            assertEquals(feed.getLatestSnapshot(), mirror.getSnapshot());
+        }
+    }
+
+    @Test
+    public void testUpdatesAreEncodedOnceForAllSpectators() throws ProtocolException {
+        final SpectatorFeed feed = new SpectatorFeed();
+        final Spectator[] spectators = new Spectator[SPECTATORS];
+        final StateMirror[] mirrors = new StateMirror[SPECTATORS];
+        for (int i = 0; i < SPECTATORS; i++) {
+            spectators[i] = feed.subscribe();
+            mirrors[i] = new StateMirror();
+        }
+        for (int round = 0; round < UPDATES; round++) {
+            assertTrue(feed.publish(snapshot(round)));
+            assertFalse(feed.publish(snapshot(round)), "Unchanged snapshot was published");
+            final ByteBuffer first = spectators[0].poll();
+            assertTrue(first.isReadOnly());
+            mirrors[0].apply(Protocol.nextFrame(first.duplicate()));
+            for (int i = 1; i < SPECTATORS; i++) {
+                final ByteBuffer frame = spectators[i].poll();
+                assertEquals(first, frame);
+                mirrors[i].apply(Protocol.nextFrame(frame));
+            }
+        }
+        assertEquals(UPDATES, feed.getEncodedFrameCount());
+        assertEquals(UPDATES, feed.getPublishedFrameCount());
+        for (final StateMirror mirror : mirrors) {
+            assertEquals(snapshot(UPDATES - 1), mirror.getSnapshot());
+        }
+    }
+
+    @Test
+    public void testSlowSpectatorIsResetToKeyframe() throws ProtocolException {
+        final SpectatorFeed feed = new SpectatorFeed();
+        final Spectator fast = feed.subscribe();
+        final Spectator slow = feed.subscribe(4, null);
+        final StateMirror fastMirror = new StateMirror();
+        for (int round = 0; round < 20; round++) {
+            feed.publish(snapshot(round));
+            drain(fast, fastMirror);
+            assertTrue(slow.getQueuedCount() <= slow.getCapacity());
+        }
+        assertEquals(0, fast.getResetCount());
+        assertTrue(slow.getResetCount() > 0);
+        assertTrue(slow.getDroppedCount() > 0);
+
+        // the slow spectator catches up from a keyframe with few frames
+        final ByteBuffer first = slow.poll();
+        assertEquals(Protocol.GAME, first.get(Integer.BYTES));
+        final StateMirror slowMirror = new StateMirror();
+        slowMirror.apply(Protocol.nextFrame(first));
+        assertEquals(snapshot(19), drain(slow, slowMirror));
+        assertEquals(fastMirror.getSnapshot(), slowMirror.getSnapshot());
+    }
+
+    @Test
+    public void testLateSpectatorStartsWithKeyframe() throws Exception {
+        final SpectatorFeed feed = new SpectatorFeed();
+        for (int round = 0; round < 10; round++) {
+            feed.publish(snapshot(round));
+        }
+        final AtomicInteger notifications = new AtomicInteger();
+        final Spectator late = feed.subscribe(SpectatorFeed.DEFAULT_CAPACITY, notifications::incrementAndGet);
+        final StateMirror mirror = new StateMirror();
+        assertEquals(snapshot(9), drain(late, mirror));
+
+        // the consumer is notified when frames arrive in an empty queue
+        feed.publish(snapshot(10));
+        feed.publish(snapshot(11));
+        assertEquals(1, notifications.get());
+        assertEquals(snapshot(11), drain(late, mirror));
+        assertEquals(1, feed.getSpectatorCount());
+
+        late.close();
+        assertEquals(0, feed.getSpectatorCount());
+        feed.publish(snapshot(12));
+        assertNull(late.poll(10, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Applies all queued frames of the given spectator to the given mirror.
+     */
+    private static GameSnapshot drain(final Spectator spectator, final StateMirror mirror) throws ProtocolException {
+        ByteBuffer frame;
+        while ((frame = spectator.poll()) != null) {
+            mirror.apply(Protocol.nextFrame(frame));
+        }
+        return mirror.getSnapshot();
+    }
+
+    /**
+     * Returns a snapshot of the given round, with a village and a road placed in each round.
+     */
+    private GameSnapshot snapshot(final int round) {
+        final int[] settlementOwners = new int[board.getIntersectionCount()];
+        final int[] settlementLevels = new int[board.getIntersectionCount()];
+        final int[] roadOwners = new int[board.getEdgeCount()];
+        Arrays.fill(settlementOwners, -1);
+        Arrays.fill(roadOwners, -1);
+        for (int i = 0; i <= round; i++) {
+            settlementOwners[i % settlementOwners.length] = i % 2;
+            settlementLevels[i % settlementOwners.length] = 1;
+            roadOwners[i % roadOwners.length] = i % 2;
+        }
+        return new GameSnapshot(
+            round, round % 2, 2 + round % 11, -1, round % board.getTileCount(), new int[] {round / 2, round / 3},
+            new int[] {round % 7, round % 5}, new int[] {-1, -1}, settlementOwners, settlementLevels, roadOwners
+        );
+    }
+}
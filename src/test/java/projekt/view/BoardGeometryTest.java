@@ -0,0 +1,122 @@
+package projekt.view;
+
+import org.junit.jupiter.api.Test;
+import projekt.Config;
+import projekt.model.HexGrid;
+import projekt.model.HexGridImpl;
+import projekt.model.Intersection;
+import projekt.model.TilePosition;
+import projekt.model.buildings.Edge;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link BoardGeometry}.
+ */
+public class BoardGeometryTest {
+    private static final double DELTA = 1e-9;
+
+    private final HexGrid grid = new HexGridImpl(Config.GRID_RADIUS);
+    private final BoardGeometry geometry = new BoardGeometry(grid);
+
+    /**
+     * Returns the translation of the given position for the given tile size, like {@link HexGridBuilder} did.
+     *
+     * @param position the position
+     * @param size     the tile size
+     * @return the x and y coordinate
+     */
+    private static double[] translation(final TilePosition position, final double size) {
+        return new double[] {
+            size * (Math.sqrt(3) * position.q() + Math.sqrt(3) / 2 * position.r()),
+            size * (3.0 / 2 * position.r())
+        };
+    }
+
+    @Test
+    public void testIntersectionsLieBetweenTheirAdjacentPositions() {
+        final double size = 37.5;
+        for (final Intersection intersection : grid.getIntersections().values()) {
+            double x = 0;
+            double y = 0;
+            for (final TilePosition position : intersection.getAdjacentTilePositions()) {
+                x += translation(position, size)[0];
+                y += translation(position, size)[1];
+            }
+            final int id = geometry.getIntersectionId(intersection);
+            assertEquals(x / 3, geometry.getIntersectionX(id, size), DELTA);
+            assertEquals(y / 3, geometry.getIntersectionY(id, size), DELTA);
+        }
+    }
+
+    @Test
+    public void testEdgesConnectTheirIntersections() {
+        final double size = 50;
+        for (final Edge edge : grid.getEdges().values()) {
+            final int id = geometry.getEdgeId(edge);
+            final Set<Integer> ends = Set.of(
+                endpoint(geometry.getEdgeStartX(id, size), geometry.getEdgeStartY(id, size), size),
+                endpoint(geometry.getEdgeEndX(id, size), geometry.getEdgeEndY(id, size), size)
+            );
+            final Set<Integer> expected = Set.copyOf(grid.getIntersections().values().stream()
+                .filter(intersection -> intersection.getAdjacentTilePositions().containsAll(
+                    edge.getAdjacentTilePositions()))
+                .map(geometry::getIntersectionId)
+                .toList());
+            assertEquals(expected, ends);
+        }
+    }
+
+    /**
+     * Returns the id of the intersection at the given coordinates.
+     *
+     * @param x    the x coordinate
+     * @param y    the y coordinate
+     * @param size the tile size
+     * @return the id of the intersection or {@code -1}
+     */
+    private int endpoint(final double x, final double y, final double size) {
+        for (int id = 0; id < geometry.getIndex().getIntersectionCount(); id++) {
+            if (Math.abs(geometry.getIntersectionX(id, size) - x) < DELTA
+                && Math.abs(geometry.getIntersectionY(id, size) - y) < DELTA) {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    @Test
+    public void testPortsLieOutsideTheGrid() {
+        final double size = 50;
+        for (final Edge edge : grid.getEdges().values()) {
+            final int id = geometry.getEdgeId(edge);
+            if (!edge.hasPort()) {
+                assertTrue(Double.isNaN(geometry.getPortX(id, size)));
+                continue;
+            }
+            final TilePosition outside = edge.getAdjacentTilePositions().stream()
+                .filter(position -> !grid.getTiles().containsKey(position))
+                .findAny()
+                .orElseThrow();
+            assertEquals(translation(outside, size)[0], geometry.getPortX(id, size), DELTA);
+            assertEquals(translation(outside, size)[1], geometry.getPortY(id, size), DELTA);
+        }
+    }
+
+    @Test
+    public void testCoordinatesScaleWithTheTileSize() {
+        final int radius = grid.getTiles().keySet().stream().mapToInt(TilePosition::q).max().orElseThrow();
+        final TilePosition corner = new TilePosition(radius, -radius);
+        final int id = geometry.getTileId(corner);
+        assertEquals(translation(corner, 1)[0], geometry.getTileX(id, 1), DELTA);
+        assertEquals(2.5 * geometry.getTileX(id, 1), geometry.getTileX(id, 2.5), DELTA);
+        assertEquals(2.5 * geometry.getTileY(id, 1), geometry.getTileY(id, 2.5), DELTA);
+        assertEquals(-Math.sqrt(3) * radius, geometry.getMinX(1), DELTA);
+        assertEquals(Math.sqrt(3) * radius, geometry.getMaxX(1), DELTA);
+        assertEquals(-1.5 * radius, geometry.getMinY(1), DELTA);
+        assertEquals(1.5 * radius, geometry.getMaxY(1), DELTA);
+    }
+}
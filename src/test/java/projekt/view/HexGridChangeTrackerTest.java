@@ -0,0 +1,118 @@
+package projekt.view;
+
+import org.junit.jupiter.api.Test;
+import projekt.Config;
+import projekt.model.HexGridImpl;
+import projekt.model.Intersection;
+import projekt.model.Player;
+import projekt.model.PlayerImpl;
+import projekt.model.TestIntersections;
+import projekt.model.TilePosition;
+import projekt.model.buildings.Edge;
+import projekt.model.buildings.Settlement;
+import projekt.model.tiles.Tile;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link HexGridChangeTracker} listening to a {@link HexGridImpl}.
+ */
+public class HexGridChangeTrackerTest {
+
+    private final HexGridImpl grid = new HexGridImpl(Config.GRID_RADIUS);
+    private final Player player = new PlayerImpl.Builder(1).build(grid);
+    private final HexGridChangeTracker tracker = new HexGridChangeTracker();
+    private final Set<Tile> drawnTiles = new HashSet<>();
+    private final List<Edge> drawnEdges = new ArrayList<>();
+
+    /**
+     * Draws the changes of the tracker, recording the drawn tiles and edges.
+     *
+     * @return the amount of touched nodes
+     */
+    private int draw() {
+        return tracker.drain(drawnTiles::add, (Intersection intersection) -> true, drawnEdges::add);
+    }
+
+    @Test
+    public void testOnlyChangedElementsAreDrawn() {
+        grid.addListener(tracker);
+        final Edge edge = grid.getEdges().values().iterator().next();
+        final TilePosition robberPosition = grid.getRobberPosition();
+        final TilePosition newRobberPosition = grid.getTiles().keySet().stream()
+            .filter(position -> !position.equals(robberPosition))
+            .findAny()
+            .orElseThrow();
+
+        edge.getRoadOwnerProperty().setValue(player);
+        grid.setRobberPosition(newRobberPosition);
+        assertTrue(tracker.hasChanges());
+
+        assertEquals(3, draw());
+        assertEquals(List.of(edge), drawnEdges);
+        assertEquals(Set.of(grid.getTileAt(robberPosition), grid.getTileAt(newRobberPosition)), drawnTiles);
+        assertFalse(tracker.hasChanges());
+        assertEquals(0, draw());
+        assertEquals(3, tracker.getTotalTouchedCount());
+        assertEquals(0, tracker.getLastTouchedCount());
+        assertEquals(2, tracker.getDrawCount());
+    }
+
+    @Test
+    public void testRepeatedChangesAreDrawnOnce() {
+        grid.addListener(tracker);
+        final Edge edge = grid.getEdges().values().iterator().next();
+        edge.getRoadOwnerProperty().setValue(player);
+        grid.removeRoad(edge);
+        edge.getRoadOwnerProperty().setValue(player);
+
+        assertEquals(1, draw());
+        assertEquals(List.of(edge), drawnEdges);
+    }
+
+    @Test
+    public void testChangeHandlerIsCalledOncePerDraw() {
+        final AtomicInteger scheduled = new AtomicInteger();
+        tracker.setChangeHandler(scheduled::incrementAndGet);
+        grid.addListener(tracker);
+        final List<Edge> edges = grid.getEdges().values().stream().limit(5).toList();
+
+        edges.forEach(edge -> edge.getRoadOwnerProperty().setValue(player));
+        assertEquals(1, scheduled.get());
+        assertEquals(edges.size(), draw());
+
+        edges.get(0).getRoadOwnerProperty().setValue(null);
+        assertEquals(2, scheduled.get());
+
+        grid.removeListener(tracker);
+        edges.get(1).getRoadOwnerProperty().setValue(null);
+        assertEquals(2, scheduled.get());
+        assertEquals(1, draw());
+    }
+
+    @Test
+    public void testBuiltSettlementIsDrawn() {
+        grid.addListener(tracker);
+        final Intersection intersection = grid.getIntersections().values().iterator().next();
+        final List<Intersection> drawnIntersections = new ArrayList<>();
+
+        TestIntersections.build(intersection, player, Settlement.Type.VILLAGE);
+        assertTrue(tracker.hasChanges());
+        assertEquals(1, tracker.drain(drawnTiles::add, drawnIntersections::add, drawnEdges::add));
+        assertEquals(List.of(intersection), drawnIntersections);
+
+        TestIntersections.build(intersection, player, Settlement.Type.CITY);
+        assertEquals(1, tracker.drain(drawnTiles::add, drawnIntersections::add, drawnEdges::add));
+        assertEquals(List.of(intersection, intersection), drawnIntersections);
+        assertTrue(drawnTiles.isEmpty());
+        assertTrue(drawnEdges.isEmpty());
+    }
+}
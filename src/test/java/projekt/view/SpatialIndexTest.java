@@ -0,0 +1,116 @@
+package projekt.view;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link SpatialIndex}.
+ */
+public class SpatialIndexTest {
+
+    private static final int ITEMS = 2000;
+    private static final double WORLD_SIZE = 5000;
+
+    @Test
+    public void testPointQueryMatchesBruteForce() {
+        final Random random = new Random(41);
+        final double[][] bounds = randomBounds(random);
+        final SpatialIndex<Integer> index = index(bounds);
+
+        for (int query = 0; query < 1000; query++) {
+            final double x = random.nextDouble() * WORLD_SIZE - 100;
+            final double y = random.nextDouble() * WORLD_SIZE - 100;
+            final List<Integer> expected = IntStream.range(0, ITEMS)
+                .filter(item -> bounds[item][0] <= x && x <= bounds[item][2]
+                    && bounds[item][1] <= y && y <= bounds[item][3])
+                .boxed()
+                .toList();
+            final List<Integer> actual = new ArrayList<>();
+            index.query(x, y, actual::add);
+            actual.sort(null);
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void testRectangleQueryMatchesBruteForceInInsertionOrder() {
+        final Random random = new Random(42);
+        final double[][] bounds = randomBounds(random);
+        final SpatialIndex<Integer> index = index(bounds);
+
+        for (int query = 0; query < 1000; query++) {
+            final double minX = random.nextDouble() * WORLD_SIZE - 100;
+            final double minY = random.nextDouble() * WORLD_SIZE - 100;
+            final double maxX = minX + random.nextDouble() * (query % 10 == 0 ? WORLD_SIZE : 300);
+            final double maxY = minY + random.nextDouble() * (query % 10 == 0 ? WORLD_SIZE : 300);
+            final List<Integer> expected = IntStream.range(0, ITEMS)
+                .filter(item -> bounds[item][0] <= maxX && minX <= bounds[item][2]
+                    && bounds[item][1] <= maxY && minY <= bounds[item][3])
+                .boxed()
+                .toList();
+            final List<Integer> actual = new ArrayList<>();
+            index.query(minX, minY, maxX, maxY, actual::add);
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void testNegativeCoordinatesAndClear() {
+        final SpatialIndex<String> index = new SpatialIndex<>(10);
+        index.insert("port", -35, -25, -5, 5);
+        index.insert("tile", 0, 0, 80, 100);
+        final List<String> hits = new ArrayList<>();
+
+        index.query(-20, -20, hits::add);
+        assertEquals(List.of("port"), hits);
+        hits.clear();
+        index.query(-10, -10, 10, 10, hits::add);
+        assertEquals(List.of("port", "tile"), hits);
+
+        index.clear();
+        hits.clear();
+        index.query(-1000, -1000, 1000, 1000, hits::add);
+        assertTrue(hits.isEmpty());
+        assertEquals(0, index.size());
+        assertThrows(IllegalArgumentException.class, () -> new SpatialIndex<>(0));
+    }
+
+    /**
+     * Creates random item bounds, mostly tile-sized with some long items spanning many cells.
+     *
+     * @param random the source of randomness
+     * @return the bounds of each item as {@code {minX, minY, maxX, maxY}}
+     */
+    private static double[][] randomBounds(final Random random) {
+        final double[][] bounds = new double[ITEMS][];
+        for (int item = 0; item < ITEMS; item++) {
+            final double x = random.nextDouble() * WORLD_SIZE - 100;
+            final double y = random.nextDouble() * WORLD_SIZE - 100;
+            final double size = item % 50 == 0 ? 1000 : random.nextDouble() * 100;
+            bounds[item] = new double[] {x, y, x + size * random.nextDouble(), y + size * random.nextDouble()};
+        }
+        return bounds;
+    }
+
+    /**
+     * Creates an index of the given bounds, with the item's number as the item.
+     *
+     * @param bounds the bounds of each item
+     * @return the index
+     */
+    private static SpatialIndex<Integer> index(final double[][] bounds) {
+        final SpatialIndex<Integer> index = new SpatialIndex<>(100);
+        for (int item = 0; item < bounds.length; item++) {
+            index.insert(item, bounds[item][0], bounds[item][1], bounds[item][2], bounds[item][3]);
+        }
+        return index;
+    }
+}
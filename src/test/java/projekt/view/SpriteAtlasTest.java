@@ -0,0 +1,29 @@
+package projekt.view;
+
+import javafx.scene.paint.Color;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * Tests for the colorization of {@link SpriteAtlas}.
+ */
+public class SpriteAtlasTest {
+
+    @Test
+    public void testTintMultipliesChannelsAndKeepsAlpha() {
+        final int[] pixels = {0xFFFFFFFF, 0x80FFFFFF, 0xFF000000, 0x00FFFFFF, 0xFF804020};
+        SpriteAtlas.tint(pixels, Color.color(1, 0.5, 0));
+
+        assertArrayEquals(new int[] {0xFFFF8000, 0x80FF8000, 0xFF000000, 0x00FF8000, 0xFF802000}, pixels);
+    }
+
+    @Test
+    public void testTintWithWhiteKeepsPixels() {
+        final int[] pixels = {0xFF123456, 0x7F654321, 0x00000000};
+        final int[] expected = pixels.clone();
+        SpriteAtlas.tint(pixels, Color.WHITE);
+
+        assertArrayEquals(expected, pixels);
+    }
+}